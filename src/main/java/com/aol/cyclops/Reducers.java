@@ -1,6 +1,12 @@
 package com.aol.cyclops;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.BinaryOperator;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
 
 import org.pcollections.AmortizedPQueue;
 import org.pcollections.ConsPStack;
@@ -24,6 +30,9 @@ import com.aol.cyclops.data.collections.extensions.persistent.PQueueX;
 import com.aol.cyclops.data.collections.extensions.persistent.PSetX;
 import com.aol.cyclops.data.collections.extensions.persistent.PStackX;
 import com.aol.cyclops.data.collections.extensions.persistent.PVectorX;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.data.sketch.HyperLogLog;
+import com.aol.cyclops.data.sketch.QuantileSketch;
 import com.aol.cyclops.types.mixins.TupleWrapper;
 
 import lombok.experimental.UtilityClass;
@@ -134,4 +143,136 @@ public class Reducers {
         return Reducer.of(0.0, a -> b -> a + 1, (x) -> Double.valueOf("" + x));
     }
 
+    /**
+     * Reducer to the k largest values (according to the supplied comparator), largest first. Only k values are held in
+     * memory while reducing a Stream, and partial results can be combined (e.g. when reducing in parallel).
+     *
+     * <pre>
+     * {@code
+     *  Reducers.toTopK(2,Comparator.naturalOrder()).mapReduce(Stream.of(4,1,7,3));
+     *  //ListX[7,4]
+     * }
+     * </pre>
+     *
+     * @param k Number of values to retain
+     * @param comparator Ordering of values
+     * @return Reducer to the top k values
+     */
+    public static <T> Reducer<ListX<T>> toTopK(final int k, final Comparator<? super T> comparator) {
+        if (k < 0)
+            throw new IllegalArgumentException(
+                                               "k must not be negative : " + k);
+        final Comparator<? super T> largestFirst = comparator.reversed();
+        return collecting(ListX.empty(), (a, b) -> {
+            if (b.isEmpty())
+                return a;
+            if (a.isEmpty())
+                return b;
+            final List<T> merged = new ArrayList<>(
+                                                   Math.min(k, a.size() + b.size()));
+            int i = 0;
+            int j = 0;
+            while (merged.size() < k && (i < a.size() || j < b.size())) {
+                if (j == b.size() || (i < a.size() && largestFirst.compare(a.get(i), b.get(j)) <= 0))
+                    merged.add(a.get(i++));
+                else
+                    merged.add(b.get(j++));
+            }
+            return ListX.fromIterable(merged);
+        }, Collector.<T, PriorityQueue<T>, ListX<T>> of(() -> new PriorityQueue<>(
+                                                                                  Math.max(1, k), comparator),
+                                                        (heap, next) -> offerBounded(heap, next, k, comparator), (h1, h2) -> {
+                                                            for (final T next : h2)
+                                                                offerBounded(h1, next, k, comparator);
+                                                            return h1;
+                                                        }, heap -> {
+                                                            final List<T> list = new ArrayList<>(
+                                                                                                 heap);
+                                                            list.sort(largestFirst);
+                                                            return ListX.fromIterable(list);
+                                                        }));
+    }
+
+    /**
+     * Reducer to a mergeable, bounded memory QuantileSketch for estimating percentiles / medians
+     *
+     * <pre>
+     * {@code
+     *  Reducers.toQuantileSketch(Comparator.naturalOrder()).mapReduce(ReactiveSeq.range(0,1_000_000)).quantile(0.99);
+     *  //Optional[~990_000]
+     * }
+     * </pre>
+     *
+     * @param comparator Ordering of values
+     * @return Reducer to a QuantileSketch
+     */
+    public static <T> Reducer<QuantileSketch<T>> toQuantileSketch(final Comparator<? super T> comparator) {
+        return toQuantileSketch(comparator, QuantileSketch.DEFAULT_K);
+    }
+
+    /**
+     * @param comparator Ordering of values
+     * @param k Accuracy parameter, larger values use more memory and give more accurate estimates
+     * @return Reducer to a QuantileSketch
+     */
+    public static <T> Reducer<QuantileSketch<T>> toQuantileSketch(final Comparator<? super T> comparator, final int k) {
+        return collecting(QuantileSketch.empty(comparator, k), QuantileSketch::merge, QuantileSketch.collector(comparator, k));
+    }
+
+    /**
+     * Reducer to a mergeable, bounded memory HyperLogLog for estimating the number of distinct values
+     *
+     * <pre>
+     * {@code
+     *  Reducers.toHyperLogLog().mapReduce(Stream.of(1,2,1,3,2)).estimate();
+     *  //3
+     * }
+     * </pre>
+     *
+     * @return Reducer to a HyperLogLog
+     */
+    public static Reducer<HyperLogLog> toHyperLogLog() {
+        return toHyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+    }
+
+    /**
+     * @param precision Number of bits used to select a register (between 4 and 18)
+     * @return Reducer to a HyperLogLog
+     */
+    public static Reducer<HyperLogLog> toHyperLogLog(final int precision) {
+        return collecting(HyperLogLog.empty(precision), HyperLogLog::merge, HyperLogLog.collector(precision));
+    }
+
+    private static <T> void offerBounded(final PriorityQueue<T> heap, final T next, final int k, final Comparator<? super T> comparator) {
+        if (heap.size() < k)
+            heap.add(next);
+        else if (k > 0 && comparator.compare(next, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(next);
+        }
+    }
+
+    /*
+     * Reducer that maps a Stream to its type by (mutably) collecting it to a single partial result, rather than
+     * creating and combining a partial result per element
+     */
+    private static <T, R> Reducer<R> collecting(final R zero, final BinaryOperator<R> combiner, final Collector<T, ?, R> collector) {
+        return new Reducer<R>() {
+            @Override
+            public R zero() {
+                return zero;
+            }
+
+            @Override
+            public R apply(final R t, final R u) {
+                return combiner.apply(t, u);
+            }
+
+            @Override
+            public Stream<R> mapToType(final Stream stream) {
+                return Stream.of(((Stream<T>) stream).collect(collector));
+            }
+        };
+    }
+
 }
@@ -2,8 +2,10 @@ package com.aol.cyclops.control;
 
 import static com.aol.cyclops.control.For.Values.each2;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Objects;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -21,7 +23,6 @@ import com.aol.cyclops.Reducer;
 import com.aol.cyclops.Semigroup;
 import com.aol.cyclops.data.collections.extensions.CollectionX;
 import com.aol.cyclops.data.collections.extensions.persistent.PVectorX;
-import com.aol.cyclops.data.collections.extensions.standard.DequeX;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
 import com.aol.cyclops.types.Filterable;
 import com.aol.cyclops.types.Functor;
@@ -30,7 +31,6 @@ import com.aol.cyclops.types.MonadicValue1;
 import com.aol.cyclops.types.Value;
 import com.aol.cyclops.types.applicative.ApplicativeFunctor;
 import com.aol.cyclops.types.stream.reactive.ValueSubscriber;
-import com.aol.cyclops.util.function.Memoize;
 
 /**
  * Represents a computation that can be defered (always), cached (later) or immediate(now).
@@ -136,7 +136,7 @@ public interface Eval<T>
     public static <T> Eval<T> later(final Supplier<T> value) {
 
         return new Module.Later<T>(
-                                   in -> value.get());
+                                   value);
     }
 
     /**
@@ -155,7 +155,7 @@ public interface Eval<T>
      */
     public static <T> Eval<T> always(final Supplier<T> value) {
         return new Module.Always<T>(
-                                    in -> value.get());
+                                    value);
     }
 
     /**
@@ -493,34 +493,50 @@ public interface Eval<T>
 
         public static class Later<T> extends Rec<T>implements Eval<T> {
 
-            Later(final Function<Object, ? extends T> s) {
-                super(PVectorX.of(Rec.raw(Memoize.memoizeFunction(s))));
+            Later(final Supplier<? extends T> s) {
+                super(s);
             }
 
-            Later(final PVectorX<Function<Object, Object>> s) {
-                super(s);
+            private Later(final Rec<?> parent, final Function<Object, Object>[] fns) {
+                super(parent, fns);
+            }
 
+            private Later(final Rec<?> parent, final Function<Object, Object>[] fns, final Rec<?> prev) {
+                super(parent, fns, prev);
+            }
+
+            private Later(final Rec<?> parent, final Function<?, ? extends MonadicValue<?>> binder) {
+                super(parent, binder);
             }
 
             @Override
-            public <R> Eval<R> map(final Function<? super T, ? extends R> mapper) {
+            boolean memoize() {
+                return true;
+            }
 
+            @Override
+            public <R> Eval<R> map(final Function<? super T, ? extends R> mapper) {
+                //the first map of a map stage is fused into its group, any further map shares this stage's cached result
+                if (fns != null && fns.length < FUSION_LIMIT && claim())
+                    return new Later<R>(
+                                        parent, Rec.append(fns, mapper), this);
                 return new Later<R>(
-                                    super.fns.plus(Rec.raw(Memoize.memoizeFunction(mapper))));
+                                    this, Rec.fns(mapper));
             }
 
             @Override
             public <R> Eval<R> flatMap(final Function<? super T, ? extends MonadicValue<? extends R>> mapper) {
-                final RecFunction s = __ -> asEval(mapper.apply(super.apply())).steps();
-
                 return new Later<R>(
-                                    PVectorX.of(s));
+                                    this, mapper);
 
             }
 
             @Override
             public T get() {
-                return super.get();
+                final Object cached = value;
+                if (cached != UNSET)
+                    return (T) cached;
+                return (T) evaluate(this);
             }
 
             /* (non-Javadoc)
@@ -566,34 +582,43 @@ public interface Eval<T>
 
         public static class Always<T> extends Rec<T>implements Eval<T> {
 
-            Always(final Function<Object, ? extends T> s) {
-                super(PVectorX.of(Rec.raw(s)));
+            Always(final Supplier<? extends T> s) {
+                super(s);
+            }
+
+            private Always(final Rec<?> parent, final Function<Object, Object>[] fns) {
+                super(parent, fns);
             }
 
-            Always(final PVectorX<Function<Object, Object>> s) {
-                super(s);
+            private Always(final Rec<?> parent, final Function<?, ? extends MonadicValue<?>> binder) {
+                super(parent, binder);
+            }
 
+            @Override
+            boolean memoize() {
+                return false;
             }
 
             @Override
             public <R> Eval<R> map(final Function<? super T, ? extends R> mapper) {
-
+                //nothing is cached, so consecutive maps can be fused into a single stage
+                if (fns != null && fns.length < FUSION_LIMIT)
+                    return new Always<R>(
+                                         parent, Rec.append(fns, mapper));
                 return new Always<R>(
-                                     fns.plus(Rec.raw(mapper)));
+                                     this, Rec.fns(mapper));
 
             }
 
             @Override
             public <R> Eval<R> flatMap(final Function<? super T, ? extends MonadicValue<? extends R>> mapper) {
-                final RecFunction s = __ -> asEval(mapper.apply(apply())).steps();
-
                 return new Always<R>(
-                                     PVectorX.of(s));
+                                     this, mapper);
             }
 
             @Override
             public T get() {
-                return super.get();
+                return (T) evaluate(this);
             }
 
             @Override
@@ -634,44 +659,204 @@ public interface Eval<T>
 
         }
 
-        private static class Rec<T> {
-            final PVectorX<Function<Object, Object>> fns;
-            private final static Object VOID = new Object();
+        /**
+         * A single stage of an Eval computation : either a source Supplier, a (possibly fused) chain of map functions applied to
+         * the result of the parent stage, or a flatMap function applied to the result of the parent stage.
+         * 
+         * Evaluation walks back up the parent chain until it finds a stage with a known value, then applies each stage in
+         * turn using an explicit stack rather than the call stack, so that deep map / flatMap chains and recursive flatMaps
+         * are stack safe. Memoizing stages (Later) store their result in a single field, and compute it under a lock so that
+         * each map or flatMap function runs at most once, even when a shared stage is evaluated by several threads. Fused
+         * Later map stages share one lock and one function array, each stage caching the result after its own prefix.
+         */
+        private static abstract class Rec<T> {
+            static final Object UNSET = new Object();
+            static final int FUSION_LIMIT = 32;
+
+            final Rec<?> parent;
+            final Supplier<?> source;
+            final Function<Object, Object>[] fns;
+            final Function<Object, ? extends MonadicValue<?>> binder;
+            //previous stage of the same fused group, and the lock shared by the group
+            final Rec<?> prev;
+            final Object lock;
+            volatile Object value = UNSET;
+            private volatile Eval<?> bound;
+            private boolean extended;
+
+            Rec(final Supplier<?> source) {
+                this.parent = null;
+                this.source = source;
+                this.fns = null;
+                this.binder = null;
+                this.prev = null;
+                this.lock = this;
+            }
 
-            Rec(final PVectorX<Function<Object, Object>> s) {
-                fns = s;
+            Rec(final Rec<?> parent, final Function<Object, Object>[] fns) {
+                this.parent = parent;
+                this.source = null;
+                this.fns = fns;
+                this.binder = null;
+                this.prev = null;
+                this.lock = this;
             }
 
-            private static Function<Object, Object> raw(final Function<?, ?> fn) {
-                return (Function<Object, Object>) fn;
+            Rec(final Rec<?> parent, final Function<Object, Object>[] fns, final Rec<?> prev) {
+                this.parent = parent;
+                this.source = null;
+                this.fns = fns;
+                this.binder = null;
+                this.prev = prev;
+                this.lock = prev.lock;
             }
 
-            static interface RecFunction extends Function<Object, Object> {
+            Rec(final Rec<?> parent, final Function<?, ? extends MonadicValue<?>> binder) {
+                this.parent = parent;
+                this.source = null;
+                this.fns = null;
+                this.binder = (Function<Object, ? extends MonadicValue<?>>) binder;
+                this.prev = null;
+                this.lock = this;
+            }
 
+            abstract boolean memoize();
+
+            static Function<Object, Object>[] fns(final Function<?, ?> fn) {
+                return new Function[] { fn };
             }
 
-            public PVectorX<Function<Object, Object>> steps() {
-                return fns;
+            static Function<Object, Object>[] append(final Function<Object, Object>[] fns, final Function<?, ?> fn) {
+                final Function<Object, Object>[] result = Arrays.copyOf(fns, fns.length + 1);
+                result[fns.length] = (Function<Object, Object>) fn;
+                return result;
             }
 
-            T apply() {
-                Object input = VOID;
-                for (final Function<Object, Object> n : fns) {
-                    final DequeX<Function<Object, Object>> newFns = DequeX.of(n);
-                    while (newFns.size() > 0) {
-                        final Function<Object, Object> next = newFns.pop();
-                        if (next instanceof RecFunction) {
-                            newFns.plusAll((List) ((RecFunction) next).apply(VOID));
-                        } else
-                            input = next.apply(input);
+            /**
+             * @return true if this stage may be extended by a fused map, which is only allowed once per stage
+             */
+            boolean claim() {
+                synchronized (lock) {
+                    if (extended)
+                        return false;
+                    extended = true;
+                    return true;
+                }
+            }
+
+            private Object source() {
+                if (!memoize())
+                    return source.get();
+                synchronized (lock) {
+                    if (value == UNSET)
+                        value = source.get();
+                    return value;
+                }
+            }
 
+            private Object applyFns(final Object base) {
+                Object result = base;
+                if (!memoize()) {
+                    for (final Function<Object, Object> fn : fns)
+                        result = fn.apply(result);
+                    return result;
+                }
+                synchronized (lock) {
+                    //resume from the furthest stage of the fused group that has already been computed
+                    final Deque<Rec<?>> pending = new ArrayDeque<>();
+                    Rec<?> member = this;
+                    while (member != null && member.value == UNSET) {
+                        pending.push(member);
+                        member = member.prev;
                     }
+                    if (member != null)
+                        result = member.value;
+                    int i = member == null ? 0 : member.fns.length;
+                    while (!pending.isEmpty()) {
+                        final Rec<?> next = pending.pop();
+                        for (; i < next.fns.length; i++)
+                            result = fns[i].apply(result);
+                        next.value = result;
+                    }
+                    return result;
                 }
-                return (T) input;
             }
 
-            public T get() {
-                return apply();
+            private Eval<?> bind(final Object result) {
+                if (!memoize())
+                    return asEval(binder.apply(result));
+                synchronized (lock) {
+                    if (value != UNSET)
+                        return Eval.now(value);
+                    Eval<?> next = bound;
+                    if (next == null)
+                        bound = next = asEval(binder.apply(result));
+                    return next;
+                }
+            }
+
+            private void store(final Object result) {
+                if (!memoize())
+                    return;
+                synchronized (lock) {
+                    if (value == UNSET)
+                        value = result;
+                    bound = null;
+                }
+            }
+
+            static Object evaluate(final Rec<?> start) {
+                final Deque<Object> stack = new ArrayDeque<>();
+                Rec<?> current = start;
+                for (;;) {
+                    Object result;
+                    //find the closest stage with a known value
+                    for (;;) {
+                        final Object cached = current.value;
+                        if (cached != UNSET) {
+                            result = cached;
+                            break;
+                        }
+                        if (current.parent == null) {
+                            result = current.source();
+                            break;
+                        }
+                        stack.push(current);
+                        current = current.parent;
+                    }
+                    //then apply each pending stage
+                    current = null;
+                    while (current == null && !stack.isEmpty()) {
+                        final Object frame = stack.pop();
+                        if (frame instanceof Store) {
+                            ((Store) frame).target.store(result);
+                            continue;
+                        }
+                        final Rec<?> stage = (Rec<?>) frame;
+                        if (stage.fns != null) {
+                            result = stage.applyFns(result);
+                        } else {
+                            final Eval<?> next = stage.bind(result);
+                            if (stage.memoize())
+                                stack.push(new Store(
+                                                     stage));
+                            if (next instanceof Rec)
+                                current = (Rec<?>) next;
+                            else
+                                result = next.get();
+                        }
+                    }
+                    if (current == null)
+                        return result;
+                }
+            }
+
+            private static final class Store {
+                final Rec<?> target;
+
+                Store(final Rec<?> target) {
+                    this.target = target;
+                }
             }
 
         }
@@ -1,11 +1,15 @@
 package com.aol.cyclops.control;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -20,8 +24,8 @@ import org.jooq.lambda.tuple.Tuple2;
 import org.jooq.lambda.tuple.Tuple3;
 
 import com.aol.cyclops.control.Matchable.CheckValue1;
-import com.aol.cyclops.data.MutableInt;
 import com.aol.cyclops.internal.invokedynamic.CheckedTriFunction;
+import com.aol.cyclops.react.metrics.LatencyHistogram;
 import com.aol.cyclops.util.ExceptionSoftener;
 import com.aol.cyclops.util.function.Cacheable;
 import com.aol.cyclops.util.function.Curry;
@@ -31,6 +35,9 @@ import com.aol.cyclops.util.function.PartialApplicator;
 import com.aol.cyclops.util.function.QuadConsumer;
 import com.aol.cyclops.util.function.TriConsumer;
 import com.aol.cyclops.util.function.TriFunction;
+import com.aol.cyclops.util.resilience.Bulkhead;
+import com.aol.cyclops.util.resilience.CircuitBreaker;
+import com.aol.cyclops.util.resilience.RetryPolicy;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -462,31 +469,67 @@ public class FluentFunctions {
         }
 
         /**
-         * A supplier capable of retrying on failure using an exponential backoff strategy
+         * A supplier capable of retrying on failure using an exponential backoff strategy. Retries are scheduled on a
+         * timer, the calling thread waits for the result rather than sleeping between attempts.
          * 
-         * @param times Number of times to retry 
-         * @param backoffStartTime Wait time before first retry
+         * @param times Maximum number of attempts
+         * @param backoffStartTime Wait time (in milliseconds) before first retry
          * @return Supplier with a retry strategy
          */
         public FluentSupplier<R> retry(final int times, final int backoffStartTime) {
-            return FluentFunctions.of(() -> {
-                int count = times;
-                final MutableInt sleep = MutableInt.of(backoffStartTime);
-                Throwable exception = null;
-                while (count-- > 0) {
-                    try {
-                        return fn.get();
-                    } catch (final Throwable e) {
-                        exception = e;
-                    }
-                    ExceptionSoftener.softenRunnable(() -> Thread.sleep(sleep.get()));
+            return retry(RetryPolicy.exponential(times, backoffStartTime, TimeUnit.MILLISECONDS));
+        }
 
-                    sleep.mutate(s -> s * 2);
-                }
-                throw ExceptionSoftener.throwSoftenedException(exception);
+        /**
+         * A supplier capable of retrying on failure, according to the supplied RetryPolicy
+         * 
+         * @param policy Retry policy (number of attempts, backoff, jitter and retry budget)
+         * @return Supplier with a retry strategy
+         */
+        public FluentSupplier<R> retry(final RetryPolicy policy) {
+            return FluentFunctions.of(() -> policy.<R> execute(() -> fn.get())
+                                                 .get());
+        }
 
-            });
+        /**
+         * A supplier that returns immediately with an asynchronous result, retrying on failure according to the
+         * supplied RetryPolicy. The calling thread never waits between attempts.
+         * 
+         * <pre>
+         * {@code
+         *   FutureW<Config> config = FluentFunctions.of(this::loadConfig)
+         *                                           .retryAsync(RetryPolicy.exponential(5, 100, TimeUnit.MILLISECONDS))
+         *                                           .get();
+         * }
+         * </pre>
+         * 
+         * @param policy Retry policy (number of attempts, backoff, jitter and retry budget)
+         * @return Supplier that returns a FutureW
+         */
+        public FluentSupplier<FutureW<R>> retryAsync(final RetryPolicy policy) {
+            return FluentFunctions.of(() -> policy.<R> execute(() -> fn.get()));
+        }
+
+        /**
+         * A supplier that is only called while the supplied CircuitBreaker is closed (or probing). Calls made while the
+         * breaker is open fail fast with a CircuitBreakerOpenException.
+         * 
+         * @param breaker CircuitBreaker guarding this supplier
+         * @return Supplier that returns the outcome of each call as a Try
+         */
+        public FluentSupplier<Try<R, Throwable>> circuitBreaker(final CircuitBreaker breaker) {
+            return FluentFunctions.of(() -> breaker.<R> call(() -> fn.get()));
+        }
 
+        /**
+         * A supplier that is only called while the supplied Bulkhead has capacity. Calls beyond its concurrency limit fail
+         * fast with a BulkheadFullException.
+         * 
+         * @param bulkhead Bulkhead capping concurrent calls to this supplier
+         * @return Supplier that returns the outcome of each call as a Try
+         */
+        public FluentSupplier<Try<R, Throwable>> bulkhead(final Bulkhead bulkhead) {
+            return FluentFunctions.of(() -> bulkhead.<R> call(() -> fn.get()));
         }
 
         /**
@@ -725,6 +768,42 @@ public class FluentFunctions {
             return log(s -> System.out.println(s), t -> t.printStackTrace());
         }
 
+        /**
+         * Start composing aspects (before, after, around, logging and timing) that will be flattened into a single
+         * invoker, rather than each adding another layer of wrapping Functions
+         * 
+         * <pre>
+         * {@code
+         *   FluentFunction<String, Quote> load = FluentFunctions.of(this::load)
+         *                                                       .name("load")
+         *                                                       .aspects()
+         *                                                       .before(ticker -> audit.record(ticker))
+         *                                                       .log(logger::debug, logger::error, logger::isDebugEnabled)
+         *                                                       .timed(latency, timingEnabled::get)
+         *                                                       .build();
+         * }
+         * </pre>
+         * 
+         * @return Aspects builder for this Function
+         */
+        public Aspects<T, R> aspects() {
+            return new Aspects<>(
+                                 this);
+        }
+
+        /**
+         * Record the latency of each call to this Function, while the toggle is enabled. When disabled the only cost
+         * per call is checking the toggle.
+         * 
+         * @param latency Histogram to record call latencies in
+         * @param enabled Toggle for timing
+         * @return Function with timing attached
+         */
+        public FluentFunction<T, R> timed(final LatencyHistogram latency, final BooleanSupplier enabled) {
+            return aspects().timed(latency, enabled)
+                            .build();
+        }
+
         /**
          * A Function that can recover from the specified exception types, using the provided recovery Function
          * 
@@ -748,31 +827,67 @@ public class FluentFunctions {
         }
 
         /**
-         *  A Function capable of retrying on failure using an exponential backoff strategy
+         * A Function capable of retrying on failure using an exponential backoff strategy. Retries are scheduled on a
+         * timer, the calling thread waits for the result rather than sleeping between attempts.
          * 
-         * @param times Number of times to retry 
-         * @param backoffStartTime Wait time before first retry
+         * @param times Maximum number of attempts
+         * @param backoffStartTime Wait time (in milliseconds) before first retry
          * @return Function with a retry strategy
          */
         public FluentFunction<T, R> retry(final int times, final int backoffStartTime) {
-            return FluentFunctions.of(t -> {
-                int count = times;
-                final MutableInt sleep = MutableInt.of(backoffStartTime);
-                Throwable exception = null;
-                while (count-- > 0) {
-                    try {
-                        return fn.apply(t);
-                    } catch (final Throwable e) {
-                        exception = e;
-                    }
-                    ExceptionSoftener.softenRunnable(() -> Thread.sleep(sleep.get()));
+            return retry(RetryPolicy.exponential(times, backoffStartTime, TimeUnit.MILLISECONDS));
+        }
 
-                    sleep.mutate(s -> s * 2);
-                }
-                throw ExceptionSoftener.throwSoftenedException(exception);
+        /**
+         * A Function capable of retrying on failure, according to the supplied RetryPolicy
+         * 
+         * @param policy Retry policy (number of attempts, backoff, jitter and retry budget)
+         * @return Function with a retry strategy
+         */
+        public FluentFunction<T, R> retry(final RetryPolicy policy) {
+            return FluentFunctions.of(t -> policy.<R> execute(() -> fn.apply(t))
+                                                 .get());
+        }
 
-            });
+        /**
+         * A Function that returns immediately with an asynchronous result, retrying on failure according to the
+         * supplied RetryPolicy. The calling thread never waits between attempts.
+         * 
+         * <pre>
+         * {@code
+         *   FutureW<Quote> quote = FluentFunctions.of(this::quote)
+         *                                         .retryAsync(RetryPolicy.exponential(5, 100, TimeUnit.MILLISECONDS))
+         *                                         .apply("AOL");
+         * }
+         * </pre>
+         * 
+         * @param policy Retry policy (number of attempts, backoff, jitter and retry budget)
+         * @return Function that returns a FutureW
+         */
+        public FluentFunction<T, FutureW<R>> retryAsync(final RetryPolicy policy) {
+            return FluentFunctions.of(t -> policy.<R> execute(() -> fn.apply(t)));
+        }
+
+        /**
+         * A Function that is only called while the supplied CircuitBreaker is closed (or probing). Calls made while the
+         * breaker is open fail fast with a CircuitBreakerOpenException.
+         * 
+         * @param breaker CircuitBreaker guarding this Function
+         * @return Function that returns the outcome of each call as a Try
+         */
+        public FluentFunction<T, Try<R, Throwable>> circuitBreaker(final CircuitBreaker breaker) {
+            return FluentFunctions.of(t -> breaker.<R> call(() -> fn.apply(t)));
+        }
 
+        /**
+         * A Function that is only called while the supplied Bulkhead has capacity. Calls beyond its concurrency limit fail
+         * fast with a BulkheadFullException.
+         * 
+         * @param bulkhead Bulkhead capping concurrent calls to this Function
+         * @return Function that returns the outcome of each call as a Try
+         */
+        public FluentFunction<T, Try<R, Throwable>> bulkhead(final Bulkhead bulkhead) {
+            return FluentFunctions.of(t -> bulkhead.<R> call(() -> fn.apply(t)));
         }
 
         /**
@@ -892,6 +1007,158 @@ public class FluentFunctions {
 
     }
 
+    /**
+     * Builder for aspects on a FluentFunction. All aspects are composed at build time into a single invoker around the
+     * Function : before advice runs in the order added, then the call (wrapped by any around advice, innermost first),
+     * then after advice in the order added. Logging and timing cover the whole call, and can be toggled at runtime
+     * without rebuilding. Aspects that were never added cost nothing per call.
+     *
+     * @param <T> Input type
+     * @param <R> Return type
+     */
+    public static class Aspects<T, R> {
+        private final FluentFunction<T, R> function;
+        private final List<Consumer<T>> before = new ArrayList<>();
+        private final List<BiConsumer<T, R>> after = new ArrayList<>();
+        private final List<Function<Advice1<T, R>, R>> around = new ArrayList<>();
+        private Consumer<String> logger;
+        private Consumer<Throwable> errorLogger;
+        private BooleanSupplier logEnabled;
+        private LatencyHistogram latency;
+        private BooleanSupplier timingEnabled;
+
+        private Aspects(final FluentFunction<T, R> function) {
+            this.function = function;
+        }
+
+        /**
+         * @param action Before advice
+         * @return This builder
+         */
+        public Aspects<T, R> before(final Consumer<T> action) {
+            before.add(action);
+            return this;
+        }
+
+        /**
+         * @param action After advice, receives the input and the output
+         * @return This builder
+         */
+        public Aspects<T, R> after(final BiConsumer<T, R> action) {
+            after.add(action);
+            return this;
+        }
+
+        /**
+         * @param advice Around advice, controls whether (and with what input) the Function is called
+         * @return This builder
+         */
+        public Aspects<T, R> around(final Function<Advice1<T, R>, R> advice) {
+            around.add(advice);
+            return this;
+        }
+
+        /**
+         * Log parameters, results and errors. Log messages are only built while the toggle is enabled.
+         * 
+         * @param logger Success logger
+         * @param error Failure logger
+         * @param enabled Toggle for logging (e.g. logger::isDebugEnabled)
+         * @return This builder
+         */
+        public Aspects<T, R> log(final Consumer<String> logger, final Consumer<Throwable> error, final BooleanSupplier enabled) {
+            this.logger = logger;
+            this.errorLogger = error;
+            this.logEnabled = enabled;
+            return this;
+        }
+
+        /**
+         * Record the latency of each call, successful or not, while the toggle is enabled
+         * 
+         * @param latency Histogram to record call latencies in
+         * @param enabled Toggle for timing
+         * @return This builder
+         */
+        public Aspects<T, R> timed(final LatencyHistogram latency, final BooleanSupplier enabled) {
+            this.latency = latency;
+            this.timingEnabled = enabled;
+            return this;
+        }
+
+        /**
+         * @return Function with all aspects flattened into a single invoker
+         */
+        public FluentFunction<T, R> build() {
+            Function<T, R> call = function.fn;
+            for (final Function<Advice1<T, R>, R> advice : around) {
+                final Function<T, R> proceed = call;
+                call = t -> advice.apply(new Advice1<T, R>(
+                                                           t, proceed));
+            }
+            final Consumer<T> before = compose(this.before);
+            final BiConsumer<T, R> after = composeAfter(this.after);
+            if (before == null && after == null && logger == null && latency == null)
+                return function.withFn(call);
+
+            final Function<T, R> target = call;
+            final Consumer<String> logger = this.logger;
+            final Consumer<Throwable> errorLogger = this.errorLogger;
+            final BooleanSupplier logEnabled = this.logEnabled;
+            final LatencyHistogram latency = this.latency;
+            final BooleanSupplier timingEnabled = this.timingEnabled;
+            final FluentFunction<T, R> named = function;
+            return function.withFn(t -> {
+                final boolean logging = logger != null && logEnabled.getAsBoolean();
+                final boolean timing = latency != null && timingEnabled.getAsBoolean();
+                final long start = timing ? System.nanoTime() : 0;
+                try {
+                    if (before != null)
+                        before.accept(t);
+                    if (logging)
+                        logger.accept(named.handleNameStart() + "Parameter[" + t + "]" + named.handleNameEnd());
+                    final R result = target.apply(t);
+                    if (after != null)
+                        after.accept(t, result);
+                    if (logging)
+                        logger.accept(named.handleNameStart() + "Result[" + result + "]" + named.handleNameEnd());
+                    return result;
+                } catch (final Throwable e) {
+                    if (logging)
+                        errorLogger.accept(e);
+                    throw ExceptionSoftener.throwSoftenedException(e);
+                } finally {
+                    if (timing)
+                        latency.record(System.nanoTime() - start);
+                }
+            });
+        }
+
+        private static <T> Consumer<T> compose(final List<Consumer<T>> actions) {
+            if (actions.isEmpty())
+                return null;
+            if (actions.size() == 1)
+                return actions.get(0);
+            final Consumer<T>[] all = actions.toArray(new Consumer[actions.size()]);
+            return t -> {
+                for (final Consumer<T> next : all)
+                    next.accept(t);
+            };
+        }
+
+        private static <T, R> BiConsumer<T, R> composeAfter(final List<BiConsumer<T, R>> actions) {
+            if (actions.isEmpty())
+                return null;
+            if (actions.size() == 1)
+                return actions.get(0);
+            final BiConsumer<T, R>[] all = actions.toArray(new BiConsumer[actions.size()]);
+            return (t, r) -> {
+                for (final BiConsumer<T, R> next : all)
+                    next.accept(t, r);
+            };
+        }
+    }
+
     @Wither(AccessLevel.PRIVATE)
     @AllArgsConstructor
     public static class FluentBiFunction<T1, T2, R> implements BiFunction<T1, T2, R> {
@@ -1153,31 +1420,67 @@ public class FluentFunctions {
         }
 
         /**
-         *  A BiFunction capable of retrying on failure using an exponential backoff strategy
+         * A BiFunction capable of retrying on failure using an exponential backoff strategy. Retries are scheduled on a
+         * timer, the calling thread waits for the result rather than sleeping between attempts.
          * 
-         * @param times Number of times to retry 
-         * @param backoffStartTime Wait time before first retry
+         * @param times Maximum number of attempts
+         * @param backoffStartTime Wait time (in milliseconds) before first retry
          * @return BiFunction with a retry strategy
          */
         public FluentBiFunction<T1, T2, R> retry(final int times, final int backoffStartTime) {
-            return FluentFunctions.of((t1, t2) -> {
-                int count = times;
-                final MutableInt sleep = MutableInt.of(backoffStartTime);
-                Throwable exception = null;
-                while (count-- > 0) {
-                    try {
-                        return fn.apply(t1, t2);
-                    } catch (final Throwable e) {
-                        exception = e;
-                    }
-                    ExceptionSoftener.softenRunnable(() -> Thread.sleep(sleep.get()));
+            return retry(RetryPolicy.exponential(times, backoffStartTime, TimeUnit.MILLISECONDS));
+        }
 
-                    sleep.mutate(s -> s * 2);
-                }
-                throw ExceptionSoftener.throwSoftenedException(exception);
+        /**
+         * A BiFunction capable of retrying on failure, according to the supplied RetryPolicy
+         * 
+         * @param policy Retry policy (number of attempts, backoff, jitter and retry budget)
+         * @return BiFunction with a retry strategy
+         */
+        public FluentBiFunction<T1, T2, R> retry(final RetryPolicy policy) {
+            return FluentFunctions.of((t1, t2) -> policy.<R> execute(() -> fn.apply(t1, t2))
+                                                 .get());
+        }
 
-            });
+        /**
+         * A BiFunction that returns immediately with an asynchronous result, retrying on failure according to the
+         * supplied RetryPolicy. The calling thread never waits between attempts.
+         * 
+         * <pre>
+         * {@code
+         *   FutureW<Order> order = FluentFunctions.of(this::placeOrder)
+         *                                         .retryAsync(RetryPolicy.exponential(5, 100, TimeUnit.MILLISECONDS))
+         *                                         .apply("AOL", 100);
+         * }
+         * </pre>
+         * 
+         * @param policy Retry policy (number of attempts, backoff, jitter and retry budget)
+         * @return BiFunction that returns a FutureW
+         */
+        public FluentBiFunction<T1, T2, FutureW<R>> retryAsync(final RetryPolicy policy) {
+            return FluentFunctions.of((t1, t2) -> policy.<R> execute(() -> fn.apply(t1, t2)));
+        }
+
+        /**
+         * A BiFunction that is only called while the supplied CircuitBreaker is closed (or probing). Calls made while the
+         * breaker is open fail fast with a CircuitBreakerOpenException.
+         * 
+         * @param breaker CircuitBreaker guarding this BiFunction
+         * @return BiFunction that returns the outcome of each call as a Try
+         */
+        public FluentBiFunction<T1, T2, Try<R, Throwable>> circuitBreaker(final CircuitBreaker breaker) {
+            return FluentFunctions.of((t1, t2) -> breaker.<R> call(() -> fn.apply(t1, t2)));
+        }
 
+        /**
+         * A BiFunction that is only called while the supplied Bulkhead has capacity. Calls beyond its concurrency limit fail
+         * fast with a BulkheadFullException.
+         * 
+         * @param bulkhead Bulkhead capping concurrent calls to this BiFunction
+         * @return BiFunction that returns the outcome of each call as a Try
+         */
+        public FluentBiFunction<T1, T2, Try<R, Throwable>> bulkhead(final Bulkhead bulkhead) {
+            return FluentFunctions.of((t1, t2) -> bulkhead.<R> call(() -> fn.apply(t1, t2)));
         }
 
         /**
@@ -1569,31 +1872,67 @@ public class FluentFunctions {
 
         }
         /**
-         *  A TriFunction capable of retrying on failure using an exponential backoff strategy
+         * A TriFunction capable of retrying on failure using an exponential backoff strategy. Retries are scheduled on a
+         * timer, the calling thread waits for the result rather than sleeping between attempts.
          * 
-         * @param times Number of times to retry 
-         * @param backoffStartTime Wait time before first retry
+         * @param times Maximum number of attempts
+         * @param backoffStartTime Wait time (in milliseconds) before first retry
          * @return TriFunction with a retry strategy
          */
         public FluentTriFunction<T1, T2, T3, R> retry(final int times, final int backoffStartTime) {
-            return FluentFunctions.of((t1, t2, t3) -> {
-                int count = times;
-                final MutableInt sleep = MutableInt.of(backoffStartTime);
-                Throwable exception = null;
-                while (count-- > 0) {
-                    try {
-                        return fn.apply(t1, t2, t3);
-                    } catch (final Throwable e) {
-                        exception = e;
-                    }
-                    ExceptionSoftener.softenRunnable(() -> Thread.sleep(sleep.get()));
+            return retry(RetryPolicy.exponential(times, backoffStartTime, TimeUnit.MILLISECONDS));
+        }
 
-                    sleep.mutate(s -> s * 2);
-                }
-                throw ExceptionSoftener.throwSoftenedException(exception);
+        /**
+         * A TriFunction capable of retrying on failure, according to the supplied RetryPolicy
+         * 
+         * @param policy Retry policy (number of attempts, backoff, jitter and retry budget)
+         * @return TriFunction with a retry strategy
+         */
+        public FluentTriFunction<T1, T2, T3, R> retry(final RetryPolicy policy) {
+            return FluentFunctions.of((t1, t2, t3) -> policy.<R> execute(() -> fn.apply(t1, t2, t3))
+                                                 .get());
+        }
 
-            });
+        /**
+         * A TriFunction that returns immediately with an asynchronous result, retrying on failure according to the
+         * supplied RetryPolicy. The calling thread never waits between attempts.
+         * 
+         * <pre>
+         * {@code
+         *   FutureW<Receipt> receipt = FluentFunctions.of(this::transfer)
+         *                                             .retryAsync(RetryPolicy.exponential(5, 100, TimeUnit.MILLISECONDS))
+         *                                             .apply(from, to, amount);
+         * }
+         * </pre>
+         * 
+         * @param policy Retry policy (number of attempts, backoff, jitter and retry budget)
+         * @return TriFunction that returns a FutureW
+         */
+        public FluentTriFunction<T1, T2, T3, FutureW<R>> retryAsync(final RetryPolicy policy) {
+            return FluentFunctions.of((t1, t2, t3) -> policy.<R> execute(() -> fn.apply(t1, t2, t3)));
+        }
 
+        /**
+         * A TriFunction that is only called while the supplied CircuitBreaker is closed (or probing). Calls made while the
+         * breaker is open fail fast with a CircuitBreakerOpenException.
+         * 
+         * @param breaker CircuitBreaker guarding this TriFunction
+         * @return TriFunction that returns the outcome of each call as a Try
+         */
+        public FluentTriFunction<T1, T2, T3, Try<R, Throwable>> circuitBreaker(final CircuitBreaker breaker) {
+            return FluentFunctions.of((t1, t2, t3) -> breaker.<R> call(() -> fn.apply(t1, t2, t3)));
+        }
+
+        /**
+         * A TriFunction that is only called while the supplied Bulkhead has capacity. Calls beyond its concurrency limit fail
+         * fast with a BulkheadFullException.
+         * 
+         * @param bulkhead Bulkhead capping concurrent calls to this TriFunction
+         * @return TriFunction that returns the outcome of each call as a Try
+         */
+        public FluentTriFunction<T1, T2, T3, Try<R, Throwable>> bulkhead(final Bulkhead bulkhead) {
+            return FluentFunctions.of((t1, t2, t3) -> bulkhead.<R> call(() -> fn.apply(t1, t2, t3)));
         }
         /**
          * A TriFunction that triggers an event if the result matches the case provided, or generates a new value from the supplier
@@ -3,9 +3,13 @@ package com.aol.cyclops.control;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -23,6 +27,8 @@ import com.aol.cyclops.Semigroup;
 import com.aol.cyclops.control.Matchable.CheckValue1;
 import com.aol.cyclops.data.collections.extensions.CollectionX;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.internal.react.async.future.CompletionAggregator;
+import com.aol.cyclops.react.ThreadPools;
 import com.aol.cyclops.types.ConvertableFunctor;
 import com.aol.cyclops.types.Filterable;
 import com.aol.cyclops.types.FlatMap;
@@ -32,6 +38,7 @@ import com.aol.cyclops.types.Value;
 import com.aol.cyclops.types.applicative.ApplicativeFunctor;
 import com.aol.cyclops.types.stream.reactive.ValueSubscriber;
 import com.aol.cyclops.util.ExceptionSoftener;
+import com.aol.cyclops.util.stream.scheduling.cron.CompiledCronExpression;
 
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
@@ -164,9 +171,29 @@ public class FutureW<T> implements ConvertableFunctor<T>, ApplicativeFunctor<T>,
      * @return FutureW populated on a Cron based Schedule
      */
     public static <T> FutureW<T> schedule(final String cron, final ScheduledExecutorService ex, final Supplier<T> t) {
+        return schedule(CompiledCronExpression.compile(cron), ex, t);
+    }
+
+    /**
+     * Schedule the population of a FutureW from the provided Supplier, the provided precompiled Cron expression will be used to
+     * trigger the population of the FutureW. Compiled expressions are immutable and can be shared across many schedules.
+     * 
+     * <pre>
+     * {@code 
+     *    CompiledCronExpression everySecond = CompiledCronExpression.compile("* * * * * ?");
+     *    FutureW<String> future = FutureW.schedule(everySecond, Executors.newScheduledThreadPool(1), ()->"hello")
+     * 
+     * }</pre>
+     * 
+     * @param cron Compiled Cron expression
+     * @param ex ScheduledExecutorService used to execute the provided Supplier
+     * @param t The Supplier to execute to populate the FutureW
+     * @return FutureW populated on a Cron based Schedule
+     */
+    public static <T> FutureW<T> schedule(final CompiledCronExpression cron, final ScheduledExecutorService ex, final Supplier<T> t) {
         final CompletableFuture<T> future = new CompletableFuture<>();
         final FutureW<T> wrapped = FutureW.of(future);
-        ReactiveSeq.generate(() -> {
+        StreamUtils.schedule(ReactiveSeq.generate(() -> {
             try {
                 future.complete(t.get());
             } catch (final Throwable t1) {
@@ -175,8 +202,8 @@ public class FutureW<T> implements ConvertableFunctor<T>, ApplicativeFunctor<T>,
             return 1;
 
         })
-                   .limit(1)
-                   .schedule(cron, ex);
+                                        .limit(1),
+                             cron, ex);
 
         return wrapped;
     }
@@ -225,7 +252,7 @@ public class FutureW<T> implements ConvertableFunctor<T>, ApplicativeFunctor<T>,
      * @return Future with a List
      */
     public static <T> FutureW<ListX<T>> sequence(final CollectionX<FutureW<T>> fts) {
-        return sequence(fts.stream()).map(s -> s.toListX());
+        return FutureW.of(CompletionAggregator.collect(fts, FutureW::getFuture, true));
 
     }
 
@@ -245,17 +272,27 @@ public class FutureW<T> implements ConvertableFunctor<T>, ApplicativeFunctor<T>,
      * @return Future with a Stream
      */
     public static <T> FutureW<ReactiveSeq<T>> sequence(final Stream<FutureW<T>> fts) {
-        return AnyM.sequence(fts.map(f -> AnyM.fromFutureW(f)), () -> AnyM.fromFutureW(FutureW.ofResult(Stream.<T> empty())))
-                   .map(s -> ReactiveSeq.fromStream(s))
-                   .unwrap();
+        return sequence(ReactiveSeq.fromStream(fts).toListX()).map(s -> ReactiveSeq.fromIterable(s));
 
     }
 
+    /**
+     * Reduce the successful results of a Collection of FutureWs using the supplied Reducer, failed FutureWs are skipped.
+     *
+     * <pre>
+     * {@code 
+     *   FutureW<PSetX<Integer>> futures = FutureW.accumulateSuccess(ListX.of(just,FutureW.ofError(new RuntimeException()),FutureW.ofResult(1)),Reducers.toPSetX());
+         //PSetX.of(10,1)
+     * }
+     * </pre>
+     *
+     * @param fts Collection of Futures to reduce
+     * @param reducer Reducer to accumulate successful results
+     * @return FutureW with the reduced result
+     */
     public static <T, R> FutureW<R> accumulateSuccess(final CollectionX<FutureW<T>> fts, final Reducer<R> reducer) {
-
-        final FutureW<ListX<T>> sequenced = AnyM.sequence(fts.map(f -> AnyM.fromFutureW(f)))
-                                                .unwrap();
-        return sequenced.map(s -> s.mapReduce(reducer));
+        return FutureW.of(CompletionAggregator.collect(fts, FutureW::getFuture, false))
+                      .map(s -> s.mapReduce(reducer));
     }
 
     public static <T, R> FutureW<R> accumulate(final CollectionX<FutureW<T>> fts, final Reducer<R> reducer) {
@@ -273,6 +310,41 @@ public class FutureW<T> implements ConvertableFunctor<T>, ApplicativeFunctor<T>,
                                        .get());
     }
 
+    /**
+     * Reduce the results of a Collection of FutureWs incrementally, as each FutureW completes. Results are combined in
+     * completion order (so the Monoid should be commutative), and the returned FutureW fails as soon as any input fails.
+     *
+     * <pre>
+     * {@code 
+     *   FutureW<Integer> sum = FutureW.accumulateUnordered(ListX.of(FutureW.ofResult(10),FutureW.ofResult(1)),i->i,Monoid.of(0,Semigroups.intSum));
+         //11
+     * }
+     * </pre>
+     *
+     * @param fts Collection of Futures to reduce
+     * @param mapper Function to convert each result to the Monoid type
+     * @param reducer Monoid to combine results with
+     * @return FutureW with the reduced result
+     */
+    public static <T, R> FutureW<R> accumulateUnordered(final CollectionX<FutureW<T>> fts, final Function<? super T, ? extends R> mapper,
+            final Monoid<R> reducer) {
+        return FutureW.of(CompletionAggregator.reduce(fts, FutureW::getFuture, mapper, reducer, true));
+    }
+
+    /**
+     * Reduce the successful results of a Collection of FutureWs incrementally, as each FutureW completes. Failed
+     * FutureWs are skipped and results are combined in completion order (so the Monoid should be commutative).
+     *
+     * @param fts Collection of Futures to reduce
+     * @param mapper Function to convert each result to the Monoid type
+     * @param reducer Monoid to combine results with
+     * @return FutureW with the reduced result
+     */
+    public static <T, R> FutureW<R> accumulateSuccessUnordered(final CollectionX<FutureW<T>> fts, final Function<? super T, ? extends R> mapper,
+            final Monoid<R> reducer) {
+        return FutureW.of(CompletionAggregator.reduce(fts, FutureW::getFuture, mapper, reducer, false));
+    }
+
     public <R> Eval<R> matches(final Function<CheckValue1<T, R>, CheckValue1<T, R>> secondary,
             final Function<CheckValue1<Throwable, R>, CheckValue1<Throwable, R>> primary, final Supplier<? extends R> otherwise) {
         return toXor().swap()
@@ -509,6 +581,54 @@ public class FutureW<T> implements ConvertableFunctor<T>, ApplicativeFunctor<T>,
         return this.future;
     }
 
+    /**
+     * A FutureW that completes with the result of this FutureW, or fails with a TimeoutException if this FutureW has
+     * not completed within the specified time. Deadlines are tracked on the shared timing wheel (see
+     * {@link ThreadPools#getTimingWheel()}) and cancelled as soon as this FutureW completes, so very large numbers of
+     * concurrent deadlines are cheap.
+     * 
+     * <pre>
+     * {@code 
+     *   FutureW<Quote> quote = FutureW.of(quoteService.loadAsync(ticker))
+     *                                 .within(200, TimeUnit.MILLISECONDS)
+     *                                 .recover(e -> Quote.stale(ticker));
+     * }
+     * </pre>
+     * 
+     * @param time Time allowed for this FutureW to complete
+     * @param unit Time unit
+     * @return FutureW that fails if this FutureW does not complete in time
+     */
+    public FutureW<T> within(final long time, final TimeUnit unit) {
+        return within(time, unit, ThreadPools.getTimingWheel());
+    }
+
+    /**
+     * A FutureW that completes with the result of this FutureW, or fails with a TimeoutException if this FutureW has
+     * not completed within the specified time
+     * 
+     * @param time Time allowed for this FutureW to complete
+     * @param unit Time unit
+     * @param timer ScheduledExecutorService used to track the deadline
+     * @return FutureW that fails if this FutureW does not complete in time
+     */
+    public FutureW<T> within(final long time, final TimeUnit unit, final ScheduledExecutorService timer) {
+        if (future.isDone())
+            return this;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final ScheduledFuture<?> deadline = timer.schedule(() -> result.completeExceptionally(new TimeoutException(
+                                                                                                                  "Not completed within " + time + " " + unit)),
+                                                           time, unit);
+        future.whenComplete((value, error) -> {
+            deadline.cancel(false);
+            if (error == null)
+                result.complete(value);
+            else
+                result.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+        });
+        return FutureW.of(result);
+    }
+
     /**
      * Returns a new FutureW that, when this FutureW completes exceptionally is
      * executed with this FutureW exception as the argument to the supplied
@@ -28,6 +28,7 @@ import com.aol.cyclops.react.RetryBuilder;
 import com.aol.cyclops.react.ThreadPools;
 import com.aol.cyclops.react.async.subscription.Subscription;
 import com.aol.cyclops.react.collectors.lazy.MaxActive;
+import com.aol.cyclops.react.metrics.PipelineMetrics;
 import com.aol.cyclops.types.futurestream.LazyFutureStream;
 import com.aol.cyclops.types.stream.reactive.SeqSubscriber;
 import com.aol.cyclops.util.function.Cacheable;
@@ -77,6 +78,8 @@ public class LazyReact implements ReactBuilder {
     private final boolean autoMemoize;
     @Getter
     private final Cacheable memoizeCache;
+    @Getter
+    private final PipelineMetrics metrics;
 
     /**
      * Turn automatic caching of values on for the FutureStream to be generated
@@ -127,6 +130,7 @@ public class LazyReact implements ReactBuilder {
         autoOptimize = true;
         autoMemoize = false;
         memoizeCache = null;
+        metrics = null;
     }
 
     public LazyReact(final int maxActive, final Executor executor) {
@@ -141,6 +145,7 @@ public class LazyReact implements ReactBuilder {
         autoOptimize = true;
         autoMemoize = false;
         memoizeCache = null;
+        metrics = null;
     }
 
     /**
@@ -163,6 +168,7 @@ public class LazyReact implements ReactBuilder {
         autoOptimize = true;
         autoMemoize = false;
         memoizeCache = null;
+        metrics = null;
     }
 
     public <U> LazyFutureStream<U> from(final CompletableFuture<U> cf) {
@@ -236,6 +242,30 @@ public class LazyReact implements ReactBuilder {
         return withPoolingActive(false);
     }
 
+    /**
+     * Record the number of elements in flight, and the end to end latency of each element, for any Streams created by
+     * the returned LazyReact builder. By default no metrics are recorded.
+     *
+     * <pre>
+     * {@code
+     *  PipelineMetrics metrics = new PipelineMetrics("orders");
+     *
+     *  new LazyReact().metricsOn(metrics)
+     *                 .range(0,5_000)
+     *                 .map(this::process)
+     *                 .forEach(System.out::println);
+     *
+     *  metrics.latency().percentile(99, TimeUnit.MILLISECONDS);
+     * }
+     * </pre>
+     *
+     * @param metrics Metrics registry to record to
+     * @return New LazyReact builder with metrics on
+     */
+    public LazyReact metricsOn(final PipelineMetrics metrics) {
+        return withMetrics(metrics);
+    }
+
     /**
      * Turn on automatic threading optimization. Tasks will be 'fanned' out across threads initially
      * and subsequent task completion events will trigger further processing on the same thread. Where
@@ -396,6 +426,18 @@ public class LazyReact implements ReactBuilder {
     public LazyReact(final Executor executor, final RetryExecutor retrier, final Boolean async, final MaxActive maxActive,
             final boolean streamOfFutures, final boolean objectPoolingActive, final boolean autoOptimize, final boolean autoMemoize,
             final Cacheable memoizeCache) {
+        this(executor, retrier, async, maxActive, streamOfFutures, objectPoolingActive, autoOptimize, autoMemoize, memoizeCache, null);
+    }
+
+    /**
+     * @param executor Task Executor for concurrent tasks
+     * @param retrier Async Retrier
+     * @param async If true each task will be submitted to an executor service
+     * @param metrics Metrics registry to record in flight elements and their latency, or null for none
+     */
+    public LazyReact(final Executor executor, final RetryExecutor retrier, final Boolean async, final MaxActive maxActive,
+            final boolean streamOfFutures, final boolean objectPoolingActive, final boolean autoOptimize, final boolean autoMemoize,
+            final Cacheable memoizeCache, final PipelineMetrics metrics) {
         super();
         this.executor = executor;
         this.retrier = retrier;
@@ -409,6 +451,7 @@ public class LazyReact implements ReactBuilder {
         this.autoOptimize = autoOptimize;
         this.autoMemoize = autoMemoize;
         this.memoizeCache = memoizeCache;
+        this.metrics = metrics;
     }
 
     public LazyReact(final Executor currentThreadExecutor, final AsyncRetryExecutor withScheduler, final boolean async, final MaxActive maxActive2) {
@@ -507,6 +550,35 @@ public class LazyReact implements ReactBuilder {
                         .build();
     }
 
+    /**
+     * Each task is run on its own virtual thread, so stages that block (e.g. on JDBC or HTTP calls) can run with
+     * very high concurrency without tuning a thread pool. Up to {@link MaxActive#VIRTUAL} tasks are in flight at
+     * once.
+     *
+     * On JVMs without virtual threads (before Java 21) tasks run on pooled platform threads, and in flight tasks are
+     * limited to {@link MaxActive#IO}
+     *
+     * <pre>
+     * {@code
+     *  LazyReact.virtualThreads()
+     *           .from(customerIds)
+     *           .map(this::loadCustomerOverJdbc)
+     *           .map(this::callCreditCheckOverHttp);
+     * }
+     * </pre>
+     *
+     * @see ThreadPools#getVirtual()
+     * @return new LazyReact builder configured to run each task on a virtual thread
+     */
+    public static LazyReact virtualThreads() {
+        return LazyReact.builder()
+                        .maxActive(ThreadPools.isVirtualThreadsSupported() ? MaxActive.VIRTUAL : MaxActive.IO)
+                        .executor(ThreadPools.getVirtual())
+                        .retrier(RetryBuilder.getDefaultInstance()
+                                             .withScheduler(ThreadPools.getCommonFreeThreadRetry()))
+                        .build();
+    }
+
     /**
      * @return new LazyReact builder configured to run on a separate thread
      *         (non-blocking current thread), sequentially New ForkJoinPool will
@@ -125,6 +125,17 @@ public interface Maybe<T>
                            eval);
     }
 
+    /**
+     * Construct a Maybe whose presence is only known once the supplied Eval is evaluated
+     *
+     * @param eval Lazily evaluated Optional
+     * @return Lazy Maybe
+     */
+    static <T> Maybe<T> fromEvalOptional(final Eval<Optional<T>> eval) {
+        return new Lazy<T>(
+                           eval.map(Maybe::fromOptional));
+    }
+
     static <T> Maybe<T> just(final T value) {
         return of(value);
     }
@@ -1,7 +1,12 @@
 package com.aol.cyclops.control;
 
+import java.io.InputStream;
 import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
@@ -45,10 +50,14 @@ import org.reactivestreams.Publisher;
 
 import com.aol.cyclops.Monoid;
 import com.aol.cyclops.Reducer;
+import com.aol.cyclops.Reducers;
 import com.aol.cyclops.control.Matchable.CheckValue1;
 import com.aol.cyclops.data.collections.extensions.CollectionX;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
 import com.aol.cyclops.data.collections.extensions.standard.MapX;
+import com.aol.cyclops.data.sketch.HyperLogLog;
+import com.aol.cyclops.data.sketch.QuantileSketch;
+import com.aol.cyclops.internal.stream.spliterators.ChannelSpliterator;
 import com.aol.cyclops.internal.stream.spliterators.ReversingArraySpliterator;
 import com.aol.cyclops.internal.stream.spliterators.ReversingListSpliterator;
 import com.aol.cyclops.internal.stream.spliterators.ReversingRangeIntSpliterator;
@@ -74,6 +83,13 @@ import com.aol.cyclops.types.stream.future.FutureOperations;
 import com.aol.cyclops.types.stream.reactive.ReactiveStreamsTerminalOperations;
 import com.aol.cyclops.types.stream.reactive.SeqSubscriber;
 import com.aol.cyclops.util.ExceptionSoftener;
+import com.aol.cyclops.util.resilience.RateLimiter;
+import com.aol.cyclops.util.resilience.RetryPolicy;
+import com.aol.cyclops.util.stream.Encoder;
+import com.aol.cyclops.util.stream.FileOptions;
+import com.aol.cyclops.util.stream.FileSink;
+import com.aol.cyclops.util.stream.Serializer;
+import com.aol.cyclops.util.stream.SinkOptions;
 
 import lombok.val;
 
@@ -915,6 +931,31 @@ public interface ReactiveSeq<T> extends Unwrapable, Stream<T>, OnEmptySwitch<T,
     @Override
     ReactiveSeq<T> sorted(Comparator<? super T> c);
 
+    /**
+     * Sort a Stream that may be larger than the available heap. Runs of at most runSize elements are sorted in memory
+     * and spilled to temporary files, the sorted runs are merged lazily as the resulting Stream is consumed. The sort
+     * is stable.
+     *
+     * The memory budget is expressed as an element count rather than in bytes : the Serializer only knows the encoded
+     * size of a value, which can differ from its heap footprint by several times. Choose runSize as the available heap
+     * divided by a (measured or estimated) per element heap size.
+     *
+     * <pre>
+     * {@code
+     *  ReactiveSeq.of(4,3,6,7).sortedExternal(Comparator.naturalOrder(),Serializer.ints(),2).toList();
+     *  //[3,4,6,7]
+     * }
+     * </pre>
+     *
+     * @param c Comparator to sort with
+     * @param serializer Serializer used to write runs to, and read runs from, disk
+     * @param runSize Maximum number of elements to hold in memory at once
+     * @return Sorted Stream (temporary files are removed when fully consumed or when the Stream is closed)
+     */
+    default ReactiveSeq<T> sortedExternal(final Comparator<? super T> c, final Serializer<T> serializer, final int runSize) {
+        return fromStream(StreamUtils.sortedExternal(this, c, serializer, runSize));
+    }
+
     /* (non-Javadoc)
      * @see com.aol.cyclops.types.Traversable#takeWhile(java.util.function.Predicate)
      */
@@ -2516,6 +2557,91 @@ public interface ReactiveSeq<T> extends Unwrapable, Stream<T>, OnEmptySwitch<T,
         return fromIterable(() -> iterator);
     }
 
+    /**
+     * Construct a ReactiveSeq of the lines in a file, as read-only ByteBuffer slices of 8MB memory mapped chunks
+     *
+     * @see #fromFile(Path, FileOptions)
+     * @param path File to read
+     * @return ReactiveSeq of lines
+     */
+    public static ReactiveSeq<ByteBuffer> fromFile(final Path path) {
+        return fromFile(path, FileOptions.lines());
+    }
+
+    /**
+     * Construct a ReactiveSeq of the delimited records in a file. The file is memory mapped (or read) in large chunks and
+     * each record is a read-only ByteBuffer slice of its chunk - no bytes are copied and no Strings are created. Close
+     * the ReactiveSeq (e.g. with try-with-resources) to release the file.
+     *
+     * <pre>
+     * {@code
+     *  try(ReactiveSeq<ByteBuffer> records = ReactiveSeq.fromFile(Paths.get("access.log"), FileOptions.lines())){
+     *      long errors = records.filter(r->r.get(0)=='E')
+     *                           .count();
+     *  }
+     * }
+     * </pre>
+     *
+     * ReactiveSeq is sequential, use {@link StreamUtils#fromFile(Path, FileOptions)} to split a file by byte range
+     * across a parallel Stream.
+     *
+     * @param path File to read
+     * @param options Delimiter, chunk size and read mode
+     * @return ReactiveSeq of records
+     */
+    public static ReactiveSeq<ByteBuffer> fromFile(final Path path, final FileOptions options) {
+        return StreamUtils.reactiveSeq(StreamUtils.fromFile(path, options.withParallel(false)), Optional.empty());
+    }
+
+    /**
+     * Construct a ReactiveSeq of the delimited records in a file as text
+     *
+     * @see StreamUtils#fromFileText(Path, FileOptions)
+     * @param path File to read
+     * @param options Delimiter, chunk size, read mode and charset
+     * @return ReactiveSeq of records as text
+     */
+    public static ReactiveSeq<CharSequence> fromFileText(final Path path, final FileOptions options) {
+        return StreamUtils.reactiveSeq(StreamUtils.fromFileText(path, options.withParallel(false)), Optional.empty());
+    }
+
+    /**
+     * Construct a ReactiveSeq of fixed size chunks read from an InputStream. The InputStream is opened when the first
+     * chunk is requested and each chunk is only read as the Stream pulls it, so large payloads are never buffered in
+     * full. The InputStream is closed at the end of input, or when the ReactiveSeq is closed.
+     *
+     * <pre>
+     * {@code
+     *  ReactiveSeq.fromInputStream(ExceptionSoftener.softenSupplier(url::openStream), 64 * 1024)
+     *             .forEach(this::upload);
+     * }
+     * </pre>
+     *
+     * @see com.aol.cyclops.types.stream.reactive.ChannelPublisher
+     * @param supplier Opens the InputStream
+     * @param chunkSize Bytes per chunk (only the last chunk may be smaller)
+     * @return ReactiveSeq of chunks
+     */
+    public static ReactiveSeq<ByteBuffer> fromInputStream(final Supplier<? extends InputStream> supplier, final int chunkSize) {
+        return fromChannel(() -> Channels.newChannel(supplier.get()), chunkSize);
+    }
+
+    /**
+     * Construct a ReactiveSeq of fixed size chunks read from a channel, as chunks are pulled by the Stream
+     *
+     * @see #fromInputStream(Supplier, int)
+     * @param supplier Opens the channel
+     * @param chunkSize Bytes per chunk (only the last chunk may be smaller)
+     * @return ReactiveSeq of chunks
+     */
+    public static ReactiveSeq<ByteBuffer> fromChannel(final Supplier<? extends ReadableByteChannel> supplier, final int chunkSize) {
+        final ChannelSpliterator chunks = new ChannelSpliterator(
+                                                                 supplier, chunkSize);
+        return StreamUtils.reactiveSeq(StreamSupport.stream(chunks, false)
+                                                    .onClose(chunks::close),
+                                       Optional.empty());
+    }
+
     /**
      * @see Stream#iterate(Object, UnaryOperator)
      */
@@ -2963,6 +3089,87 @@ public interface ReactiveSeq<T> extends Unwrapable, Stream<T>, OnEmptySwitch<T,
      */
     ReactiveSeq<T> jitter(long maxJitterPeriodInNanos);
 
+    /**
+     * Limit the rate of element emission with a token bucket, shared with any other Streams using the same
+     * RateLimiter. The consuming thread is parked while it waits for a permit.
+     * 
+     * <pre>
+     * {@code
+     *  RateLimiter quota = RateLimiter.of("quotes", 100, 20);
+     *  
+     *  ReactiveSeq.fromIterable(tickers)
+     *             .rateLimit(quota)
+     *             .map(quoteService::load)
+     *             .forEach(this::publish);
+     * }
+     * </pre>
+     * 
+     * @param limiter
+     *            RateLimiter to acquire a permit from for each element
+     * @return ReactiveSeq that emits elements no faster than the RateLimiter allows
+     */
+    ReactiveSeq<T> rateLimit(RateLimiter limiter);
+
+    /**
+     * Limit the rate of element emission with a token bucket
+     * 
+     * <pre>
+     * {@code
+     *  ReactiveSeq.range(0, 1000)
+     *             .rateLimit(100, 10)
+     *             .forEach(this::send);
+     *  //sends a burst of 10, then 100 per second
+     * }
+     * </pre>
+     * 
+     * @param permitsPerSecond
+     *            Sustained rate of emission
+     * @param burst
+     *            Maximum number of elements emitted at once after a quiet period
+     * @return ReactiveSeq that emits elements no faster than the specified rate
+     */
+    default ReactiveSeq<T> rateLimit(final double permitsPerSecond, final int burst) {
+        return rateLimit(RateLimiter.of("rateLimit", permitsPerSecond, burst));
+    }
+
+    /**
+     * Write each element to a file, batched into 1MB direct buffers and written asynchronously
+     *
+     * @see #toFile(Path, Encoder, SinkOptions)
+     * @param path File to write
+     * @param encoder Encoder for each element
+     * @return Closed FileSink, with the files and number of bytes written
+     */
+    default FileSink<T> toFile(final Path path, final Encoder<? super T> encoder) {
+        return toFile(path, encoder, SinkOptions.defaults());
+    }
+
+    /**
+     * Write each element to a file. Elements are encoded into large direct buffers, full buffers are written with an
+     * AsynchronousFileChannel (or FileChannel gather writes) so many elements share each system call. The Stream is held
+     * back while the configured number of buffers are waiting to be written.
+     *
+     * <pre>
+     * {@code
+     *  ReactiveSeq.fromIterable(rows)
+     *             .map(Row::toCsv)
+     *             .toFile(Paths.get("export.csv"), Encoder.lines(StandardCharsets.UTF_8), SinkOptions.defaults()
+     *                                                                                                 .rotateBySize(1024 * 1024 * 1024));
+     * }
+     * </pre>
+     *
+     * @param path File to write
+     * @param encoder Encoder for each element
+     * @param options Buffering, write mode and rotation
+     * @return Closed FileSink, with the files and number of bytes written
+     */
+    default FileSink<T> toFile(final Path path, final Encoder<? super T> encoder, final SinkOptions options) {
+        try (FileSink<T> sink = FileSink.of(path, encoder, options)) {
+            forEach(sink);
+            return sink;
+        }
+    }
+
     /**
      * Recover from an exception with an alternative value
      * 
@@ -3065,25 +3272,54 @@ public interface ReactiveSeq<T> extends Unwrapable, Stream<T>, OnEmptySwitch<T,
      *            TimeUnit to use for delay
      */
     default <R> ReactiveSeq<R> retry(final Function<? super T, ? extends R> fn, final int retries, final long delay, final TimeUnit timeUnit) {
-        final Function<T, R> retry = t -> {
-            int count = retries;
-            final long[] sleep = { timeUnit.toMillis(delay) };
-            Throwable exception = null;
-            while (count-- > 0) {
-                ExceptionSoftener.softenRunnable(() -> Thread.sleep(sleep[0]))
-                                 .run();
-                try {
-                    return fn.apply(t);
-                } catch (final Throwable e) {
-                    exception = e;
-                }
-
-                sleep[0] = sleep[0] * 2;
-            }
-            ExceptionSoftener.throwSoftenedException(exception);
-            return null;
-        };
-        return map(retry);
+        return retry(fn, RetryPolicy.exponential(retries, delay, timeUnit));
+    }
+
+    /**
+     * Retry a transformation if it fails, according to the supplied RetryPolicy. The first attempt runs immediately,
+     * retries are scheduled on the policy's timer, and the result is returned to the consuming thread once available.
+     * 
+     * <pre>
+     * {@code 
+     * 		String result = ReactiveSeq.of( 1,  2, 3)
+     * 				.retry(serviceMock, RetryPolicy.exponential(7, 2, TimeUnit.SECONDS)
+     *                                             .withJitter(0.5))
+     * 				.firstValue();
+     * }
+     * </pre>
+     * 
+     * @param fn
+     *            Function to retry if fails
+     * @param policy
+     *            Retry policy (number of attempts, backoff, jitter and retry budget)
+     * @return ReactiveSeq of results
+     */
+    default <R> ReactiveSeq<R> retry(final Function<? super T, ? extends R> fn, final RetryPolicy policy) {
+        return map(t -> policy.<R> execute(() -> fn.apply(t))
+                              .get());
+    }
+
+    /**
+     * Retry a transformation if it fails, without waiting for the result on the consuming thread. Each element is
+     * mapped to a FutureW that completes with the first successful result (or the last error), retries are scheduled
+     * on the policy's timer.
+     * 
+     * <pre>
+     * {@code 
+     * 		ListX<FutureW<String>> results = ReactiveSeq.of( 1,  2, 3)
+     * 				                                   .retryAsync(serviceMock, RetryPolicy.exponential(7, 2, TimeUnit.SECONDS))
+     * 				                                   .toListX();
+     * }
+     * </pre>
+     * 
+     * @param fn
+     *            Function to retry if fails
+     * @param policy
+     *            Retry policy (number of attempts, backoff, jitter and retry budget)
+     * @return ReactiveSeq of asynchronous results
+     */
+    default <R> ReactiveSeq<FutureW<R>> retryAsync(final Function<? super T, ? extends R> fn, final RetryPolicy policy) {
+        return map(t -> policy.<R> execute(() -> fn.apply(t)));
     }
 
     /**
@@ -3695,6 +3931,183 @@ public interface ReactiveSeq<T> extends Unwrapable, Stream<T>, OnEmptySwitch<T,
         return CyclopsCollectable.super.median(comparator);
     }
 
+    /**
+     * The k largest elements of this Stream, largest first, computed with at most k elements held in memory
+     *
+     * <pre>
+     * {@code
+     *  ReactiveSeq.of(4,1,7,3).topK(2,Comparator.naturalOrder());
+     *  //ListX[7,4]
+     * }
+     * </pre>
+     *
+     * @see com.aol.cyclops.Reducers#toTopK(int, Comparator)
+     * @param k Number of elements to return
+     * @param comparator Ordering of elements
+     * @return List of the k largest elements
+     */
+    default ListX<T> topK(final int k, final Comparator<? super T> comparator) {
+        return Reducers.<T> toTopK(k, comparator)
+                       .mapReduce(this);
+    }
+
+    /**
+     * Estimate a percentile of this Stream in bounded memory (using a QuantileSketch), rather than sorting the entire
+     * Stream
+     *
+     * <pre>
+     * {@code
+     *  ReactiveSeq.range(0,1_000_000).approxPercentile(0.99,Comparator.naturalOrder());
+     *  //Optional[~990_000]
+     * }
+     * </pre>
+     *
+     * @see com.aol.cyclops.data.sketch.QuantileSketch
+     * @param percentile Percentile between 0 and 1
+     * @param comparator Ordering of elements
+     * @return Estimated element at the percentile, Optional.empty if this Stream is empty
+     */
+    default Optional<T> approxPercentile(final double percentile, final Comparator<? super T> comparator) {
+        return Reducers.<T> toQuantileSketch(comparator)
+                       .mapReduce(this)
+                       .quantile(percentile);
+    }
+
+    /**
+     * Estimate a percentile of this Stream of Comparable elements in bounded memory
+     *
+     * @see #approxPercentile(double, Comparator)
+     * @param percentile Percentile between 0 and 1
+     * @return Estimated element at the percentile, Optional.empty if this Stream is empty
+     */
+    default Optional<T> approxPercentile(final double percentile) {
+        return approxPercentile(percentile, (Comparator) Comparator.naturalOrder());
+    }
+
+    /**
+     * @see #approxPercentile(double, Comparator)
+     * @param comparator Ordering of elements
+     * @return Estimated median, Optional.empty if this Stream is empty
+     */
+    default Optional<T> approxMedian(final Comparator<? super T> comparator) {
+        return approxPercentile(0.5, comparator);
+    }
+
+    /**
+     * @see #approxPercentile(double)
+     * @return Estimated median of this Stream of Comparable elements, Optional.empty if this Stream is empty
+     */
+    default Optional<T> approxMedian() {
+        return approxPercentile(0.5);
+    }
+
+    /**
+     * Estimate the number of distinct elements in this Stream in bounded memory (using a HyperLogLog), rather than
+     * collecting the elements to a Set
+     *
+     * <pre>
+     * {@code
+     *  ReactiveSeq.range(0,1_000_000).map(i->i%1000).approxCountDistinct();
+     *  //~1000
+     * }
+     * </pre>
+     *
+     * @see com.aol.cyclops.data.sketch.HyperLogLog
+     * @return Estimated number of distinct elements
+     */
+    default long approxCountDistinct() {
+        return Reducers.toHyperLogLog()
+                       .mapReduce(this)
+                       .estimate();
+    }
+
+    /**
+     * The k largest elements seen so far, largest first, emitted after each element of this Stream. At most k elements
+     * are held in memory, so this can be used on infinite Streams.
+     *
+     * <pre>
+     * {@code
+     *  ReactiveSeq.of(4,1,7,3).runningTopK(2,Comparator.naturalOrder());
+     *  //ReactiveSeq[[4],[4,1],[7,4],[7,4]]
+     * }
+     * </pre>
+     *
+     * @see #topK(int, Comparator)
+     * @param k Number of elements to retain
+     * @param comparator Ordering of elements
+     * @return ReactiveSeq of the k largest elements seen after each element
+     */
+    default ReactiveSeq<ListX<T>> runningTopK(final int k, final Comparator<? super T> comparator) {
+        final Reducer<ListX<T>> reducer = Reducers.toTopK(k, comparator);
+        if (k == 0)
+            return map(next -> reducer.zero());
+        return scanLeft(reducer.zero(), (top, next) -> reducer.apply(top, ListX.of(next))).skip(1);
+    }
+
+    /**
+     * Estimate a percentile of all elements seen so far, emitted after each window of elements. A single QuantileSketch
+     * is carried from window to window, so memory stays bounded and this can be used on infinite Streams.
+     *
+     * <pre>
+     * {@code
+     *  ReactiveSeq.iterate(0,i->i+1).runningPercentile(0.5,Comparator.naturalOrder(),1000).limit(3);
+     *  //ReactiveSeq[Optional[~500],Optional[~1000],Optional[~1500]]
+     * }
+     * </pre>
+     *
+     * @see #approxPercentile(double, Comparator)
+     * @param percentile Percentile between 0 and 1
+     * @param comparator Ordering of elements
+     * @param window Number of elements between estimates (1 for an estimate after every element)
+     * @return ReactiveSeq of the estimated percentile after each window
+     */
+    default ReactiveSeq<Optional<T>> runningPercentile(final double percentile, final Comparator<? super T> comparator, final int window) {
+        if (window < 1)
+            throw new IllegalArgumentException(
+                                               "window must be at least 1 : " + window);
+        final Reducer<QuantileSketch<T>> reducer = Reducers.toQuantileSketch(comparator);
+        return grouped(window).scanLeft(reducer.zero(), (sketch, next) -> reducer.apply(sketch, reducer.mapReduce(next.stream())))
+                              .skip(1)
+                              .map(sketch -> sketch.quantile(percentile));
+    }
+
+    /**
+     * Estimate a percentile of all the Comparable elements seen so far, emitted after each window of elements
+     *
+     * @see #runningPercentile(double, Comparator, int)
+     * @param percentile Percentile between 0 and 1
+     * @param window Number of elements between estimates
+     * @return ReactiveSeq of the estimated percentile after each window
+     */
+    default ReactiveSeq<Optional<T>> runningPercentile(final double percentile, final int window) {
+        return runningPercentile(percentile, (Comparator) Comparator.naturalOrder(), window);
+    }
+
+    /**
+     * Estimate the number of distinct elements seen so far, emitted after each window of elements. A single
+     * HyperLogLog is carried from window to window, so memory stays bounded and this can be used on infinite Streams.
+     *
+     * <pre>
+     * {@code
+     *  ReactiveSeq.iterate(0,i->i+1).map(i->i%100).runningCountDistinct(1000).limit(2);
+     *  //ReactiveSeq[~100,~100]
+     * }
+     * </pre>
+     *
+     * @see #approxCountDistinct()
+     * @param window Number of elements between estimates (1 for an estimate after every element)
+     * @return ReactiveSeq of the estimated number of distinct elements after each window
+     */
+    default ReactiveSeq<Long> runningCountDistinct(final int window) {
+        if (window < 1)
+            throw new IllegalArgumentException(
+                                               "window must be at least 1 : " + window);
+        final Reducer<HyperLogLog> reducer = Reducers.toHyperLogLog();
+        return grouped(window).scanLeft(reducer.zero(), (hll, next) -> reducer.apply(hll, reducer.mapReduce(next.stream())))
+                              .skip(1)
+                              .map(HyperLogLog::estimate);
+    }
+
     /* (non-Javadoc)
      * @see com.aol.cyclops.types.stream.CyclopsCollectable#medianBy(java.util.function.Function)
      */
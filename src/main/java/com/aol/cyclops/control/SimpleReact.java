@@ -277,6 +277,20 @@ public class SimpleReact implements ReactBuilder {
 
     }
 
+    /**
+     * @return new eager SimpleReact builder configured to run each task on its own virtual thread (on JVMs without
+     *         virtual threads, before Java 21, tasks run on pooled platform threads instead)
+     * @see ThreadPools#getVirtual()
+     */
+    public static SimpleReact virtualThreads() {
+        return SimpleReact.builder()
+                          .executor(ThreadPools.getVirtual())
+                          .async(true)
+                          .retrier(RetryBuilder.getDefaultInstance()
+                                               .withScheduler(ThreadPools.getCommonFreeThreadRetry()))
+                          .build();
+    }
+
     /**
      * @return new eager SimpleReact builder configured to run on a separate thread (non-blocking current thread), sequentially
      * New ForkJoinPool will be created
@@ -3,6 +3,12 @@ package com.aol.cyclops.control;
 import java.io.BufferedReader;
 import java.io.File;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -49,6 +55,7 @@ import com.aol.cyclops.data.Mutable;
 import com.aol.cyclops.data.collections.extensions.CollectionX;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
 import com.aol.cyclops.internal.monads.MonadWrapper;
+import com.aol.cyclops.internal.stream.ByteBufferCharSequence;
 import com.aol.cyclops.internal.stream.FutureStreamUtils;
 import com.aol.cyclops.internal.stream.PausableHotStreamImpl;
 import com.aol.cyclops.internal.stream.ReactiveSeqFutureOpterationsImpl;
@@ -60,6 +67,7 @@ import com.aol.cyclops.internal.stream.operators.BatchByTimeAndSizeOperator;
 import com.aol.cyclops.internal.stream.operators.BatchByTimeOperator;
 import com.aol.cyclops.internal.stream.operators.BatchWhileOperator;
 import com.aol.cyclops.internal.stream.operators.DebounceOperator;
+import com.aol.cyclops.internal.stream.operators.ExternalSortOperator;
 import com.aol.cyclops.internal.stream.operators.LimitLastOperator;
 import com.aol.cyclops.internal.stream.operators.LimitWhileOperator;
 import com.aol.cyclops.internal.stream.operators.LimitWhileTimeOperator;
@@ -70,6 +78,7 @@ import com.aol.cyclops.internal.stream.operators.SkipLastOperator;
 import com.aol.cyclops.internal.stream.operators.SkipWhileOperator;
 import com.aol.cyclops.internal.stream.operators.SkipWhileTimeOperator;
 import com.aol.cyclops.internal.stream.operators.WindowStatefullyWhileOperator;
+import com.aol.cyclops.internal.stream.spliterators.FileRecordSpliterator;
 import com.aol.cyclops.internal.stream.spliterators.ReversableSpliterator;
 import com.aol.cyclops.types.stream.HeadAndTail;
 import com.aol.cyclops.types.stream.HotStream;
@@ -77,6 +86,10 @@ import com.aol.cyclops.types.stream.NonPausableHotStream;
 import com.aol.cyclops.types.stream.PausableHotStream;
 import com.aol.cyclops.types.stream.future.FutureOperations;
 import com.aol.cyclops.util.ExceptionSoftener;
+import com.aol.cyclops.util.resilience.RateLimiter;
+import com.aol.cyclops.util.stream.FileOptions;
+import com.aol.cyclops.util.stream.Serializer;
+import com.aol.cyclops.util.stream.scheduling.cron.CompiledCronExpression;
 
 import lombok.AllArgsConstructor;
 import lombok.val;
@@ -354,6 +367,30 @@ public class StreamUtils {
                                           stream).schedule(cron, ex);
     }
 
+    /**
+     * Execute this Stream on a schedule, using a precompiled cron expression. The same CompiledCronExpression can be
+     * shared across many scheduled Streams.
+     * 
+     * <pre>
+     * {@code
+     *  CompiledCronExpression nightly = CompiledCronExpression.compile("0 0 20 * * ?");
+     *  //run at 8PM every night
+     *  StreamUtils.schedule(Stream.generate(()->"next job:"+formatDate(new Date()))
+     *            .map(this::processJob)
+     *            ,nightly,Executors.newScheduledThreadPool(1)));
+     * }
+     * </pre>
+     * 
+     * @param stream the stream to schedule element processing on
+     * @param cron Compiled expression that determines when each job will run
+     * @param ex ScheduledExecutorService
+     * @return Connectable HotStream of output from scheduled Stream
+     */
+    public static <T> HotStream<T> schedule(final Stream<T> stream, final CompiledCronExpression cron, final ScheduledExecutorService ex) {
+        return new NonPausableHotStream<>(
+                                          stream).schedule(cron, ex);
+    }
+
     /**
      * Execute this Stream on a schedule
      * 
@@ -757,6 +794,30 @@ public class StreamUtils {
                                        stream, num).limitLast();
     }
 
+    /**
+     * Sort a Stream that may be too large to fit in memory. Runs of at most runSize elements are sorted in memory
+     * and spilled to temporary files, which are merged lazily as the sorted Stream is consumed. The memory budget is an
+     * element count, as the size of an element on the heap can not be derived from its serialized form.
+     *
+     * <pre>
+     * {@code
+     *  StreamUtils.sortedExternal(Stream.of(4,3,6,7),Comparator.naturalOrder(),Serializer.ints(),2).collect(Collectors.toList())
+     *  // [3,4,6,7]
+     * }
+     * </pre>
+     *
+     * @param stream Stream to sort
+     * @param comparator Comparator to sort with
+     * @param serializer Serializer used to write runs to, and read runs from, disk
+     * @param runSize Maximum number of elements to hold in memory at once
+     * @return Sorted Stream (temporary files are removed when fully consumed or when the Stream is closed)
+     */
+    public static <U> Stream<U> sortedExternal(final Stream<U> stream, final Comparator<? super U> comparator, final Serializer<U> serializer,
+            final int runSize) {
+        return new ExternalSortOperator<>(
+                                          stream, comparator, serializer, runSize).sorted();
+    }
+
     public static <T> Stream<T> recover(final Stream<T> stream, final Function<Throwable, ? extends T> fn) {
         return new RecoverOperator<>(
                                      stream, Throwable.class).recover(fn);
@@ -1983,6 +2044,52 @@ public class StreamUtils {
                                           .sequence();
     }
 
+    /**
+     * Create a Stream of the delimited records in a file, without decoding them into Strings. The file is memory mapped
+     * (or read) in chunks of {@link FileOptions#getChunkSize()} bytes and each record is a read-only ByteBuffer slice of
+     * its chunk. Parallel Streams split the file by byte range, each split starting on a record boundary. Close the
+     * Stream to release the file.
+     *
+     * <pre>
+     * {@code
+     *  try(Stream<ByteBuffer> records = StreamUtils.fromFile(Paths.get("access.log"), FileOptions.lines()
+     *                                                                                         .withParallel(true))){
+     *      long errors = records.filter(r->r.get(0)=='E')
+     *                           .count();
+     *  }
+     * }
+     * </pre>
+     *
+     * @param path File to read
+     * @param options Delimiter, chunk size, read mode and parallelism
+     * @return Stream of records
+     */
+    public final static Stream<ByteBuffer> fromFile(final Path path, final FileOptions options) {
+        final FileChannel channel = ExceptionSoftener.softenSupplier(() -> FileChannel.open(path, StandardOpenOption.READ))
+                                                     .get();
+        return StreamSupport.stream(new FileRecordSpliterator(
+                                                              channel, options),
+                                    options.isParallel())
+                            .onClose(ExceptionSoftener.softenRunnable(channel::close));
+    }
+
+    /**
+     * Create a Stream of the delimited records in a file as text. Records in single byte charsets (US-ASCII and
+     * ISO-8859-1) are CharSequence views over the underlying bytes, other charsets are decoded once per record into a
+     * CharBuffer.
+     *
+     * @see #fromFile(Path, FileOptions)
+     * @param path File to read
+     * @param options Delimiter, chunk size, read mode, parallelism and charset
+     * @return Stream of records as text
+     */
+    public final static Stream<CharSequence> fromFileText(final Path path, final FileOptions options) {
+        final Charset charset = options.getCharset();
+        if (charset.equals(StandardCharsets.US_ASCII) || charset.equals(StandardCharsets.ISO_8859_1))
+            return fromFile(path, options).map(ByteBufferCharSequence::new);
+        return fromFile(path, options).map(charset::decode);
+    }
+
     public static final <A> Tuple2<Iterator<A>, Iterator<A>> toBufferingDuplicator(final Iterator<A> iterator) {
         return toBufferingDuplicator(iterator, Long.MAX_VALUE);
     }
@@ -2424,6 +2531,33 @@ public class StreamUtils {
         });
     }
 
+    /**
+     * Limit the rate at which elements are pulled from a Stream with a (possibly shared) token bucket
+     * 
+     * @see com.aol.cyclops.control.ReactiveSeq#rateLimit(RateLimiter)
+     * 
+     * @param stream Stream to rate limit
+     * @param limiter RateLimiter to acquire a permit from before each element is pulled
+     * @return Rate limited Stream
+     */
+    public final static <T> Stream<T> rateLimit(final Stream<T> stream, final RateLimiter limiter) {
+        final Iterator<T> it = stream.iterator();
+        return StreamUtils.stream(new Iterator<T>() {
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public T next() {
+                limiter.acquire();
+                return it.next();
+            }
+
+        });
+    }
+
     public final static <T> HotStream<T> hotStream(final Stream<T> stream, final Executor exec) {
         return new NonPausableHotStream<>(
                                           stream).init(exec);
@@ -41,6 +41,8 @@ import com.aol.cyclops.Reducer;
 import com.aol.cyclops.data.collections.extensions.CollectionX;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
 import com.aol.cyclops.data.collections.extensions.standard.MapX;
+import com.aol.cyclops.internal.stream.ReplayBuffer;
+import com.aol.cyclops.internal.stream.ReplayStreamableImpl;
 import com.aol.cyclops.internal.stream.SeqUtils;
 import com.aol.cyclops.internal.stream.StreamableImpl;
 import com.aol.cyclops.types.Filterable;
@@ -55,6 +57,8 @@ import com.aol.cyclops.types.stream.HotStream;
 import com.aol.cyclops.types.stream.ToStream;
 import com.aol.cyclops.types.stream.future.FutureOperations;
 import com.aol.cyclops.types.stream.reactive.SeqSubscriber;
+import com.aol.cyclops.util.resilience.RateLimiter;
+import com.aol.cyclops.util.stream.ReplayPolicy;
 
 import lombok.AllArgsConstructor;
 
@@ -104,6 +108,44 @@ public interface Streamable<T> extends ToStream<T>, IterableFoldable<T>, Cyclops
                                   Impl.collectStreamConcurrent(toCoerce));
     }
 
+    /**
+     * Make a Stream repeatable, buffering its elements in fixed size chunks as they are first consumed. Any number of
+     * consumers (on any number of threads) can replay the buffered data concurrently, reads of data that is already
+     * buffered are lock-free and do not copy (only pulling new elements from the Stream is serialized by a lock).
+     * The policy controls how much of the Stream is retained, and whether older chunks are spilled to disk. Closing the
+     * returned Replay deletes any spilled chunks.
+     *
+     * <pre>
+     * {@code
+     *   try(Streamable.Replay<Row> rows = Streamable.replay(expensiveQuery(), ReplayPolicy.<Row>unbounded()
+     *                                                                                 .withTtl(5, TimeUnit.MINUTES)
+     *                                                                                 .spillToDisk(100_000, rowSerializer))){
+     *     rows.stream().forEach(this::index);
+     *     rows.stream().forEach(this::audit); //replayed, the query runs once
+     *   }
+     * }
+     * </pre>
+     *
+     * @param stream Stream to replay
+     * @param policy Controls retention and spilling of buffered elements
+     * @return Replay that replays the supplied Stream
+     */
+    public static <T> Replay<T> replay(final Stream<T> stream, final ReplayPolicy<T> policy) {
+        return new ReplayStreamableImpl<T>(
+                                           new ReplayBuffer<T>(
+                                                               stream.iterator(), policy));
+    }
+
+    /**
+     * A Streamable that replays a buffered Stream, close to delete any chunks spilled to disk
+     *
+     * @param <T> Data type
+     */
+    public static interface Replay<T> extends Streamable<T>, AutoCloseable {
+        @Override
+        void close();
+    }
+
     public static <T> Streamable<T> synchronizedFromIterable(final Iterable<T> toCoerce) {
         return new StreamableImpl(
                                   Impl.collectStreamConcurrent(toCoerce));
@@ -2636,6 +2678,24 @@ public interface Streamable<T> extends ToStream<T>, IterableFoldable<T>, Cyclops
 
     }
 
+    /**
+     * Limit the rate of element emission with a (possibly shared) token bucket
+     * <pre>
+     * {@code 
+     * RateLimiter quota = RateLimiter.of("quotes", 100, 20);
+     * Streamable.fromIterable(tickers)
+     *           .rateLimit(quota)
+     *           .forEach(quoteService::load);
+     * }
+     * </pre>
+     * @param limiter RateLimiter to acquire a permit from for each element
+     * @return Streamable that emits elements no faster than the RateLimiter allows
+     */
+    default Streamable<T> rateLimit(final RateLimiter limiter) {
+        return fromStream(reactiveSeq().rateLimit(limiter));
+
+    }
+
     /**
      * Allow one element through per time period, drop all other 
      * elements in that time period
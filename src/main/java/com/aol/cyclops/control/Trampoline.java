@@ -1,16 +1,33 @@
 package com.aol.cyclops.control;
 
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Stream;
 
 import com.aol.cyclops.types.Value;
 
 /**
- * simple Trampoline implementation : inspired by excellent TotallyLazy Java 8 impl 
+ * simple Trampoline implementation : inspired by excellent TotallyLazy Java 8 impl
  * and Mario Fusco presentation
- * 
+ *
+ * Trampolines are run in a single loop, flatMap chains (including deeply left nested chains) are evaluated using a
+ * flat stack of continuations rather than the call stack.
+ *
+ * <pre>
+ * {@code
+ *   Trampoline<Long> sum(long n, long acc){
+ *       return n==0 ? Trampoline.done(acc) : Trampoline.more(()->sum(n-1,acc+n));
+ *   }
+ *
+ *   Trampoline<Long> count(long n){
+ *       return n==0 ? Trampoline.done(0l) : Trampoline.<Long>more(()->count(n-1)).map(c->c+1);
+ *   }
+ * }
+ * </pre>
+ *
  * @author johnmcclean
  *
  * @param <T> Return type
@@ -43,15 +60,37 @@ public interface Trampoline<T> extends Supplier<T>, Value<T> {
 
     /**
      * @return true if complete
-     * 
+     *
      */
     default boolean complete() {
         return true;
     }
 
+    /**
+     * Transform the result of this Trampoline, without consuming stack
+     *
+     * @param mapper Function to apply to the result
+     * @return Trampoline that applies the function once this Trampoline completes
+     */
+    default <R> Trampoline<R> map(final Function<? super T, ? extends R> mapper) {
+        return flatMap(t -> Trampoline.done(mapper.apply(t)));
+    }
+
+    /**
+     * Continue with the Trampoline returned by the supplied function once this Trampoline completes. flatMap chains
+     * of any depth (and nesting) are stack safe.
+     *
+     * @param mapper Function that creates the next Trampoline from the result of this one
+     * @return Trampoline that runs this Trampoline followed by the one created by mapper
+     */
+    default <R> Trampoline<R> flatMap(final Function<? super T, ? extends Trampoline<? extends R>> mapper) {
+        return new Module.FlatMap<R>(
+                                     this, mapper);
+    }
+
     /**
      * Created a completed Trampoline
-     * 
+     *
      * @param result Completed result
      * @return Completed Trampoline
      */
@@ -61,12 +100,23 @@ public interface Trampoline<T> extends Supplier<T>, Value<T> {
 
     /**
      * Create a Trampoline that has more work to do
-     * 
+     *
      * @param trampoline Next stage in Trampoline
      * @return Trampoline with more work
      */
     public static <T> Trampoline<T> more(final Trampoline<Trampoline<T>> trampoline) {
-        return new Trampoline<T>() {
+        return new Module.More<T>(
+                                  trampoline);
+    }
+
+    static class Module {
+
+        static final class More<T> implements Trampoline<T> {
+            private final Trampoline<Trampoline<T>> next;
+
+            More(final Trampoline<Trampoline<T>> next) {
+                this.next = next;
+            }
 
             @Override
             public boolean complete() {
@@ -75,23 +125,90 @@ public interface Trampoline<T> extends Supplier<T>, Value<T> {
 
             @Override
             public Trampoline<T> bounce() {
-                return trampoline.result();
+                return next.result();
             }
 
             @Override
             public T get() {
-                return trampoline(this);
+                return run(this);
+            }
+
+            @Override
+            public String toString() {
+                return "Trampoline[more]";
+            }
+        }
+
+        static final class FlatMap<T> implements Trampoline<T> {
+            private final Trampoline<?> source;
+            private final Function<Object, ? extends Trampoline<? extends T>> mapper;
+
+            FlatMap(final Trampoline<?> source, final Function<?, ? extends Trampoline<? extends T>> mapper) {
+                this.source = source;
+                this.mapper = (Function<Object, ? extends Trampoline<? extends T>>) mapper;
+            }
+
+            @Override
+            public boolean complete() {
+                return false;
             }
 
-            T trampoline(final Trampoline<T> trampoline) {
+            /**
+             * Single step, for callers driving the Trampoline manually. Left nested chains are re-associated to the right.
+             */
+            @Override
+            public Trampoline<T> bounce() {
+                if (source instanceof FlatMap) {
+                    final FlatMap<?> nested = (FlatMap<?>) source;
+                    return new FlatMap<T>(
+                                          nested.source, x -> nested.mapper.apply(x)
+                                                                          .flatMap(mapper));
+                }
+                if (source.complete())
+                    return narrow(mapper.apply(source.result()));
+                return new FlatMap<T>(
+                                      source.bounce(), mapper);
+            }
 
-                return Stream.iterate(trampoline, Trampoline::bounce)
-                             .filter(Trampoline::complete)
-                             .findFirst()
-                             .get()
-                             .result();
+            @Override
+            public T get() {
+                return run(this);
+            }
 
+            @Override
+            public String toString() {
+                return "Trampoline[flatMap]";
+            }
+        }
+
+        static <T> Trampoline<T> narrow(final Trampoline<? extends T> broad) {
+            return (Trampoline<T>) broad;
+        }
+
+        /**
+         * Run loop : bounce until complete, pushing flatMap continuations onto a single stack which is drained as
+         * results become available
+         */
+        static <T> T run(final Trampoline<T> start) {
+            Deque<Function<Object, ? extends Trampoline<?>>> continuations = null;
+            Trampoline<?> current = start;
+            for (;;) {
+                if (current instanceof FlatMap) {
+                    final FlatMap<?> flatMap = (FlatMap<?>) current;
+                    if (continuations == null)
+                        continuations = new ArrayDeque<>();
+                    continuations.push(flatMap.mapper);
+                    current = flatMap.source;
+                } else if (!current.complete()) {
+                    current = current.bounce();
+                } else {
+                    final Object result = current.result();
+                    if (continuations == null || continuations.isEmpty())
+                        return (T) result;
+                    current = continuations.pop()
+                                           .apply(result);
+                }
             }
-        };
+        }
     }
 }
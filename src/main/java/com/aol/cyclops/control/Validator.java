@@ -1,5 +1,13 @@
 package com.aol.cyclops.control;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 import org.jooq.lambda.tuple.Tuple;
@@ -151,6 +159,81 @@ public class Validator<T, R, E> {
 
     }
 
+    /**
+     * Accumulate validation results, running independent validation steps concurrently on the supplied Executor
+     * (e.g. where validation calls remote services). Results are in the order the steps were added.
+     * 
+     * <pre>
+     * {@code 
+     * FutureW<ValidationResults<String,String>> results  = Validator.of((User user)->user.age>18, "too young", "age ok")
+                                                                    .isValid(user->emailService.isRegistered(user.email), "email unknown","email ok")
+                                                                    .accumulateAsync(new User(10,"email@email.com"), ioExecutor);
+     * 
+     * }
+     * </pre>
+     * @param input Value to perform validation checks with
+     * @param ex Executor to run validation steps on
+     * @return FutureW with the Validation Results
+     */
+    public FutureW<ValidationResults<R, E>> accumulateAsync(final T input, final Executor ex) {
+        return compile().accumulateAsync(input, ex);
+    }
+
+    /**
+     * Accumulate validation results, running independent validation steps concurrently on the supplied Executor and
+     * failing with a TimeoutException if they have not all completed in time
+     * 
+     * @see #accumulateAsync(Object, Executor)
+     * 
+     * @param input Value to perform validation checks with
+     * @param ex Executor to run validation steps on
+     * @param timeout Maximum time to wait for all validation steps
+     * @param unit Time unit of the timeout
+     * @return FutureW with the Validation Results
+     */
+    public FutureW<ValidationResults<R, E>> accumulateAsync(final T input, final Executor ex, final long timeout, final TimeUnit unit) {
+        return compile().accumulateAsync(input, ex, timeout, unit);
+    }
+
+    /**
+     * Run the accumulation until the first failure, starting all validation steps concurrently on the supplied Executor.
+     * The result completes as soon as a failure is known for a step whose predecessors have all succeeded, and steps
+     * that have not started yet are cancelled.
+     * 
+     * @param input Value to perform validation checks with
+     * @param ex Executor to run validation steps on
+     * @return FutureW with the Validation Results up to and including the first failure
+     */
+    public FutureW<ValidationResults<R, E>> accumulateUntilFailAsync(final T input, final Executor ex) {
+        return compile().accumulateUntilFailAsync(input, ex);
+    }
+
+    /**
+     * Compile this Validator into a flat, reusable form. Validation steps that share the same Predicate instance
+     * (e.g. several rules with different errors driven by one expensive lookup) are only tested once per input.
+     * 
+     * <pre>
+     * {@code 
+     * Predicate<User> registered = user->userService.isRegistered(user);
+     * Validator.Compiled<User,String,String> validator = Validator.of(registered, "not registered", "registered")
+                                                                   .isValid(registered, "cannot post", "can post")
+                                                                   .isValid(user->user.age>18, "too young", "age ok")
+                                                                   .compile();
+     * 
+     * validator.accumulate(user); //userService is called once
+     * }
+     * </pre>
+     * 
+     * @return Compiled Validator
+     */
+    public Compiled<T, R, E> compile() {
+        final List<Tuple3<Predicate<? super T>, R, E>> steps = new ArrayList<>();
+        for (Validator<T, R, E> next = this; next != null; next = next.next)
+            steps.add(next.validation);
+        return new Compiled<>(
+                              steps);
+    }
+
     /**
      * Add a FunctionalJava Validation to this CumulativeValidation
      *  <pre>
@@ -171,7 +254,7 @@ public class Validator<T, R, E> {
             return this.withNext(new Validator<T, R, E>(
                                                         convert(validation), null));
         else
-            return next.add(convert(validation));
+            return this.withNext(next.add(validation));
     }
 
     /**
@@ -195,7 +278,7 @@ public class Validator<T, R, E> {
         if (next == null)
             return this.withNext(validator);
         else
-            return next.add(validation);
+            return this.withNext(next.add(validator));
     }
 
     private Validator<T, R, E> add(final Tuple3<Predicate<? super T>, R, E> validation) {
@@ -203,7 +286,7 @@ public class Validator<T, R, E> {
             return this.withNext(new Validator<T, R, E>(
                                                         validation, null));
         else
-            return next.add(validation);
+            return this.withNext(next.add(validation));
     }
 
     /**
@@ -281,4 +364,175 @@ public class Validator<T, R, E> {
                                                        .get());
     }
 
+    /**
+     * A flattened Validator, with each distinct Predicate tested at most once per input
+     * 
+     * @see Validator#compile()
+     *
+     * @param <T> Input type
+     * @param <R> Return type
+     * @param <E> Error type
+     */
+    public static class Compiled<T, R, E> {
+
+        private final Predicate<? super T>[] predicates;
+        private final int[] predicateForStep;
+        private final ValidationResult<R, E>[] successes;
+        private final ValidationResult<R, E>[] failures;
+
+        private Compiled(final List<Tuple3<Predicate<? super T>, R, E>> steps) {
+            final Map<Predicate<? super T>, Integer> distinct = new IdentityHashMap<>();
+            predicateForStep = new int[steps.size()];
+            successes = new ValidationResult[steps.size()];
+            failures = new ValidationResult[steps.size()];
+            for (int i = 0; i < steps.size(); i++) {
+                final Tuple3<Predicate<? super T>, R, E> step = steps.get(i);
+                predicateForStep[i] = distinct.computeIfAbsent(step.v1, p -> distinct.size());
+                successes[i] = SuccessfulResult.success(step.v2);
+                failures[i] = FailedResult.fail(step.v3);
+            }
+            predicates = new Predicate[distinct.size()];
+            distinct.forEach((predicate, index) -> predicates[index] = predicate);
+        }
+
+        /**
+         * @return Number of validation steps
+         */
+        public int steps() {
+            return predicateForStep.length;
+        }
+
+        /**
+         * @return Number of distinct Predicates tested per input
+         */
+        public int predicates() {
+            return predicates.length;
+        }
+
+        /**
+         * @see Validator#accumulate(Object)
+         * 
+         * @param input Value to perform validation checks with
+         * @return Validation Results
+         */
+        public ValidationResults<R, E> accumulate(final T input) {
+            final Boolean[] outcomes = new Boolean[predicates.length];
+            final ListX<ValidationResult<R, E>> results = ListX.empty();
+            for (int i = 0; i < predicateForStep.length; i++)
+                results.add(test(input, i, outcomes) ? successes[i] : failures[i]);
+            return new ValidationResults<R, E>(
+                                               results);
+        }
+
+        /**
+         * @param input Value to perform validation checks with
+         * @return Validation Results up to and including the first failure
+         */
+        public ValidationResults<R, E> accumulateUntilFail(final T input) {
+            final Boolean[] outcomes = new Boolean[predicates.length];
+            final ListX<ValidationResult<R, E>> results = ListX.empty();
+            for (int i = 0; i < predicateForStep.length; i++) {
+                if (!test(input, i, outcomes)) {
+                    results.add(failures[i]);
+                    break;
+                }
+                results.add(successes[i]);
+            }
+            return new ValidationResults<R, E>(
+                                               results);
+        }
+
+        /**
+         * @see Validator#accumulateAsync(Object, Executor)
+         * 
+         * @param input Value to perform validation checks with
+         * @param ex Executor to run validation steps on
+         * @return FutureW with the Validation Results
+         */
+        public FutureW<ValidationResults<R, E>> accumulateAsync(final T input, final Executor ex) {
+            final CompletableFuture<Boolean>[] outcomes = start(input, ex);
+            return FutureW.of(CompletableFuture.allOf(outcomes)
+                                               .thenApply(done -> {
+                                                   final ListX<ValidationResult<R, E>> results = ListX.empty();
+                                                   for (int i = 0; i < predicateForStep.length; i++)
+                                                       results.add(outcomes[predicateForStep[i]].join() ? successes[i] : failures[i]);
+                                                   return new ValidationResults<R, E>(
+                                                                                      results);
+                                               }));
+        }
+
+        /**
+         * @see Validator#accumulateAsync(Object, Executor, long, TimeUnit)
+         * 
+         * @param input Value to perform validation checks with
+         * @param ex Executor to run validation steps on
+         * @param timeout Maximum time to wait for all validation steps
+         * @param unit Time unit of the timeout
+         * @return FutureW with the Validation Results
+         */
+        public FutureW<ValidationResults<R, E>> accumulateAsync(final T input, final Executor ex, final long timeout, final TimeUnit unit) {
+            return accumulateAsync(input, ex).within(timeout, unit);
+        }
+
+        /**
+         * @see Validator#accumulateUntilFailAsync(Object, Executor)
+         * 
+         * @param input Value to perform validation checks with
+         * @param ex Executor to run validation steps on
+         * @return FutureW with the Validation Results up to and including the first failure
+         */
+        public FutureW<ValidationResults<R, E>> accumulateUntilFailAsync(final T input, final Executor ex) {
+            final CompletableFuture<Boolean>[] outcomes = start(input, ex);
+            final CompletableFuture<ValidationResults<R, E>> result = new CompletableFuture<>();
+            untilFail(0, outcomes, ListX.empty(), result);
+            result.whenComplete((results, error) -> cancel(outcomes));
+            return FutureW.of(result);
+        }
+
+        private void cancel(final CompletableFuture<Boolean>[] outcomes) {
+            for (final CompletableFuture<Boolean> outcome : outcomes)
+                outcome.cancel(false);
+        }
+
+        private void untilFail(final int step, final CompletableFuture<Boolean>[] outcomes, final ListX<ValidationResult<R, E>> results,
+                final CompletableFuture<ValidationResults<R, E>> result) {
+            if (step == predicateForStep.length) {
+                result.complete(new ValidationResults<R, E>(
+                                                            results));
+                return;
+            }
+            outcomes[predicateForStep[step]].whenComplete((valid, error) -> {
+                if (error != null) {
+                    cancel(outcomes);
+                    result.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                } else if (valid) {
+                    results.add(successes[step]);
+                    untilFail(step + 1, outcomes, results, result);
+                } else {
+                    //cancel before completing, so steps still queued on the Executor never start
+                    cancel(outcomes);
+                    results.add(failures[step]);
+                    result.complete(new ValidationResults<R, E>(
+                                                                results));
+                }
+            });
+        }
+
+        private CompletableFuture<Boolean>[] start(final T input, final Executor ex) {
+            final CompletableFuture<Boolean>[] outcomes = new CompletableFuture[predicates.length];
+            for (int i = 0; i < predicates.length; i++) {
+                final Predicate<? super T> predicate = predicates[i];
+                outcomes[i] = CompletableFuture.supplyAsync(() -> predicate.test(input), ex);
+            }
+            return outcomes;
+        }
+
+        private boolean test(final T input, final int step, final Boolean[] outcomes) {
+            final int index = predicateForStep[step];
+            if (outcomes[index] == null)
+                outcomes[index] = predicates[index].test(input);
+            return outcomes[index];
+        }
+    }
+
 }
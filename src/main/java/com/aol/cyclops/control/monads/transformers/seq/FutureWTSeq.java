@@ -27,6 +27,8 @@ import com.aol.cyclops.control.ReactiveSeq;
 import com.aol.cyclops.control.monads.transformers.FutureWT;
 import com.aol.cyclops.control.monads.transformers.values.ValueTransformerSeq;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.internal.monads.Fusion;
+import com.aol.cyclops.internal.monads.Fusion.Lazy;
 import com.aol.cyclops.types.IterableFoldable;
 import com.aol.cyclops.types.MonadicValue;
 import com.aol.cyclops.types.Sequential;
@@ -48,18 +50,42 @@ import com.aol.cyclops.types.stream.CyclopsCollectable;
 public class FutureWTSeq<A>
         implements FutureWT<A>, ValueTransformerSeq<A>, IterableFoldable<A>, ConvertableSequence<A>, CyclopsCollectable<A>, Sequential<A> {
 
-    private final AnyMSeq<FutureW<A>> run;
+    private final AnyMSeq<? extends FutureW<?>> source;
+    private final Fusion<A> fused;
+    private final Lazy<AnyMSeq<FutureW<A>>> run;
+
+    private FutureWTSeq(final AnyMSeq<? extends FutureW<?>> source) {
+        this(source, Fusion.identity());
+    }
+
+    private FutureWTSeq(final AnyMSeq<? extends FutureW<?>> source, final Fusion<A> fused) {
+        this.source = source;
+        this.fused = fused;
+        this.run = Fusion.lazy(() -> fused.isIdentity() ? (AnyMSeq<FutureW<A>>) source : source.map(fused::applyToFutureW));
+    }
+
+    private AnyMSeq<FutureW<A>> run() {
+        return run.get();
+    }
+
+    /*
+     * map / peek are accumulated and applied to the wrapped monad in a single pass when it is next used
+     * (or continue directly from the wrapped monad, if it has already been used)
+     */
+    private <B> FutureWTSeq<B> fuse(final Function<Fusion<A>, Fusion<B>> operation) {
+        if (run.isDone())
+            return new FutureWTSeq<B>(
+                                      run.get(), operation.apply(Fusion.identity()));
+        return new FutureWTSeq<B>(
+                                  source, operation.apply(fused));
+    }
 
     /**
      * @return The wrapped AnyM
      */
     @Override
     public AnyMSeq<FutureW<A>> unwrap() {
-        return run;
-    }
-
-    private FutureWTSeq(final AnyMSeq<FutureW<A>> run) {
-        this.run = run;
+        return run();
     }
 
     @Override
@@ -77,12 +103,12 @@ public class FutureWTSeq<A>
     @Override
     public AnyMSeq<? extends Traversable<A>> transformerStream() {
 
-        return run.map(f -> f.toListX());
+        return run().map(f -> f.toListX());
     }
 
     @Override
     public MaybeTSeq<A> filter(final Predicate<? super A> test) {
-        return MaybeTSeq.of(run.map(opt -> opt.filter(test)));
+        return MaybeTSeq.of(run().map(opt -> opt.filter(test)));
     }
 
     /**
@@ -101,10 +127,7 @@ public class FutureWTSeq<A>
      */
     @Override
     public FutureWTSeq<A> peek(final Consumer<? super A> peek) {
-        return of(run.peek(future -> future.map(a -> {
-            peek.accept(a);
-            return a;
-        })));
+        return fuse(operations -> operations.peek(peek));
     }
 
     /**
@@ -125,8 +148,7 @@ public class FutureWTSeq<A>
      */
     @Override
     public <B> FutureWTSeq<B> map(final Function<? super A, ? extends B> f) {
-        return new FutureWTSeq<B>(
-                                  run.map(o -> o.map(f)));
+        return fuse(operations -> operations.map(f));
     }
 
     /**
@@ -145,19 +167,19 @@ public class FutureWTSeq<A>
      */
 
     public <B> FutureWTSeq<B> flatMapT(final Function<? super A, FutureWTSeq<B>> f) {
-        return of(run.map(future -> future.flatMap(a -> f.apply(a).run.stream()
-                                                                      .toList()
-                                                                      .get(0))));
+        return of(run().map(future -> future.flatMap(a -> f.apply(a).run().stream()
+                                                                          .toList()
+                                                                          .get(0))));
     }
 
-    private static <B> AnyMSeq<FutureW<B>> narrow(final AnyMSeq<FutureW<? extends B>> run) {
-        return (AnyMSeq) run;
+    private static <B> AnyMSeq<FutureW<B>> narrow(final AnyMSeq<FutureW<? extends B>> mapped) {
+        return (AnyMSeq) mapped;
     }
 
     @Override
     public <B> FutureWTSeq<B> flatMap(final Function<? super A, ? extends MonadicValue<? extends B>> f) {
 
-        final AnyMSeq<FutureW<? extends B>> mapped = run.map(o -> o.flatMap(f));
+        final AnyMSeq<FutureW<? extends B>> mapped = run().map(o -> o.flatMap(f));
         return of(narrow(mapped));
 
     }
@@ -263,13 +285,13 @@ public class FutureWTSeq<A>
      */
     @Override
     public String toString() {
-        return String.format("FutureTSeq[%s]", run);
+        return String.format("FutureTSeq[%s]", run());
     }
 
     @Override
     public ReactiveSeq<A> stream() {
-        return run.stream()
-                  .map(cf -> cf.get());
+        return run().stream()
+                    .map(cf -> cf.get());
     }
 
     @Override
@@ -278,18 +300,18 @@ public class FutureWTSeq<A>
     }
 
     public <R> FutureWTSeq<R> unitIterator(final Iterator<R> it) {
-        return of(run.unitIterator(it)
-                     .map(i -> FutureW.ofResult(i)));
+        return of(run().unitIterator(it)
+                       .map(i -> FutureW.ofResult(i)));
     }
 
     @Override
     public <R> FutureWTSeq<R> unit(final R value) {
-        return of(run.unit(FutureW.ofResult(value)));
+        return of(run().unit(FutureW.ofResult(value)));
     }
 
     @Override
     public <R> FutureWTSeq<R> empty() {
-        return of(run.unit(FutureW.empty()));
+        return of(run().unit(FutureW.empty()));
     }
 
     /* (non-Javadoc)
@@ -302,7 +324,7 @@ public class FutureWTSeq<A>
 
     @Override
     public boolean isSeqPresent() {
-        return !run.isEmpty();
+        return !run().isEmpty();
     }
 
     public static <T> FutureWTSeq<T> emptyList() {
@@ -798,13 +820,13 @@ public class FutureWTSeq<A>
 
     @Override
     public int hashCode() {
-        return run.hashCode();
+        return run().hashCode();
     }
 
     @Override
     public boolean equals(final Object o) {
         if (o instanceof FutureWTSeq) {
-            return run.equals(((FutureWTSeq) o).run);
+            return run().equals(((FutureWTSeq) o).run());
         }
         return false;
     }
@@ -27,6 +27,8 @@ import com.aol.cyclops.control.AnyM;
 import com.aol.cyclops.control.ReactiveSeq;
 import com.aol.cyclops.control.monads.transformers.ListT;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.internal.monads.Fusion;
+import com.aol.cyclops.internal.monads.Fusion.Lazy;
 import com.aol.cyclops.types.IterableFoldable;
 import com.aol.cyclops.types.Traversable;
 import com.aol.cyclops.types.anyM.AnyMSeq;
@@ -42,10 +44,34 @@ import com.aol.cyclops.types.stream.CyclopsCollectable;
  */
 public class ListTSeq<T> implements ListT<T> {
 
-    final AnyMSeq<ListX<T>> run;
+    private final AnyMSeq<? extends List<?>> source;
+    private final Fusion<T> fused;
+    private final Lazy<AnyMSeq<ListX<T>>> run;
 
-    private ListTSeq(final AnyMSeq<? extends List<T>> run) {
-        this.run = run.map(l -> ListX.fromIterable(l));
+    private ListTSeq(final AnyMSeq<? extends List<?>> source) {
+        this(source, Fusion.identity());
+    }
+
+    private ListTSeq(final AnyMSeq<? extends List<?>> source, final Fusion<T> fused) {
+        this.source = source;
+        this.fused = fused;
+        this.run = Fusion.lazy(() -> source.map(fused::applyToList));
+    }
+
+    private AnyMSeq<ListX<T>> run() {
+        return run.get();
+    }
+
+    /*
+     * map / filter / peek are accumulated and applied to the wrapped monad in a single pass when it is next used
+     * (or continue directly from the wrapped monad, if it has already been used)
+     */
+    private <B> ListTSeq<B> fuse(final Function<Fusion<T>, Fusion<B>> operation) {
+        if (run.isDone())
+            return new ListTSeq<B>(
+                                   run.get(), operation.apply(Fusion.identity()));
+        return new ListTSeq<B>(
+                               source, operation.apply(fused));
     }
 
     /**
@@ -53,7 +79,7 @@ public class ListTSeq<T> implements ListT<T> {
      */
     @Override
     public AnyMSeq<ListX<T>> unwrap() {
-        return run;
+        return run();
     }
 
     /**
@@ -72,11 +98,7 @@ public class ListTSeq<T> implements ListT<T> {
      */
     @Override
     public ListTSeq<T> peek(final Consumer<? super T> peek) {
-        return map(a -> {
-            peek.accept(a);
-            return a;
-        });
-
+        return fuse(operations -> operations.peek(peek));
     }
 
     /**
@@ -94,9 +116,7 @@ public class ListTSeq<T> implements ListT<T> {
      */
     @Override
     public ListTSeq<T> filter(final Predicate<? super T> test) {
-        return of(run.map(stream -> ReactiveSeq.fromList(stream)
-                                               .filter(test)
-                                               .toList()));
+        return fuse(operations -> operations.filter(test));
     }
 
     /**
@@ -117,16 +137,14 @@ public class ListTSeq<T> implements ListT<T> {
      */
     @Override
     public <B> ListTSeq<B> map(final Function<? super T, ? extends B> f) {
-        return of(run.map(o -> (List<B>) ReactiveSeq.fromList(o)
-                                                    .map(f)
-                                                    .toList()));
+        return fuse(operations -> operations.map(f));
     }
 
     @Override
     public <B> ListTSeq<B> flatMap(final Function<? super T, ? extends Iterable<? extends B>> f) {
         return new ListTSeq<B>(
-                               run.map(o -> ListX.fromIterable(o)
-                                                 .flatMap(f)));
+                               run().map(o -> ListX.fromIterable(o)
+                                                   .flatMap(f)));
 
     }
 
@@ -146,8 +164,8 @@ public class ListTSeq<T> implements ListT<T> {
      */
     public <B> ListTSeq<B> flatMapT(final Function<? super T, ListTSeq<B>> f) {
 
-        return of(run.map(list -> list.flatMap(a -> f.apply(a).run.stream())
-                                      .flatMap(a -> a.stream())));
+        return of(run().map(list -> list.flatMap(a -> f.apply(a).run().stream())
+                                        .flatMap(a -> a.stream())));
     }
 
     /**
@@ -257,7 +275,7 @@ public class ListTSeq<T> implements ListT<T> {
      */
     @Override
     public String toString() {
-        return String.format("ListTSeq[%s]", run);
+        return String.format("ListTSeq[%s]", run());
 
     }
 
@@ -266,13 +284,13 @@ public class ListTSeq<T> implements ListT<T> {
      */
     @Override
     public <T> ListTSeq<T> unit(final T unit) {
-        return of(run.unit(ListX.of(unit)));
+        return of(run().unit(ListX.of(unit)));
     }
 
     @Override
     public ReactiveSeq<T> stream() {
-        return run.stream()
-                  .flatMapIterable(e -> e);
+        return run().stream()
+                    .flatMapIterable(e -> e);
     }
 
     @Override
@@ -289,24 +307,24 @@ public class ListTSeq<T> implements ListT<T> {
     } */
     @Override
     public <R> ListTSeq<R> unitIterator(final Iterator<R> it) {
-        return of(run.unitIterator(it)
-                     .map(i -> ListX.of(i)));
+        return of(run().unitIterator(it)
+                       .map(i -> ListX.of(i)));
     }
 
     @Override
     public <R> ListT<R> empty() {
-        return of(run.empty());
+        return of(run().empty());
     }
 
     @Override
     public AnyM<? extends IterableFoldable<T>> nestedFoldables() {
-        return run;
+        return run();
 
     }
 
     @Override
     public AnyM<? extends CyclopsCollectable<T>> nestedCollectables() {
-        return run;
+        return run();
 
     }
 
@@ -319,7 +337,7 @@ public class ListTSeq<T> implements ListT<T> {
     @Override
     public AnyMSeq<? extends Traversable<T>> transformerStream() {
 
-        return run;
+        return run();
     }
 
     public static <T> ListTSeq<T> emptyList() {
@@ -328,7 +346,7 @@ public class ListTSeq<T> implements ListT<T> {
 
     @Override
     public boolean isSeqPresent() {
-        return !run.isEmpty();
+        return !run().isEmpty();
     }
 
     /* (non-Javadoc)
@@ -828,13 +846,13 @@ public class ListTSeq<T> implements ListT<T> {
 
     @Override
     public int hashCode() {
-        return run.hashCode();
+        return run().hashCode();
     }
 
     @Override
     public boolean equals(final Object o) {
         if (o instanceof ListTSeq) {
-            return run.equals(((ListTSeq) o).run);
+            return run().equals(((ListTSeq) o).run());
         }
         return false;
     }
@@ -27,6 +27,8 @@ import com.aol.cyclops.control.ReactiveSeq;
 import com.aol.cyclops.control.monads.transformers.MaybeT;
 import com.aol.cyclops.control.monads.transformers.values.ValueTransformerSeq;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.internal.monads.Fusion;
+import com.aol.cyclops.internal.monads.Fusion.Lazy;
 import com.aol.cyclops.types.IterableFoldable;
 import com.aol.cyclops.types.MonadicValue;
 import com.aol.cyclops.types.Sequential;
@@ -55,10 +57,34 @@ public class MaybeTSeq<T>
         return null;
     }
 
-    private final AnyMSeq<Maybe<T>> run;
+    private final AnyMSeq<? extends Maybe<?>> source;
+    private final Fusion<T> fused;
+    private final Lazy<AnyMSeq<Maybe<T>>> run;
 
-    private MaybeTSeq(final AnyMSeq<Maybe<T>> run) {
-        this.run = run;
+    private MaybeTSeq(final AnyMSeq<? extends Maybe<?>> source) {
+        this(source, Fusion.identity());
+    }
+
+    private MaybeTSeq(final AnyMSeq<? extends Maybe<?>> source, final Fusion<T> fused) {
+        this.source = source;
+        this.fused = fused;
+        this.run = Fusion.lazy(() -> fused.isIdentity() ? (AnyMSeq<Maybe<T>>) source : source.map(fused::applyToMaybe));
+    }
+
+    private AnyMSeq<Maybe<T>> run() {
+        return run.get();
+    }
+
+    /*
+     * map / filter / peek are accumulated and applied to the wrapped monad in a single pass when it is next used
+     * (or continue directly from the wrapped monad, if it has already been used)
+     */
+    private <B> MaybeTSeq<B> fuse(final Function<Fusion<T>, Fusion<B>> operation) {
+        if (run.isDone())
+            return new MaybeTSeq<B>(
+                                    run.get(), operation.apply(Fusion.identity()));
+        return new MaybeTSeq<B>(
+                                source, operation.apply(fused));
     }
 
     @Override
@@ -76,7 +102,7 @@ public class MaybeTSeq<T>
     @Override
     public AnyMSeq<? extends Traversable<T>> transformerStream() {
 
-        return run.map(m -> m.toListX());
+        return run().map(m -> m.toListX());
     }
 
     /**
@@ -84,7 +110,7 @@ public class MaybeTSeq<T>
      */
     @Override
     public AnyMSeq<Maybe<T>> unwrap() {
-        return run;
+        return run();
     }
 
     /**
@@ -105,10 +131,7 @@ public class MaybeTSeq<T>
      */
     @Override
     public MaybeTSeq<T> peek(final Consumer<? super T> peek) {
-        return of(run.peek(opt -> opt.map(a -> {
-            peek.accept(a);
-            return a;
-        })));
+        return fuse(operations -> operations.peek(peek));
     }
 
     /**
@@ -129,7 +152,7 @@ public class MaybeTSeq<T>
      */
     @Override
     public MaybeTSeq<T> filter(final Predicate<? super T> test) {
-        return of(run.map(opt -> opt.filter(test)));
+        return fuse(operations -> operations.filter(test));
     }
 
     /**
@@ -151,8 +174,7 @@ public class MaybeTSeq<T>
      */
     @Override
     public <B> MaybeTSeq<B> map(final Function<? super T, ? extends B> f) {
-        return new MaybeTSeq<B>(
-                                run.map(o -> o.map(f)));
+        return fuse(operations -> operations.map(f));
     }
 
     /**
@@ -174,11 +196,11 @@ public class MaybeTSeq<T>
      */
     public <B> MaybeTSeq<B> flatMapT(final Function<? super T, MaybeTSeq<? extends B>> f) {
 
-        return of(run.bind(opt -> {
+        return of(run().bind(opt -> {
             if (opt.isPresent())
-                return f.apply(opt.get()).run.unwrap();
-            return run.unit(Maybe.<B> none())
-                      .unwrap();
+                return f.apply(opt.get()).run().unwrap();
+            return run().unit(Maybe.<B> none())
+                        .unwrap();
         }));
 
     }
@@ -187,7 +209,7 @@ public class MaybeTSeq<T>
     public <B> MaybeTSeq<B> flatMap(final Function<? super T, ? extends MonadicValue<? extends B>> f) {
 
         return new MaybeTSeq<B>(
-                                run.map(o -> o.flatMap(f)));
+                                run().map(o -> o.flatMap(f)));
 
     }
 
@@ -299,27 +321,27 @@ public class MaybeTSeq<T>
      */
     @Override
     public String toString() {
-        return String.format("MaybeTSeq[%s]", run);
+        return String.format("MaybeTSeq[%s]", run());
     }
 
     public boolean isPresent() {
-        return run.anyMatch(m -> m.isPresent());
+        return run().anyMatch(m -> m.isPresent());
     }
 
     @Override
     public <R> MaybeTSeq<R> unit(final R value) {
-        return of(run.unit(Maybe.of(value)));
+        return of(run().unit(Maybe.of(value)));
     }
 
     @Override
     public <R> MaybeTSeq<R> empty() {
-        return of(run.unit(Maybe.none()));
+        return of(run().unit(Maybe.none()));
     }
 
     @Override
     public ReactiveSeq<T> stream() {
-        return run.stream()
-                  .flatMapIterable(e -> e);
+        return run().stream()
+                    .flatMapIterable(e -> e);
     }
 
     @Override
@@ -328,8 +350,8 @@ public class MaybeTSeq<T>
     }
 
     public <R> MaybeTSeq<R> unitIterator(final Iterator<R> it) {
-        return of(run.unitIterator(it)
-                     .map(i -> Maybe.just(i)));
+        return of(run().unitIterator(it)
+                       .map(i -> Maybe.just(i)));
     }
 
     /* (non-Javadoc)
@@ -342,7 +364,7 @@ public class MaybeTSeq<T>
 
     @Override
     public boolean isSeqPresent() {
-        return !run.isEmpty();
+        return !run().isEmpty();
     }
 
     public static <T> MaybeTSeq<T> emptyList() {
@@ -837,13 +859,13 @@ public class MaybeTSeq<T>
 
     @Override
     public int hashCode() {
-        return run.hashCode();
+        return run().hashCode();
     }
 
     @Override
     public boolean equals(final Object o) {
         if (o instanceof MaybeTSeq) {
-            return run.equals(((MaybeTSeq) o).run);
+            return run().equals(((MaybeTSeq) o).run());
         }
         return false;
     }
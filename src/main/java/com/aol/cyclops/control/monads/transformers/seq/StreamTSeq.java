@@ -24,6 +24,8 @@ import com.aol.cyclops.control.AnyM;
 import com.aol.cyclops.control.ReactiveSeq;
 import com.aol.cyclops.control.monads.transformers.StreamT;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.internal.monads.Fusion;
+import com.aol.cyclops.internal.monads.Fusion.Lazy;
 import com.aol.cyclops.types.IterableFoldable;
 import com.aol.cyclops.types.Traversable;
 import com.aol.cyclops.types.anyM.AnyMSeq;
@@ -39,15 +41,39 @@ import com.aol.cyclops.types.stream.CyclopsCollectable;
  */
 public class StreamTSeq<T> implements StreamT<T> {
 
-    private final AnyMSeq<ReactiveSeq<T>> run;
+    private final AnyMSeq<? extends Stream<?>> source;
+    private final Fusion<T> fused;
+    private final Lazy<AnyMSeq<ReactiveSeq<T>>> run;
 
-    private StreamTSeq(final AnyMSeq<? extends Stream<T>> run) {
-        this.run = run.map(s -> ReactiveSeq.fromStream(s));
+    private StreamTSeq(final AnyMSeq<? extends Stream<?>> source) {
+        this(source, Fusion.identity());
+    }
+
+    private StreamTSeq(final AnyMSeq<? extends Stream<?>> source, final Fusion<T> fused) {
+        this.source = source;
+        this.fused = fused;
+        this.run = Fusion.lazy(() -> source.map(fused::applyToStream));
+    }
+
+    private AnyMSeq<ReactiveSeq<T>> run() {
+        return run.get();
+    }
+
+    /*
+     * map / filter / peek are accumulated and applied to the wrapped monad in a single pass when it is next used
+     * (or continue directly from the wrapped monad, if it has already been used)
+     */
+    private <B> StreamTSeq<B> fuse(final Function<Fusion<T>, Fusion<B>> operation) {
+        if (run.isDone())
+            return new StreamTSeq<B>(
+                                     run.get(), operation.apply(Fusion.identity()));
+        return new StreamTSeq<B>(
+                                 source, operation.apply(fused));
     }
 
     @Override
     public boolean isSeqPresent() {
-        return !run.isEmpty();
+        return !run().isEmpty();
     }
 
     /**
@@ -55,7 +81,7 @@ public class StreamTSeq<T> implements StreamT<T> {
      */
     @Override
     public AnyMSeq<ReactiveSeq<T>> unwrap() {
-        return run;
+        return run();
     }
 
     /**
@@ -74,10 +100,7 @@ public class StreamTSeq<T> implements StreamT<T> {
      */
     @Override
     public StreamTSeq<T> peek(final Consumer<? super T> peek) {
-        return map(a -> {
-            peek.accept(a);
-            return a;
-        });
+        return fuse(operations -> operations.peek(peek));
     }
 
     /**
@@ -95,7 +118,7 @@ public class StreamTSeq<T> implements StreamT<T> {
      */
     @Override
     public StreamTSeq<T> filter(final Predicate<? super T> test) {
-        return of(run.map(stream -> stream.filter(test)));
+        return fuse(operations -> operations.filter(test));
     }
 
     /**
@@ -116,8 +139,7 @@ public class StreamTSeq<T> implements StreamT<T> {
      */
     @Override
     public <B> StreamTSeq<B> map(final Function<? super T, ? extends B> f) {
-        return new StreamTSeq<B>(
-                                 run.map(o -> o.map(f)));
+        return fuse(operations -> operations.map(f));
     }
 
     /**
@@ -135,15 +157,15 @@ public class StreamTSeq<T> implements StreamT<T> {
      * @return StreamT that applies the flatMap function to the wrapped Stream
      */
     public <B> StreamTSeq<B> flatMapT(final Function<? super T, StreamTSeq<? extends B>> f) {
-        return of(run.map(stream -> stream.flatMap(a -> f.apply(a).run.stream())
-                                          .<B> flatMap(a -> a)));
+        return of(run().map(stream -> stream.flatMap(a -> f.apply(a).run().stream())
+                                            .<B> flatMap(a -> a)));
     }
 
     @Override
     public <B> StreamTSeq<B> flatMap(final Function<? super T, ? extends Stream<? extends B>> f) {
 
         return new StreamTSeq<B>(
-                                 run.map(o -> o.flatMap(f)));
+                                 run().map(o -> o.flatMap(f)));
 
     }
 
@@ -211,7 +233,7 @@ public class StreamTSeq<T> implements StreamT<T> {
      */
     @Override
     public String toString() {
-        return String.format("StreamTSeq[%s]", run);
+        return String.format("StreamTSeq[%s]", run());
     }
 
     /* (non-Javadoc)
@@ -219,13 +241,13 @@ public class StreamTSeq<T> implements StreamT<T> {
      */
     @Override
     public <T> StreamTSeq<T> unit(final T unit) {
-        return of(run.unit(Stream.of(unit)));
+        return of(run().unit(Stream.of(unit)));
     }
 
     @Override
     public ReactiveSeq<T> stream() {
-        return run.stream()
-                  .flatMap(e -> e);
+        return run().stream()
+                    .flatMap(e -> e);
     }
 
     @Override
@@ -235,24 +257,24 @@ public class StreamTSeq<T> implements StreamT<T> {
 
     @Override
     public <R> StreamTSeq<R> unitIterator(final Iterator<R> it) {
-        return of(run.unitIterator(it)
-                     .map(i -> Stream.of(i)));
+        return of(run().unitIterator(it)
+                       .map(i -> Stream.of(i)));
     }
 
     @Override
     public <R> StreamT<R> empty() {
-        return of(run.empty());
+        return of(run().empty());
     }
 
     @Override
     public AnyM<? extends IterableFoldable<T>> nestedFoldables() {
-        return run;
+        return run();
 
     }
 
     @Override
     public AnyM<? extends CyclopsCollectable<T>> nestedCollectables() {
-        return run;
+        return run();
 
     }
 
@@ -265,7 +287,7 @@ public class StreamTSeq<T> implements StreamT<T> {
     @Override
     public AnyMSeq<? extends Traversable<T>> transformerStream() {
 
-        return run;
+        return run();
     }
 
     public static <T> StreamTSeq<T> emptyStream() {
@@ -734,13 +756,13 @@ public class StreamTSeq<T> implements StreamT<T> {
 
     @Override
     public int hashCode() {
-        return run.hashCode();
+        return run().hashCode();
     }
 
     @Override
     public boolean equals(final Object o) {
         if (o instanceof StreamTSeq) {
-            return run.equals(((StreamTSeq) o).run);
+            return run().equals(((StreamTSeq) o).run());
         }
         return false;
     }
@@ -22,6 +22,8 @@ import com.aol.cyclops.control.Matchable.CheckValue1;
 import com.aol.cyclops.control.ReactiveSeq;
 import com.aol.cyclops.control.Trampoline;
 import com.aol.cyclops.control.monads.transformers.FutureWT;
+import com.aol.cyclops.internal.monads.Fusion;
+import com.aol.cyclops.internal.monads.Fusion.Lazy;
 import com.aol.cyclops.types.ConvertableFunctor;
 import com.aol.cyclops.types.Filterable;
 import com.aol.cyclops.types.MonadicValue;
@@ -41,28 +43,52 @@ import lombok.val;
 public class FutureWTValue<A> implements FutureWT<A>, TransformerValue<A>, MonadicValue<A>, Supplier<A>, ConvertableFunctor<A>, Filterable<A>,
         ApplicativeFunctor<A>, Matchable.ValueAndOptionalMatcher<A> {
 
-    private final AnyMValue<FutureW<A>> run;
+    private final AnyMValue<? extends FutureW<?>> source;
+    private final Fusion<A> fused;
+    private final Lazy<AnyMValue<FutureW<A>>> run;
+
+    private FutureWTValue(final AnyMValue<? extends FutureW<?>> source) {
+        this(source, Fusion.identity());
+    }
+
+    private FutureWTValue(final AnyMValue<? extends FutureW<?>> source, final Fusion<A> fused) {
+        this.source = source;
+        this.fused = fused;
+        this.run = Fusion.lazy(() -> fused.isIdentity() ? (AnyMValue<FutureW<A>>) source : source.map(fused::applyToFutureW));
+    }
+
+    private AnyMValue<FutureW<A>> run() {
+        return run.get();
+    }
+
+    /*
+     * map / peek are accumulated and applied to the wrapped monad in a single pass when it is next used
+     * (or continue directly from the wrapped monad, if it has already been used)
+     */
+    private <B> FutureWTValue<B> fuse(final Function<Fusion<A>, Fusion<B>> operation) {
+        if (run.isDone())
+            return new FutureWTValue<B>(
+                                        run.get(), operation.apply(Fusion.identity()));
+        return new FutureWTValue<B>(
+                                    source, operation.apply(fused));
+    }
 
     /**
      * @return The wrapped AnyM
      */
     @Override
     public AnyMValue<FutureW<A>> unwrap() {
-        return run;
-    }
-
-    private FutureWTValue(final AnyMValue<FutureW<A>> run) {
-        this.run = run;
+        return run();
     }
 
     @Override
     public FutureW<A> value() {
-        return run.get();
+        return run().get();
     }
 
     @Override
     public boolean isValuePresent() {
-        return !run.isEmpty();
+        return !run().isEmpty();
     }
 
     /**
@@ -83,7 +109,7 @@ public class FutureWTValue<A> implements FutureWT<A>, TransformerValue<A>, Monad
     */
     @Override
     public MaybeTValue<A> filter(final Predicate<? super A> test) {
-        return MaybeTValue.of(run.map(opt -> opt.filter(test)));
+        return MaybeTValue.of(run().map(opt -> opt.filter(test)));
     }
 
     /**
@@ -102,11 +128,7 @@ public class FutureWTValue<A> implements FutureWT<A>, TransformerValue<A>, Monad
      */
     @Override
     public FutureWTValue<A> peek(final Consumer<? super A> peek) {
-
-        return of(run.peek(future -> future.map(a -> {
-            peek.accept(a);
-            return a;
-        })));
+        return fuse(operations -> operations.peek(peek));
     }
 
     /**
@@ -127,8 +149,7 @@ public class FutureWTValue<A> implements FutureWT<A>, TransformerValue<A>, Monad
      */
     @Override
     public <B> FutureWTValue<B> map(final Function<? super A, ? extends B> f) {
-        return new FutureWTValue<B>(
-                                    run.map(o -> o.map(f)));
+        return fuse(operations -> operations.map(f));
     }
 
     /*
@@ -141,7 +162,7 @@ public class FutureWTValue<A> implements FutureWT<A>, TransformerValue<A>, Monad
     @Override
     public <T2, R> FutureWTValue<R> combine(final Value<? extends T2> app, final BiFunction<? super A, ? super T2, ? extends R> fn) {
         return new FutureWTValue<>(
-                                   run.map(o -> o.combine(app, fn)));
+                                   run().map(o -> o.combine(app, fn)));
     }
 
     /*
@@ -154,7 +175,7 @@ public class FutureWTValue<A> implements FutureWT<A>, TransformerValue<A>, Monad
     public <T2, R> FutureWTValue<R> zip(final Iterable<? extends T2> app, final BiFunction<? super A, ? super T2, ? extends R> fn) {
 
         return new FutureWTValue<>(
-                                   run.map(o -> o.zip(app, fn)));
+                                   run().map(o -> o.zip(app, fn)));
     }
 
     /*
@@ -166,7 +187,7 @@ public class FutureWTValue<A> implements FutureWT<A>, TransformerValue<A>, Monad
     @Override
     public <T2, R> FutureWTValue<R> zip(final BiFunction<? super A, ? super T2, ? extends R> fn, final Publisher<? extends T2> app) {
         return new FutureWTValue<>(
-                                   run.map(o -> o.zip(fn, app)));
+                                   run().map(o -> o.zip(fn, app)));
     }
 
     /* (non-Javadoc)
@@ -230,19 +251,19 @@ public class FutureWTValue<A> implements FutureWT<A>, TransformerValue<A>, Monad
      */
 
     public <B> FutureWTValue<B> flatMapT(final Function<? super A, FutureWTValue<B>> f) {
-        return of(run.map(future -> future.flatMap(a -> f.apply(a).run.stream()
-                                                                      .toList()
-                                                                      .get(0))));
+        return of(run().map(future -> future.flatMap(a -> f.apply(a).run().stream()
+                                                                          .toList()
+                                                                          .get(0))));
     }
 
-    private static <B> AnyMValue<FutureW<B>> narrow(final AnyMValue<FutureW<? extends B>> run) {
-        return (AnyMValue) run;
+    private static <B> AnyMValue<FutureW<B>> narrow(final AnyMValue<FutureW<? extends B>> mapped) {
+        return (AnyMValue) mapped;
     }
 
     @Override
     public <B> FutureWTValue<B> flatMap(final Function<? super A, ? extends MonadicValue<? extends B>> f) {
 
-        final AnyMValue<FutureW<? extends B>> mapped = run.map(o -> o.flatMap(f));
+        final AnyMValue<FutureW<? extends B>> mapped = run().map(o -> o.flatMap(f));
         return of(narrow(mapped));
 
     }
@@ -352,18 +373,18 @@ public class FutureWTValue<A> implements FutureWT<A>, TransformerValue<A>, Monad
      */
     @Override
     public String toString() {
-        return String.format("FutureWTValue[%s]", run);
+        return String.format("FutureWTValue[%s]", run());
     }
 
     @Override
     public A get() {
-        return run.get()
-                  .get();
+        return run().get()
+                    .get();
     }
 
     @Override
     public ReactiveSeq<A> stream() {
-        val maybeEval = run.toMaybe();
+        val maybeEval = run().toMaybe();
         return maybeEval.isPresent() ? maybeEval.get()
                                                 .stream()
                 : ReactiveSeq.of();
@@ -371,7 +392,7 @@ public class FutureWTValue<A> implements FutureWT<A>, TransformerValue<A>, Monad
 
     @Override
     public Iterator<A> iterator() {
-        val maybeEval = run.toMaybe();
+        val maybeEval = run().toMaybe();
         return maybeEval.isPresent() ? maybeEval.get()
                                                 .iterator()
                 : Arrays.<A> asList()
@@ -380,19 +401,19 @@ public class FutureWTValue<A> implements FutureWT<A>, TransformerValue<A>, Monad
 
     @Override
     public void subscribe(final Subscriber<? super A> s) {
-        run.toMaybe()
-           .forEach(e -> e.subscribe(s));
+        run().toMaybe()
+             .forEach(e -> e.subscribe(s));
 
     }
 
     public boolean isFuturePresent() {
-        return !run.isEmpty();
+        return !run().isEmpty();
 
     }
 
     @Override
     public boolean test(final A t) {
-        val maybeEval = run.toMaybe();
+        val maybeEval = run().toMaybe();
         return maybeEval.isPresent() ? maybeEval.get()
                                                 .test(t)
                 : false;
@@ -401,12 +422,12 @@ public class FutureWTValue<A> implements FutureWT<A>, TransformerValue<A>, Monad
 
     @Override
     public <R> FutureWTValue<R> unit(final R value) {
-        return of(run.unit(FutureW.ofResult(value)));
+        return of(run().unit(FutureW.ofResult(value)));
     }
 
     @Override
     public <R> FutureWTValue<R> empty() {
-        return of(run.unit(FutureW.empty()));
+        return of(run().unit(FutureW.empty()));
     }
 
     public static <T> FutureWTValue<T> emptyOptional() {
@@ -466,13 +487,13 @@ public class FutureWTValue<A> implements FutureWT<A>, TransformerValue<A>, Monad
 
     @Override
     public int hashCode() {
-        return run.hashCode();
+        return run().hashCode();
     }
 
     @Override
     public boolean equals(final Object o) {
         if (o instanceof FutureWTValue) {
-            return run.equals(((FutureWTValue) o).run);
+            return run().equals(((FutureWTValue) o).run());
         }
         return false;
     }
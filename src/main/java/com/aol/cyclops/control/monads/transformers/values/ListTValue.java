@@ -17,6 +17,8 @@ import com.aol.cyclops.control.AnyM;
 import com.aol.cyclops.control.ReactiveSeq;
 import com.aol.cyclops.control.monads.transformers.ListT;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.internal.monads.Fusion;
+import com.aol.cyclops.internal.monads.Fusion.Lazy;
 import com.aol.cyclops.types.IterableFoldable;
 import com.aol.cyclops.types.MonadicValue;
 import com.aol.cyclops.types.Traversable;
@@ -33,10 +35,34 @@ import com.aol.cyclops.types.stream.CyclopsCollectable;
  */
 public class ListTValue<T> implements ListT<T>, TransformerSeq<T>, Publisher<T> {
 
-    final AnyMValue<ListX<T>> run;
+    private final AnyMValue<? extends List<?>> source;
+    private final Fusion<T> fused;
+    private final Lazy<AnyMValue<ListX<T>>> run;
 
-    private ListTValue(final AnyMValue<? extends List<T>> run) {
-        this.run = run.map(s -> ListX.fromIterable(s));
+    private ListTValue(final AnyMValue<? extends List<?>> source) {
+        this(source, Fusion.identity());
+    }
+
+    private ListTValue(final AnyMValue<? extends List<?>> source, final Fusion<T> fused) {
+        this.source = source;
+        this.fused = fused;
+        this.run = Fusion.lazy(() -> source.map(fused::applyToList));
+    }
+
+    private AnyMValue<ListX<T>> run() {
+        return run.get();
+    }
+
+    /*
+     * map / filter / peek are accumulated and applied to the wrapped monad in a single pass when it is next used
+     * (or continue directly from the wrapped monad, if it has already been used)
+     */
+    private <B> ListTValue<B> fuse(final Function<Fusion<T>, Fusion<B>> operation) {
+        if (run.isDone())
+            return new ListTValue<B>(
+                                     run.get(), operation.apply(Fusion.identity()));
+        return new ListTValue<B>(
+                                 source, operation.apply(fused));
     }
 
     /**
@@ -55,15 +81,15 @@ public class ListTValue<T> implements ListT<T>, TransformerSeq<T>, Publisher<T>
     */
     public <B> ListTValue<B> flatMapT(final Function<? super T, ListTValue<B>> f) {
 
-        return of(run.map(list -> list.flatMap(a -> f.apply(a).run.stream())
-                                      .flatMap(a -> a)
+        return of(run().map(list -> list.flatMap(a -> f.apply(a).run().stream())
+                                        .flatMap(a -> a)
 
         ));
     }
 
     @Override
     public boolean isSeqPresent() {
-        return !run.isEmpty();
+        return !run().isEmpty();
     }
 
     /**
@@ -71,7 +97,7 @@ public class ListTValue<T> implements ListT<T>, TransformerSeq<T>, Publisher<T>
      */
     @Override
     public AnyMValue<ListX<T>> unwrap() {
-        return run;
+        return run();
     }
 
     /**
@@ -90,11 +116,7 @@ public class ListTValue<T> implements ListT<T>, TransformerSeq<T>, Publisher<T>
      */
     @Override
     public ListTValue<T> peek(final Consumer<? super T> peek) {
-        return map(a -> {
-            peek.accept(a);
-            return a;
-        });
-
+        return fuse(operations -> operations.peek(peek));
     }
 
     /**
@@ -112,9 +134,7 @@ public class ListTValue<T> implements ListT<T>, TransformerSeq<T>, Publisher<T>
      */
     @Override
     public ListTValue<T> filter(final Predicate<? super T> test) {
-        return of(run.map(stream -> ReactiveSeq.fromList(stream)
-                                               .filter(test)
-                                               .toList()));
+        return fuse(operations -> operations.filter(test));
     }
 
     /**
@@ -135,16 +155,14 @@ public class ListTValue<T> implements ListT<T>, TransformerSeq<T>, Publisher<T>
      */
     @Override
     public <B> ListTValue<B> map(final Function<? super T, ? extends B> f) {
-        return of(run.map(o -> (List<B>) ReactiveSeq.fromList(o)
-                                                    .map(f)
-                                                    .toList()));
+        return fuse(operations -> operations.map(f));
     }
 
     @Override
     public <B> ListTValue<B> flatMap(final Function<? super T, ? extends Iterable<? extends B>> f) {
         return new ListTValue<B>(
-                                 run.map(o -> ListX.fromIterable(o)
-                                                   .flatMap(f)));
+                                 run().map(o -> ListX.fromIterable(o)
+                                                     .flatMap(f)));
 
     }
 
@@ -260,7 +278,7 @@ public class ListTValue<T> implements ListT<T>, TransformerSeq<T>, Publisher<T>
      */
     @Override
     public String toString() {
-        return String.format("ListTValue[%s]", run);
+        return String.format("ListTValue[%s]", run());
     }
 
     /* (non-Javadoc)
@@ -277,7 +295,7 @@ public class ListTValue<T> implements ListT<T>, TransformerSeq<T>, Publisher<T>
      */
     @Override
     public <U> ListTValue<U> unitIterator(final Iterator<U> u) {
-        return of(run.unit(ListX.fromIterable(() -> u)));
+        return of(run().unit(ListX.fromIterable(() -> u)));
     }
 
     /* (non-Javadoc)
@@ -285,18 +303,18 @@ public class ListTValue<T> implements ListT<T>, TransformerSeq<T>, Publisher<T>
      */
     @Override
     public <T> ListTValue<T> unit(final T unit) {
-        return of(run.unit(ListX.of(unit)));
+        return of(run().unit(ListX.of(unit)));
     }
 
     @Override
     public ReactiveSeq<T> stream() {
-        return run.stream()
-                  .flatMap(i -> i.stream());
+        return run().stream()
+                    .flatMap(i -> i.stream());
     }
 
     @Override
     public <R> ListTValue<R> empty() {
-        return of(run.empty());
+        return of(run().empty());
     }
 
     public static <T> ListTValue<T> emptyOptional() {
@@ -304,22 +322,22 @@ public class ListTValue<T> implements ListT<T>, TransformerSeq<T>, Publisher<T>
     }
 
     public boolean isListPresent() {
-        return !run.isEmpty();
+        return !run().isEmpty();
     }
 
     public List<T> get() {
-        return run.get();
+        return run().get();
     }
 
     @Override
     public AnyM<? extends IterableFoldable<T>> nestedFoldables() {
-        return run;
+        return run();
 
     }
 
     @Override
     public AnyM<? extends CyclopsCollectable<T>> nestedCollectables() {
-        return run;
+        return run();
 
     }
 
@@ -332,18 +350,18 @@ public class ListTValue<T> implements ListT<T>, TransformerSeq<T>, Publisher<T>
     @Override
     public AnyM<? extends Traversable<T>> transformerStream() {
 
-        return run;
+        return run();
     }
 
     @Override
     public int hashCode() {
-        return run.hashCode();
+        return run().hashCode();
     }
 
     @Override
     public boolean equals(final Object o) {
         if (o instanceof ListTValue) {
-            return run.equals(((ListTValue) o).run);
+            return run().equals(((ListTValue) o).run());
         }
         return false;
     }
@@ -21,6 +21,8 @@ import com.aol.cyclops.control.Maybe;
 import com.aol.cyclops.control.ReactiveSeq;
 import com.aol.cyclops.control.Trampoline;
 import com.aol.cyclops.control.monads.transformers.MaybeT;
+import com.aol.cyclops.internal.monads.Fusion;
+import com.aol.cyclops.internal.monads.Fusion.Lazy;
 import com.aol.cyclops.types.ConvertableFunctor;
 import com.aol.cyclops.types.Filterable;
 import com.aol.cyclops.types.MonadicValue;
@@ -43,20 +45,44 @@ import com.aol.cyclops.types.applicative.ApplicativeFunctor;
 public class MaybeTValue<T> implements MaybeT<T>, TransformerValue<T>, MonadicValue<T>, Supplier<T>, ConvertableFunctor<T>, Filterable<T>,
         ApplicativeFunctor<T>, Matchable.ValueAndOptionalMatcher<T> {
 
-    private final AnyMValue<Maybe<T>> run;
+    private final AnyMValue<? extends Maybe<?>> source;
+    private final Fusion<T> fused;
+    private final Lazy<AnyMValue<Maybe<T>>> run;
 
-    private MaybeTValue(final AnyMValue<Maybe<T>> run) {
-        this.run = run;
+    private MaybeTValue(final AnyMValue<? extends Maybe<?>> source) {
+        this(source, Fusion.identity());
+    }
+
+    private MaybeTValue(final AnyMValue<? extends Maybe<?>> source, final Fusion<T> fused) {
+        this.source = source;
+        this.fused = fused;
+        this.run = Fusion.lazy(() -> fused.isIdentity() ? (AnyMValue<Maybe<T>>) source : source.map(fused::applyToMaybe));
+    }
+
+    private AnyMValue<Maybe<T>> run() {
+        return run.get();
+    }
+
+    /*
+     * map / filter / peek are accumulated and applied to the wrapped monad in a single pass when it is next used
+     * (or continue directly from the wrapped monad, if it has already been used)
+     */
+    private <B> MaybeTValue<B> fuse(final Function<Fusion<T>, Fusion<B>> operation) {
+        if (run.isDone())
+            return new MaybeTValue<B>(
+                                      run.get(), operation.apply(Fusion.identity()));
+        return new MaybeTValue<B>(
+                                  source, operation.apply(fused));
     }
 
     @Override
     public Maybe<T> value() {
-        return run.get();
+        return run().get();
     }
 
     @Override
     public boolean isValuePresent() {
-        return !run.isEmpty();
+        return !run().isEmpty();
     }
 
     /**
@@ -64,7 +90,7 @@ public class MaybeTValue<T> implements MaybeT<T>, TransformerValue<T>, MonadicVa
      */
     @Override
     public AnyMValue<Maybe<T>> unwrap() {
-        return run;
+        return run();
     }
 
     /**
@@ -85,11 +111,7 @@ public class MaybeTValue<T> implements MaybeT<T>, TransformerValue<T>, MonadicVa
      */
     @Override
     public MaybeTValue<T> peek(final Consumer<? super T> peek) {
-        return map(in -> {
-            peek.accept(in);
-            return in;
-        });
-
+        return fuse(operations -> operations.peek(peek));
     }
 
     /**
@@ -110,7 +132,7 @@ public class MaybeTValue<T> implements MaybeT<T>, TransformerValue<T>, MonadicVa
      */
     @Override
     public MaybeTValue<T> filter(final Predicate<? super T> test) {
-        return of(run.map(opt -> opt.filter(test)));
+        return fuse(operations -> operations.filter(test));
     }
 
     /**
@@ -132,8 +154,7 @@ public class MaybeTValue<T> implements MaybeT<T>, TransformerValue<T>, MonadicVa
      */
     @Override
     public <B> MaybeTValue<B> map(final Function<? super T, ? extends B> f) {
-        return new MaybeTValue<B>(
-                                  run.map(o -> o.map(f)));
+        return fuse(operations -> operations.map(f));
     }
 
     /* (non-Javadoc)
@@ -142,7 +163,7 @@ public class MaybeTValue<T> implements MaybeT<T>, TransformerValue<T>, MonadicVa
     @Override
     public <T2, R> MaybeTValue<R> combine(final Value<? extends T2> app, final BiFunction<? super T, ? super T2, ? extends R> fn) {
         return new MaybeTValue<>(
-                                 run.map(o -> o.combine(app, fn)));
+                                 run().map(o -> o.combine(app, fn)));
     }
 
     /* (non-Javadoc)
@@ -151,7 +172,7 @@ public class MaybeTValue<T> implements MaybeT<T>, TransformerValue<T>, MonadicVa
     @Override
     public <T2, R> MaybeTValue<R> zip(final Iterable<? extends T2> app, final BiFunction<? super T, ? super T2, ? extends R> fn) {
         return new MaybeTValue<>(
-                                 run.map(o -> o.zip(app, fn)));
+                                 run().map(o -> o.zip(app, fn)));
     }
 
     /* (non-Javadoc)
@@ -205,7 +226,7 @@ public class MaybeTValue<T> implements MaybeT<T>, TransformerValue<T>, MonadicVa
     @Override
     public <T2, R> MaybeTValue<R> zip(final BiFunction<? super T, ? super T2, ? extends R> fn, final Publisher<? extends T2> app) {
         return new MaybeTValue<>(
-                                 run.map(o -> o.zip(fn, app)));
+                                 run().map(o -> o.zip(fn, app)));
     }
 
     /**
@@ -227,11 +248,11 @@ public class MaybeTValue<T> implements MaybeT<T>, TransformerValue<T>, MonadicVa
      */
     public <B> MaybeTValue<B> flatMapT(final Function<? super T, MaybeTValue<? extends B>> f) {
 
-        return of(run.bind(opt -> {
+        return of(run().bind(opt -> {
             if (opt.isPresent())
-                return f.apply(opt.get()).run.unwrap();
-            return run.unit(Maybe.<B> none())
-                      .unwrap();
+                return f.apply(opt.get()).run().unwrap();
+            return run().unit(Maybe.<B> none())
+                        .unwrap();
         }));
 
     }
@@ -240,7 +261,7 @@ public class MaybeTValue<T> implements MaybeT<T>, TransformerValue<T>, MonadicVa
     public <B> MaybeTValue<B> flatMap(final Function<? super T, ? extends MonadicValue<? extends B>> f) {
 
         return new MaybeTValue<B>(
-                                  run.map(o -> o.flatMap(f)));
+                                  run().map(o -> o.flatMap(f)));
 
     }
 
@@ -358,54 +379,54 @@ public class MaybeTValue<T> implements MaybeT<T>, TransformerValue<T>, MonadicVa
      */
     @Override
     public String toString() {
-        return String.format("MaybeTValue[%s]", run);
+        return String.format("MaybeTValue[%s]", run());
     }
 
     @Override
     public T get() {
-        return run.get()
-                  .get();
+        return run().get()
+                    .get();
     }
 
     @Override
     public boolean isPresent() {
-        return run.orElse(Maybe.none())
-                  .isPresent();
+        return run().orElse(Maybe.none())
+                    .isPresent();
     }
 
     @Override
     public ReactiveSeq<T> stream() {
-        return run.orElse(Maybe.none())
-                  .stream();
+        return run().orElse(Maybe.none())
+                    .stream();
     }
 
     @Override
     public Iterator<T> iterator() {
-        return run.orElse(Maybe.none())
-                  .iterator();
+        return run().orElse(Maybe.none())
+                    .iterator();
     }
 
     @Override
     public void subscribe(final Subscriber<? super T> s) {
-        run.orElse(Maybe.none())
-           .subscribe(s);
+        run().orElse(Maybe.none())
+             .subscribe(s);
 
     }
 
     @Override
     public boolean test(final T t) {
-        return run.get()
-                  .test(t);
+        return run().get()
+                    .test(t);
     }
 
     @Override
     public <R> MaybeTValue<R> unit(final R value) {
-        return of(run.unit(Maybe.of(value)));
+        return of(run().unit(Maybe.of(value)));
     }
 
     @Override
     public <R> MaybeTValue<R> empty() {
-        return of(run.unit(Maybe.none()));
+        return of(run().unit(Maybe.none()));
     }
 
     public static <T> MaybeTValue<T> emptyOptional() {
@@ -468,13 +489,13 @@ public class MaybeTValue<T> implements MaybeT<T>, TransformerValue<T>, MonadicVa
 
     @Override
     public int hashCode() {
-        return run.hashCode();
+        return run().hashCode();
     }
 
     @Override
     public boolean equals(final Object o) {
         if (o instanceof MaybeTValue) {
-            return run.equals(((MaybeTValue) o).run);
+            return run().equals(((MaybeTValue) o).run());
         }
         return false;
     }
@@ -11,6 +11,8 @@ import com.aol.cyclops.control.AnyM;
 import com.aol.cyclops.control.ReactiveSeq;
 import com.aol.cyclops.control.StreamUtils;
 import com.aol.cyclops.control.monads.transformers.StreamT;
+import com.aol.cyclops.internal.monads.Fusion;
+import com.aol.cyclops.internal.monads.Fusion.Lazy;
 import com.aol.cyclops.types.IterableFoldable;
 import com.aol.cyclops.types.MonadicValue;
 import com.aol.cyclops.types.Traversable;
@@ -28,10 +30,34 @@ import com.aol.cyclops.types.stream.CyclopsCollectable;
  */
 public class StreamTValue<T> implements StreamT<T> {
 
-    private final AnyMValue<ReactiveSeq<T>> run;
+    private final AnyMValue<? extends Stream<?>> source;
+    private final Fusion<T> fused;
+    private final Lazy<AnyMValue<ReactiveSeq<T>>> run;
 
-    private StreamTValue(final AnyMValue<? extends Stream<T>> run) {
-        this.run = run.map(s -> ReactiveSeq.fromStream(s));
+    private StreamTValue(final AnyMValue<? extends Stream<?>> source) {
+        this(source, Fusion.identity());
+    }
+
+    private StreamTValue(final AnyMValue<? extends Stream<?>> source, final Fusion<T> fused) {
+        this.source = source;
+        this.fused = fused;
+        this.run = Fusion.lazy(() -> source.map(fused::applyToStream));
+    }
+
+    private AnyMValue<ReactiveSeq<T>> run() {
+        return run.get();
+    }
+
+    /*
+     * map / filter / peek are accumulated and applied to the wrapped monad in a single pass when it is next used
+     * (or continue directly from the wrapped monad, if it has already been used)
+     */
+    private <B> StreamTValue<B> fuse(final Function<Fusion<T>, Fusion<B>> operation) {
+        if (run.isDone())
+            return new StreamTValue<B>(
+                                       run.get(), operation.apply(Fusion.identity()));
+        return new StreamTValue<B>(
+                                   source, operation.apply(fused));
     }
 
     /**
@@ -39,12 +65,12 @@ public class StreamTValue<T> implements StreamT<T> {
      */
     @Override
     public AnyMValue<ReactiveSeq<T>> unwrap() {
-        return run;
+        return run();
     }
 
     @Override
     public boolean isSeqPresent() {
-        return !run.isEmpty();
+        return !run().isEmpty();
     }
 
     /**
@@ -63,10 +89,7 @@ public class StreamTValue<T> implements StreamT<T> {
      */
     @Override
     public StreamTValue<T> peek(final Consumer<? super T> peek) {
-        return map(a -> {
-            peek.accept(a);
-            return a;
-        });
+        return fuse(operations -> operations.peek(peek));
     }
 
     /**
@@ -84,7 +107,7 @@ public class StreamTValue<T> implements StreamT<T> {
      */
     @Override
     public StreamTValue<T> filter(final Predicate<? super T> test) {
-        return of(run.map(stream -> stream.filter(test)));
+        return fuse(operations -> operations.filter(test));
     }
 
     /**
@@ -105,8 +128,7 @@ public class StreamTValue<T> implements StreamT<T> {
      */
     @Override
     public <B> StreamTValue<B> map(final Function<? super T, ? extends B> f) {
-        return new StreamTValue<B>(
-                                   run.map(o -> o.map(f)));
+        return fuse(operations -> operations.map(f));
     }
 
     /**
@@ -124,15 +146,15 @@ public class StreamTValue<T> implements StreamT<T> {
      * @return StreamT that applies the flatMap function to the wrapped Stream
      */
     public <B> StreamTValue<B> flatMapT(final Function<? super T, StreamTValue<? extends B>> f) {
-        return of(run.map(stream -> stream.flatMap(a -> f.apply(a).run.stream())
-                                          .<B> flatMap(a -> a)));
+        return of(run().map(stream -> stream.flatMap(a -> f.apply(a).run().stream())
+                                            .<B> flatMap(a -> a)));
     }
 
     @Override
     public <B> StreamTValue<B> flatMap(final Function<? super T, ? extends Stream<? extends B>> f) {
 
         return new StreamTValue<B>(
-                                   run.map(o -> o.flatMap(f)));
+                                   run().map(o -> o.flatMap(f)));
 
     }
 
@@ -198,11 +220,11 @@ public class StreamTValue<T> implements StreamT<T> {
     }
 
     public boolean isStreamPresent() {
-        return !run.isEmpty();
+        return !run().isEmpty();
     }
 
     public Stream<T> get() {
-        return run.get();
+        return run().get();
     }
 
     /*
@@ -212,7 +234,7 @@ public class StreamTValue<T> implements StreamT<T> {
      */
     @Override
     public String toString() {
-        return String.format("StreamTValue[%s]", run);
+        return String.format("StreamTValue[%s]", run());
     }
 
     /* (non-Javadoc)
@@ -228,7 +250,7 @@ public class StreamTValue<T> implements StreamT<T> {
      */
     @Override
     public <U> StreamTValue<U> unitIterator(final Iterator<U> u) {
-        return of(run.unit(StreamUtils.stream(u)));
+        return of(run().unit(StreamUtils.stream(u)));
     }
 
     /* (non-Javadoc)
@@ -236,18 +258,18 @@ public class StreamTValue<T> implements StreamT<T> {
      */
     @Override
     public <T> StreamTValue<T> unit(final T unit) {
-        return of(run.unit(Stream.of(unit)));
+        return of(run().unit(Stream.of(unit)));
     }
 
     @Override
     public ReactiveSeq<T> stream() {
-        return run.stream()
-                  .flatMap(i -> i);
+        return run().stream()
+                    .flatMap(i -> i);
     }
 
     @Override
     public <R> StreamTValue<R> empty() {
-        return of(run.empty());
+        return of(run().empty());
     }
 
     public static <T> StreamTValue<T> emptyOptional() {
@@ -256,13 +278,13 @@ public class StreamTValue<T> implements StreamT<T> {
 
     @Override
     public AnyM<? extends IterableFoldable<T>> nestedFoldables() {
-        return run;
+        return run();
 
     }
 
     @Override
     public AnyM<? extends CyclopsCollectable<T>> nestedCollectables() {
-        return run;
+        return run();
 
     }
 
@@ -275,18 +297,18 @@ public class StreamTValue<T> implements StreamT<T> {
     @Override
     public AnyM<? extends Traversable<T>> transformerStream() {
 
-        return run;
+        return run();
     }
 
     @Override
     public int hashCode() {
-        return run.hashCode();
+        return run().hashCode();
     }
 
     @Override
     public boolean equals(final Object o) {
         if (o instanceof StreamTValue) {
-            return run.equals(((StreamTValue) o).run);
+            return run().equals(((StreamTValue) o).run());
         }
         return false;
     }
@@ -0,0 +1,414 @@
+package com.aol.cyclops.data.async;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.pcollections.HashTreePMap;
+import org.pcollections.OrderedPSet;
+import org.pcollections.PMap;
+import org.pcollections.POrderedSet;
+
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.react.async.subscription.Continueable;
+
+import lombok.Synchronized;
+
+/**
+ * Routes data to a changeable set of Queues (shards) by key, so that all data for a given key is processed in order
+ * by a single shard at a time.
+ *
+ * Keys are assigned to shards by consistent hashing, so adding or removing a shard only moves the keys that hashed to
+ * it. Shards that fall idle steal keys from backlogged shards : when data arrives for a key that currently has nothing
+ * waiting in its shard, and that shard has a backlog of at least stealThreshold, the key is routed to an idle shard
+ * instead. A key is never moved while it still has data waiting in, or being processed from, a shard, so per key
+ * ordering is preserved.
+ *
+ * Consumers acknowledge each data point once it has been fully processed (via {@link #ack(Object)}). Until every data
+ * point for a key has been acknowledged the key stays pinned to its current shard. At most maxPending keys are
+ * tracked, once that is exceeded the least recently routed keys with no data still waiting in a shard are released (as
+ * if acknowledged), so keys whose data is never acknowledged do not accumulate without limit.
+ *
+ * <pre>
+ * {@code
+ *   Shards<String,Order> shards = new Shards<>(Arrays.asList("a","b","c"),Order::getCustomerId);
+ *   Map<String,LazyFutureStream<Order>> streams = orders.shard(shards);
+ *
+ *   shards.addShard("d");
+ *   LazyFutureStream<Order> d = new LazyReact().fromStream(shards.stream("d"))
+ *                                              .peek(this::process)
+ *                                              .peek(shards::ack);
+ *
+ *   shards.depths();
+ *   //backlog per shard e.g. {a=12, b=0, c=3, d=0}
+ * }
+ * </pre>
+ *
+ * @param <S> Shard identifier type
+ * @param <T> Data type
+ */
+public class Shards<S, T> {
+
+    public static final int DEFAULT_STEAL_THRESHOLD = 128;
+    public static final int DEFAULT_MAX_PENDING = 10_000;
+    private static final int VIRTUAL_NODES = 64;
+
+    private final Function<? super T, ?> keyFn;
+    private final QueueFactory<T> factory;
+    private final int stealThreshold;
+    private final int maxPending;
+    private final Object lock = new Object();
+
+    private final Map<S, Shard> shards = new LinkedHashMap<>();
+    private final TreeMap<Integer, S> ring = new TreeMap<>();
+    /* keys with data waiting in, or being processed from, a shard, only these are pinned to a shard. Access ordered so
+     * that the least recently routed keys are released first once maxPending is exceeded */
+    private final Map<Object, Pending> pending = new LinkedHashMap<>(
+                                                                     16, 0.75f, true);
+    private long migrations = 0;
+
+    /**
+     * Construct Shards backed by unbounded Queues
+     *
+     * @param shardIds Initial shard identifiers
+     * @param keyFn Extracts the key from each data point, data with the same key is processed in order
+     */
+    public Shards(final Collection<S> shardIds, final Function<? super T, ?> keyFn) {
+        this(shardIds, keyFn, QueueFactories.unboundedQueue(), DEFAULT_STEAL_THRESHOLD);
+    }
+
+    /**
+     * @param shardIds Initial shard identifiers
+     * @param keyFn Extracts the key from each data point, data with the same key is processed in order
+     * @param factory Creates the Queue for each shard
+     * @param stealThreshold Backlog at which keys may be moved from a shard to an idle shard
+     */
+    public Shards(final Collection<S> shardIds, final Function<? super T, ?> keyFn, final QueueFactory<T> factory,
+            final int stealThreshold) {
+        this(shardIds, keyFn, factory, stealThreshold, DEFAULT_MAX_PENDING);
+    }
+
+    /**
+     * @param shardIds Initial shard identifiers
+     * @param keyFn Extracts the key from each data point, data with the same key is processed in order
+     * @param factory Creates the Queue for each shard
+     * @param stealThreshold Backlog at which keys may be moved from a shard to an idle shard
+     * @param maxPending Maximum number of keys kept pinned to a shard while awaiting acknowledgement
+     */
+    public Shards(final Collection<S> shardIds, final Function<? super T, ?> keyFn, final QueueFactory<T> factory,
+            final int stealThreshold, final int maxPending) {
+        if (shardIds.isEmpty())
+            throw new IllegalArgumentException(
+                                               "At least one shard is required");
+        if (stealThreshold < 1)
+            throw new IllegalArgumentException(
+                                               "stealThreshold must be at least 1 : " + stealThreshold);
+        if (maxPending < 1)
+            throw new IllegalArgumentException(
+                                               "maxPending must be at least 1 : " + maxPending);
+        this.keyFn = keyFn;
+        this.factory = factory;
+        this.stealThreshold = stealThreshold;
+        this.maxPending = maxPending;
+        shardIds.forEach(this::addShard);
+    }
+
+    /**
+     * Route a data point to its shard
+     *
+     * @param data Data to add
+     * @return true if added
+     */
+    public boolean offer(final T data) {
+        final Object key = keyFn.apply(data);
+        final Shard shard = route(key);
+        boolean added = false;
+        try {
+            added = shard.queue.offer(data);
+            return added;
+        } finally {
+            if (!added)
+                unroute(key);
+        }
+    }
+
+    /**
+     * Close all shards, Streams connected to them will complete once the remaining data has been consumed
+     */
+    @Synchronized("lock")
+    public void close() {
+        shards.values()
+              .forEach(s -> s.queue.close());
+    }
+
+    /**
+     * Acknowledge that a data point taken from a shard has been fully processed. Once every data point for a key has
+     * been acknowledged, the key may be moved to another shard.
+     *
+     * @param data Data point that has been processed
+     */
+    @Synchronized("lock")
+    public void ack(final T data) {
+        final Object key = keyFn.apply(data);
+        final Pending p = pending.get(key);
+        //nothing consumed and awaiting acknowledgement, the key was released while this data point was in progress
+        if (p == null || p.count == p.queued)
+            return;
+        release(key, p);
+    }
+
+    /**
+     * Add a new shard, keys that hash to it are routed there once any data already routed for them elsewhere has
+     * been acknowledged
+     *
+     * @param id Shard identifier
+     * @return false if a shard with this identifier already exists
+     */
+    @Synchronized("lock")
+    public boolean addShard(final S id) {
+        if (shards.containsKey(id))
+            return false;
+        shards.put(id, new Shard(
+                                 factory.build()));
+        for (int i = 0; i < VIRTUAL_NODES; i++)
+            ring.put(hash(Objects.hashCode(id) * 31 + i), id);
+        return true;
+    }
+
+    /**
+     * Stop routing new keys to a shard. The shard is closed once the data already routed to it has been consumed and
+     * acknowledged.
+     *
+     * @param id Shard identifier
+     * @return false if there is no such shard, or it is the last remaining shard
+     */
+    @Synchronized("lock")
+    public boolean removeShard(final S id) {
+        final Shard shard = shards.get(id);
+        if (shard == null || shard.draining || activeShards() == 1)
+            return false;
+        ring.values()
+            .removeIf(id::equals);
+        shard.draining = true;
+        retireIfDrained(id, shard);
+        return true;
+    }
+
+    /**
+     * @param id Shard identifier
+     * @return Stream of the data routed to this shard, each data point should be acknowledged via {@link #ack(Object)}
+     *         once processed
+     */
+    public ReactiveSeq<T> stream(final S id) {
+        return queue(id).stream()
+                        .peek(data -> consumed(id, data));
+    }
+
+    /**
+     * @param id Shard identifier
+     * @param s Subscription controlling the Stream
+     * @return Stream of the data routed to this shard, each data point should be acknowledged via {@link #ack(Object)}
+     *         once processed
+     */
+    public ReactiveSeq<T> stream(final S id, final Continueable s) {
+        return queue(id).stream(s)
+                        .peek(data -> consumed(id, data));
+    }
+
+    /**
+     * @return Identifiers of the shards currently accepting data
+     */
+    @Synchronized("lock")
+    public POrderedSet<S> shardIds() {
+        POrderedSet<S> result = OrderedPSet.empty();
+        for (final Map.Entry<S, Shard> next : shards.entrySet()) {
+            if (!next.getValue().draining)
+                result = result.plus(next.getKey());
+        }
+        return result;
+    }
+
+    /**
+     * @return Number of data points routed to, but not yet consumed from, each shard
+     */
+    @Synchronized("lock")
+    public PMap<S, Integer> depths() {
+        PMap<S, Integer> result = HashTreePMap.empty();
+        for (final Map.Entry<S, Shard> next : shards.entrySet())
+            result = result.plus(next.getKey(), next.getValue().depth);
+        return result;
+    }
+
+    /**
+     * @return Number of times a key has been moved from a backlogged shard to an idle shard
+     */
+    @Synchronized("lock")
+    public long migrations() {
+        return migrations;
+    }
+
+    /**
+     * @param key Key to look up
+     * @return Shard the key is currently routed to
+     */
+    @Synchronized("lock")
+    public S shardFor(final Object key) {
+        final Pending p = pending.get(key);
+        return p != null ? p.shard : hashedShard(key);
+    }
+
+    private Queue<T> queue(final S id) {
+        final Shard shard;
+        synchronized (lock) {
+            shard = shards.get(id);
+        }
+        if (shard == null)
+            throw new IllegalArgumentException(
+                                               "Unknown shard " + id);
+        return shard.queue;
+    }
+
+    @Synchronized("lock")
+    private Shard route(final Object key) {
+        Pending p = pending.get(key);
+        if (p == null) {
+            S target = hashedShard(key);
+            if (shards.get(target).depth >= stealThreshold) {
+                final S idle = idleShard();
+                if (idle != null) {
+                    target = idle;
+                    migrations++;
+                }
+            }
+            p = new Pending(
+                            target);
+            pending.put(key, p);
+            if (pending.size() > maxPending)
+                evictIdle();
+        }
+        p.count++;
+        p.queued++;
+        final Shard shard = shards.get(p.shard);
+        shard.depth++;
+        shard.inFlight++;
+        return shard;
+    }
+
+    /* the data point reserved by route was not added to the queue */
+    @Synchronized("lock")
+    private void unroute(final Object key) {
+        final Pending p = pending.get(key);
+        p.queued--;
+        final Shard shard = shards.get(p.shard);
+        if (shard != null)
+            shard.depth--;
+        release(key, p);
+    }
+
+    /* taken from the queue, the key stays pinned until the data is acknowledged */
+    @Synchronized("lock")
+    private void consumed(final S id, final T data) {
+        final Pending p = pending.get(keyFn.apply(data));
+        if (p != null)
+            p.queued--;
+        final Shard shard = shards.get(id);
+        if (shard != null) {
+            shard.depth--;
+            retireIfDrained(id, shard);
+        }
+    }
+
+    private void release(final Object key, final Pending p) {
+        if (--p.count == 0)
+            pending.remove(key);
+        final Shard shard = shards.get(p.shard);
+        if (shard != null) {
+            shard.inFlight--;
+            retireIfDrained(p.shard, shard);
+        }
+    }
+
+    /* release the least recently routed keys that have no data waiting in a shard */
+    private void evictIdle() {
+        final Iterator<Pending> it = pending.values()
+                                            .iterator();
+        while (pending.size() > maxPending && it.hasNext()) {
+            final Pending p = it.next();
+            if (p.queued == 0 && p.count > 0) {
+                it.remove();
+                final Shard shard = shards.get(p.shard);
+                if (shard != null) {
+                    shard.inFlight -= p.count;
+                    retireIfDrained(p.shard, shard);
+                }
+            }
+        }
+    }
+
+    private void retireIfDrained(final S id, final Shard shard) {
+        if (shard.draining && shard.depth == 0 && shard.inFlight == 0) {
+            shards.remove(id);
+            shard.queue.close();
+        }
+    }
+
+    private S hashedShard(final Object key) {
+        final Map.Entry<Integer, S> e = ring.ceilingEntry(hash(Objects.hashCode(key)));
+        return e != null ? e.getValue() : ring.firstEntry()
+                                              .getValue();
+    }
+
+    private long activeShards() {
+        return shards.values()
+                     .stream()
+                     .filter(s -> !s.draining)
+                     .count();
+    }
+
+    private S idleShard() {
+        for (final Map.Entry<S, Shard> next : shards.entrySet()) {
+            if (next.getValue().depth == 0 && !next.getValue().draining)
+                return next.getKey();
+        }
+        return null;
+    }
+
+    /* murmur3 32 bit finalizer, spreads similar hashCodes around the ring */
+    private static int hash(final int value) {
+        int h = value;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private class Shard {
+        private final Queue<T> queue;
+        private int depth;
+        /* routed but not yet acknowledged */
+        private int inFlight;
+        private boolean draining;
+
+        Shard(final Queue<T> queue) {
+            this.queue = queue;
+        }
+    }
+
+    private class Pending {
+        private final S shard;
+        /* routed but not yet acknowledged */
+        private int count;
+        /* routed but not yet taken from the shard */
+        private int queued;
+
+        Pending(final S shard) {
+            this.shard = shard;
+        }
+    }
+}
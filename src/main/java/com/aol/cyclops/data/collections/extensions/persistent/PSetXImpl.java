@@ -2,11 +2,14 @@ package com.aol.cyclops.data.collections.extensions.persistent;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.stream.Collector;
 
 import org.pcollections.PSet;
 
+import com.aol.cyclops.internal.stream.spliterators.CollectionSpliterator;
+
 import lombok.AllArgsConstructor;
 
 @AllArgsConstructor
@@ -32,6 +35,16 @@ public class PSetXImpl<T> implements PSetX<T> {
         return set.iterator();
     }
 
+    /**
+     * @return Spliterator that splits evenly for parallel Streams
+     * @see java.util.Collection#spliterator()
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new CollectionSpliterator<T>(
+                                            set, Spliterator.DISTINCT);
+    }
+
     /**
      * @return
      * @see org.pcollections.MapPSet#size()
@@ -13,6 +13,8 @@ import java.util.stream.Stream;
 
 import org.pcollections.PStack;
 
+import com.aol.cyclops.internal.stream.spliterators.ReversingListSpliterator;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.experimental.Wither;
@@ -404,7 +406,8 @@ public class PStackXImpl<T> implements PStackX<T> {
      */
     @Override
     public Spliterator<T> spliterator() {
-        return stack.spliterator();
+        return new ReversingListSpliterator<T>(
+                                               stack, false);
     }
 
     /**
@@ -10,9 +10,12 @@ import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.pcollections.PVector;
 
+import com.aol.cyclops.internal.stream.spliterators.ReversingListSpliterator;
+
 import lombok.AllArgsConstructor;
 
 @AllArgsConstructor
@@ -388,7 +391,8 @@ public class PVectorXImpl<T> implements PVectorX<T> {
      */
     @Override
     public Spliterator<T> spliterator() {
-        return stack.spliterator();
+        return new ReversingListSpliterator<T>(
+                                               stack, false);
     }
 
     /**
@@ -407,7 +411,7 @@ public class PVectorXImpl<T> implements PVectorX<T> {
      */
     @Override
     public Stream<T> parallelStream() {
-        return stack.parallelStream();
+        return StreamSupport.stream(spliterator(), true);
     }
 
     /**
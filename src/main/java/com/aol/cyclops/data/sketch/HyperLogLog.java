@@ -0,0 +1,193 @@
+package com.aol.cyclops.data.sketch;
+
+import java.util.Arrays;
+import java.util.stream.Collector;
+
+/**
+ * A bounded memory, mergeable estimator for the number of distinct values in a Stream (HyperLogLog).
+ *
+ * Memory use is 2^precision bytes regardless of the number of values added, and the standard error of the estimate is
+ * roughly 1.04 / sqrt(2^precision) (around 1.6% for the default precision of 12). Values are hashed via their
+ * hashCode, so distinct values with equal hashCodes are counted once.
+ *
+ * HyperLogLogs are immutable, {@link #plus(Object)} and {@link #merge(HyperLogLog)} return new instances. Use
+ * {@link #collector()} or {@link com.aol.cyclops.Reducers#toHyperLogLog()} to build an estimator from a Stream
+ * efficiently.
+ *
+ * <pre>
+ * {@code
+ *   ReactiveSeq.range(0,1_000_000)
+ *              .map(i->i%1000)
+ *              .collect(HyperLogLog.collector())
+ *              .estimate();
+ *   //~1000
+ * }
+ * </pre>
+ */
+public final class HyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 12;
+    private static final int MIN_PRECISION = 4;
+    private static final int MAX_PRECISION = 18;
+
+    private final int precision;
+    private final byte[] registers;
+
+    private HyperLogLog(final int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION)
+            throw new IllegalArgumentException(
+                                               "precision must be between " + MIN_PRECISION + " and " + MAX_PRECISION + " : " + precision);
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    private HyperLogLog(final int precision, final byte[] registers) {
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    /**
+     * @return An empty estimator, with the default precision
+     */
+    public static HyperLogLog empty() {
+        return new HyperLogLog(
+                               DEFAULT_PRECISION);
+    }
+
+    /**
+     * @param precision Number of bits used to select a register (between 4 and 18)
+     * @return An empty estimator
+     */
+    public static HyperLogLog empty(final int precision) {
+        return new HyperLogLog(
+                               precision);
+    }
+
+    /**
+     * @return Collector that builds a HyperLogLog, with the default precision
+     */
+    public static <T> Collector<T, ?, HyperLogLog> collector() {
+        return collector(DEFAULT_PRECISION);
+    }
+
+    /**
+     * @param precision Number of bits used to select a register (between 4 and 18)
+     * @return Collector that builds a HyperLogLog
+     */
+    public static <T> Collector<T, ?, HyperLogLog> collector(final int precision) {
+        return Collector.of(() -> new HyperLogLog(
+                                                  precision),
+                            HyperLogLog::add, (a, b) -> {
+                                a.addAll(b);
+                                return a;
+                            }, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * @param value Value to add
+     * @return New estimator that also includes the supplied value
+     */
+    public HyperLogLog plus(final Object value) {
+        final HyperLogLog result = new HyperLogLog(
+                                                   precision, registers.clone());
+        result.add(value);
+        return result;
+    }
+
+    /**
+     * @param other Estimator to merge with (must have the same precision)
+     * @return New estimator for the union of the values added to both estimators
+     */
+    public HyperLogLog merge(final HyperLogLog other) {
+        final HyperLogLog result = new HyperLogLog(
+                                                   precision, registers.clone());
+        result.addAll(other);
+        return result;
+    }
+
+    /**
+     * @return Precision of this estimator
+     */
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * @return Estimated number of distinct values added
+     */
+    public long estimate() {
+        final int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (final byte next : registers) {
+            sum += 1.0 / (1L << next);
+            if (next == 0)
+                zeros++;
+        }
+        final double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0)
+            return Math.round(m * Math.log((double) m / zeros));
+        return Math.round(estimate);
+    }
+
+    private void add(final Object value) {
+        final long hash = hash(value);
+        final int index = (int) (hash >>> (64 - precision));
+        final long remaining = (hash << precision) | (1L << (precision - 1));
+        final byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[index])
+            registers[index] = rank;
+    }
+
+    private void addAll(final HyperLogLog other) {
+        if (other.precision != precision)
+            throw new IllegalArgumentException(
+                                               "Can not merge estimators with different precisions : " + precision + " and " + other.precision);
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i])
+                registers[i] = other.registers[i];
+        }
+    }
+
+    /* spread the 32 bit hashCode over 64 bits (murmur3 finalizer) */
+    private static long hash(final Object value) {
+        long h = (value == null ? 0 : value.hashCode()) * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static double alpha(final int m) {
+        switch (m) {
+        case 16:
+            return 0.673;
+        case 32:
+            return 0.697;
+        case 64:
+            return 0.709;
+        default:
+            return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!(o instanceof HyperLogLog))
+            return false;
+        final HyperLogLog other = (HyperLogLog) o;
+        return precision == other.precision && Arrays.equals(registers, other.registers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(registers);
+    }
+
+    @Override
+    public String toString() {
+        return "HyperLogLog[precision=" + precision + ", estimate=" + estimate() + "]";
+    }
+}
@@ -0,0 +1,263 @@
+package com.aol.cyclops.data.sketch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collector;
+
+/**
+ * A bounded memory, mergeable sketch of the distribution of a Stream of values (a KLL sketch), that can estimate
+ * percentiles / quantiles without storing the entire Stream.
+ *
+ * Memory use is proportional to k (roughly 3k values) regardless of the number of values added, and the rank error
+ * of an estimated quantile is typically around 1.7 / k (so around 1% for the default k of 200).
+ *
+ * QuantileSketches are immutable, {@link #plus(Object)} and {@link #merge(QuantileSketch)} return new sketches. Use
+ * {@link #collector(Comparator)} or {@link com.aol.cyclops.Reducers#toQuantileSketch(Comparator)} to build a sketch
+ * from a Stream efficiently.
+ *
+ * <pre>
+ * {@code
+ *   QuantileSketch<Integer> sketch = ReactiveSeq.range(0,1_000_000)
+ *                                               .collect(QuantileSketch.collector(Comparator.naturalOrder()));
+ *   sketch.quantile(0.5);
+ *   //Optional[~500_000]
+ * }
+ * </pre>
+ *
+ * @param <T> Type of value in the sketch
+ */
+public final class QuantileSketch<T> {
+
+    public static final int DEFAULT_K = 200;
+    private static final int MIN_CAPACITY = 2;
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+
+    private final Comparator<? super T> comparator;
+    private final int k;
+    /* items at level h represent 2^h values from the input */
+    private final List<List<T>> levels;
+    private long count;
+    private int size;
+    /* capacity of each level, and their total, recalculated as levels are added */
+    private int[] capacities;
+    private int maxSize;
+
+    private QuantileSketch(final Comparator<? super T> comparator, final int k) {
+        if (k < MIN_CAPACITY)
+            throw new IllegalArgumentException(
+                                               "k must be at least " + MIN_CAPACITY + " : " + k);
+        this.comparator = comparator;
+        this.k = k;
+        this.levels = new ArrayList<>();
+        addLevel();
+    }
+
+    private QuantileSketch(final QuantileSketch<T> toCopy) {
+        this.comparator = toCopy.comparator;
+        this.k = toCopy.k;
+        this.levels = new ArrayList<>(
+                                      toCopy.levels.size());
+        for (final List<T> level : toCopy.levels)
+            this.levels.add(new ArrayList<>(
+                                            level));
+        this.count = toCopy.count;
+        this.size = toCopy.size;
+        this.capacities = toCopy.capacities;
+        this.maxSize = toCopy.maxSize;
+    }
+
+    /**
+     * @param comparator Ordering of values in the sketch
+     * @return An empty sketch, with the default accuracy parameter
+     */
+    public static <T> QuantileSketch<T> empty(final Comparator<? super T> comparator) {
+        return new QuantileSketch<>(
+                                    comparator, DEFAULT_K);
+    }
+
+    /**
+     * @param comparator Ordering of values in the sketch
+     * @param k Accuracy parameter, larger values use more memory and give more accurate estimates
+     * @return An empty sketch
+     */
+    public static <T> QuantileSketch<T> empty(final Comparator<? super T> comparator, final int k) {
+        return new QuantileSketch<>(
+                                    comparator, k);
+    }
+
+    /**
+     * @param comparator Ordering of values in the sketch
+     * @return Collector that builds a QuantileSketch, with the default accuracy parameter
+     */
+    public static <T> Collector<T, ?, QuantileSketch<T>> collector(final Comparator<? super T> comparator) {
+        return collector(comparator, DEFAULT_K);
+    }
+
+    /**
+     * @param comparator Ordering of values in the sketch
+     * @param k Accuracy parameter, larger values use more memory and give more accurate estimates
+     * @return Collector that builds a QuantileSketch
+     */
+    public static <T> Collector<T, ?, QuantileSketch<T>> collector(final Comparator<? super T> comparator, final int k) {
+        return Collector.of(() -> new QuantileSketch<T>(
+                                                        comparator, k),
+                            QuantileSketch::add, (a, b) -> {
+                                a.addAll(b);
+                                return a;
+                            });
+    }
+
+    /**
+     * @param value Value to add
+     * @return New sketch that also includes the supplied value
+     */
+    public QuantileSketch<T> plus(final T value) {
+        final QuantileSketch<T> result = new QuantileSketch<>(
+                                                              this);
+        result.add(value);
+        return result;
+    }
+
+    /**
+     * @param other Sketch to merge with (must use the same accuracy parameter)
+     * @return New sketch summarising the values from both this sketch and the supplied sketch
+     */
+    public QuantileSketch<T> merge(final QuantileSketch<T> other) {
+        if (other.count == 0)
+            return this;
+        if (count == 0 && k == other.k)
+            return other;
+        final QuantileSketch<T> result = new QuantileSketch<>(
+                                                              this);
+        result.addAll(other);
+        return result;
+    }
+
+    /**
+     * @return Number of values summarised by this sketch
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return The accuracy parameter for this sketch
+     */
+    public int k() {
+        return k;
+    }
+
+    /**
+     * @return Estimated median, or Optional.empty if the sketch is empty
+     */
+    public Optional<T> median() {
+        return quantile(0.5);
+    }
+
+    /**
+     * Estimate the value at the supplied quantile
+     *
+     * @param quantile Quantile between 0 (minimum) and 1 (maximum)
+     * @return Estimated value at the quantile, or Optional.empty if the sketch is empty
+     */
+    public Optional<T> quantile(final double quantile) {
+        if (quantile < 0 || quantile > 1)
+            throw new IllegalArgumentException(
+                                               "quantile must be between 0 and 1 : " + quantile);
+        if (count == 0)
+            return Optional.empty();
+        final Object[] items = new Object[size];
+        final long[] weights = new long[size];
+        final Integer[] order = new Integer[size];
+        int index = 0;
+        for (int h = 0; h < levels.size(); h++) {
+            for (final T next : levels.get(h)) {
+                items[index] = next;
+                weights[index] = 1L << h;
+                order[index] = index;
+                index++;
+            }
+        }
+        Arrays.sort(order, (a, b) -> comparator.compare((T) items[a], (T) items[b]));
+        final long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long cumulative = 0;
+        for (final Integer next : order) {
+            cumulative += weights[next];
+            if (cumulative >= rank)
+                return Optional.ofNullable((T) items[next]);
+        }
+        return Optional.ofNullable((T) items[order[order.length - 1]]);
+    }
+
+    private void add(final T value) {
+        levels.get(0)
+              .add(value);
+        size++;
+        count++;
+        if (size >= maxSize)
+            compress();
+    }
+
+    private void addAll(final QuantileSketch<T> other) {
+        if (other.k != k)
+            throw new IllegalArgumentException(
+                                               "Can not merge sketches with different accuracy parameters : " + k + " and " + other.k);
+        while (levels.size() < other.levels.size())
+            addLevel();
+        for (int h = 0; h < other.levels.size(); h++)
+            levels.get(h)
+                  .addAll(other.levels.get(h));
+        size += other.size;
+        count += other.count;
+        compress();
+    }
+
+    private void addLevel() {
+        levels.add(new ArrayList<>());
+        final int[] updated = new int[levels.size()];
+        int total = 0;
+        for (int h = 0; h < updated.length; h++) {
+            final int depth = updated.length - h - 1;
+            updated[h] = Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+            total += updated[h];
+        }
+        capacities = updated;
+        maxSize = total;
+    }
+
+    /* compact the lowest full level, promoting a random half of its (sorted) items to the next level */
+    private void compress() {
+        while (size >= maxSize) {
+            for (int h = 0; h < levels.size(); h++) {
+                final List<T> level = levels.get(h);
+                if (level.size() >= capacities[h]) {
+                    if (h + 1 == levels.size())
+                        addLevel();
+                    final List<T> next = levels.get(h + 1);
+                    level.sort(comparator);
+                    final int pairs = level.size() / 2;
+                    final int offset = ThreadLocalRandom.current()
+                                                        .nextBoolean() ? 1 : 0;
+                    for (int i = 0; i < pairs; i++)
+                        next.add(level.get(2 * i + offset));
+                    final boolean odd = level.size() % 2 == 1;
+                    final T leftover = odd ? level.get(level.size() - 1) : null;
+                    level.clear();
+                    if (odd)
+                        level.add(leftover);
+                    size -= pairs;
+                    break;
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "QuantileSketch[count=" + count + ", retained=" + size + ", k=" + k + "]";
+    }
+}
@@ -0,0 +1,160 @@
+package com.aol.cyclops.internal.monads;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import com.aol.cyclops.control.Eval;
+import com.aol.cyclops.control.FutureW;
+import com.aol.cyclops.control.Maybe;
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+
+/**
+ * map / filter / peek operations on the values inside a monad transformer, accumulated without touching the wrapped
+ * monad. When the transformer is next unwrapped they are applied as a single function, in one AnyM map over the
+ * wrapped monad and (for Lists) one pass building one new List, rather than an AnyM round trip and an intermediate
+ * collection per operation.
+ *
+ * @param <T> Type of the values after the accumulated operations have been applied
+ */
+public class Fusion<T> {
+
+    private static final Object FILTERED = new Object();
+    private static final Fusion<?> IDENTITY = new Fusion<>(
+                                                           null, false);
+
+    private final Function<Object, Object> fn;
+    /* true once a filter has been fused, until then no value can be FILTERED */
+    private final boolean filtering;
+
+    private Fusion(final Function<Object, Object> fn, final boolean filtering) {
+        this.fn = fn;
+        this.filtering = filtering;
+    }
+
+    public static <T> Fusion<T> identity() {
+        return (Fusion<T>) IDENTITY;
+    }
+
+    public boolean isIdentity() {
+        return fn == null;
+    }
+
+    public <R> Fusion<R> map(final Function<? super T, ? extends R> mapper) {
+        if (fn == null)
+            return new Fusion<>(
+                                in -> mapper.apply((T) in), false);
+        final Function<Object, Object> current = fn;
+        if (!filtering)
+            return new Fusion<>(
+                                in -> mapper.apply((T) current.apply(in)), false);
+        return new Fusion<>(
+                            in -> {
+                                final Object value = current.apply(in);
+                                return value == FILTERED ? FILTERED : mapper.apply((T) value);
+                            }, true);
+    }
+
+    public Fusion<T> filter(final Predicate<? super T> test) {
+        final Function<Object, Object> current = fn == null ? Function.identity() : fn;
+        return new Fusion<>(
+                            in -> {
+                                final Object value = current.apply(in);
+                                return value == FILTERED || !test.test((T) value) ? FILTERED : value;
+                            }, true);
+    }
+
+    public Fusion<T> peek(final Consumer<? super T> consumer) {
+        return map(value -> {
+            consumer.accept(value);
+            return value;
+        });
+    }
+
+    public ListX<T> applyToList(final Iterable<?> values) {
+        if (fn == null)
+            return ListX.fromIterable((Iterable<T>) values);
+        final List<T> result = values instanceof Collection ? new ArrayList<>(
+                                                                              ((Collection<?>) values).size())
+                : new ArrayList<>();
+        for (final Object next : values) {
+            final Object value = fn.apply(next);
+            if (value != FILTERED)
+                result.add((T) value);
+        }
+        return ListX.fromIterable(result);
+    }
+
+    public ReactiveSeq<T> applyToStream(final Stream<?> values) {
+        final ReactiveSeq<Object> stream = ReactiveSeq.fromStream((Stream<Object>) values);
+        if (fn == null)
+            return (ReactiveSeq<T>) stream;
+        if (!filtering)
+            return (ReactiveSeq<T>) stream.map(fn);
+        return (ReactiveSeq<T>) stream.map(fn)
+                                      .filter(value -> value != FILTERED);
+    }
+
+    public Maybe<T> applyToMaybe(final Maybe<?> value) {
+        if (fn == null)
+            return (Maybe<T>) value;
+        if (!filtering)
+            return (Maybe<T>) ((Maybe<Object>) value).map(fn);
+        /* Maybe#filter evaluates immediately, defer the whole chain until the Maybe is used */
+        return Maybe.fromEvalOptional(Eval.later(() -> ((Maybe<Object>) value).toOptional()
+                                                                              .map(fn)
+                                                                              .filter(result -> result != FILTERED)
+                                                                              .map(result -> (T) result)));
+    }
+
+    public FutureW<T> applyToFutureW(final FutureW<?> value) {
+        if (fn == null)
+            return (FutureW<T>) value;
+        return (FutureW<T>) ((FutureW<Object>) value).map(fn);
+    }
+
+    /**
+     * Lazily compute the wrapped monad, at most once
+     *
+     * @param run Applies accumulated operations to the wrapped monad
+     * @return Memoised Supplier
+     */
+    public static <M> Lazy<M> lazy(final Supplier<M> run) {
+        return new Lazy<>(
+                          run);
+    }
+
+    public static class Lazy<M> implements Supplier<M> {
+        private Supplier<M> run;
+        private volatile M value;
+
+        private Lazy(final Supplier<M> run) {
+            this.run = run;
+        }
+
+        public boolean isDone() {
+            return value != null;
+        }
+
+        @Override
+        public M get() {
+            M result = value;
+            if (result == null) {
+                synchronized (this) {
+                    result = value;
+                    if (result == null) {
+                        value = result = run.get();
+                        run = null;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -114,7 +114,8 @@ public class LazyFutureStreamImpl<U> implements LazyFutureStream<U> {
 
     @Override
     public void close() {
-
+        lastActive.stream()
+                  .close();
     }
 
     @Override
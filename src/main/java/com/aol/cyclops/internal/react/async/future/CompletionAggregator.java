@@ -0,0 +1,140 @@
+package com.aol.cyclops.internal.react.async.future;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import com.aol.cyclops.Monoid;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+
+/*
+ * Fan-in for a known number of futures.
+ *
+ * A single remaining counter is shared by all futures, each future writes its result directly into its own slot of a
+ * pre-sized array (no intermediate futures, lists or per-element allocations). The thread that decrements the counter
+ * to zero publishes the result - the decrement provides the happens-before edge for the array writes.
+ *
+ * Modes
+ * 1. fail-fast : the aggregate completes exceptionally as soon as any input fails
+ * 2. partial success : failed inputs are skipped, the aggregate always completes normally
+ *
+ * Results are either collected in input order, or folded into a Monoid in completion order as they arrive
+ * (in which case the Monoid should be commutative).
+ */
+public final class CompletionAggregator {
+
+    private static final Object FAILED = new Object();
+
+    private CompletionAggregator() {
+    }
+
+    /**
+     * Collect the results of the supplied futures, in input order
+     *
+     * @param futures Futures to aggregate
+     * @param extractor Function to extract a CompletableFuture from each input
+     * @param failFast true to complete exceptionally on the first failure, false to skip failed inputs
+     * @return CompletableFuture with a List of results
+     */
+    public static <F, T> CompletableFuture<ListX<T>> collect(final Collection<? extends F> futures,
+            final Function<? super F, ? extends CompletableFuture<? extends T>> extractor, final boolean failFast) {
+        final int size = futures.size();
+        final CompletableFuture<ListX<T>> result = new CompletableFuture<>();
+        if (size == 0) {
+            result.complete(ListX.empty());
+            return result;
+        }
+        final Object[] values = new Object[size];
+        final AtomicInteger remaining = new AtomicInteger(
+                                                          size);
+        final Iterator<? extends F> it = futures.iterator();
+        for (int i = 0; i < size && it.hasNext(); i++) {
+            final int index = i;
+            extractor.apply(it.next())
+                     .whenComplete((value, error) -> {
+                         if (error != null) {
+                             if (failFast) {
+                                 result.completeExceptionally(unwrap(error));
+                                 return;
+                             }
+                             values[index] = FAILED;
+                         } else
+                             values[index] = value;
+                         if (remaining.decrementAndGet() == 0)
+                             result.complete(toList(values, failFast));
+                     });
+        }
+        return result;
+    }
+
+    /**
+     * Fold the results of the supplied futures into a Monoid incrementally, as each future completes. Results are
+     * combined in completion order, so the Monoid should be commutative as well as associative.
+     *
+     * @param futures Futures to aggregate
+     * @param extractor Function to extract a CompletableFuture from each input
+     * @param mapper Function to convert each result to the Monoid type
+     * @param monoid Monoid to combine results with
+     * @param failFast true to complete exceptionally on the first failure, false to skip failed inputs
+     * @return CompletableFuture with the combined result
+     */
+    public static <F, T, R> CompletableFuture<R> reduce(final Collection<? extends F> futures,
+            final Function<? super F, ? extends CompletableFuture<? extends T>> extractor, final Function<? super T, ? extends R> mapper,
+            final Monoid<R> monoid, final boolean failFast) {
+        final int size = futures.size();
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        final AtomicReference<R> acc = new AtomicReference<>(
+                                                             monoid.zero());
+        if (size == 0) {
+            result.complete(acc.get());
+            return result;
+        }
+        final AtomicInteger remaining = new AtomicInteger(
+                                                          size);
+        final Iterator<? extends F> it = futures.iterator();
+        for (int i = 0; i < size && it.hasNext(); i++) {
+            extractor.apply(it.next())
+                     .whenComplete((value, error) -> {
+                         if (error != null) {
+                             if (failFast) {
+                                 result.completeExceptionally(unwrap(error));
+                                 return;
+                             }
+                         } else if (!result.isDone()) {
+                             try {
+                                 final R next = mapper.apply(value);
+                                 acc.accumulateAndGet(next, monoid);
+                             } catch (final Throwable t) {
+                                 result.completeExceptionally(t);
+                                 return;
+                             }
+                         }
+                         if (remaining.decrementAndGet() == 0)
+                             result.complete(acc.get());
+                     });
+        }
+        return result;
+    }
+
+    private static <T> ListX<T> toList(final Object[] values, final boolean failFast) {
+        final List<T> list = new ArrayList<>(
+                                             values.length);
+        for (final Object next : values) {
+            if (failFast || next != FAILED)
+                list.add((T) next);
+        }
+        return ListX.fromIterable(list);
+    }
+
+    private static Throwable unwrap(final Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null)
+            return error.getCause();
+        return error;
+    }
+}
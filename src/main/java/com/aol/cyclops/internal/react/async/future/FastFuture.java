@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -32,6 +33,9 @@ public class FastFuture<T> {
     private volatile boolean done = false;
     private volatile Consumer<OnComplete> forXOf;
     private volatile Consumer<OnComplete> essential;
+    private static final AtomicReferenceFieldUpdater<FastFuture, Consumer> ESSENTIAL = AtomicReferenceFieldUpdater.newUpdater(FastFuture.class,
+                                                                                                                            Consumer.class,
+                                                                                                                            "essential");
     @Getter
     private volatile boolean completedExceptionally = false;
     private final AtomicReference result = new AtomicReference(
@@ -334,11 +338,12 @@ public class FastFuture<T> {
     }
 
     /**
-     * Called at least once on complete
+     * Called at least once on complete, listeners are chained so that each registered listener is called
      * 
      */
     public void essential(final Consumer<OnComplete> fn) {
-        this.essential = fn; //set - could also be called on a separate thread
+        //atomically chain - could also be called on a separate thread
+        ESSENTIAL.getAndUpdate(this, existing -> existing == null ? fn : ((Consumer<OnComplete>) existing).andThen(fn));
         if (done) { //can be called again
             fn.accept(buildOnComplete());
         }
@@ -72,6 +72,11 @@ public class PipelineBuilder {
 
     }
 
+    /* always hop to the supplied Executor, even when auto-optimising, subsequent synchronous stages run on its thread */
+    public <T, R> PipelineBuilder thenApplyOn(final Function<T, R> fn, final Executor exec) {
+        return withBuilder(builder.thenApplyAsync(memoize(fn), exec));
+    }
+
     public <T> PipelineBuilder peek(final Consumer<? super T> c) {
 
         return withBuilder(builder.peek(c));
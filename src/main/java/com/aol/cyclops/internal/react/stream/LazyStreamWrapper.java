@@ -1,6 +1,7 @@
 package com.aol.cyclops.internal.react.stream;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -12,6 +13,8 @@ import com.aol.cyclops.internal.react.async.future.FastFuture;
 import com.aol.cyclops.internal.react.async.future.FinalPipeline;
 import com.aol.cyclops.internal.react.async.future.FuturePool;
 import com.aol.cyclops.internal.react.async.future.PipelineBuilder;
+import com.aol.cyclops.internal.react.exceptions.FilteredExecutionPathException;
+import com.aol.cyclops.react.metrics.PipelineMetrics;
 
 import lombok.AllArgsConstructor;
 import lombok.experimental.Wither;
@@ -56,6 +59,8 @@ public class LazyStreamWrapper<U> implements StreamWrapper<U> {
                                                                                     f.getPipeline(), fut -> pool.done(fut)))
                     : new FastFuture<>(
                                        f.getPipeline(), 0);
+            if (react.getMetrics() != null)
+                track(next);
             next.set(v);
             return next;
         };
@@ -73,7 +78,28 @@ public class LazyStreamWrapper<U> implements StreamWrapper<U> {
 
     private Stream<FastFuture> convertCompletableFutures(final FinalPipeline pipeline) {
 
-        return values.map(cf -> buildPool(pipeline).populateFromCompletableFuture((CompletableFuture) cf));
+        return values.map(cf -> {
+            final FastFuture next = buildPool(pipeline);
+            if (react.getMetrics() != null)
+                track(next);
+            return next.populateFromCompletableFuture((CompletableFuture) cf);
+        });
+    }
+
+    /* record the element as in flight until its future completes, filtered elements are not errors */
+    private void track(final FastFuture<?> next) {
+        final PipelineMetrics metrics = react.getMetrics();
+        final long start = metrics.started();
+        final AtomicBoolean recorded = new AtomicBoolean(
+                                                         false);
+        next.essential(c -> {
+            if (recorded.compareAndSet(false, true))
+                metrics.completed(start, c.exceptionally && !filtered(c.exception));
+        });
+    }
+
+    private static boolean filtered(final Throwable t) {
+        return t instanceof FilteredExecutionPathException || t != null && t.getCause() instanceof FilteredExecutionPathException;
     }
 
     private FastFuture buildPool(final FinalPipeline pipeline) {
@@ -111,4 +137,12 @@ public class LazyStreamWrapper<U> implements StreamWrapper<U> {
         return this.pipeline.isSequential();
     }
 
+    /**
+     * @return true if every injected FastFuture is complete by the time it is returned (no asynchronous stages and no
+     *         externally completed futures), so that results are available in encounter order without blocking
+     */
+    public boolean isSynchronous() {
+        return isSequential() && !react.isStreamOfFutures();
+    }
+
 }
@@ -0,0 +1,148 @@
+package com.aol.cyclops.internal.react.stream;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import com.aol.cyclops.util.ExceptionSoftener;
+
+/**
+ * Bounded buffer between one or more producing threads and a consuming Iterator.
+ *
+ * Producers block while the buffer is full, back-pressuring whichever source is running ahead of the consumer. The
+ * consumer blocks until data arrives, or until every producer has completed. Closing the buffer from the consumer side
+ * releases and stops the producers.
+ *
+ * @param <T> Data type
+ */
+public class PushBuffer<T> implements Iterator<T> {
+
+    private static final Object END = new Object();
+    private static final Object NULL = new Object();
+    private static final long OFFER_WAIT_MILLIS = 10;
+
+    private final ArrayBlockingQueue<Object> buffer;
+    private final int producers;
+    private final List<Iterator<?>> sources = new CopyOnWriteArrayList<>();
+    private volatile boolean closed = false;
+    private volatile Throwable error;
+    private int completed = 0;
+    private Object next;
+
+    /**
+     * @param capacity Maximum number of elements buffered ahead of the consumer
+     * @param producers Number of producers, the buffer is exhausted once each has completed
+     */
+    public PushBuffer(final int capacity, final int producers) {
+        this.buffer = new ArrayBlockingQueue<>(
+                                               Math.max(1, capacity));
+        this.producers = producers;
+    }
+
+    /**
+     * Push every element from the supplied iterator into this buffer, on the supplied Executor
+     *
+     * @param it Source of data
+     * @param exec Executor to run the producer on
+     * @param onComplete Run once the producer has finished
+     */
+    public void populate(final Iterator<? extends T> it, final Executor exec, final Runnable onComplete) {
+        sources.add(it);
+        exec.execute(() -> {
+            try {
+                while (it.hasNext() && push(it.next()))
+                    ;
+            } catch (final Throwable t) {
+                error = t;
+            } finally {
+                closeSource(it);
+                complete();
+                onComplete.run();
+            }
+        });
+    }
+
+    /**
+     * Add a value, blocking while the buffer is full
+     *
+     * @param value Value to add
+     * @return false if the buffer has been closed by the consumer, and the producer should stop
+     */
+    public boolean push(final T value) {
+        return offer(value == null ? NULL : value);
+    }
+
+    /**
+     * Signal that a producer has no more data
+     */
+    public void complete() {
+        offer(END);
+    }
+
+    /**
+     * Close the buffer from the consumer side, discarding any buffered data and closing the sources of data
+     */
+    public void close() {
+        closed = true;
+        buffer.clear();
+        sources.forEach(this::closeSource);
+    }
+
+    private void closeSource(final Iterator<?> it) {
+        if (it instanceof CloseableIterator)
+            ((CloseableIterator) it).close();
+    }
+
+    private boolean offer(final Object value) {
+        try {
+            while (!closed) {
+                if (buffer.offer(value, OFFER_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (!closed)
+                        return true;
+                    /* closed while offering, drop anything added after the consumer cleared the buffer */
+                    buffer.clear();
+                    return false;
+                }
+            }
+            return false;
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (next == null) {
+                if (closed || completed == producers)
+                    return false;
+                final Object value = buffer.take();
+                if (value == END) {
+                    if (++completed == producers && error != null)
+                        throw ExceptionSoftener.throwSoftenedException(error);
+                } else
+                    next = value;
+            }
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        final Object result = next;
+        next = null;
+        return result == NULL ? null : (T) result;
+    }
+}
@@ -12,6 +12,7 @@ import com.aol.cyclops.control.ReactiveSeq;
 import com.aol.cyclops.control.StreamUtils;
 import com.aol.cyclops.internal.stream.spliterators.ClosingSpliterator;
 import com.aol.cyclops.types.stream.HotStream;
+import com.aol.cyclops.util.stream.scheduling.cron.CompiledCronExpression;
 
 public abstract class BaseHotStreamImpl<T> extends IteratorHotStream<T>implements HotStream<T> {
 
@@ -35,6 +36,13 @@ public abstract class BaseHotStreamImpl<T> extends IteratorHotStream<T>implement
 
     }
 
+    public HotStream<T> schedule(final CompiledCronExpression cron, final ScheduledExecutorService ex) {
+        final Iterator<T> it = stream.iterator();
+        scheduleInternal(it, cron, ex);
+        return this;
+
+    }
+
     public HotStream<T> scheduleFixedDelay(final long delay, final ScheduledExecutorService ex) {
         final Iterator<T> it = stream.iterator();
         scheduleFixedDelayInternal(it, delay, ex);
@@ -0,0 +1,48 @@
+package com.aol.cyclops.internal.stream;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CharSequence view over single byte (US-ASCII / ISO-8859-1) text in a ByteBuffer, each byte is one char. Characters
+ * are read from the buffer on demand, a String is only created by toString.
+ */
+public class ByteBufferCharSequence implements CharSequence {
+
+    private final ByteBuffer buffer;
+
+    public ByteBufferCharSequence(final ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int length() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= buffer.remaining())
+            throw new IndexOutOfBoundsException(
+                                                "index " + index + " length " + buffer.remaining());
+        return (char) (buffer.get(buffer.position() + index) & 0xff);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        if (start < 0 || end > buffer.remaining() || start > end)
+            throw new IndexOutOfBoundsException(
+                                                "start " + start + " end " + end + " length " + buffer.remaining());
+        final ByteBuffer sub = buffer.duplicate();
+        sub.position(buffer.position() + start)
+           .limit(buffer.position() + end);
+        return new ByteBufferCharSequence(
+                                          sub.slice());
+    }
+
+    @Override
+    public String toString() {
+        return StandardCharsets.ISO_8859_1.decode(buffer.duplicate())
+                                          .toString();
+    }
+}
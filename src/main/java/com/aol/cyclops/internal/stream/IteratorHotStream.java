@@ -1,6 +1,5 @@
 package com.aol.cyclops.internal.stream;
 
-import java.util.Date;
 import java.util.Iterator;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
@@ -12,8 +11,7 @@ import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import com.aol.cyclops.Matchables;
 import com.aol.cyclops.control.FluentFunctions;
-import com.aol.cyclops.util.ExceptionSoftener;
-import com.aol.cyclops.util.stream.scheduling.cron.CronExpression;
+import com.aol.cyclops.util.stream.scheduling.cron.CompiledCronExpression;
 
 public class IteratorHotStream<T> {
 
@@ -41,13 +39,17 @@ public class IteratorHotStream<T> {
     }
 
     protected void scheduleInternal(final Iterator<T> it, final String cron, final ScheduledExecutorService ex) {
-        final Date now = new Date();
-        final Date d = ExceptionSoftener.softenSupplier(() -> new CronExpression(
-                                                                                 cron))
-                                        .get()
-                                        .getNextValidTimeAfter(now);
+        scheduleInternal(it, CompiledCronExpression.compile(cron), ex);
+    }
 
-        final long delay = d.getTime() - now.getTime();
+    protected void scheduleInternal(final Iterator<T> it, final CompiledCronExpression cron, final ScheduledExecutorService ex) {
+        final long now = System.currentTimeMillis();
+        final long fireTime = cron.nextFireTime(now);
+        if (fireTime == CompiledCronExpression.NO_FIRE_TIME) {
+            open.set(false);
+            return;
+        }
+        final long delay = fireTime - now;
 
         ex.schedule(() -> {
             synchronized (it) {
@@ -62,6 +62,7 @@ import com.aol.cyclops.types.stream.HeadAndTail;
 import com.aol.cyclops.types.stream.HotStream;
 import com.aol.cyclops.types.stream.PausableHotStream;
 import com.aol.cyclops.types.stream.future.FutureOperations;
+import com.aol.cyclops.util.resilience.RateLimiter;
 
 public class ReactiveSeqImpl<T> implements Unwrapable, ReactiveSeq<T>, Iterable<T> {
     private final Seq<T> stream;
@@ -762,12 +763,12 @@ public class ReactiveSeqImpl<T> implements Unwrapable, ReactiveSeq<T>, Iterable<
     @Override
     public ReactiveSeq<T> onClose(final Runnable closeHandler) {
 
-        return this;
+        return StreamUtils.reactiveSeq(stream.onClose(closeHandler), reversable);
     }
 
     @Override
     public void close() {
-
+        stream.close();
     }
 
     @Override
@@ -996,6 +997,11 @@ public class ReactiveSeqImpl<T> implements Unwrapable, ReactiveSeq<T>, Iterable<
         return StreamUtils.reactiveSeq(StreamUtils.onePer(stream, time, t), reversable);
     }
 
+    @Override
+    public ReactiveSeq<T> rateLimit(final RateLimiter limiter) {
+        return StreamUtils.reactiveSeq(StreamUtils.rateLimit(stream, limiter), reversable);
+    }
+
     @Override
     public ReactiveSeq<T> debounce(final long time, final TimeUnit t) {
         return StreamUtils.reactiveSeq(StreamUtils.debounce(stream, time, t), reversable);
@@ -0,0 +1,283 @@
+package com.aol.cyclops.internal.stream;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.aol.cyclops.util.ExceptionSoftener;
+import com.aol.cyclops.util.stream.ReplayPolicy;
+
+/**
+ * Buffers the elements of a single-use Iterator so that they can be replayed any number of times, by any number of
+ * concurrent readers each at an independent position.
+ *
+ * Elements are stored in a linked list of fixed size array chunks. Readers of buffered data never lock : data is
+ * published by a volatile count per chunk, and a reader that reaches the end of the buffered data pulls the next element
+ * from the source itself (one reader at a time holds the fill lock to do so, other readers block on the lock until the
+ * data is published). Chunks beyond the policy's in-memory budget are spilled to temporary files, and chunks are
+ * evicted from the start of the buffer according to the policy's size limit and time to live.
+ *
+ * @param <T> Data type
+ */
+public class ReplayBuffer<T> implements Iterable<T>, AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Iterator<? extends T> source;
+    private final ReplayPolicy<T> policy;
+    private final ReentrantLock filling = new ReentrantLock();
+    private final Queue<Path> files = new ConcurrentLinkedQueue<>();
+    private volatile Chunk head;
+    private volatile boolean complete = false;
+    private volatile Throwable error;
+    private volatile long retained = 0;
+
+    //accessed only by the thread holding the filling lock
+    private Chunk tail;
+    private final ArrayDeque<Chunk> inMemory = new ArrayDeque<>();
+
+    private static final class Chunk {
+        private final int capacity;
+        private volatile Object[] items;
+        private volatile int count;
+        private volatile Chunk next;
+        private volatile Path file;
+        private volatile boolean evicted;
+        private long filledAt;
+
+        Chunk(final int capacity) {
+            this.capacity = capacity;
+            this.items = new Object[capacity];
+        }
+    }
+
+    public ReplayBuffer(final Iterator<? extends T> source, final ReplayPolicy<T> policy) {
+        this.source = source;
+        this.policy = policy;
+        this.head = new Chunk(
+                              policy.getChunkSize());
+        this.tail = head;
+    }
+
+    /**
+     * @return true once the source has been exhausted
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return Number of elements currently retained
+     */
+    public long retained() {
+        return retained;
+    }
+
+    /**
+     * Drop any chunks spilled to disk and delete their temporary files, readers positioned on spilled chunks will skip
+     * forward to the data retained in memory
+     */
+    @Override
+    public void close() {
+        filling.lock();
+        try {
+            //spilled chunks are always the oldest, so form a prefix of the buffer
+            Chunk first = head;
+            while (first != tail && first.file != null) {
+                head = first.next;
+                first.evicted = true;
+                retained = retained - first.count;
+                first = head;
+            }
+        } finally {
+            filling.unlock();
+        }
+        Path next;
+        while ((next = files.poll()) != null)
+            delete(next);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        if (policy.getTtlNanos() > 0 && filling.tryLock()) {
+            try {
+                evict();
+            } finally {
+                filling.unlock();
+            }
+        }
+        return new Cursor();
+    }
+
+    private class Cursor implements Iterator<T> {
+        private Chunk chunk = head;
+        private Object[] items;
+        private int pos = 0;
+
+        private void restart() {
+            chunk = head;
+            items = null;
+            pos = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (true) {
+                if (items == null && chunk.evicted) {
+                    restart();
+                    continue;
+                }
+                if (pos < chunk.count)
+                    return true;
+                if (pos == chunk.capacity && chunk.next != null) {
+                    chunk = chunk.next;
+                    items = null;
+                    pos = 0;
+                    continue;
+                }
+                if (complete) {
+                    if (pos < chunk.count || pos == chunk.capacity && chunk.next != null)
+                        continue;
+                    if (error != null)
+                        throw ExceptionSoftener.throwSoftenedException(error);
+                    return false;
+                }
+                fill(chunk, pos);
+            }
+        }
+
+        @Override
+        public T next() {
+            while (true) {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                if (items == null)
+                    items = load(chunk);
+                if (items != null)
+                    return (T) items[pos++];
+                restart();
+            }
+        }
+    }
+
+    /*
+     * the source is read by one reader at a time, and only by a reader positioned at the end of the buffer. Readers that
+     * arrive while another is reading block on the lock, and return without reading once the data has been published
+     */
+    private void fill(final Chunk chunk, final int pos) {
+        filling.lock();
+        try {
+            if (complete || chunk != tail || pos != tail.count)
+                return;
+            if (!source.hasNext()) {
+                complete = true;
+                return;
+            }
+            append(source.next());
+        } catch (final Throwable t) {
+            error = t;
+            complete = true;
+        } finally {
+            filling.unlock();
+        }
+    }
+
+    private void append(final T value) throws IOException {
+        Chunk current = tail;
+        if (current.count == current.capacity) {
+            final Chunk next = new Chunk(
+                                         policy.getChunkSize());
+            current.filledAt = System.nanoTime();
+            tail = next;
+            current.next = next;
+            full(current);
+            current = next;
+        }
+        current.items[current.count] = value;
+        current.count = current.count + 1;
+        retained = retained + 1;
+        evict();
+    }
+
+    private void full(final Chunk chunk) throws IOException {
+        if (!policy.isSpilling())
+            return;
+        inMemory.add(chunk);
+        while (!inMemory.isEmpty() && (long) (inMemory.size() + 1) * policy.getChunkSize() > policy.getMaxInMemory())
+            spill(inMemory.poll());
+    }
+
+    private void spill(final Chunk chunk) throws IOException {
+        final Path file = Files.createTempFile("cyclops-replay", ".chunk");
+        file.toFile()
+            .deleteOnExit();
+        files.add(file);
+        try (DataOutputStream out = new DataOutputStream(
+                                                         new BufferedOutputStream(
+                                                                                  Files.newOutputStream(file), BUFFER_SIZE))) {
+            for (final Object next : chunk.items)
+                policy.getSerializer()
+                      .write((T) next, out);
+        }
+        chunk.file = file;
+        chunk.items = null;
+    }
+
+    /* returns null if the chunk has been evicted */
+    private Object[] load(final Chunk chunk) {
+        final Object[] items = chunk.items;
+        if (items != null)
+            return items;
+        final Path file = chunk.file;
+        if (chunk.evicted || file == null)
+            return null;
+        final Object[] loaded = new Object[chunk.capacity];
+        try (DataInputStream in = new DataInputStream(
+                                                      new BufferedInputStream(
+                                                                              Files.newInputStream(file), BUFFER_SIZE))) {
+            for (int i = 0; i < loaded.length; i++)
+                loaded[i] = policy.getSerializer()
+                                  .read(in);
+            return loaded;
+        } catch (final IOException e) {
+            if (chunk.evicted || !Files.exists(file))
+                return null;
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    private void evict() {
+        final long ttl = policy.getTtlNanos();
+        final long now = ttl > 0 ? System.nanoTime() : 0;
+        Chunk first = head;
+        while (first != tail && (retained - first.count >= policy.getMaxSize() || ttl > 0 && now - first.filledAt > ttl)) {
+            head = first.next;
+            first.evicted = true;
+            retained = retained - first.count;
+            first.items = null;
+            inMemory.remove(first);
+            final Path file = first.file;
+            if (file != null && files.remove(file))
+                delete(file);
+            first = head;
+        }
+    }
+
+    private static void delete(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            //left for deleteOnExit
+        }
+    }
+}
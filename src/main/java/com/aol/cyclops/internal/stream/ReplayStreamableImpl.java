@@ -0,0 +1,17 @@
+package com.aol.cyclops.internal.stream;
+
+import com.aol.cyclops.control.Streamable;
+
+public class ReplayStreamableImpl<T> extends StreamableImpl<T> implements Streamable.Replay<T> {
+    private final ReplayBuffer<T> buffer;
+
+    public ReplayStreamableImpl(final ReplayBuffer<T> buffer) {
+        super(buffer);
+        this.buffer = buffer;
+    }
+
+    @Override
+    public void close() {
+        buffer.close();
+    }
+}
@@ -6,13 +6,13 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.aol.cyclops.control.Streamable;
 import com.aol.cyclops.data.collections.extensions.CollectionX;
+import com.aol.cyclops.util.stream.ReplayPolicy;
 
 public class SeqUtils {
     /**
@@ -75,8 +75,8 @@ public class SeqUtils {
     }
 
     /**
-      * Projects an immutable collection of this stream. Initial iteration over the collection is not thread safe 
-      * (can't be performed by multiple threads concurrently) subsequent iterations are.
+      * Projects an immutable collection of this stream. Elements are buffered in a chunked replay buffer as they are
+      * first iterated, iteration is thread safe and reads of already buffered elements do not lock.
       *
       * @return An immutable collection of this stream.
       */
@@ -85,27 +85,23 @@ public class SeqUtils {
     }
 
     public static final <A> CollectionX<A> toLazyCollection(final Iterator<A> iterator) {
-        return toLazyCollection(iterator, false);
+        return CollectionX.fromCollection(createLazyCollection(iterator));
     }
 
     /**
      * Lazily constructs a Collection from specified Stream. Collections iterator may be safely used
-     * concurrently by multiple threads.
+     * concurrently by multiple threads (equivalent to {@link #toLazyCollection(Stream)}, in both reads of already buffered
+     * elements are lock free).
     */
     public static final <A> CollectionX<A> toConcurrentLazyCollection(final Stream<A> stream) {
         return toConcurrentLazyCollection(stream.iterator());
     }
 
     public static final <A> CollectionX<A> toConcurrentLazyCollection(final Iterator<A> iterator) {
-        return toLazyCollection(iterator, true);
+        return CollectionX.fromCollection(createLazyCollection(iterator));
     }
 
-    private static final <A> CollectionX<A> toLazyCollection(final Iterator<A> iterator, final boolean concurrent) {
-        return CollectionX.fromCollection(createLazyCollection(iterator, concurrent));
-
-    }
-
-    private static final <A> Collection<A> createLazyCollection(final Iterator<A> iterator, final boolean concurrent) {
+    private static final <A> Collection<A> createLazyCollection(final Iterator<A> iterator) {
         return new AbstractCollection<A>() {
 
             @Override
@@ -138,83 +134,22 @@ public class SeqUtils {
                 return Objects.hashCode(arrayList.toArray());
             }
 
-            List<A> data = new ArrayList<>();
-
-            volatile boolean complete = false;
-
-            Object lock = new Object();
-            ReentrantLock rlock = new ReentrantLock();
+            final ReplayBuffer<A> buffer = new ReplayBuffer<>(
+                                                              iterator, ReplayPolicy.unbounded());
 
             @Override
             public Iterator<A> iterator() {
-                if (complete)
-                    return data.iterator();
-                return new Iterator<A>() {
-                    int current = -1;
-
-                    @Override
-                    public boolean hasNext() {
-
-                        if (concurrent) {
-
-                            rlock.lock();
-                        }
-                        try {
-
-                            if (current == data.size() - 1 && !complete) {
-                                final boolean result = iterator.hasNext();
-                                complete = !result;
-
-                                return result;
-                            }
-                            if (current + 1 < data.size()) {
-
-                                return true;
-                            }
-                            return false;
-                        } finally {
-                            if (concurrent)
-                                rlock.unlock();
-                        }
-                    }
-
-                    @Override
-                    public A next() {
-
-                        if (concurrent) {
-
-                            rlock.lock();
-                        }
-                        try {
-                            if (current < data.size() && !complete) {
-                                if (iterator.hasNext())
-                                    data.add(iterator.next());
-
-                                return data.get(++current);
-                            }
-                            current++;
-                            return data.get(current);
-                        } finally {
-
-                            if (concurrent)
-                                rlock.unlock();
-                        }
-
-                    }
-
-                };
-
+                return buffer.iterator();
             }
 
             @Override
             public int size() {
-                if (complete)
-                    return data.size();
-                final Iterator it = iterator();
-                while (it.hasNext())
-                    it.next();
-
-                return data.size();
+                if (!buffer.isComplete()) {
+                    final Iterator it = iterator();
+                    while (it.hasNext())
+                        it.next();
+                }
+                return (int) buffer.retained();
             }
         };
     }
@@ -0,0 +1,225 @@
+package com.aol.cyclops.internal.stream.operators;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+import com.aol.cyclops.control.StreamUtils;
+import com.aol.cyclops.util.ExceptionSoftener;
+import com.aol.cyclops.util.stream.Serializer;
+
+/**
+ * External merge sort : the Stream is sorted in runs of at most runSize elements, each run (other than a final run
+ * that fits in memory entirely) is spilled to a temporary file, and the runs are merged lazily as the sorted Stream is
+ * consumed. If there are more runs than can sensibly be open at once they are merged into larger runs first.
+ *
+ * The sort is stable, temporary files are deleted once fully read, or when the sorted Stream is closed.
+ *
+ * Runs are bounded by element count rather than by bytes, the Serializer gives the encoded size of an element but not
+ * its size on the heap.
+ */
+public class ExternalSortOperator<T> {
+
+    static final int MAX_MERGE_WIDTH = 128;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Stream<T> stream;
+    private final Comparator<? super T> comparator;
+    private final Serializer<T> serializer;
+    private final int runSize;
+    private final List<Run> files = new ArrayList<>();
+
+    public ExternalSortOperator(final Stream<T> stream, final Comparator<? super T> comparator, final Serializer<T> serializer,
+            final int runSize) {
+        if (runSize < 1)
+            throw new IllegalArgumentException(
+                                               "runSize must be at least 1 : " + runSize);
+        this.stream = stream;
+        this.comparator = comparator;
+        this.serializer = serializer;
+        this.runSize = runSize;
+    }
+
+    public Stream<T> sorted() {
+        final Iterator<T> it = stream.iterator();
+        return StreamUtils.stream(new Iterator<T>() {
+            Iterator<T> sorted;
+
+            @Override
+            public boolean hasNext() {
+                if (sorted == null)
+                    sorted = sort(it);
+                return sorted.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return sorted.next();
+            }
+
+        })
+                          .onClose(this::deleteAll);
+    }
+
+    private Iterator<T> sort(final Iterator<T> it) {
+        try {
+            List<Run> runs = new ArrayList<>();
+            final List<T> buffer = new ArrayList<>();
+            while (it.hasNext()) {
+                if (buffer.size() == runSize) {
+                    runs.add(spill(buffer));
+                    buffer.clear();
+                }
+                buffer.add(it.next());
+            }
+            if (runs.isEmpty()) {
+                buffer.sort(comparator);
+                return buffer.iterator();
+            }
+            if (buffer.size() > 0)
+                runs.add(spill(buffer));
+            buffer.clear();
+
+            while (runs.size() > MAX_MERGE_WIDTH) {
+                //merge adjacent runs, keeping runs in input order so that the sort stays stable
+                final List<Run> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += MAX_MERGE_WIDTH) {
+                    final List<Run> group = runs.subList(i, Math.min(i + MAX_MERGE_WIDTH, runs.size()));
+                    long size = 0;
+                    for (final Run next : group)
+                        size += next.size;
+                    merged.add(write(new Merge(
+                                               new ArrayList<>(
+                                                               group)),
+                                     size));
+                }
+                runs = merged;
+            }
+            return new Merge(
+                             runs);
+        } catch (final IOException e) {
+            deleteAll();
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    private Run spill(final List<T> buffer) throws IOException {
+        buffer.sort(comparator);
+        return write(buffer.iterator(), buffer.size());
+    }
+
+    private Run write(final Iterator<T> sorted, final long size) throws IOException {
+        final Run run = new Run(
+                                Files.createTempFile("cyclops-sort", ".run"), size);
+        files.add(run);
+        try (DataOutputStream out = new DataOutputStream(
+                                                         new BufferedOutputStream(
+                                                                                  Files.newOutputStream(run.file), BUFFER_SIZE))) {
+            while (sorted.hasNext())
+                serializer.write(sorted.next(), out);
+        }
+        return run;
+    }
+
+    private void deleteAll() {
+        for (final Run run : files)
+            run.close();
+        files.clear();
+    }
+
+    private class Run {
+        private final Path file;
+        private final long size;
+        private long remaining;
+        private DataInputStream in;
+        private T head;
+
+        Run(final Path file, final long size) {
+            this.file = file;
+            this.size = size;
+            this.remaining = size;
+        }
+
+        boolean advance() throws IOException {
+            if (remaining == 0) {
+                close();
+                return false;
+            }
+            if (in == null)
+                in = new DataInputStream(
+                                         new BufferedInputStream(
+                                                                 Files.newInputStream(file), BUFFER_SIZE));
+            head = serializer.read(in);
+            remaining--;
+            return true;
+        }
+
+        void close() {
+            try {
+                if (in != null)
+                    in.close();
+                in = null;
+                Files.deleteIfExists(file);
+            } catch (final IOException e) {
+                throw ExceptionSoftener.throwSoftenedException(e);
+            }
+        }
+    }
+
+    /**
+     * k-way merge of sorted runs, ties are resolved in favour of the earlier run so the sort remains stable
+     */
+    private class Merge implements Iterator<T> {
+        private final PriorityQueue<Integer> heap;
+        private final List<Run> runs;
+
+        Merge(final List<Run> runs) throws IOException {
+            this.runs = runs;
+            this.heap = new PriorityQueue<>(
+                                            Math.max(1, runs.size()), (a, b) -> {
+                                                final int result = comparator.compare(runs.get(a).head, runs.get(b).head);
+                                                return result != 0 ? result : Integer.compare(a, b);
+                                            });
+            for (int i = 0; i < runs.size(); i++) {
+                if (runs.get(i)
+                        .advance())
+                    heap.add(i);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heap.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (heap.isEmpty())
+                throw new NoSuchElementException();
+            final int index = heap.poll();
+            final Run run = runs.get(index);
+            final T result = run.head;
+            try {
+                if (run.advance())
+                    heap.add(index);
+            } catch (final IOException e) {
+                deleteAll();
+                throw ExceptionSoftener.throwSoftenedException(e);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.aol.cyclops.internal.stream.spliterators;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.aol.cyclops.util.ExceptionSoftener;
+
+/**
+ * Spliterator over fixed size chunks read from a channel. The channel is opened when the first chunk is requested and
+ * closed at the end of input, each chunk is only read when the consumer asks for it.
+ */
+public class ChannelSpliterator implements Spliterator<ByteBuffer> {
+
+    private final Supplier<? extends ReadableByteChannel> supplier;
+    private final int chunkSize;
+    private ReadableByteChannel channel;
+    private boolean done;
+
+    public ChannelSpliterator(final Supplier<? extends ReadableByteChannel> supplier, final int chunkSize) {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException(
+                                               "chunkSize must be at least 1 : " + chunkSize);
+        this.supplier = supplier;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Read up to chunkSize bytes, only returning a partial chunk at the end of input
+     *
+     * @param channel Channel to read from
+     * @param chunkSize Size of chunk
+     * @return Flipped chunk, or null at the end of input
+     * @throws IOException If the channel can not be read
+     */
+    public static ByteBuffer readChunk(final ReadableByteChannel channel, final int chunkSize) throws IOException {
+        final ByteBuffer chunk = ByteBuffer.allocate(chunkSize);
+        while (chunk.hasRemaining()) {
+            if (channel.read(chunk) < 0)
+                break;
+        }
+        chunk.flip();
+        return chunk.hasRemaining() ? chunk : null;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super ByteBuffer> action) {
+        Objects.requireNonNull(action);
+        if (done)
+            return false;
+        final ByteBuffer chunk;
+        try {
+            if (channel == null)
+                channel = supplier.get();
+            chunk = readChunk(channel, chunkSize);
+        } catch (final IOException e) {
+            close();
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+        if (chunk == null) {
+            close();
+            return false;
+        }
+        action.accept(chunk);
+        return true;
+    }
+
+    /**
+     * Close the channel (if it has been opened), no further chunks will be read
+     */
+    public void close() {
+        done = true;
+        if (channel != null)
+            ExceptionSoftener.softenRunnable(channel::close)
+                             .run();
+    }
+
+    @Override
+    public Spliterator<ByteBuffer> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+}
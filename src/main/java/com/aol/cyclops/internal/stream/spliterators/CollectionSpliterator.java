@@ -0,0 +1,93 @@
+package com.aol.cyclops.internal.stream.spliterators;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over an immutable Collection without indexed access (such as a persistent Set). Elements are traversed with an
+ * Iterator, the first split copies the remaining elements into an array which is then split evenly - so parallel Streams
+ * are balanced while sequential Streams pay no copying cost.
+ */
+public class CollectionSpliterator<T> implements Spliterator<T> {
+
+    private final Collection<T> collection;
+    private final int characteristics;
+    private Iterator<T> it;
+    private long remaining = -1;
+    private ReversingArraySpliterator<T> drained;
+
+    /**
+     * @param collection Elements to traverse
+     * @param characteristics Additional characteristics of the collection, e.g. DISTINCT for Sets
+     */
+    public CollectionSpliterator(final Collection<T> collection, final int characteristics) {
+        this.collection = collection;
+        this.characteristics = characteristics | IMMUTABLE | SIZED | SUBSIZED;
+    }
+
+    private Iterator<T> iterator() {
+        if (it == null) {
+            it = collection.iterator();
+            remaining = collection.size();
+        }
+        return it;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        if (drained != null)
+            return drained.tryAdvance(action);
+        if (!iterator().hasNext())
+            return false;
+        action.accept(it.next());
+        remaining--;
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        if (drained != null)
+            drained.forEachRemaining(action);
+        else {
+            iterator().forEachRemaining(action);
+            remaining = 0;
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (drained != null)
+            return drained.trySplit();
+        if (estimateSize() < 2)
+            return null;
+        final Iterator<T> source = iterator();
+        final Object[] array = new Object[(int) remaining];
+        int size = 0;
+        while (source.hasNext() && size < array.length)
+            array[size++] = source.next();
+        remaining = 0;
+        drained = new ReversingArraySpliterator<>(
+                                                  size == array.length ? array : Arrays.copyOf(array, size), false, 0);
+        return drained.trySplit();
+    }
+
+    @Override
+    public long estimateSize() {
+        if (drained != null)
+            return drained.estimateSize();
+        iterator();
+        return remaining;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+
+}
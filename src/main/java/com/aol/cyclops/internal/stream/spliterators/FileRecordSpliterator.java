@@ -0,0 +1,171 @@
+package com.aol.cyclops.internal.stream.spliterators;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.aol.cyclops.util.ExceptionSoftener;
+import com.aol.cyclops.util.stream.FileOptions;
+
+/**
+ * Spliterator over the delimited records in the byte range [start, end) of a file. Records are read-only slices of a
+ * memory mapped (or heap) chunk of the file, chunks are replaced as the range is consumed and grow to fit records
+ * longer than the chunk size. Splitting halves the remaining byte range, moving the split point forward to the next
+ * record boundary, so no record is seen by more than one Spliterator.
+ *
+ * Slices stay valid after the Spliterator moves on, each chunk is a new buffer.
+ */
+public class FileRecordSpliterator implements Spliterator<ByteBuffer> {
+
+    private static final int MIN_SPLIT = 64 * 1024;
+    private static final int SCAN_SIZE = 8 * 1024;
+
+    private final FileChannel channel;
+    private final FileOptions options;
+    private final byte delimiter;
+    private final boolean stripCarriageReturn;
+
+    private long start;
+    private final long end;
+
+    private ByteBuffer chunk;
+    private long chunkStart;
+    private int position;
+
+    public FileRecordSpliterator(final FileChannel channel, final FileOptions options) {
+        this(channel, options, 0, ExceptionSoftener.softenSupplier(channel::size)
+                                                   .get());
+    }
+
+    private FileRecordSpliterator(final FileChannel channel, final FileOptions options, final long start, final long end) {
+        this.channel = channel;
+        this.options = options;
+        this.delimiter = options.getDelimiter();
+        this.stripCarriageReturn = delimiter == '\n';
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super ByteBuffer> action) {
+        Objects.requireNonNull(action);
+        final ByteBuffer next = nextRecord();
+        if (next == null)
+            return false;
+        action.accept(next);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super ByteBuffer> action) {
+        Objects.requireNonNull(action);
+        for (ByteBuffer next = nextRecord(); next != null; next = nextRecord())
+            action.accept(next);
+    }
+
+    private ByteBuffer nextRecord() {
+        while (true) {
+            final long recordStart = chunk == null ? start : chunkStart + position;
+            if (recordStart >= end)
+                return null;
+            if (chunk == null || position >= chunk.limit())
+                load(recordStart, options.getChunkSize());
+            final int limit = chunk.limit();
+            for (int i = position; i < limit; i++) {
+                if (chunk.get(i) == delimiter) {
+                    final ByteBuffer record = slice(position, i);
+                    position = i + 1;
+                    return record;
+                }
+            }
+            if (chunkStart + limit >= end) {
+                final ByteBuffer record = slice(position, limit);
+                position = limit;
+                return record;
+            }
+            /* record spans the end of the chunk, reload from the record start, at least doubling the chunk */
+            load(recordStart, Math.max(options.getChunkSize(), limit - position) * 2L);
+        }
+    }
+
+    private ByteBuffer slice(final int from, int to) {
+        if (stripCarriageReturn && to > from && chunk.get(to - 1) == '\r')
+            to--;
+        final ByteBuffer record = chunk.duplicate();
+        record.limit(to)
+              .position(from);
+        return record.slice()
+                     .asReadOnlyBuffer();
+    }
+
+    private void load(final long from, final long size) {
+        final int length = (int) Math.min(Math.min(size, end - from), Integer.MAX_VALUE);
+        chunk = read(from, length);
+        chunkStart = from;
+        position = 0;
+    }
+
+    private ByteBuffer read(final long from, final int length) {
+        try {
+            if (options.isMemoryMapped())
+                return channel.map(FileChannel.MapMode.READ_ONLY, from, length);
+            final ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, from + buffer.position()) < 0)
+                    break;
+            }
+            buffer.flip();
+            return buffer;
+        } catch (final IOException e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    /* position just after the first delimiter at or after from, or end if there is none */
+    private long nextBoundary(final long from) {
+        final ByteBuffer scan = ByteBuffer.allocate(SCAN_SIZE);
+        long offset = from;
+        while (offset < end) {
+            scan.clear();
+            final int length = (int) Math.min(SCAN_SIZE, end - offset);
+            scan.limit(length);
+            final long at = offset;
+            final int read = ExceptionSoftener.softenSupplier(() -> channel.read(scan, at))
+                                              .get();
+            if (read <= 0)
+                return end;
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == delimiter)
+                    return offset + i + 1;
+            }
+            offset += read;
+        }
+        return end;
+    }
+
+    @Override
+    public Spliterator<ByteBuffer> trySplit() {
+        if (chunk != null || end - start < MIN_SPLIT)
+            return null;
+        final long boundary = nextBoundary(start + ((end - start) >>> 1));
+        if (boundary >= end)
+            return null;
+        final FileRecordSpliterator prefix = new FileRecordSpliterator(
+                                                                       channel, options, start, boundary);
+        start = boundary;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return chunk == null ? end - start : end - chunkStart - position;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+}
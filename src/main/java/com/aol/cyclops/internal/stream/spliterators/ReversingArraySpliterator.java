@@ -4,11 +4,13 @@ import java.util.Objects;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
-@AllArgsConstructor
+/**
+ * Spliterator over the elements of an array between [lo, hi), in either direction. The remaining elements always split
+ * exactly in half, so parallel Streams over an array are evenly balanced.
+ */
 public class ReversingArraySpliterator<T> implements Spliterator<T>, ReversableSpliterator {
 
     private final Object[] array;
@@ -16,54 +18,87 @@ public class ReversingArraySpliterator<T> implements Spliterator<T>, ReversableS
     @Setter
     private boolean reverse;
 
-    int index = 0;
+    private int lo;
+    private int hi;
+
+    /**
+     * @param array Elements to traverse
+     * @param reverse true to traverse the elements in reverse order
+     * @param index Index of the first element to traverse
+     */
+    public ReversingArraySpliterator(final Object[] array, final boolean reverse, final int index) {
+        this(array, index, array.length, reverse);
+    }
+
+    private ReversingArraySpliterator(final Object[] array, final int lo, final int hi, final boolean reverse) {
+        this.array = array;
+        this.lo = lo;
+        this.hi = hi;
+        this.reverse = reverse;
+    }
 
     @Override
     public long estimateSize() {
-        return array.length;
+        return hi - lo;
     }
 
     @Override
     public int characteristics() {
-        return IMMUTABLE;
+        return IMMUTABLE | ORDERED | SIZED | SUBSIZED;
     }
 
     @Override
     public ReversingArraySpliterator<T> invert() {
         setReverse(!isReverse());
-        index = array.length - 1;
         return this;
     }
 
     @Override
     public boolean tryAdvance(final Consumer<? super T> action) {
         Objects.requireNonNull(action);
+        if (lo >= hi)
+            return false;
+        action.accept((T) array[reverse ? --hi : lo++]);
+        return true;
+
+    }
 
-        if (!reverse) {
-            if (index < array.length && index > -1) {
-                action.accept((T) array[index++]);
-                return true;
-            }
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        final int from = lo;
+        final int to = hi;
+        lo = hi;
+        if (reverse) {
+            for (int i = to - 1; i >= from; i--)
+                action.accept((T) array[i]);
         } else {
-            if (index > -1 & index < array.length) {
-                action.accept((T) array[index--]);
-                return true;
-            }
+            for (int i = from; i < to; i++)
+                action.accept((T) array[i]);
         }
-        return false;
-
     }
 
     @Override
     public Spliterator<T> trySplit() {
-
-        return this;
+        if (hi - lo < 2)
+            return null;
+        final int mid = (lo + hi) >>> 1;
+        if (reverse) {
+            final ReversingArraySpliterator<T> prefix = new ReversingArraySpliterator<>(
+                                                                                        array, mid, hi, true);
+            hi = mid;
+            return prefix;
+        }
+        final ReversingArraySpliterator<T> prefix = new ReversingArraySpliterator<>(
+                                                                                    array, lo, mid, false);
+        lo = mid;
+        return prefix;
     }
 
     @Override
     public ReversableSpliterator copy() {
         return new ReversingArraySpliterator<T>(
-                                                array, reverse, index);
+                                                array, lo, hi, reverse);
     }
 
 }
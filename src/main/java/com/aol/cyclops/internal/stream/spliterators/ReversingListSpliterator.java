@@ -3,78 +3,146 @@ package com.aol.cyclops.internal.stream.spliterators;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 
-import lombok.AllArgsConstructor;
+import org.pcollections.PVector;
+
 import lombok.Getter;
-import lombok.Setter;
 
-@AllArgsConstructor
+/**
+ * Spliterator over the elements of a List, in either direction.
+ *
+ * Lists with efficient indexed access (RandomAccess Lists and PVectors) are traversed by index and always split exactly
+ * in half. Other Lists (such as linked lists and PStacks) are traversed with a ListIterator, the first split copies the
+ * remaining elements into an array which is then split evenly, so parallel Streams are balanced while sequential Streams
+ * pay no copying cost.
+ *
+ * The size of the List is bound on first traversal, split or size estimate.
+ */
 public class ReversingListSpliterator<T> implements Spliterator<T>, ReversableSpliterator {
 
     private final List<T> list;
+    private final boolean indexed;
+    private int lo;
+    private int hi = -1;
     private ListIterator<T> it;
+    private ReversingArraySpliterator<T> drained;
+
     @Getter
-    @Setter
     private boolean reverse = false;
 
     public ReversingListSpliterator(final List<T> elements, final boolean reverse) {
         this.list = elements;
         this.reverse = reverse;
-        this.it = elements.listIterator();
+        this.indexed = elements instanceof RandomAccess || elements instanceof PVector;
+
+    }
+
+    private ReversingListSpliterator(final List<T> list, final boolean indexed, final int lo, final int hi, final boolean reverse) {
+        this.list = list;
+        this.indexed = indexed;
+        this.lo = lo;
+        this.hi = hi;
+        this.reverse = reverse;
+    }
 
+    private int fence() {
+        if (hi < 0)
+            hi = list.size();
+        return hi;
+    }
+
+    @Override
+    public void setReverse(final boolean reverse) {
+        if (reverse != this.reverse)
+            invert();
     }
 
     @Override
     public ReversingListSpliterator<T> invert() {
-        setReverse(!isReverse());
-        it = list.listIterator(list.size());
+        if (drained != null)
+            drained.invert();
+        reverse = !reverse;
+        it = null;
         return this;
     }
 
     @Override
     public ReversableSpliterator copy() {
-        return new ReversingListSpliterator(
-                                            list, reverse);
+        if (drained != null)
+            return drained.copy();
+        return new ReversingListSpliterator<T>(
+                                               list, indexed, lo, hi, reverse);
 
     }
 
     @Override
     public long estimateSize() {
-        return list.size();
+        if (drained != null)
+            return drained.estimateSize();
+        return fence() - lo;
     }
 
     @Override
     public int characteristics() {
-        return IMMUTABLE;
+        return IMMUTABLE | ORDERED | SIZED | SUBSIZED;
     }
 
     @Override
     public boolean tryAdvance(final Consumer<? super T> action) {
         Objects.requireNonNull(action);
-
-        if (!reverse) {
-            if (it.hasNext()) {
-                action.accept(it.next());
-                return true;
-            }
-
-        } else {
-            if (it.hasPrevious()) {
-                action.accept(it.previous());
-                return true;
-            }
-
+        if (drained != null)
+            return drained.tryAdvance(action);
+        if (lo >= fence())
+            return false;
+        if (indexed) {
+            action.accept(list.get(reverse ? --hi : lo++));
+            return true;
         }
-        return false;
+        action.accept(reverse ? iterator().previous() : iterator().next());
+        if (reverse)
+            hi--;
+        else
+            lo++;
+        return true;
+
+    }
 
+    private ListIterator<T> iterator() {
+        if (it == null)
+            it = list.listIterator(reverse ? fence() : lo);
+        return it;
     }
 
     @Override
     public Spliterator<T> trySplit() {
-
-        return this;
+        if (drained != null)
+            return drained.trySplit();
+        final int size = fence() - lo;
+        if (size < 2)
+            return null;
+        if (!indexed) {
+            final Object[] remaining = new Object[size];
+            for (int i = 0; i < size; i++)
+                remaining[i] = reverse ? iterator().previous() : iterator().next();
+            lo = hi;
+            drained = new ReversingArraySpliterator<>(
+                                                      remaining, false, 0);
+            return drained.trySplit();
+        }
+        final int mid = (lo + hi) >>> 1;
+        if (reverse) {
+            final ReversingListSpliterator<T> prefix = new ReversingListSpliterator<>(
+                                                                                      list, true, mid, hi, true);
+            hi = mid;
+            return prefix;
+        }
+        final ReversingListSpliterator<T> prefix = new ReversingListSpliterator<>(
+                                                                                  list, true, lo, mid, false);
+        lo = mid;
+        return prefix;
     }
 
 }
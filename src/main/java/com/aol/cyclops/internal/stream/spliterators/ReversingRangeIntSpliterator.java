@@ -7,67 +7,87 @@ import java.util.function.IntConsumer;
 import lombok.Getter;
 import lombok.Setter;
 
+/**
+ * Spliterator over the integers in [lo, hi), in either direction. The remaining range always splits exactly in half,
+ * so parallel Streams over a range are evenly balanced.
+ */
 public class ReversingRangeIntSpliterator implements Spliterator.OfInt, ReversableSpliterator {
 
-    private final int min;
-    private final int max;
-    private int index;
+    private int lo;
+    private int hi;
 
     @Getter
     @Setter
     private boolean reverse;
 
     public ReversingRangeIntSpliterator(final int min, final int max, final boolean reverse) {
-        this.min = Math.min(min, max) - 1;
-        this.max = Math.max(min, max);
-        this.reverse = this.max >= this.min ? reverse : !reverse;
-        index = Math.min(min, max);
+        this.lo = Math.min(min, max);
+        this.hi = Math.max(min, max);
+        this.reverse = reverse;
     }
 
     @Override
     public ReversableSpliterator invert() {
         setReverse(!isReverse());
-        index = max - 1;
         return this;
     }
 
     @Override
     public boolean tryAdvance(final IntConsumer consumer) {
         Objects.requireNonNull(consumer);
-        if (!reverse) {
-            if (index < max && index > min) {
-                consumer.accept(index++);
-                return true;
-            }
-        }
+        if (lo >= hi)
+            return false;
+        consumer.accept(reverse ? --hi : lo++);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final IntConsumer consumer) {
+        Objects.requireNonNull(consumer);
+        final int from = lo;
+        final int to = hi;
+        lo = hi;
         if (reverse) {
-            if (index > min && index < max) {
-                consumer.accept(index--);
-                return true;
-            }
+            for (int i = to - 1; i >= from; i--)
+                consumer.accept(i);
+        } else {
+            for (int i = from; i < to; i++)
+                consumer.accept(i);
         }
-        return false;
     }
 
     @Override
     public long estimateSize() {
-        return max;
+        return (long) hi - lo;
     }
 
     @Override
     public int characteristics() {
-        return IMMUTABLE;
+        return IMMUTABLE | ORDERED | SIZED | SUBSIZED | DISTINCT | NONNULL;
     }
 
     @Override
     public Spliterator.OfInt trySplit() {
-        return this;
+        final long size = estimateSize();
+        if (size < 2)
+            return null;
+        final int mid = (int) (lo + size / 2);
+        if (reverse) {
+            final ReversingRangeIntSpliterator prefix = new ReversingRangeIntSpliterator(
+                                                                                         mid, hi, true);
+            hi = mid;
+            return prefix;
+        }
+        final ReversingRangeIntSpliterator prefix = new ReversingRangeIntSpliterator(
+                                                                                     lo, mid, false);
+        lo = mid;
+        return prefix;
     }
 
     @Override
     public ReversableSpliterator copy() {
         return new ReversingRangeIntSpliterator(
-                                                index, max, reverse);
+                                                lo, hi, reverse);
     }
 
-}
\ No newline at end of file
+}
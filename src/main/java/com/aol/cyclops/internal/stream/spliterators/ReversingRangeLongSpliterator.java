@@ -4,71 +4,94 @@ import java.util.Objects;
 import java.util.Spliterator;
 import java.util.function.LongConsumer;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
-@AllArgsConstructor
+/**
+ * Spliterator over the longs in [lo, hi), in either direction. The remaining range always splits exactly in half, so
+ * parallel Streams over a range are evenly balanced.
+ */
 public class ReversingRangeLongSpliterator implements Spliterator.OfLong, ReversableSpliterator {
 
-    private long index;
-    private final long min;
-    private final long max;
+    private long lo;
+    private long hi;
+
     @Getter
     @Setter
     private boolean reverse;
 
     public ReversingRangeLongSpliterator(final long min, final long max, final boolean reverse) {
-        this.min = Math.min(min, max) - 1;
-        this.max = Math.max(min, max);
-        this.reverse = this.max >= this.min ? reverse : !reverse;
-        index = Math.min(min, max);
+        this.lo = Math.min(min, max);
+        this.hi = Math.max(min, max);
+        this.reverse = reverse;
     }
 
     @Override
     public ReversableSpliterator invert() {
         setReverse(!isReverse());
-        index = max - 1;
         return this;
     }
 
     @Override
     public boolean tryAdvance(final LongConsumer consumer) {
         Objects.requireNonNull(consumer);
-        if (!reverse) {
-            if (index < max && index > min) {
-                consumer.accept(index++);
-                return true;
-            }
-        }
+        if (lo >= hi)
+            return false;
+        consumer.accept(reverse ? --hi : lo++);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final LongConsumer consumer) {
+        Objects.requireNonNull(consumer);
+        final long from = lo;
+        final long to = hi;
+        lo = hi;
         if (reverse) {
-            if (index > min && index < max) {
-                consumer.accept(index--);
-                return true;
-            }
+            for (long i = to; i > from;)
+                consumer.accept(--i);
+        } else {
+            for (long i = from; i < to;)
+                consumer.accept(i++);
         }
-        return false;
+    }
+
+    /* the size of ranges wider than Long.MAX_VALUE overflows */
+    private boolean overflows() {
+        return hi - lo < 0;
     }
 
     @Override
     public long estimateSize() {
-        return max;
+        return overflows() ? Long.MAX_VALUE : hi - lo;
     }
 
     @Override
     public int characteristics() {
-        return IMMUTABLE;
+        return IMMUTABLE | ORDERED | DISTINCT | NONNULL | (overflows() ? 0 : SIZED | SUBSIZED);
     }
 
     @Override
     public Spliterator.OfLong trySplit() {
-        return this;
+        if (!overflows() && hi - lo < 2)
+            return null;
+        final long mid = lo + ((hi - lo) >>> 1);
+        if (reverse) {
+            final ReversingRangeLongSpliterator prefix = new ReversingRangeLongSpliterator(
+                                                                                           mid, hi, true);
+            hi = mid;
+            return prefix;
+        }
+        final ReversingRangeLongSpliterator prefix = new ReversingRangeLongSpliterator(
+                                                                                       lo, mid, false);
+        lo = mid;
+        return prefix;
     }
 
     @Override
     public ReversableSpliterator copy() {
         return new ReversingRangeLongSpliterator(
-                                                 index, max, reverse);
+                                                 lo, hi, reverse);
     }
 
-}
\ No newline at end of file
+}
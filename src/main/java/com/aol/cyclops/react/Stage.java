@@ -0,0 +1,154 @@
+package com.aol.cyclops.react;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.aol.cyclops.react.metrics.LatencyHistogram;
+
+import lombok.Getter;
+
+/**
+ * A named stage of a LazyFutureStream pipeline, pinned to its own Executor (e.g. a CPU bound pool for parsing and an
+ * I/O pool for fetching). The pipeline only hops between Executors at pinned stages, stages that follow a pinned stage
+ * run on the same thread until the next pinned stage.
+ *
+ * Each Stage records the number of elements processed, a histogram of their latency and the stage throughput.
+ *
+ * <pre>
+ * {@code
+ *   Stage fetch = Stage.of("fetch", ioPool);
+ *   Stage parse = Stage.of("parse", cpuPool);
+ *
+ *   LazyReact.parallelCommonBuilder()
+ *            .from(urls)
+ *            .map(fetch, this::fetch)
+ *            .map(parse, this::parse)
+ *            .forEach(this::save);
+ *
+ *   Stage.report(fetch, parse);
+ *   //fetch : count=1000, errors=0, mean=20.1ms, p99=61.0ms, max=85.0ms, throughput=4950.0/s
+ *   //parse : count=1000, errors=0, mean=0.4ms, p99=1.9ms, max=3.2ms, throughput=4930.0/s
+ * }
+ * </pre>
+ */
+public final class Stage {
+
+    @Getter
+    private final String name;
+    @Getter
+    private final Executor executor;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicLong firstStart = new AtomicLong(
+                                                         Long.MAX_VALUE);
+    private final AtomicLong lastEnd = new AtomicLong();
+
+    private Stage(final String name, final Executor executor) {
+        this.name = name;
+        this.executor = executor;
+    }
+
+    /**
+     * @param name Name of this stage, used in reports
+     * @param executor Executor to run this stage on
+     * @return New Stage
+     */
+    public static Stage of(final String name, final Executor executor) {
+        return new Stage(
+                         name, executor);
+    }
+
+    /**
+     * Wrap a function so that each invocation is recorded against this Stage
+     *
+     * @param fn Function to time
+     * @return Function that records its latency
+     */
+    public <T, R> Function<T, R> timed(final Function<? super T, ? extends R> fn) {
+        return t -> {
+            final long start = System.nanoTime();
+            firstStart.accumulateAndGet(start, Math::min);
+            boolean failed = true;
+            try {
+                final R result = fn.apply(t);
+                failed = false;
+                return result;
+            } finally {
+                final long end = System.nanoTime();
+                latency.record(end - start);
+                if (failed)
+                    errors.increment();
+                lastEnd.accumulateAndGet(end, Math::max);
+            }
+        };
+    }
+
+    /**
+     * @return Number of elements processed by this stage
+     */
+    public long count() {
+        return latency.count();
+    }
+
+    /**
+     * @return Number of elements that failed in this stage
+     */
+    public long errors() {
+        return errors.sum();
+    }
+
+    /**
+     * @param unit Time unit of the result
+     * @return Mean time taken to process an element
+     */
+    public double meanLatency(final TimeUnit unit) {
+        return latency.mean(unit);
+    }
+
+    /**
+     * @param unit Time unit of the result
+     * @return Longest time taken to process an element
+     */
+    public double maxLatency(final TimeUnit unit) {
+        return latency.max(unit);
+    }
+
+    /**
+     * @return Histogram of the time taken to process each element, for percentiles
+     */
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    /**
+     * @return Elements processed per second, between the first element starting and the last completing
+     */
+    public double throughput() {
+        final long n = latency.count();
+        final long elapsed = lastEnd.get() - firstStart.get();
+        return n == 0 || elapsed <= 0 ? 0 : n * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    /**
+     * @param stages Stages to report on
+     * @return Report with one line per stage
+     */
+    public static String report(final Stage... stages) {
+        return Stream.of(stages)
+                     .map(Stage::toString)
+                     .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s : count=%d, errors=%d, mean=%.1fms, p99=%.1fms, max=%.1fms, throughput=%.1f/s", name, count(),
+                             errors(), meanLatency(TimeUnit.MILLISECONDS), latency.percentile(99, TimeUnit.MILLISECONDS),
+                             maxLatency(TimeUnit.MILLISECONDS), throughput());
+    }
+}
@@ -1,13 +1,21 @@
 package com.aol.cyclops.react;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ScheduledExecutorService;
 
+import com.aol.cyclops.util.ExceptionSoftener;
+import com.aol.cyclops.util.stream.scheduling.TimingWheelScheduler;
+
 import lombok.Getter;
 
 public class ThreadPools {
+    /* Executors.newVirtualThreadPerTaskExecutor, looked up reflectively so that we still run on Java 8 */
+    private static final Method newVirtualThreadPerTaskExecutor = findVirtualThreadPerTaskExecutor();
+
     @Getter
     private static final Executor commonFreeThread = Executors.newFixedThreadPool(1);
 
@@ -28,6 +36,12 @@ public class ThreadPools {
     private static final ScheduledExecutorService commonStanardRetry = Executors.newScheduledThreadPool(Runtime.getRuntime()
                                                                                                                .availableProcessors());
 
+    @Getter
+    private static final ScheduledExecutorService commonTimingWheel = newTimingWheel();
+
+    @Getter
+    private static final Executor commonVirtual = newVirtualExecutor();
+
     public static enum ExecutionMode {
         CURRENT,
         COMMON_FREE,
@@ -67,6 +81,69 @@ public class ThreadPools {
                                                            .availableProcessors());
     }
 
+    /**
+     * A timing wheel based ScheduledExecutorService, suitable for very large numbers of scheduled tasks, that runs
+     * expired tasks on dedicated (cached, daemon) timer threads. Used for timeouts, hedges, retries and rate limits, its
+     * tasks never queue behind pool threads that are blocked waiting for the very futures those tasks complete.
+     *
+     * @return A timing wheel based ScheduledExecutorService running tasks on dedicated timer threads
+     */
+    public static ScheduledExecutorService getTimingWheel() {
+        if (useCommon)
+            return commonTimingWheel;
+        else
+            return newTimingWheel();
+    }
+
+    private static ScheduledExecutorService newTimingWheel() {
+        return new TimingWheelScheduler(
+                                        Executors.newCachedThreadPool(r -> {
+                                            final Thread thread = new Thread(
+                                                                             r, "cyclops-timer");
+                                            thread.setDaemon(true);
+                                            return thread;
+                                        }));
+    }
+
+    /**
+     * An Executor that runs each task on its own virtual thread, suitable for very large numbers of concurrent
+     * blocking tasks (e.g. JDBC or HTTP calls). On JVMs without virtual threads (before Java 21) each task runs on a
+     * pooled platform thread instead, see {@link #isVirtualThreadsSupported()}
+     *
+     * @return Executor that runs each task on a new virtual thread
+     */
+    public static Executor getVirtual() {
+        if (useCommon)
+            return commonVirtual;
+        else
+            return newVirtualExecutor();
+    }
+
+    /**
+     * @return true if this JVM supports virtual threads
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return newVirtualThreadPerTaskExecutor != null;
+    }
+
+    private static ExecutorService newVirtualExecutor() {
+        if (newVirtualThreadPerTaskExecutor == null)
+            return Executors.newCachedThreadPool();
+        try {
+            return (ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null);
+        } catch (final ReflectiveOperationException e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    private static Method findVirtualThreadPerTaskExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (final NoSuchMethodException e) {
+            return null;
+        }
+    }
+
     public static Executor getLazyExecutor() {
         if (useCommon)
             return commonLazyExecutor;
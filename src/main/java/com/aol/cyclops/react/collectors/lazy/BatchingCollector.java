@@ -5,7 +5,6 @@ import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import com.aol.cyclops.internal.react.async.future.FastFuture;
 import com.aol.cyclops.types.futurestream.BlockingStream;
@@ -57,11 +56,13 @@ public class BatchingCollector<T> implements LazyResultConsumer<T> {
 
             while (active.size() > maxActive.getReduceTo()) {
 
-                final List<FastFuture<T>> toRemove = active.stream()
-                                                           .filter(cf -> cf.isDone())
-                                                           .collect(Collectors.toList());
-                active.removeAll(toRemove);
-                results.addAll(toRemove);
+                //single pass, so that large batches (e.g. MaxActive.VIRTUAL) stay linear
+                active.removeIf(cf -> {
+                    if (!cf.isDone())
+                        return false;
+                    results.add(cf);
+                    return true;
+                });
                 if (active.size() > maxActive.getReduceTo()) {
                     final CompletableFuture promise = new CompletableFuture();
                     FastFuture.xOf(active.size() - maxActive.getReduceTo(), () -> {
@@ -23,5 +23,8 @@ public class MaxActive {
                                                              .availableProcessors() - 1);
     public static final MaxActive SEQUENTIAL = new MaxActive(
                                                              10, 1);
+    /* blocking tasks on virtual threads are cheap, so many more can be in flight */
+    public static final MaxActive VIRTUAL = new MaxActive(
+                                                          10_000, 9_000);
 
 }
@@ -0,0 +1,53 @@
+package com.aol.cyclops.react.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.aol.cyclops.data.async.wait.WaitStrategy;
+
+/*
+ * Counts the takes and offers that could not complete on their first attempt, and records how long they stalled for.
+ */
+class InstrumentedWaitStrategy<T> implements WaitStrategy<T> {
+
+    private final WaitStrategy<T> delegate;
+    final LongAdder takeStalls = new LongAdder();
+    final LongAdder offerStalls = new LongAdder();
+    final LatencyHistogram stallTime = new LatencyHistogram();
+
+    InstrumentedWaitStrategy(final WaitStrategy<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public T take(final WaitStrategy.Takeable<T> t) throws InterruptedException {
+        final long[] stalledAt = { 0 };
+        final T result = delegate.take(() -> {
+            final T next = t.take();
+            if (next == null && stalledAt[0] == 0)
+                stalledAt[0] = System.nanoTime();
+            return next;
+        });
+        if (stalledAt[0] != 0) {
+            takeStalls.increment();
+            stallTime.record(System.nanoTime() - stalledAt[0]);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean offer(final WaitStrategy.Offerable o) throws InterruptedException {
+        final long[] stalledAt = { 0 };
+        final boolean result = delegate.offer(() -> {
+            final boolean offered = o.offer();
+            if (!offered && stalledAt[0] == 0)
+                stalledAt[0] = System.nanoTime();
+            return offered;
+        });
+        if (stalledAt[0] != 0) {
+            offerStalls.increment();
+            stallTime.record(System.nanoTime() - stalledAt[0]);
+        }
+        return result;
+    }
+
+}
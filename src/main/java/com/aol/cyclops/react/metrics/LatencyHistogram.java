@@ -0,0 +1,126 @@
+package com.aol.cyclops.react.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with log-linear buckets (in the style of HdrHistogram). Each power of two range is split
+ * into 32 linear sub-buckets, so recorded values are accurate to within ~3% across the full range of a long, while the
+ * histogram occupies a fixed ~15KB regardless of the number of values recorded.
+ *
+ * Recording a value is a single atomic increment (plus striped adders for the count and total), so it is cheap
+ * enough to leave on in production.
+ *
+ * <pre>
+ * {@code
+ *   LatencyHistogram histogram = new LatencyHistogram();
+ *   long start = System.nanoTime();
+ *   process();
+ *   histogram.record(System.nanoTime()-start);
+ *
+ *   histogram.percentile(99, TimeUnit.MILLISECONDS);
+ * }
+ * </pre>
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(
+                                                               BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a latency
+     *
+     * @param nanos Latency in nanoseconds, negative values are recorded as 0
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        counts.incrementAndGet(index(value));
+        count.increment();
+        total.add(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value))
+            current = max.get();
+    }
+
+    static int index(final long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        final int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        final int shift = magnitude - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /* midpoint of the range of values that share a bucket */
+    static long valueAt(final int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+        final int shift = index / SUB_BUCKETS - 1;
+        final long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowest + ((1l << shift) >>> 1);
+    }
+
+    /**
+     * @return Number of values recorded
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * @param unit Time unit of the result
+     * @return Mean of the recorded values
+     */
+    public double mean(final TimeUnit unit) {
+        final long n = count.sum();
+        return n == 0 ? 0 : (double) total.sum() / n / unit.toNanos(1);
+    }
+
+    /**
+     * @param unit Time unit of the result
+     * @return Largest recorded value (exact)
+     */
+    public double max(final TimeUnit unit) {
+        return (double) max.get() / unit.toNanos(1);
+    }
+
+    /**
+     * @param percentile Percentile to return, between 0 and 100 (e.g. 99.9)
+     * @param unit Time unit of the result
+     * @return Value at the supplied percentile, accurate to within ~3%
+     */
+    public double percentile(final double percentile, final TimeUnit unit) {
+        long n = 0;
+        final long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            n += snapshot[i];
+        }
+        if (n == 0)
+            return 0;
+        final long target = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= target)
+                return (double) Math.min(valueAt(i), max.get()) / unit.toNanos(1);
+        }
+        return max(unit);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.1fms, p50=%.1fms, p99=%.1fms, p99.9=%.1fms, max=%.1fms", count(),
+                             mean(TimeUnit.MILLISECONDS), percentile(50, TimeUnit.MILLISECONDS),
+                             percentile(99, TimeUnit.MILLISECONDS), percentile(99.9, TimeUnit.MILLISECONDS),
+                             max(TimeUnit.MILLISECONDS));
+    }
+}
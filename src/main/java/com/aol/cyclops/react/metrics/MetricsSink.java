@@ -0,0 +1,21 @@
+package com.aol.cyclops.react.metrics;
+
+/**
+ * Destination for metrics exported from a {@link PipelineMetrics} registry, e.g. a StatsD / Graphite client, a
+ * monitoring library gauge, or a log.
+ *
+ * <pre>
+ * {@code
+ *   metrics.export((name,value)->statsd.gauge(name,value));
+ * }
+ * </pre>
+ */
+@FunctionalInterface
+public interface MetricsSink {
+
+    /**
+     * @param name Dot separated metric name (e.g. orders.stage.fetch.p99)
+     * @param value Current value of the metric, latencies are in milliseconds
+     */
+    public void export(String name, double value);
+}
@@ -0,0 +1,314 @@
+package com.aol.cyclops.react.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.pcollections.HashTreePMap;
+import org.pcollections.PMap;
+
+import com.aol.cyclops.data.async.Queue;
+import com.aol.cyclops.data.async.wait.WaitStrategy;
+import com.aol.cyclops.react.Stage;
+import com.aol.cyclops.react.ThreadPools;
+import com.aol.cyclops.util.resilience.Bulkhead;
+import com.aol.cyclops.util.resilience.CircuitBreaker;
+import com.aol.cyclops.util.resilience.RateLimiter;
+
+import lombok.Getter;
+
+/**
+ * Opt-in instrumentation for a LazyFutureStream pipeline. Records
+ * <ul>
+ * <li>end to end latency of each element, as a {@link LatencyHistogram}</li>
+ * <li>the number of elements in flight (bounded by the MaxActive settings of the LazyReact builder)</li>
+ * <li>per-stage latency histograms, for {@link Stage}s created via this registry</li>
+ * <li>the depth of registered Queues</li>
+ * <li>the state of registered CircuitBreakers and Bulkheads</li>
+ * <li>stalls in registered WaitStrategies (takes from an empty Queue or offers to a full one)</li>
+ * </ul>
+ * Metrics can be read directly, or exported to a pluggable {@link MetricsSink} on demand or on a schedule.
+ *
+ * <pre>
+ * {@code
+ *   PipelineMetrics metrics = new PipelineMetrics("orders");
+ *   Stage fetch = metrics.stage("fetch", ioPool);
+ *
+ *   new LazyReact().metricsOn(metrics)
+ *                  .fromStream(ids)
+ *                  .map(fetch, this::load)
+ *                  .forEach(this::save);
+ *
+ *   metrics.exportEvery(10, TimeUnit.SECONDS, (name,value)->statsd.gauge(name,value));
+ *   //orders.inFlight, orders.latency.p99, orders.stage.fetch.p99 ...
+ * }
+ * </pre>
+ */
+public class PipelineMetrics {
+
+    @Getter
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong peakInFlight = new AtomicLong();
+    private final Map<String, Stage> stages = new ConcurrentSkipListMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentSkipListMap<>();
+    private final Map<String, InstrumentedWaitStrategy<?>> waits = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param name Name of the pipeline, used as the prefix of exported metric names
+     */
+    public PipelineMetrics(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Create a Stage whose latency is reported by this registry
+     *
+     * @param name Name of the stage
+     * @param executor Executor to run the stage on
+     * @return New Stage
+     */
+    public Stage stage(final String name, final Executor executor) {
+        final Stage stage = Stage.of(name, executor);
+        stages.put(name, stage);
+        return stage;
+    }
+
+    /**
+     * Report the depth of the supplied Queue
+     *
+     * @param name Name of the queue
+     * @param queue Queue to monitor
+     * @return The supplied Queue
+     */
+    public <T> Queue<T> queue(final String name, final Queue<T> queue) {
+        gauge("queue." + name + ".depth", queue::size);
+        return queue;
+    }
+
+    /**
+     * Report the state (0 closed, 1 open, 2 half-open), failure rate (as a percentage), rejected calls and number of
+     * state changes to open of the supplied CircuitBreaker
+     *
+     * @param breaker CircuitBreaker to monitor
+     * @return The supplied CircuitBreaker
+     */
+    public CircuitBreaker circuitBreaker(final CircuitBreaker breaker) {
+        final String prefix = "circuit." + breaker.getName();
+        gauge(prefix + ".state", () -> breaker.getState()
+                                              .ordinal());
+        gauge(prefix + ".failureRate", () -> Math.round(breaker.failureRate() * 100));
+        gauge(prefix + ".rejected", breaker::rejected);
+        gauge(prefix + ".opened", breaker::opened);
+        return breaker;
+    }
+
+    /**
+     * Report the active and rejected calls of the supplied Bulkhead
+     *
+     * @param bulkhead Bulkhead to monitor
+     * @return The supplied Bulkhead
+     */
+    public Bulkhead bulkhead(final Bulkhead bulkhead) {
+        final String prefix = "bulkhead." + bulkhead.getName();
+        gauge(prefix + ".active", bulkhead::active);
+        gauge(prefix + ".rejected", bulkhead::rejected);
+        return bulkhead;
+    }
+
+    /**
+     * Report the throttled acquisitions, time spent throttled and available permits of the supplied RateLimiter
+     *
+     * @param limiter RateLimiter to monitor
+     * @return The supplied RateLimiter
+     */
+    public RateLimiter rateLimiter(final RateLimiter limiter) {
+        final String prefix = "rateLimit." + limiter.getName();
+        gauge(prefix + ".throttled", limiter::throttled);
+        gauge(prefix + ".throttledMillis", () -> limiter.throttledTime(TimeUnit.MILLISECONDS));
+        gauge(prefix + ".available", limiter::availablePermits);
+        return limiter;
+    }
+
+    /**
+     * Report a custom value, sampled each time metrics are read
+     *
+     * @param name Name of the gauge
+     * @param value Supplier of the current value
+     * @return This registry
+     */
+    public PipelineMetrics gauge(final String name, final LongSupplier value) {
+        gauges.put(name, value);
+        return this;
+    }
+
+    /**
+     * Instrument a WaitStrategy so that takes from an empty Queue and offers to a full Queue are counted, and the
+     * time spent waiting recorded. Blocking strategies (such as the default DirectWaitStrategy) wait inside the Queue
+     * and are not observed.
+     *
+     * <pre>
+     * {@code
+     *   Queue<Data> queue = QueueFactories.boundedNonBlockingQueue(1000, metrics.waitStrategy("inbound", WaitStrategy.spinWait()))
+     *                                     .build();
+     * }
+     * </pre>
+     *
+     * @param name Name of the wait strategy
+     * @param strategy WaitStrategy to instrument
+     * @return Instrumented WaitStrategy
+     */
+    public <T> WaitStrategy<T> waitStrategy(final String name, final WaitStrategy<T> strategy) {
+        final InstrumentedWaitStrategy<T> instrumented = new InstrumentedWaitStrategy<>(
+                                                                                          strategy);
+        waits.put(name, instrumented);
+        return instrumented;
+    }
+
+    /**
+     * Record that an element has entered the pipeline
+     *
+     * @return Start time to pass to {@link #completed(long, boolean)}
+     */
+    public long started() {
+        final long active = inFlight.incrementAndGet();
+        long peak = peakInFlight.get();
+        while (active > peak && !peakInFlight.compareAndSet(peak, active))
+            peak = peakInFlight.get();
+        return System.nanoTime();
+    }
+
+    /**
+     * Record that an element has left the pipeline
+     *
+     * @param start Start time returned by {@link #started()}
+     * @param failed true if the element completed with an error
+     */
+    public void completed(final long start, final boolean failed) {
+        latency.record(System.nanoTime() - start);
+        if (failed)
+            errors.increment();
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * @return Number of elements currently in flight
+     */
+    public long inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return Largest number of elements in flight at once
+     */
+    public long peakInFlight() {
+        return peakInFlight.get();
+    }
+
+    /**
+     * @return Number of elements that completed with an error
+     */
+    public long errors() {
+        return errors.sum();
+    }
+
+    /**
+     * @return End to end latency of the elements that have completed
+     */
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    /**
+     * @return Current value of every metric, keyed by name (e.g. orders.stage.fetch.p99). Latencies are in
+     *         milliseconds.
+     */
+    public PMap<String, Double> snapshot() {
+        return HashTreePMap.from(values());
+    }
+
+    private Map<String, Double> values() {
+        final Map<String, Double> values = new TreeMap<>();
+        values.put(name + ".inFlight", (double) inFlight());
+        values.put(name + ".peakInFlight", (double) peakInFlight());
+        values.put(name + ".errors", (double) errors());
+        histogram(values, name + ".latency", latency);
+        stages.forEach((stage, s) -> {
+            values.put(name + ".stage." + stage + ".errors", (double) s.errors());
+            values.put(name + ".stage." + stage + ".throughput", s.throughput());
+            histogram(values, name + ".stage." + stage, s.latency());
+        });
+        waits.forEach((wait, w) -> {
+            values.put(name + ".wait." + wait + ".takeStalls", (double) w.takeStalls.sum());
+            values.put(name + ".wait." + wait + ".offerStalls", (double) w.offerStalls.sum());
+            values.put(name + ".wait." + wait + ".stallTime.p99", w.stallTime.percentile(99, TimeUnit.MILLISECONDS));
+            values.put(name + ".wait." + wait + ".stallTime.max", w.stallTime.max(TimeUnit.MILLISECONDS));
+        });
+        gauges.forEach((gauge, g) -> values.put(name + "." + gauge, (double) g.getAsLong()));
+        return values;
+    }
+
+    private static void histogram(final Map<String, Double> values, final String prefix, final LatencyHistogram histogram) {
+        values.put(prefix + ".count", (double) histogram.count());
+        values.put(prefix + ".mean", histogram.mean(TimeUnit.MILLISECONDS));
+        values.put(prefix + ".p50", histogram.percentile(50, TimeUnit.MILLISECONDS));
+        values.put(prefix + ".p99", histogram.percentile(99, TimeUnit.MILLISECONDS));
+        values.put(prefix + ".p999", histogram.percentile(99.9, TimeUnit.MILLISECONDS));
+        values.put(prefix + ".max", histogram.max(TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Export the current value of every metric, in name order
+     *
+     * @param sink Destination for the metrics
+     */
+    public void export(final MetricsSink sink) {
+        values().forEach(sink::export);
+    }
+
+    /**
+     * Export the current value of every metric periodically, on the common sequential scheduler
+     *
+     * @param period Time between exports
+     * @param unit Time unit of the period
+     * @param sink Destination for the metrics
+     * @return ScheduledFuture that can be cancelled to stop exporting
+     */
+    public ScheduledFuture<?> exportEvery(final long period, final TimeUnit unit, final MetricsSink sink) {
+        return exportEvery(period, unit, sink, ThreadPools.getSequentialRetry());
+    }
+
+    /**
+     * Export the current value of every metric periodically
+     *
+     * @param period Time between exports
+     * @param unit Time unit of the period
+     * @param sink Destination for the metrics
+     * @param scheduler Scheduler to run the export on
+     * @return ScheduledFuture that can be cancelled to stop exporting
+     */
+    public ScheduledFuture<?> exportEvery(final long period, final TimeUnit unit, final MetricsSink sink,
+            final ScheduledExecutorService scheduler) {
+        return scheduler.scheduleAtFixedRate(() -> export(sink), period, period, unit);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder report = new StringBuilder(
+                                                       String.format("%s : inFlight=%d, peakInFlight=%d, errors=%d, %s", name, inFlight(),
+                                                                     peakInFlight(), errors(), latency));
+        stages.values()
+              .forEach(s -> report.append(System.lineSeparator())
+                                  .append(s));
+        return report.toString();
+    }
+}
@@ -3,10 +3,12 @@ package com.aol.cyclops.types.futurestream;
 import static java.util.Spliterator.ORDERED;
 import static java.util.Spliterators.spliteratorUnknownSize;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -15,6 +17,7 @@ import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
@@ -40,6 +43,7 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.jooq.lambda.Seq;
+import org.jooq.lambda.tuple.Tuple;
 import org.jooq.lambda.tuple.Tuple2;
 import org.jooq.lambda.tuple.Tuple3;
 import org.jooq.lambda.tuple.Tuple4;
@@ -49,6 +53,7 @@ import org.reactivestreams.Subscription;
 import com.aol.cyclops.Matchables;
 import com.aol.cyclops.Monoid;
 import com.aol.cyclops.control.AnyM;
+import com.aol.cyclops.control.FutureW;
 import com.aol.cyclops.control.LazyReact;
 import com.aol.cyclops.control.Matchable.CheckValue1;
 import com.aol.cyclops.control.ReactiveSeq;
@@ -56,11 +61,13 @@ import com.aol.cyclops.control.SimpleReact;
 import com.aol.cyclops.control.StreamUtils;
 import com.aol.cyclops.control.Streamable;
 import com.aol.cyclops.control.Trampoline;
+import com.aol.cyclops.control.Try;
 import com.aol.cyclops.data.async.Queue;
 import com.aol.cyclops.data.async.Queue.ClosedQueueException;
 import com.aol.cyclops.data.async.Queue.QueueTimeoutException;
 import com.aol.cyclops.data.async.QueueFactories;
 import com.aol.cyclops.data.async.QueueFactory;
+import com.aol.cyclops.data.async.Shards;
 import com.aol.cyclops.data.collections.extensions.CollectionX;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
 import com.aol.cyclops.internal.react.LazyFutureStreamImpl;
@@ -72,6 +79,7 @@ import com.aol.cyclops.internal.react.stream.traits.future.operators.OperationsO
 import com.aol.cyclops.internal.stream.LazyFutureStreamFutureOpterationsImpl;
 import com.aol.cyclops.react.RetryBuilder;
 import com.aol.cyclops.react.SimpleReactFailedStageException;
+import com.aol.cyclops.react.Stage;
 import com.aol.cyclops.react.ThreadPools;
 import com.aol.cyclops.react.async.subscription.Continueable;
 import com.aol.cyclops.react.collectors.lazy.LazyResultConsumer;
@@ -85,6 +93,15 @@ import com.aol.cyclops.types.applicative.zipping.ZippingApplicativable;
 import com.aol.cyclops.types.stream.HotStream;
 import com.aol.cyclops.types.stream.future.FutureOperations;
 import com.aol.cyclops.types.stream.reactive.FutureStreamSynchronousPublisher;
+import com.aol.cyclops.util.CompletableFutures;
+import com.aol.cyclops.util.resilience.Bulkhead;
+import com.aol.cyclops.util.resilience.CircuitBreaker;
+import com.aol.cyclops.util.resilience.Hedge;
+import com.aol.cyclops.util.resilience.RateLimiter;
+import com.aol.cyclops.util.stream.Encoder;
+import com.aol.cyclops.util.stream.FileSink;
+import com.aol.cyclops.util.stream.Serializer;
+import com.aol.cyclops.util.stream.SinkOptions;
 import com.nurkiewicz.asyncretry.AsyncRetryExecutor;
 import com.nurkiewicz.asyncretry.RetryExecutor;
 
@@ -1023,6 +1040,41 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
         return res;
     }
 
+    /**
+     * Break a stream into multiple Streams by key, where each key is processed in order by a single shard at a time.
+     * Keys are assigned to shards by consistent hashing, idle shards take over keys from backlogged shards, and shards
+     * can be added or removed while the Stream is running (see {@link Shards})
+     *
+     * <pre>
+     * {@code
+     * Shards<Integer,Order> shards = new Shards<>(Arrays.asList(1,2,3,4),Order::getCustomerId);
+     * Map<Integer,LazyFutureStream<Order>> streams = LazyFutureStream.lazyFutureStream(orders)
+     *                                                                 .shard(shards);
+     *
+     * //orders for each customer are emitted in order, from one of the 4 Streams
+     * //a customer may only move to another Stream once all of its orders have been acknowledged
+     * streams.values().forEach(s -> s.peek(this::process).peek(shards::ack).run());
+     * }
+     * </pre>
+     *
+     * @param shards
+     *            Shards to populate
+     * @return Map of new sharded Streams, keyed by shard identifier
+     */
+    default <S> Map<S, LazyFutureStream<U>> shard(final Shards<S, U> shards) {
+
+        //elements are routed from a single populator thread so that the order for each key is kept
+        final LazyReact service = getPopulator();
+        then(it -> shards.offer(it), service.getExecutor()).runThread(() -> {
+            shards.close();
+            returnPopulator(service);
+        });
+        final Map<S, LazyFutureStream<U>> res = new LinkedHashMap<>();
+        for (final S id : shards.shardIds())
+            res.put(id, fromStream(shards.stream(id, getSubscription())));
+        return res;
+    }
+
     /**
      * Can be used to debounce (accept a single data point from a unit of time)
      * data. This drops data. For a method that slows emissions and keeps data
@@ -1046,7 +1098,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<U> debounce(final long time, final TimeUnit unit) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .debounce(time, unit));
 
     }
@@ -1115,7 +1167,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<ListX<U>> groupedBySizeAndTime(final int size, final long time, final TimeUnit unit) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .groupedBySizeAndTime(size, time, unit));
         /**      Queue<U> queue = toQueue();
         Function<BiFunction<Long,TimeUnit,U>, Supplier<Collection<U>>> fn = new BatchByTimeAndSize<>(size,time,unit,()->new ListXImpl<>());
@@ -1145,7 +1197,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default <C extends Collection<? super U>> LazyFutureStream<C> grouped(final int size, final Supplier<C> supplier) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .grouped(size, supplier));
 
     }
@@ -1175,7 +1227,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<U> jitter(final long jitterInNanos) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .jitter(jitterInNanos));
     }
 
@@ -1214,7 +1266,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<U> fixedDelay(final long time, final TimeUnit unit) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .fixedDelay(time, unit));
     }
 
@@ -1239,7 +1291,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<U> onePer(final long time, final TimeUnit unit) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .onePer(time, unit));
 
     }
@@ -1268,10 +1320,86 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<U> xPer(final int x, final long time, final TimeUnit unit) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .xPer(x, time, unit));
     }
 
+    /**
+     * Limit the rate at which elements pass to the next stage with a token bucket, shared with any other Streams using
+     * the same RateLimiter. Elements waiting for a permit do not hold a thread, they are released from the shared timing
+     * wheel.
+     *
+     * <pre>
+     * {@code
+     *    RateLimiter quota = RateLimiter.of("quotes", 100, 20);
+     *
+     *    new LazyReact().from(tickers)
+     *                   .rateLimit(quota)
+     *                   .then(quoteService::load)
+     *                   .forEach(this::publish);
+     * }
+     * </pre>
+     *
+     * @param limiter
+     *            RateLimiter to acquire a permit from for each element
+     * @return Stream that emits elements no faster than the RateLimiter allows
+     */
+    @Override
+    default LazyFutureStream<U> rateLimit(final RateLimiter limiter) {
+        return (LazyFutureStream<U>) LazySimpleReactStream.super.flatMapToCompletableFuture(u -> limiter.acquireAsync(u)
+                                                                                                      .getFuture());
+    }
+
+    /**
+     * Limit the rate at which elements pass to the next stage with a token bucket
+     *
+     * @see #rateLimit(RateLimiter)
+     *
+     * @param permitsPerSecond
+     *            Sustained rate of emission
+     * @param burst
+     *            Maximum number of elements emitted at once after a quiet period
+     * @return Stream that emits elements no faster than the specified rate
+     */
+    @Override
+    default LazyFutureStream<U> rateLimit(final double permitsPerSecond, final int burst) {
+        return rateLimit(RateLimiter.of("rateLimit", permitsPerSecond, burst));
+    }
+
+    /**
+     * Asynchronously write each element to a file as it completes, on a separate thread. Elements are batched into
+     * large direct buffers, while the configured number of buffers are waiting to be written the active tasks are held
+     * back, and so no more than maxActive elements are pulled from upstream. Elements are written in the order they
+     * complete.
+     *
+     * <pre>
+     * {@code
+     *    FutureW<FileSink<String>> done = new LazyReact().from(ids)
+     *                                                    .then(this::load)
+     *                                                    .writeTo(Paths.get("export.json"), Encoder.lines(StandardCharsets.UTF_8),
+     *                                                             SinkOptions.defaults());
+     * }
+     * </pre>
+     *
+     * @param path File to write
+     * @param encoder Encoder for each element
+     * @param options Buffering, write mode and rotation
+     * @return FutureW that completes with the closed FileSink once every element has been written
+     */
+    default FutureW<FileSink<U>> writeTo(final Path path, final Encoder<? super U> encoder, final SinkOptions options) {
+        final FileSink<U> sink = FileSink.of(path, encoder, options);
+        final CompletableFuture<FileSink<U>> result = new CompletableFuture<>();
+        peek(sink).runThread(() -> {
+            try {
+                sink.close();
+                result.complete(sink);
+            } catch (final Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return FutureW.of(result);
+    }
+
     /**
      * Organise elements in a Stream into a Collections based on the time period
      * they pass through this stage
@@ -1293,7 +1421,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<ListX<U>> groupedByTime(final long time, final TimeUnit unit) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .groupedByTime(time, unit));
 
     }
@@ -1324,7 +1452,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default <C extends Collection<? super U>> LazyFutureStream<C> groupedByTime(final long time, final TimeUnit unit, final Supplier<C> factory) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .groupedByTime(time, unit, factory));
 
     }
@@ -1345,6 +1473,126 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
         return (LazyFutureStream<R>) LazySimpleReactStream.super.then(fn, service);
     }
 
+    /**
+     * Apply the supplied function on the Executor pinned to the supplied Stage. The pipeline hops to that Executor
+     * here even when auto-optimisation is on, and subsequent stages run on the same thread until the next pinned
+     * Stage. Each application is recorded in the Stage's latency and throughput metrics.
+     *
+     * <pre>
+     * {@code
+     *  Stage fetch = Stage.of("fetch", ioPool);
+     *  Stage parse = Stage.of("parse", cpuPool);
+     *
+     *  new LazyReact().from(urls)
+     *                 .map(fetch, this::fetch)
+     *                 .map(parse, this::parse)
+     *                 .toList();
+     * }
+     * </pre>
+     *
+     * @param stage Named stage, and the Executor to run it on
+     * @param fn Function to apply
+     * @return Next stage in the Stream
+     */
+    default <R> LazyFutureStream<R> map(final Stage stage, final Function<? super U, ? extends R> fn) {
+        return this.withLastActive(getLastActive().operation(ft -> ft.thenApplyOn(LazySimpleReactStream.<U, R> handleExceptions(stage.timed(fn)),
+                                                                                  stage.getExecutor())));
+    }
+
+    /**
+     * Apply the supplied function through a CircuitBreaker. While the breaker is open elements are short-circuited
+     * immediately to a Failure containing a CircuitBreakerOpenException, rather than occupying a MaxActive slot with a
+     * call to a failing dependency. Errors thrown by the function are also returned as Failures.
+     *
+     * <pre>
+     * {@code
+     *  CircuitBreaker quotes = CircuitBreaker.of("quotes");
+     *
+     *  new LazyReact().from(tickers)
+     *                 .circuitBreaker(this::loadQuote, quotes)
+     *                 .forEach(t -> t.forEach(this::publish));
+     * }
+     * </pre>
+     *
+     * @param fn Function to apply
+     * @param breaker CircuitBreaker guarding the function
+     * @return Next stage in the Stream, with the outcome of each call as a Try
+     */
+    default <R> LazyFutureStream<Try<R, Throwable>> circuitBreaker(final Function<? super U, ? extends R> fn, final CircuitBreaker breaker) {
+        return map(u -> breaker.<R> call(() -> fn.apply(u)));
+    }
+
+    /**
+     * Apply the supplied function through a Bulkhead. Elements that arrive while the Bulkhead is at capacity are
+     * rejected immediately with a Failure containing a BulkheadFullException. Errors thrown by the function are also
+     * returned as Failures.
+     *
+     * <pre>
+     * {@code
+     *  Bulkhead quotes = Bulkhead.of("quotes", 10);
+     *
+     *  new LazyReact().from(tickers)
+     *                 .bulkhead(this::loadQuote, quotes)
+     *                 .forEach(t -> t.forEach(this::publish));
+     * }
+     * </pre>
+     *
+     * @param fn Function to apply
+     * @param bulkhead Bulkhead capping concurrent calls to the function
+     * @return Next stage in the Stream, with the outcome of each call as a Try
+     */
+    default <R> LazyFutureStream<Try<R, Throwable>> bulkhead(final Function<? super U, ? extends R> fn, final Bulkhead bulkhead) {
+        return map(u -> bulkhead.<R> call(() -> fn.apply(u)));
+    }
+
+    /**
+     * Apply the supplied asynchronous function, failing any element whose result is not available within the
+     * specified time with a TimeoutException (handled like any other error, e.g. via onFail or recover). Deadlines
+     * are tracked on the shared timing wheel and cancelled as each result arrives.
+     *
+     * <pre>
+     * {@code
+     *  new LazyReact().from(tickers)
+     *                 .mapAsyncWithTimeout(quoteService::loadAsync, 200, TimeUnit.MILLISECONDS)
+     *                 .recover(TimeoutException.class, e -> Quote.UNAVAILABLE)
+     *                 .forEach(this::publish);
+     * }
+     * </pre>
+     *
+     * @param fn Function that starts an asynchronous operation
+     * @param timeout Time allowed for each result
+     * @param unit Time unit of the timeout
+     * @return Next stage in the Stream
+     */
+    default <R> LazyFutureStream<R> mapAsyncWithTimeout(final Function<? super U, ? extends CompletionStage<? extends R>> fn, final long timeout,
+            final TimeUnit unit) {
+        return (LazyFutureStream<R>) LazySimpleReactStream.super.flatMapToCompletableFuture(u -> CompletableFutures.<R> within(fn.apply(u), timeout,
+                                                                                                                                unit));
+    }
+
+    /**
+     * Apply the supplied asynchronous function with hedging : if a result is not available within the Hedge's latency
+     * percentile a duplicate call is made, and the first successful result is used.
+     *
+     * <pre>
+     * {@code
+     *  Hedge hedge = Hedge.atPercentile(95, 50, TimeUnit.MILLISECONDS);
+     *
+     *  new LazyReact().from(shards)
+     *                 .hedge(shard -> shard.searchAsync(query), hedge)
+     *                 .toList();
+     * }
+     * </pre>
+     *
+     * @param fn Function that starts an asynchronous operation
+     * @param hedge Hedge that determines when duplicate calls are made
+     * @return Next stage in the Stream
+     */
+    default <R> LazyFutureStream<R> hedge(final Function<? super U, ? extends CompletionStage<? extends R>> fn, final Hedge hedge) {
+        return (LazyFutureStream<R>) LazySimpleReactStream.super.flatMapToCompletableFuture(u -> hedge.<R> call(() -> fn.apply(u))
+                                                                                                     .getFuture());
+    }
+
     /*
      * Non-blocking asyncrhonous application of the supplied function.
      * Equivalent to map from Streams / Seq apis.
@@ -1826,8 +2074,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
     @Override
     default LazyFutureStream<U> distinct() {
 
-        return fromStream(toQueue().stream(getSubscription())
-                                   .distinct());
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this).distinct());
     }
 
     /**
@@ -1852,7 +2099,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
     @Override
     default LazyFutureStream<ListX<U>> sliding(final int size) {
         //    return this.fromStream(SlidingWindow.sliding(this,size, 1));
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .sliding(size));
     }
 
@@ -1878,7 +2125,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
     @Override
     default LazyFutureStream<ListX<U>> sliding(final int size, final int increment) {
         //return this.fromStream(SlidingWindow.sliding(this,size, increment));
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .sliding(size, increment));
 
     }
@@ -1998,7 +2245,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<Tuple2<U, Long>> zipWithIndex() {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .zipWithIndex());
     }
 
@@ -2056,6 +2303,40 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
         return fromStream(LazyFutureStreamFunctions.zip(this, ReactiveSeq.fromIterable(other), zipper));
     }
 
+    /**
+     * Combine two Streams as results arrive, rather than waiting for a matching element from each. Every result from
+     * either Stream is emitted paired with the latest result from the other (null until the other Stream emits).
+     *
+     * <pre>
+     * {@code
+     *  LazyFutureStream.of(1, 2, 3)
+     *                  .combineLatest(LazyFutureStream.of("a"))
+     *
+     *  //e.g. (tuple(1,null), tuple(1,"a"), tuple(2,"a"), tuple(3,"a"))
+     * }
+     * </pre>
+     *
+     * @param right Stream to combine with
+     * @return Stream of the latest values from each Stream
+     */
+    default <T> LazyFutureStream<Tuple2<U, T>> combineLatest(final LazyFutureStream<? extends T> right) {
+        return combineLatest(right, Tuple::tuple);
+    }
+
+    /**
+     * Combine two Streams as results arrive using a {@link BiFunction}, rather than waiting for a matching element
+     * from each. Every result from either Stream is combined with the latest result from the other (null until the
+     * other Stream emits).
+     *
+     * @param right Stream to combine with
+     * @param zipper Function to combine the latest values from each Stream
+     * @return Stream of combined values
+     */
+    default <T, R> LazyFutureStream<R> combineLatest(final LazyFutureStream<? extends T> right,
+            final BiFunction<? super U, ? super T, ? extends R> zipper) {
+        return fromStream(LazyFutureStreamFunctions.combineLatest(this, (LazyFutureStream<T>) right, zipper));
+    }
+
     /**
      * Scan a stream to the left.
      *
@@ -2066,7 +2347,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default <T> LazyFutureStream<T> scanLeft(final T seed, final BiFunction<? super T, ? super U, ? extends T> function) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .scanLeft(seed, function));
 
     }
@@ -2081,14 +2362,14 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default <R> LazyFutureStream<R> scanRight(final R seed, final BiFunction<? super U, ? super R, ? extends R> function) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .scanRight(seed, function));
 
     }
 
     @Override
     default LazyFutureStream<U> scanRight(final Monoid<U> monoid) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .scanRight(monoid));
 
     }
@@ -2148,7 +2429,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<U> skipWhile(final Predicate<? super U> predicate) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .skipWhile(predicate));
     }
 
@@ -2164,7 +2445,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<U> skipUntil(final Predicate<? super U> predicate) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .skipUntil(predicate));
     }
 
@@ -2180,7 +2461,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<U> limitWhile(final Predicate<? super U> predicate) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .limitWhile(predicate));
     }
 
@@ -2458,7 +2739,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<U> sorted() {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .sorted());
     }
 
@@ -2469,10 +2750,19 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<U> sorted(final Comparator<? super U> comparator) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .sorted(comparator));
     }
 
+    /*
+     * @see com.aol.cyclops.control.ReactiveSeq#sortedExternal(java.util.Comparator, com.aol.cyclops.util.stream.Serializer, int)
+     */
+    @Override
+    default LazyFutureStream<U> sortedExternal(final Comparator<? super U> c, final Serializer<U> serializer, final int runSize) {
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
+                                     .sortedExternal(c, serializer, runSize));
+    }
+
     /**
      * Give a consumer access to this Stream
      *
@@ -2799,7 +3089,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<ListX<U>> grouped(final int groupSize) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .grouped(groupSize));
     }
 
@@ -2808,7 +3098,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<U> scanLeft(final Monoid<U> monoid) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .scanLeft(monoid));
     }
 
@@ -3024,7 +3314,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<U> skipLast(final int num) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .skipLast(num));
     }
 
@@ -3033,7 +3323,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<U> limitLast(final int num) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .limitLast(num));
     }
 
@@ -3058,7 +3348,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
     @Override
     default <C extends Collection<? super U>> LazyFutureStream<C> groupedBySizeAndTime(final int size, final long time, final TimeUnit unit,
             final Supplier<C> factory) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .groupedBySizeAndTime(size, time, unit, factory));
         /**         Queue<U> queue = toQueue();
             Function<BiFunction<Long,TimeUnit,U>, Supplier<Collection<U>>> fn = new BatchByTimeAndSize(size,time,unit,factory);
@@ -3070,7 +3360,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<ListX<U>> groupedStatefullyUntil(final BiPredicate<ListX<? super U>, ? super U> predicate) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .groupedStatefullyUntil(predicate));
     }
 
@@ -3079,7 +3369,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<ListX<U>> groupedUntil(final Predicate<? super U> predicate) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .groupedUntil(predicate));
     }
 
@@ -3088,7 +3378,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default LazyFutureStream<ListX<U>> groupedWhile(final Predicate<? super U> predicate) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .groupedWhile(predicate));
     }
 
@@ -3097,7 +3387,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default <C extends Collection<? super U>> LazyFutureStream<C> groupedWhile(final Predicate<? super U> predicate, final Supplier<C> factory) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .groupedWhile(predicate, factory));
     }
 
@@ -3106,7 +3396,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
      */
     @Override
     default <R extends Comparable<? super R>> LazyFutureStream<U> sorted(final Function<? super U, ? extends R> function) {
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .sorted(function));
     }
 
@@ -3116,7 +3406,7 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
     @Override
     default <C extends Collection<? super U>> LazyFutureStream<C> groupedUntil(final Predicate<? super U> predicate, final Supplier<C> factory) {
 
-        return fromStream(ReactiveSeq.fromStream(toQueue().stream(getSubscription()))
+        return fromStream(LazyFutureStreamFunctions.inlineOrQueueStream(this)
                                      .groupedUntil(predicate, factory));
     }
 
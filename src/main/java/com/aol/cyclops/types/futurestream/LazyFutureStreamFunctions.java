@@ -4,7 +4,9 @@ import static com.aol.cyclops.types.futurestream.NullValue.NULL;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -12,10 +14,36 @@ import org.jooq.lambda.Seq;
 import org.jooq.lambda.tuple.Tuple;
 import org.jooq.lambda.tuple.Tuple2;
 
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.control.ReactiveSeq;
 import com.aol.cyclops.internal.react.stream.CloseableIterator;
+import com.aol.cyclops.internal.react.stream.LazyStreamWrapper;
+import com.aol.cyclops.internal.react.stream.MissingValue;
+import com.aol.cyclops.internal.react.stream.PushBuffer;
 
 public class LazyFutureStreamFunctions {
 
+    /**
+     * Source for stateful operators (grouping, sorting, scanning, sliding, time based operators etc.)
+     *
+     * If every stage in the Stream is synchronous, each FastFuture is already complete when it is injected and
+     * results are pulled directly from the futures, in order, on the consuming thread. Otherwise (asynchronous stages,
+     * or a Stream of externally completed futures) results are transferred via a Queue as they complete.
+     *
+     * @param stream Stream to read results from
+     * @return ReactiveSeq of the results of the Stream
+     */
+    static <U> ReactiveSeq<U> inlineOrQueueStream(final LazyFutureStream<U> stream) {
+        final LazyStreamWrapper<U> lastActive = stream.getLastActive();
+        if (!lastActive.isSynchronous())
+            return ReactiveSeq.fromStream(stream.toQueue()
+                                                .stream(stream.getSubscription()));
+        final Optional<Consumer<Throwable>> errorHandler = stream.getErrorHandler();
+        return ReactiveSeq.fromStream(lastActive.injectFutures())
+                          .map(f -> (U) BlockingStreamHelper.getSafe(f, errorHandler))
+                          .filter(v -> v != MissingValue.MISSING_VALUE);
+    }
+
     /**
      * Zip two streams into one.
      * <p>
@@ -38,19 +66,17 @@ public class LazyFutureStreamFunctions {
      * </code>
      */
     static <T1, T2, R> Seq<R> zip(final Stream<T1> left, final Stream<T2> right, final BiFunction<? super T1, ? super T2, ? extends R> zipper) {
-        final Iterator<T1> it1 = left.iterator();
-        final Iterator<T2> it2 = right.iterator();
+        final Iterator<T1> it1 = pairingIterator(left);
+        final Iterator<T2> it2 = pairingIterator(right);
 
         class Zip implements Iterator<R> {
             @Override
             public boolean hasNext() {
-                if (!it1.hasNext()) {
-                    close(it2);
-                }
-                if (!it2.hasNext()) {
-                    close(it1);
-                }
-                return it1.hasNext() && it2.hasNext();
+                if (it1.hasNext() && it2.hasNext())
+                    return true;
+                close(it1);
+                close(it2);
+                return false;
             }
 
             @Override
@@ -61,16 +87,91 @@ public class LazyFutureStreamFunctions {
 
         return Seq.seq(new Zip())
                   .onClose(() -> {
+                      close(it1);
+                      close(it2);
                       left.close();
                       right.close();
                   });
     }
 
+    /**
+     * Zip two streams into one. Uses the latest values from each rather than waiting for both, each Stream is run
+     * on its own populator thread.
+     */
+    static <T1, T2, R> Seq<R> combineLatest(final LazyFutureStream<T1> left, final LazyFutureStream<T2> right,
+            final BiFunction<? super T1, ? super T2, ? extends R> zipper) {
+        final PushBuffer<Val> buffer = new PushBuffer<>(
+                                                        left.getMaxActive()
+                                                            .getMaxActive()
+                                                                + right.getMaxActive()
+                                                                       .getMaxActive(),
+                                                        2);
+        push(left.map(it -> new Val<>(
+                                      Val.Pos.left, it)),
+             buffer);
+        push(right.map(it -> new Val<>(
+                                       Val.Pos.right, it)),
+             buffer);
+
+        class CombineLatest implements Iterator<R> {
+            T1 lastLeft = null;
+            T2 lastRight = null;
+
+            @Override
+            public boolean hasNext() {
+                return buffer.hasNext();
+            }
+
+            @Override
+            public R next() {
+                final Val v = buffer.next();
+                if (v.pos == Val.Pos.left)
+                    lastLeft = (T1) v.val;
+                else
+                    lastRight = (T2) v.val;
+                return zipper.apply(lastLeft, lastRight);
+            }
+        }
+
+        return Seq.seq(new CombineLatest())
+                  .onClose(() -> {
+                      buffer.close();
+                      left.close();
+                      right.close();
+                  });
+    }
+
+    /*
+     * Asynchronous LazyFutureStreams are run ahead on their own populator thread into a buffer bounded by maxActive, so
+     * that pairing elements does not force each Stream to advance only when the consumer pulls from it
+     */
+    private static <T> Iterator<T> pairingIterator(final Stream<T> stream) {
+        if (stream instanceof LazyFutureStream && !((LazyFutureStream<T>) stream).getLastActive()
+                                                                                 .isSynchronous()) {
+            final LazyFutureStream<T> lazy = (LazyFutureStream<T>) stream;
+            final PushBuffer<T> buffer = new PushBuffer<>(
+                                                          lazy.getMaxActive()
+                                                              .getMaxActive(),
+                                                          1);
+            push(lazy, buffer);
+            return buffer;
+        }
+        return stream.iterator();
+    }
+
+    private static <T> void push(final LazyFutureStream<? extends T> stream, final PushBuffer<T> buffer) {
+        final LazyReact service = stream.getPopulator();
+        buffer.populate(stream.iterator(), service.getExecutor(), () -> stream.returnPopulator(service));
+    }
+
     static void close(final Iterator it) {
 
         if (it instanceof CloseableIterator) {
             ((CloseableIterator) it).close();
         }
+        if (it instanceof PushBuffer) {
+            ((PushBuffer) it).close();
+        }
     }
 
     /**
@@ -0,0 +1,186 @@
+package com.aol.cyclops.types.stream.reactive;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.aol.cyclops.internal.stream.spliterators.ChannelSpliterator;
+
+/**
+ * Reactive Streams publisher of fixed size chunks read from a channel (or InputStream). Chunks are only read as
+ * Subscribers request them, so a slow Subscriber never causes more than the requested number of chunks to be held in
+ * memory. Each Subscriber opens its own channel, which is closed at the end of input, on error or on cancellation.
+ *
+ * Chunks are read on the thread that calls request, or on the supplied Executor.
+ *
+ * <pre>
+ * {@code
+ *   ChannelPublisher payload = ChannelPublisher.fromInputStream(ExceptionSoftener.softenSupplier(url::openStream), 64 * 1024);
+ *
+ *   ReactiveSeq.fromPublisher(payload)
+ *              .forEach(this::upload);
+ * }
+ * </pre>
+ */
+public class ChannelPublisher implements Publisher<ByteBuffer> {
+
+    private final Supplier<? extends ReadableByteChannel> supplier;
+    private final int chunkSize;
+    private final Executor executor;
+
+    private ChannelPublisher(final Supplier<? extends ReadableByteChannel> supplier, final int chunkSize, final Executor executor) {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException(
+                                               "chunkSize must be at least 1 : " + chunkSize);
+        this.supplier = supplier;
+        this.chunkSize = chunkSize;
+        this.executor = executor;
+    }
+
+    /**
+     * @param supplier Opens a new channel for each Subscriber
+     * @param chunkSize Bytes per chunk (only the last chunk may be smaller)
+     * @return Publisher that reads chunks on the requesting thread
+     */
+    public static ChannelPublisher of(final Supplier<? extends ReadableByteChannel> supplier, final int chunkSize) {
+        return new ChannelPublisher(
+                                    supplier, chunkSize, null);
+    }
+
+    /**
+     * @param supplier Opens a new channel for each Subscriber
+     * @param chunkSize Bytes per chunk (only the last chunk may be smaller)
+     * @param executor Executor to read chunks and signal Subscribers on
+     * @return Publisher that reads chunks on the supplied Executor
+     */
+    public static ChannelPublisher of(final Supplier<? extends ReadableByteChannel> supplier, final int chunkSize, final Executor executor) {
+        return new ChannelPublisher(
+                                    supplier, chunkSize, Objects.requireNonNull(executor));
+    }
+
+    /**
+     * @param supplier Opens a new InputStream for each Subscriber
+     * @param chunkSize Bytes per chunk (only the last chunk may be smaller)
+     * @return Publisher that reads chunks on the requesting thread
+     */
+    public static ChannelPublisher fromInputStream(final Supplier<? extends InputStream> supplier, final int chunkSize) {
+        return of(() -> Channels.newChannel(supplier.get()), chunkSize);
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        Objects.requireNonNull(subscriber);
+        subscriber.onSubscribe(new ChunkSubscription(
+                                                     subscriber));
+    }
+
+    private class ChunkSubscription implements Subscription {
+        private final Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        /* invalid request, delivered from drain so that signals are never concurrent */
+        private volatile Throwable invalidRequest;
+
+        /* only accessed while draining, which is serialized by wip */
+        private ReadableByteChannel channel;
+        private boolean done;
+
+        ChunkSubscription(final Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n < 1) {
+                invalidRequest = new IllegalArgumentException(
+                                                              "3.9 While the Subscription is not cancelled, Subscription.request(long n) MUST throw a java.lang.IllegalArgumentException if the argument is <= 0.");
+                schedule();
+                return;
+            }
+            long current;
+            do {
+                current = requested.get();
+            } while (!requested.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() != 0)
+                return;
+            if (executor == null)
+                drain();
+            else
+                executor.execute(this::drain);
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                final long demand = requested.get();
+                long emitted = 0;
+                while (!done) {
+                    if (cancelled) {
+                        finish();
+                        break;
+                    }
+                    if (invalidRequest != null) {
+                        finish();
+                        subscriber.onError(invalidRequest);
+                        break;
+                    }
+                    if (emitted == demand)
+                        break;
+                    final ByteBuffer chunk;
+                    try {
+                        if (channel == null)
+                            channel = supplier.get();
+                        chunk = ChannelSpliterator.readChunk(channel, chunkSize);
+                    } catch (final Throwable t) {
+                        finish();
+                        subscriber.onError(t);
+                        break;
+                    }
+                    if (chunk == null) {
+                        finish();
+                        subscriber.onComplete();
+                        break;
+                    }
+                    subscriber.onNext(chunk);
+                    emitted++;
+                }
+                if (emitted > 0 && demand != Long.MAX_VALUE)
+                    requested.addAndGet(-emitted);
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /* input has been fully read (or abandoned), so a failure to close is not signalled */
+        private void finish() {
+            done = true;
+            if (channel == null)
+                return;
+            try {
+                channel.close();
+            } catch (final IOException e) {
+            }
+        }
+    }
+}
@@ -1,10 +1,9 @@
 package com.aol.cyclops.util;
 
-import static com.aol.cyclops.control.AnyM.fromCompletableFuture;
-import static java.util.concurrent.CompletableFuture.completedFuture;
-
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -12,33 +11,31 @@ import java.util.stream.Stream;
 
 import org.reactivestreams.Publisher;
 
+import com.aol.cyclops.Monoid;
 import com.aol.cyclops.Reducer;
 import com.aol.cyclops.Semigroup;
-import com.aol.cyclops.control.AnyM;
 import com.aol.cyclops.control.FutureW;
 import com.aol.cyclops.control.ReactiveSeq;
 import com.aol.cyclops.data.collections.extensions.CollectionX;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.internal.react.async.future.CompletionAggregator;
 import com.aol.cyclops.types.Value;
+import com.aol.cyclops.util.stream.scheduling.cron.CompiledCronExpression;
 
 public class CompletableFutures {
 
     public static <T> CompletableFuture<ListX<T>> sequence(final CollectionX<CompletableFuture<T>> fts) {
-        return sequence(fts.stream()).thenApply(s -> s.toListX());
+        return CompletionAggregator.collect(fts, Function.identity(), true);
     }
 
     public static <T> CompletableFuture<ReactiveSeq<T>> sequence(final Stream<CompletableFuture<T>> fts) {
-        return AnyM.sequence(fts.map(f -> fromCompletableFuture(f)), () -> AnyM.fromCompletableFuture(completedFuture(Stream.<T> empty())))
-                   .map(s -> ReactiveSeq.fromStream(s))
-                   .unwrap();
+        return sequence(ReactiveSeq.fromStream(fts).toListX()).thenApply(s -> ReactiveSeq.fromIterable(s));
 
     }
 
     public static <T, R> CompletableFuture<R> accumulateSuccess(final CollectionX<CompletableFuture<T>> fts, final Reducer<R> reducer) {
-
-        final CompletableFuture<ListX<T>> sequenced = AnyM.sequence(fts.map(f -> AnyM.fromCompletableFuture(f)))
-                                                          .unwrap();
-        return sequenced.thenApply(s -> s.mapReduce(reducer));
+        return CompletionAggregator.<CompletableFuture<T>, T> collect(fts, Function.identity(), false)
+                                   .thenApply(s -> s.mapReduce(reducer));
     }
 
     public static <T, R> CompletableFuture<R> accumulate(final CollectionX<CompletableFuture<T>> fts, final Reducer<R> reducer) {
@@ -52,16 +49,37 @@ public class CompletableFutures {
                                              .get());
     }
 
+    public static <T, R> CompletableFuture<R> accumulateUnordered(final CollectionX<CompletableFuture<T>> fts, final Function<? super T, ? extends R> mapper,
+            final Monoid<R> reducer) {
+        return CompletionAggregator.reduce(fts, Function.<CompletableFuture<T>> identity(), mapper, reducer, true);
+    }
+
+    public static <T, R> CompletableFuture<R> accumulateSuccessUnordered(final CollectionX<CompletableFuture<T>> fts,
+            final Function<? super T, ? extends R> mapper, final Monoid<R> reducer) {
+        return CompletionAggregator.reduce(fts, Function.<CompletableFuture<T>> identity(), mapper, reducer, false);
+    }
+
     public static <T> CompletableFuture<T> schedule(final String cron, final ScheduledExecutorService ex, final Supplier<T> t) {
         return FutureW.schedule(cron, ex, t)
                       .getFuture();
     }
 
+    public static <T> CompletableFuture<T> schedule(final CompiledCronExpression cron, final ScheduledExecutorService ex, final Supplier<T> t) {
+        return FutureW.schedule(cron, ex, t)
+                      .getFuture();
+    }
+
     public static <T> CompletableFuture<T> schedule(final long delay, final ScheduledExecutorService ex, final Supplier<T> t) {
         return FutureW.schedule(delay, ex, t)
                       .getFuture();
     }
 
+    public static <T> CompletableFuture<T> within(final CompletionStage<? extends T> stage, final long time, final TimeUnit unit) {
+        return FutureW.of(narrow(stage.toCompletableFuture()))
+                      .within(time, unit)
+                      .getFuture();
+    }
+
     public static <T1, T2, R> CompletableFuture<R> combine(final CompletableFuture<? extends T1> f, final Value<? extends T2> v,
             final BiFunction<? super T1, ? super T2, ? extends R> fn) {
         return narrow(FutureW.of(f)
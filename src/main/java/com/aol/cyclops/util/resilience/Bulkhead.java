@@ -0,0 +1,132 @@
+package com.aol.cyclops.util.resilience;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.aol.cyclops.control.FutureW;
+import com.aol.cyclops.control.Try;
+
+import lombok.Getter;
+
+/**
+ * A lock-free bulkhead, capping the number of concurrent calls to a dependency. Calls beyond the cap are rejected
+ * immediately with a {@link BulkheadFullException}, rather than queueing behind (and tying up threads with) calls to a
+ * degraded dependency.
+ *
+ * <pre>
+ * {@code
+ *   Bulkhead quotes = Bulkhead.of("quotes", 20);
+ *
+ *   Try<Quote, Throwable> quote = quotes.call(() -> quoteService.load(ticker));
+ *   FutureW<Quote> asyncQuote = quotes.callAsync(() -> quoteService.loadAsync(ticker));
+ * }
+ * </pre>
+ */
+public class Bulkhead {
+
+    @Getter
+    private final String name;
+    @Getter
+    private final int maxConcurrent;
+    private final AtomicInteger active = new AtomicInteger(
+                                                           0);
+    private final LongAdder rejected = new LongAdder();
+
+    private Bulkhead(final String name, final int maxConcurrent) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /**
+     * @param name Name of the bulkhead (e.g. the downstream dependency)
+     * @param maxConcurrent Maximum number of concurrent calls
+     * @return New Bulkhead
+     */
+    public static Bulkhead of(final String name, final int maxConcurrent) {
+        if (maxConcurrent < 1)
+            throw new IllegalArgumentException(
+                                               "maxConcurrent must be at least 1 : " + maxConcurrent);
+        return new Bulkhead(
+                            name, maxConcurrent);
+    }
+
+    /**
+     * @return Number of calls currently in progress
+     */
+    public int active() {
+        return active.get();
+    }
+
+    /**
+     * @return Number of calls rejected because the bulkhead was full
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Run the supplied task if the bulkhead has capacity
+     *
+     * @param task Task to run
+     * @return Success with the result, or Failure with the task's error or a BulkheadFullException
+     */
+    public <R> Try<R, Throwable> call(final Supplier<? extends R> task) {
+        if (!acquire())
+            return Try.failure(new BulkheadFullException(
+                                                         name));
+        try {
+            return Try.success(task.get());
+        } catch (final Throwable t) {
+            return Try.failure(t);
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+
+    /**
+     * Start the supplied asynchronous task if the bulkhead has capacity, capacity is released when it completes
+     *
+     * @param task Task that starts an asynchronous operation
+     * @return FutureW with the result, or failed with the task's error or a BulkheadFullException
+     */
+    public <R> FutureW<R> callAsync(final Supplier<? extends CompletionStage<? extends R>> task) {
+        if (!acquire())
+            return FutureW.ofError(new BulkheadFullException(
+                                                             name));
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        try {
+            task.get()
+                .whenComplete((value, error) -> {
+                    active.decrementAndGet();
+                    if (error == null)
+                        result.complete(value);
+                    else
+                        result.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                });
+        } catch (final Throwable t) {
+            active.decrementAndGet();
+            result.completeExceptionally(t);
+        }
+        return FutureW.of(result);
+    }
+
+    private boolean acquire() {
+        int current = active.get();
+        while (current < maxConcurrent) {
+            if (active.compareAndSet(current, current + 1))
+                return true;
+            current = active.get();
+        }
+        rejected.increment();
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Bulkhead[%s, active=%d/%d, rejected=%d]", name, active(), maxConcurrent, rejected());
+    }
+}
@@ -0,0 +1,18 @@
+package com.aol.cyclops.util.resilience;
+
+import lombok.Getter;
+
+/**
+ * Returned (as a failure) for calls rejected by a {@link Bulkhead} that has no free capacity
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+    @Getter
+    private final String bulkhead;
+
+    public BulkheadFullException(final String bulkhead) {
+        super("Bulkhead " + bulkhead + " is full", null, false, false);
+        this.bulkhead = bulkhead;
+    }
+}
@@ -0,0 +1,320 @@
+package com.aol.cyclops.util.resilience;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import com.aol.cyclops.control.FutureW;
+import com.aol.cyclops.control.Try;
+
+import lombok.Getter;
+
+/**
+ * A lock-free circuit breaker. Outcomes are recorded in a rolling time window (split into 10 buckets), once at least
+ * minimumCalls have been made in the window and the failure rate reaches the threshold the breaker opens, and calls
+ * are rejected immediately with a {@link CircuitBreakerOpenException}. After openDuration the breaker is half-open and
+ * lets through up to halfOpenProbes calls - if they all succeed the breaker closes, if any fails it opens again.
+ *
+ * <pre>
+ * {@code
+ *   CircuitBreaker breaker = new CircuitBreaker("quotes", 0.5, 20, 10, 5, TimeUnit.SECONDS, 3)
+ *                                    .onStateChange((from, to) -> log.warn("quotes circuit " + from + " -> " + to));
+ *
+ *   Try<Quote, Throwable> quote = breaker.call(() -> quoteService.load(ticker));
+ *
+ *   LazyReact.sequentialBuilder()
+ *            .from(tickers)
+ *            .circuitBreaker(quoteService::load, breaker)
+ *            .forEach(t -> t.forEach(this::publish));
+ * }
+ * </pre>
+ */
+public class CircuitBreaker {
+
+    private static final int BUCKETS = 10;
+
+    public static enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    @Getter
+    private final String name;
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long bucketNanos;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicReference<Status> status;
+    private final AtomicReferenceArray<Bucket> buckets = new AtomicReferenceArray<>(
+                                                                                    BUCKETS);
+    private final List<BiConsumer<State, State>> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder opened = new LongAdder();
+
+    private static final class Status {
+        private final State state;
+        private final long since;
+        private final AtomicInteger permits = new AtomicInteger(
+                                                                0);
+        private final AtomicInteger successes = new AtomicInteger(
+                                                                  0);
+
+        Status(final State state, final long since) {
+            this.state = state;
+            this.since = since;
+        }
+    }
+
+    private static final class Bucket {
+        private final long epoch;
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        Bucket(final long epoch) {
+            this.epoch = epoch;
+        }
+    }
+
+    /**
+     * @param name Name of the circuit (e.g. the downstream dependency)
+     * @param failureRateThreshold Failure rate (between 0 and 1) at which the breaker opens
+     * @param minimumCalls Minimum number of calls in the window before the failure rate is considered
+     * @param window Duration of the rolling window
+     * @param openDuration Time the breaker stays open before probing the dependency
+     * @param unit Time unit of window and openDuration
+     * @param halfOpenProbes Number of successful probe calls required to close the breaker
+     */
+    public CircuitBreaker(final String name, final double failureRateThreshold, final int minimumCalls, final long window, final long openDuration,
+            final TimeUnit unit, final int halfOpenProbes) {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1)
+            throw new IllegalArgumentException(
+                                               "failureRateThreshold must be greater than 0 and at most 1 : " + failureRateThreshold);
+        if (minimumCalls < 1 || halfOpenProbes < 1 || window <= 0 || openDuration <= 0)
+            throw new IllegalArgumentException(
+                                               "minimumCalls, halfOpenProbes, window and openDuration must be positive");
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = minimumCalls;
+        this.bucketNanos = Math.max(1, unit.toNanos(window) / BUCKETS);
+        this.openNanos = unit.toNanos(openDuration);
+        this.halfOpenProbes = halfOpenProbes;
+        this.status = new AtomicReference<>(
+                                            new Status(
+                                                       State.CLOSED, startNanos));
+    }
+
+    /**
+     * Circuit breaker that opens when half of at least 20 calls in a 10 second window fail, and probes the dependency
+     * with a single call after 5 seconds
+     *
+     * @param name Name of the circuit
+     * @return New CircuitBreaker
+     */
+    public static CircuitBreaker of(final String name) {
+        return new CircuitBreaker(
+                                  name, 0.5, 20, 10, 5, TimeUnit.SECONDS, 1);
+    }
+
+    /**
+     * @param listener Called with the previous and new state each time the state of the breaker changes
+     * @return This CircuitBreaker
+     */
+    public CircuitBreaker onStateChange(final BiConsumer<State, State> listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * @return Current state of the breaker
+     */
+    public State getState() {
+        return status.get().state;
+    }
+
+    /**
+     * @return Number of calls rejected because the breaker was open
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return Number of times the breaker has opened
+     */
+    public long opened() {
+        return opened.sum();
+    }
+
+    /**
+     * @return Number of calls recorded in the rolling window
+     */
+    public long calls() {
+        final long[] counts = counts();
+        return counts[0] + counts[1];
+    }
+
+    /**
+     * @return Failure rate (between 0 and 1) of the calls in the rolling window
+     */
+    public double failureRate() {
+        final long[] counts = counts();
+        final long total = counts[0] + counts[1];
+        return total == 0 ? 0 : (double) counts[1] / total;
+    }
+
+    /**
+     * Run the supplied task if the breaker permits it
+     *
+     * @param task Task to run
+     * @return Success with the result, or Failure with the task's error or a CircuitBreakerOpenException
+     */
+    public <R> Try<R, Throwable> call(final Supplier<? extends R> task) {
+        final Status permit = acquire();
+        if (permit == null)
+            return Try.failure(new CircuitBreakerOpenException(
+                                                               name));
+        try {
+            final R result = task.get();
+            success(permit);
+            return Try.success(result);
+        } catch (final Throwable t) {
+            failure(permit);
+            return Try.failure(t);
+        }
+    }
+
+    /**
+     * Start the supplied asynchronous task if the breaker permits it, the outcome is recorded when it completes
+     *
+     * @param task Task that starts an asynchronous operation
+     * @return FutureW with the result, or failed with the task's error or a CircuitBreakerOpenException
+     */
+    public <R> FutureW<R> callAsync(final Supplier<? extends CompletionStage<? extends R>> task) {
+        final Status permit = acquire();
+        if (permit == null)
+            return FutureW.ofError(new CircuitBreakerOpenException(
+                                                                   name));
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        try {
+            task.get()
+                .whenComplete((value, error) -> {
+                    if (error == null) {
+                        success(permit);
+                        result.complete(value);
+                    } else {
+                        failure(permit);
+                        result.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                    }
+                });
+        } catch (final Throwable t) {
+            failure(permit);
+            result.completeExceptionally(t);
+        }
+        return FutureW.of(result);
+    }
+
+    /* returns the status the call was permitted under, or null if rejected */
+    private Status acquire() {
+        while (true) {
+            final Status current = status.get();
+            switch (current.state) {
+            case CLOSED:
+                return current;
+            case OPEN:
+                if (System.nanoTime() - current.since < openNanos) {
+                    rejected.increment();
+                    return null;
+                }
+                transition(current, State.HALF_OPEN);
+                break;
+            default:
+                if (current.permits.incrementAndGet() <= halfOpenProbes)
+                    return current;
+                //probes that never complete re-open the breaker, so that it is probed again later
+                if (System.nanoTime() - current.since > openNanos)
+                    transition(current, State.OPEN);
+                else {
+                    rejected.increment();
+                    return null;
+                }
+            }
+        }
+    }
+
+    private void success(final Status permit) {
+        bucket().successes.increment();
+        if (permit.state == State.HALF_OPEN && permit.successes.incrementAndGet() >= halfOpenProbes && transition(permit, State.CLOSED)) {
+            for (int i = 0; i < BUCKETS; i++)
+                buckets.set(i, null);
+        }
+    }
+
+    private void failure(final Status permit) {
+        bucket().failures.increment();
+        if (permit.state == State.HALF_OPEN) {
+            transition(permit, State.OPEN);
+        } else if (permit.state == State.CLOSED) {
+            final long[] counts = counts();
+            final long total = counts[0] + counts[1];
+            if (total >= minimumCalls && (double) counts[1] / total >= failureRateThreshold)
+                transition(permit, State.OPEN);
+        }
+    }
+
+    private boolean transition(final Status from, final State to) {
+        if (!status.compareAndSet(from, new Status(
+                                                   to, System.nanoTime())))
+            return false;
+        if (to == State.OPEN)
+            opened.increment();
+        for (final BiConsumer<State, State> listener : listeners)
+            listener.accept(from.state, to);
+        return true;
+    }
+
+    private Bucket bucket() {
+        final long epoch = (System.nanoTime() - startNanos) / bucketNanos;
+        final int slot = (int) (epoch % BUCKETS);
+        Bucket current = buckets.get(slot);
+        while (current == null || current.epoch < epoch) {
+            final Bucket next = new Bucket(
+                                           epoch);
+            if (buckets.compareAndSet(slot, current, next))
+                return next;
+            current = buckets.get(slot);
+        }
+        return current;
+    }
+
+    private long[] counts() {
+        final long epoch = (System.nanoTime() - startNanos) / bucketNanos;
+        final long[] counts = new long[2];
+        for (int i = 0; i < BUCKETS; i++) {
+            final Bucket next = buckets.get(i);
+            if (next != null && next.epoch > epoch - BUCKETS) {
+                counts[0] += next.successes.sum();
+                counts[1] += next.failures.sum();
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CircuitBreaker[%s, state=%s, failureRate=%.2f, rejected=%d, opened=%d]", name, getState(), failureRate(), rejected(),
+                             opened());
+    }
+}
@@ -0,0 +1,18 @@
+package com.aol.cyclops.util.resilience;
+
+import lombok.Getter;
+
+/**
+ * Returned (as a failure) for calls rejected by an open {@link CircuitBreaker}
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+    @Getter
+    private final String circuit;
+
+    public CircuitBreakerOpenException(final String circuit) {
+        super("Circuit breaker " + circuit + " is open", null, false, false);
+        this.circuit = circuit;
+    }
+}
@@ -0,0 +1,178 @@
+package com.aol.cyclops.util.resilience;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.aol.cyclops.control.FutureW;
+import com.aol.cyclops.react.ThreadPools;
+import com.aol.cyclops.react.metrics.LatencyHistogram;
+
+import lombok.Getter;
+
+/**
+ * Hedged requests : if a call has not completed within a latency percentile of previous calls, a duplicate call is
+ * made and whichever completes successfully first is used. Hedging at the 95th percentile costs ~5% extra load, and
+ * removes most of the latency tail caused by slow individual calls (GC pauses, slow replicas, lost packets).
+ *
+ * Latencies of successful primary calls are recorded in a lock-free {@link LatencyHistogram} (hedges only start once
+ * the threshold has passed, so their own latency would understate the tail), until enough calls have been recorded
+ * the initial delay is used as the hedging threshold. Hedges are scheduled on the shared timing wheel (see
+ * {@link ThreadPools#getTimingWheel()}), and cancelled as soon as the call completes.
+ *
+ * <pre>
+ * {@code
+ *   Hedge hedge = Hedge.atPercentile(95, 50, TimeUnit.MILLISECONDS);
+ *
+ *   FutureW<Quote> quote = hedge.call(() -> quoteService.loadAsync(ticker));
+ *
+ *   new LazyReact().from(tickers)
+ *                  .hedge(quoteService::loadAsync, hedge)
+ *                  .forEach(this::publish);
+ * }
+ * </pre>
+ */
+public class Hedge {
+
+    private static final int WARMUP = 20;
+    private static final int RECALCULATE_EVERY = 64;
+
+    @Getter
+    private final double percentile;
+    private final ScheduledExecutorService timer;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final AtomicInteger sinceRecalculated = new AtomicInteger(
+                                                                      0);
+    private volatile long thresholdNanos;
+
+    private Hedge(final double percentile, final long initialDelayNanos, final ScheduledExecutorService timer) {
+        this.percentile = percentile;
+        this.timer = timer;
+        this.thresholdNanos = initialDelayNanos;
+    }
+
+    /**
+     * @param percentile Latency percentile (e.g. 95) after which a duplicate call is made
+     * @param initialDelay Hedging threshold used until enough calls have been recorded
+     * @param unit Time unit of the initial delay
+     * @return New Hedge, scheduled on the shared timing wheel
+     */
+    public static Hedge atPercentile(final double percentile, final long initialDelay, final TimeUnit unit) {
+        return atPercentile(percentile, initialDelay, unit, ThreadPools.getTimingWheel());
+    }
+
+    /**
+     * @param percentile Latency percentile (e.g. 95) after which a duplicate call is made
+     * @param initialDelay Hedging threshold used until enough calls have been recorded
+     * @param unit Time unit of the initial delay
+     * @param timer ScheduledExecutorService used to trigger hedges
+     * @return New Hedge
+     */
+    public static Hedge atPercentile(final double percentile, final long initialDelay, final TimeUnit unit, final ScheduledExecutorService timer) {
+        if (percentile <= 0 || percentile >= 100)
+            throw new IllegalArgumentException(
+                                               "percentile must be between 0 and 100 : " + percentile);
+        return new Hedge(
+                         percentile, unit.toNanos(initialDelay), timer);
+    }
+
+    /**
+     * @return Current hedging threshold, in nanoseconds
+     */
+    public long thresholdNanos() {
+        return thresholdNanos;
+    }
+
+    /**
+     * @return Latencies of successful primary calls
+     */
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    /**
+     * @return Number of duplicate calls made
+     */
+    public long hedged() {
+        return hedged.sum();
+    }
+
+    /**
+     * @return Number of calls where the duplicate completed first
+     */
+    public long hedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    /**
+     * Start the supplied asynchronous task, starting a duplicate if it has not completed within the hedging threshold
+     *
+     * @param task Task that starts an asynchronous operation
+     * @return FutureW with the first successful result, or failed if every attempt failed
+     */
+    public <R> FutureW<R> call(final Supplier<? extends CompletionStage<? extends R>> task) {
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        final AtomicInteger outstanding = new AtomicInteger(
+                                                            1);
+        attempt(task, result, outstanding, false);
+        if (!result.isDone()) {
+            final ScheduledFuture<?> hedge = timer.schedule(() -> {
+                int current = outstanding.get();
+                while (current > 0 && !result.isDone()) {
+                    if (outstanding.compareAndSet(current, current + 1)) {
+                        hedged.increment();
+                        attempt(task, result, outstanding, true);
+                        return;
+                    }
+                    current = outstanding.get();
+                }
+            }, thresholdNanos, TimeUnit.NANOSECONDS);
+            result.whenComplete((value, error) -> hedge.cancel(false));
+        }
+        return FutureW.of(result);
+    }
+
+    private <R> void attempt(final Supplier<? extends CompletionStage<? extends R>> task, final CompletableFuture<R> result,
+            final AtomicInteger outstanding, final boolean isHedge) {
+        final long start = System.nanoTime();
+        try {
+            task.get()
+                .whenComplete((value, error) -> {
+                    if (error == null) {
+                        if (!isHedge)
+                            record(System.nanoTime() - start);
+                        if (result.complete(value) && isHedge)
+                            hedgeWins.increment();
+                    } else if (outstanding.decrementAndGet() == 0) {
+                        result.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                    }
+                });
+        } catch (final Throwable t) {
+            if (outstanding.decrementAndGet() == 0)
+                result.completeExceptionally(t);
+        }
+    }
+
+    private void record(final long nanos) {
+        latency.record(nanos);
+        if (sinceRecalculated.incrementAndGet() >= RECALCULATE_EVERY || latency.count() == WARMUP) {
+            sinceRecalculated.set(0);
+            if (latency.count() >= WARMUP)
+                thresholdNanos = Math.max(1, (long) latency.percentile(percentile, TimeUnit.NANOSECONDS));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Hedge[p%.1f, threshold=%.1fms, hedged=%d, hedgeWins=%d]", percentile, thresholdNanos / 1_000_000.0, hedged(),
+                             hedgeWins());
+    }
+}
@@ -0,0 +1,184 @@
+package com.aol.cyclops.util.resilience;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.aol.cyclops.control.FutureW;
+import com.aol.cyclops.react.ThreadPools;
+import com.aol.cyclops.util.ExceptionSoftener;
+
+import lombok.Getter;
+
+/**
+ * A lock-free token bucket, allowing a sustained rate of permits per second with bursts of up to a fixed number of
+ * permits. A single RateLimiter can be shared between many Streams (e.g. to enforce one API quota across several
+ * pipelines).
+ *
+ * The bucket is stored as a single theoretical arrival time (the generic cell rate algorithm), so each acquisition is
+ * one CAS and permits are handed out in the order they were requested. Blocking acquisitions park the calling thread,
+ * asynchronous acquisitions complete on the shared timing wheel (see {@link ThreadPools#getTimingWheel()}) without
+ * holding a thread while they wait.
+ *
+ * <pre>
+ * {@code
+ *   RateLimiter quota = RateLimiter.of("quotes", 100, 20);
+ *
+ *   ReactiveSeq.fromIterable(tickers)
+ *              .rateLimit(quota)
+ *              .map(quoteService::load);
+ *
+ *   new LazyReact().from(tickers)
+ *                  .rateLimit(quota)
+ *                  .then(quoteService::load);
+ * }
+ * </pre>
+ */
+public class RateLimiter {
+
+    @Getter
+    private final String name;
+    @Getter
+    private final double permitsPerSecond;
+    @Getter
+    private final int burst;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final ScheduledExecutorService timer;
+    private final AtomicLong theoreticalArrival;
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder throttledNanos = new LongAdder();
+
+    private RateLimiter(final String name, final double permitsPerSecond, final int burst, final ScheduledExecutorService timer) {
+        this.name = name;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.intervalNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * burst;
+        this.timer = timer;
+        this.theoreticalArrival = new AtomicLong(
+                                                 System.nanoTime());
+    }
+
+    /**
+     * @param name Name of the rate limiter (e.g. the downstream dependency or quota)
+     * @param permitsPerSecond Sustained rate
+     * @param burst Maximum number of permits that can be acquired at once after a quiet period
+     * @return New RateLimiter, waiting asynchronously on the shared timing wheel
+     */
+    public static RateLimiter of(final String name, final double permitsPerSecond, final int burst) {
+        return of(name, permitsPerSecond, burst, ThreadPools.getTimingWheel());
+    }
+
+    /**
+     * @param name Name of the rate limiter (e.g. the downstream dependency or quota)
+     * @param permitsPerSecond Sustained rate
+     * @param burst Maximum number of permits that can be acquired at once after a quiet period
+     * @param timer ScheduledExecutorService used to complete asynchronous acquisitions
+     * @return New RateLimiter
+     */
+    public static RateLimiter of(final String name, final double permitsPerSecond, final int burst, final ScheduledExecutorService timer) {
+        if (!(permitsPerSecond > 0))
+            throw new IllegalArgumentException(
+                                               "permitsPerSecond must be positive : " + permitsPerSecond);
+        if (burst < 1)
+            throw new IllegalArgumentException(
+                                               "burst must be at least 1 : " + burst);
+        return new RateLimiter(
+                               name, permitsPerSecond, burst, timer);
+    }
+
+    /**
+     * @return Number of acquisitions that had to wait for a permit
+     */
+    public long throttled() {
+        return throttled.sum();
+    }
+
+    /**
+     * @param unit Time unit to report in
+     * @return Total time acquisitions have spent waiting for permits
+     */
+    public long throttledTime(final TimeUnit unit) {
+        return unit.convert(throttledNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return Number of permits that could be acquired now without waiting
+     */
+    public int availablePermits() {
+        final long now = System.nanoTime();
+        final long available = (toleranceNanos - Math.max(0, theoreticalArrival.get() - now)) / intervalNanos;
+        return (int) Math.max(0, Math.min(burst, available));
+    }
+
+    /**
+     * Acquire a permit if one is available now
+     *
+     * @return true if a permit was acquired
+     */
+    public boolean tryAcquire() {
+        final long now = System.nanoTime();
+        long tat = theoreticalArrival.get();
+        while (true) {
+            final long next = Math.max(tat, now) + intervalNanos;
+            if (next - now > toleranceNanos)
+                return false;
+            if (theoreticalArrival.compareAndSet(tat, next))
+                return true;
+            tat = theoreticalArrival.get();
+        }
+    }
+
+    /**
+     * Acquire a permit, parking the calling thread until it is available
+     *
+     * @return Time waited, in nanoseconds
+     */
+    public long acquire() {
+        final long wait = reserve();
+        if (wait <= 0)
+            return 0;
+        final long deadline = System.nanoTime() + wait;
+        for (long remaining = wait; remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted())
+                ExceptionSoftener.throwSoftenedException(new InterruptedException());
+        }
+        return wait;
+    }
+
+    /**
+     * Acquire a permit without blocking the calling thread
+     *
+     * @param value Value to complete with once the permit is available
+     * @return FutureW that completes with the supplied value once a permit has been acquired
+     */
+    public <T> FutureW<T> acquireAsync(final T value) {
+        final long wait = reserve();
+        if (wait <= 0)
+            return FutureW.ofResult(value);
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        timer.schedule(() -> result.complete(value), wait, TimeUnit.NANOSECONDS);
+        return FutureW.of(result);
+    }
+
+    private long reserve() {
+        final long now = System.nanoTime();
+        final long tat = theoreticalArrival.getAndAccumulate(now, (current, time) -> Math.max(current, time) + intervalNanos);
+        final long wait = Math.max(tat, now) + intervalNanos - now - toleranceNanos;
+        if (wait > 0) {
+            throttled.increment();
+            throttledNanos.add(wait);
+        }
+        return wait;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RateLimiter[%s, %.1f/s, burst=%d, throttled=%d]", name, permitsPerSecond, burst, throttled());
+    }
+}
@@ -0,0 +1,276 @@
+package com.aol.cyclops.util.resilience;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.aol.cyclops.control.FutureW;
+import com.aol.cyclops.react.ThreadPools;
+
+import lombok.Getter;
+
+/**
+ * An immutable, non-blocking retry policy. Failed attempts are re-attempted after an exponential (optionally jittered)
+ * backoff period, scheduled on a timer rather than by sleeping the calling thread. Retried attempts run on the
+ * scheduler's executor (by default the shared timing wheel, see {@link ThreadPools#getTimingWheel()}).
+ *
+ * An optional retry budget caps retries as a proportion of calls made with the policy, so that a failing dependency
+ * is not hit with a retry storm.
+ *
+ * <pre>
+ * {@code
+ *   RetryPolicy policy = RetryPolicy.exponential(5, 100, TimeUnit.MILLISECONDS)
+ *                                   .withJitter(0.5)
+ *                                   .withMaxDelay(2, TimeUnit.SECONDS)
+ *                                   .retryOn(e -> e instanceof IOException)
+ *                                   .withBudget(0.1, 10);
+ *
+ *   FutureW<Quote> quote = policy.execute(() -> quoteService.load(ticker));
+ *   FutureW<Quote> asyncQuote = policy.executeAsync(() -> quoteService.loadAsync(ticker));
+ * }
+ * </pre>
+ */
+public class RetryPolicy {
+
+    @Getter
+    private final int attempts;
+    @Getter
+    private final long delayNanos;
+    @Getter
+    private final long maxDelayNanos;
+    @Getter
+    private final double multiplier;
+    @Getter
+    private final double jitter;
+    @Getter
+    private final Predicate<? super Throwable> retryOn;
+    @Getter
+    private final ScheduledExecutorService scheduler;
+    private final Budget budget;
+
+    private RetryPolicy(final int attempts, final long delayNanos, final long maxDelayNanos, final double multiplier, final double jitter,
+            final Predicate<? super Throwable> retryOn, final ScheduledExecutorService scheduler, final Budget budget) {
+        this.attempts = attempts;
+        this.delayNanos = delayNanos;
+        this.maxDelayNanos = maxDelayNanos;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.retryOn = retryOn;
+        this.scheduler = scheduler;
+        this.budget = budget;
+    }
+
+    /**
+     * Retry policy that makes up to the specified number of attempts, doubling the backoff period after each failure.
+     * All errors are retried, there is no jitter and no retry budget.
+     *
+     * @param attempts Maximum number of attempts (including the first)
+     * @param delay Backoff period before the first retry
+     * @param unit Time unit of the backoff period
+     * @return Exponential retry policy
+     */
+    public static RetryPolicy exponential(final int attempts, final long delay, final TimeUnit unit) {
+        if (attempts < 1)
+            throw new IllegalArgumentException(
+                                               "attempts must be at least 1 : " + attempts);
+        return new RetryPolicy(
+                               attempts, unit.toNanos(delay), Long.MAX_VALUE, 2, 0, e -> true, ThreadPools.getTimingWheel(), null);
+    }
+
+    /**
+     * @param jitter Proportion of each backoff period that is randomised, between 0 (none) and 1 (full jitter)
+     * @return New policy with the supplied jitter
+     */
+    public RetryPolicy withJitter(final double jitter) {
+        if (jitter < 0 || jitter > 1)
+            throw new IllegalArgumentException(
+                                               "jitter must be between 0 and 1 : " + jitter);
+        return new RetryPolicy(
+                               attempts, delayNanos, maxDelayNanos, multiplier, jitter, retryOn, scheduler, budget);
+    }
+
+    /**
+     * @param multiplier Factor the backoff period grows by after each failure
+     * @return New policy with the supplied multiplier
+     */
+    public RetryPolicy withMultiplier(final double multiplier) {
+        if (multiplier < 1)
+            throw new IllegalArgumentException(
+                                               "multiplier must be at least 1 : " + multiplier);
+        return new RetryPolicy(
+                               attempts, delayNanos, maxDelayNanos, multiplier, jitter, retryOn, scheduler, budget);
+    }
+
+    /**
+     * @param maxDelay Maximum backoff period
+     * @param unit Time unit of the maximum backoff period
+     * @return New policy with the supplied maximum backoff
+     */
+    public RetryPolicy withMaxDelay(final long maxDelay, final TimeUnit unit) {
+        return new RetryPolicy(
+                               attempts, delayNanos, unit.toNanos(maxDelay), multiplier, jitter, retryOn, scheduler, budget);
+    }
+
+    /**
+     * @param retryOn Predicate that determines which errors are retried, other errors fail immediately
+     * @return New policy that only retries matching errors
+     */
+    public RetryPolicy retryOn(final Predicate<? super Throwable> retryOn) {
+        return new RetryPolicy(
+                               attempts, delayNanos, maxDelayNanos, multiplier, jitter, Objects.requireNonNull(retryOn), scheduler, budget);
+    }
+
+    /**
+     * @param scheduler Scheduler used to run retried attempts
+     * @return New policy that schedules retries on the supplied scheduler
+     */
+    public RetryPolicy withScheduler(final ScheduledExecutorService scheduler) {
+        return new RetryPolicy(
+                               attempts, delayNanos, maxDelayNanos, multiplier, jitter, retryOn, Objects.requireNonNull(scheduler), budget);
+    }
+
+    /**
+     * Limit retries to a proportion of the calls made with this policy (and any policy derived from it). Each call
+     * deposits retryRatio into the budget (up to a maximum of reserve), and each retry withdraws 1. Once the budget is
+     * exhausted failures are returned without retrying.
+     *
+     * @param retryRatio Retries allowed per call, e.g. 0.1 allows 1 retry per 10 calls
+     * @param reserve Initial (and maximum) number of retries available
+     * @return New policy with a retry budget
+     */
+    public RetryPolicy withBudget(final double retryRatio, final int reserve) {
+        if (retryRatio < 0 || reserve < 1)
+            throw new IllegalArgumentException(
+                                               "retryRatio must not be negative and reserve must be at least 1");
+        return new RetryPolicy(
+                               attempts, delayNanos, maxDelayNanos, multiplier, jitter, retryOn, scheduler, new Budget(
+                                                                                                                       retryRatio, reserve));
+    }
+
+    /**
+     * @return Number of retries currently available in the retry budget (Double.POSITIVE_INFINITY if there is no
+     *         budget)
+     */
+    public double availableRetries() {
+        return budget == null ? Double.POSITIVE_INFINITY : budget.available();
+    }
+
+    /**
+     * @param retry Retry number, starting at 1
+     * @return Backoff period before the supplied retry, in nanoseconds (jitter applied)
+     */
+    public long backoffNanos(final int retry) {
+        final double exponential = delayNanos * Math.pow(multiplier, retry - 1);
+        final long base = exponential >= maxDelayNanos ? maxDelayNanos : (long) exponential;
+        if (jitter == 0)
+            return base;
+        return base - (long) (base * jitter * ThreadLocalRandom.current()
+                                                               .nextDouble());
+    }
+
+    /**
+     * Run the supplied task, retrying on failure. The first attempt runs on the calling thread.
+     *
+     * @param task Task to run
+     * @return FutureW that completes with the first successful result, or the last error
+     */
+    public <R> FutureW<R> execute(final Supplier<? extends R> task) {
+        return executeAsync(() -> {
+            final CompletableFuture<R> result = new CompletableFuture<>();
+            try {
+                result.complete(task.get());
+            } catch (final Throwable t) {
+                result.completeExceptionally(t);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Run the supplied asynchronous task, retrying on failure. The first attempt is started on the calling thread.
+     * Completing the returned future (e.g. via cancel) prevents further attempts.
+     *
+     * @param task Task that starts an asynchronous operation
+     * @return FutureW that completes with the first successful result, or the last error
+     */
+    public <R> FutureW<R> executeAsync(final Supplier<? extends CompletionStage<? extends R>> task) {
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        if (budget != null)
+            budget.deposit();
+        attempt(task, result, 1);
+        return FutureW.of(result);
+    }
+
+    private <R> void attempt(final Supplier<? extends CompletionStage<? extends R>> task, final CompletableFuture<R> result, final int attempt) {
+        if (result.isDone())
+            return;
+        final CompletionStage<? extends R> stage;
+        try {
+            stage = task.get();
+        } catch (final Throwable t) {
+            failed(task, result, attempt, t);
+            return;
+        }
+        stage.whenComplete((value, error) -> {
+            if (error == null)
+                result.complete(value);
+            else
+                failed(task, result, attempt, error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+        });
+    }
+
+    private <R> void failed(final Supplier<? extends CompletionStage<? extends R>> task, final CompletableFuture<R> result, final int attempt,
+            final Throwable error) {
+        if (attempt >= attempts || result.isDone() || !retryOn.test(error) || budget != null && !budget.withdraw()) {
+            result.completeExceptionally(error);
+            return;
+        }
+        try {
+            scheduler.schedule(() -> attempt(task, result, attempt + 1), backoffNanos(attempt), TimeUnit.NANOSECONDS);
+        } catch (final RejectedExecutionException e) {
+            result.completeExceptionally(error);
+        }
+    }
+
+    /* lock-free token bucket, 1 retry = SCALE tokens */
+    private static final class Budget {
+        private static final long SCALE = 1000;
+
+        private final long deposit;
+        private final long max;
+        private final AtomicLong balance;
+
+        Budget(final double retryRatio, final int reserve) {
+            this.deposit = (long) (retryRatio * SCALE);
+            this.max = reserve * SCALE;
+            this.balance = new AtomicLong(
+                                          max);
+        }
+
+        void deposit() {
+            balance.accumulateAndGet(deposit, (current, add) -> Math.min(max, current + add));
+        }
+
+        boolean withdraw() {
+            long current = balance.get();
+            while (current >= SCALE) {
+                if (balance.compareAndSet(current, current - SCALE))
+                    return true;
+                current = balance.get();
+            }
+            return false;
+        }
+
+        double available() {
+            return (double) balance.get() / SCALE;
+        }
+    }
+}
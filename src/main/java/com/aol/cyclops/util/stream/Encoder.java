@@ -0,0 +1,47 @@
+package com.aol.cyclops.util.stream;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Writes values into a ByteBuffer, used by {@link FileSink} to batch Stream elements into large buffers before they are
+ * written to disk. An Encoder that runs out of space should let the {@link java.nio.BufferOverflowException} propagate,
+ * the value is then encoded again into an empty (or larger) buffer.
+ *
+ * <pre>
+ * {@code
+ *   Encoder<Point> points = (p,buffer)-> buffer.putInt(p.x)
+ *                                               .putInt(p.y);
+ * }
+ * </pre>
+ *
+ * @param <T> Type of value to encode
+ */
+@FunctionalInterface
+public interface Encoder<T> {
+
+    /**
+     * Write a single value at the current position of the buffer
+     *
+     * @param value Value to write
+     * @param buffer Buffer to write to
+     */
+    void encode(T value, ByteBuffer buffer);
+
+    /**
+     * @param charset Charset to encode text with
+     * @return Encoder that writes the String form of each value followed by '\n'
+     */
+    public static <T> Encoder<T> lines(final Charset charset) {
+        return (value, buffer) -> buffer.put(String.valueOf(value)
+                                                   .getBytes(charset))
+                                        .put((byte) '\n');
+    }
+
+    /**
+     * @return Encoder that writes the remaining bytes of each ByteBuffer (without moving its position)
+     */
+    public static Encoder<ByteBuffer> bytes() {
+        return (value, buffer) -> buffer.put(value.duplicate());
+    }
+}
@@ -0,0 +1,103 @@
+package com.aol.cyclops.util.stream;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import lombok.Getter;
+
+/**
+ * Controls how {@link com.aol.cyclops.control.ReactiveSeq#fromFile(java.nio.file.Path, FileOptions)} reads a file.
+ *
+ * Files are read in large chunks, either memory mapped or read into a heap buffer per chunk, and split into records on
+ * a single byte delimiter. Each record is a slice of its chunk, so no bytes are copied and no Strings are created unless
+ * the pipeline asks for them. Parallel Streams split the file by byte range, each half starting on a record boundary.
+ *
+ * <pre>
+ * {@code
+ *   FileOptions options = FileOptions.lines()
+ *                                    .withChunkSize(64 * 1024 * 1024)
+ *                                    .withMemoryMapped(false)
+ *                                    .withParallel(true);
+ * }
+ * </pre>
+ */
+@Getter
+public class FileOptions {
+
+    private static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+    private static final FileOptions LINES = new FileOptions(
+                                                             (byte) '\n', DEFAULT_CHUNK_SIZE, true, false,
+                                                             StandardCharsets.UTF_8);
+
+    private final byte delimiter;
+    private final int chunkSize;
+    private final boolean memoryMapped;
+    private final boolean parallel;
+    private final Charset charset;
+
+    private FileOptions(final byte delimiter, final int chunkSize, final boolean memoryMapped, final boolean parallel,
+            final Charset charset) {
+        this.delimiter = delimiter;
+        this.chunkSize = chunkSize;
+        this.memoryMapped = memoryMapped;
+        this.parallel = parallel;
+        this.charset = charset;
+    }
+
+    /**
+     * @return Options that split UTF-8 text on '\n' (a trailing '\r' is removed), reading 8MB memory mapped chunks
+     *         sequentially
+     */
+    public static FileOptions lines() {
+        return LINES;
+    }
+
+    /**
+     * @param delimiter Byte that separates records
+     * @return New options with the supplied delimiter
+     */
+    public FileOptions withDelimiter(final byte delimiter) {
+        return new FileOptions(
+                               delimiter, chunkSize, memoryMapped, parallel, charset);
+    }
+
+    /**
+     * @param chunkSize Bytes mapped or read at a time, chunks grow to fit records longer than this
+     * @return New options with the supplied chunk size
+     */
+    public FileOptions withChunkSize(final int chunkSize) {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException(
+                                               "chunkSize must be at least 1 : " + chunkSize);
+        return new FileOptions(
+                               delimiter, chunkSize, memoryMapped, parallel, charset);
+    }
+
+    /**
+     * @param memoryMapped true to memory map chunks, false to read each chunk into a heap buffer
+     * @return New options with the supplied read mode
+     */
+    public FileOptions withMemoryMapped(final boolean memoryMapped) {
+        return new FileOptions(
+                               delimiter, chunkSize, memoryMapped, parallel, charset);
+    }
+
+    /**
+     * @param parallel true to create a parallel Stream, split by byte range
+     * @return New options with the supplied parallelism
+     */
+    public FileOptions withParallel(final boolean parallel) {
+        return new FileOptions(
+                               delimiter, chunkSize, memoryMapped, parallel, charset);
+    }
+
+    /**
+     * @param charset Charset used to decode records as text
+     * @return New options with the supplied Charset
+     */
+    public FileOptions withCharset(final Charset charset) {
+        return new FileOptions(
+                               delimiter, chunkSize, memoryMapped, parallel, Objects.requireNonNull(charset));
+    }
+}
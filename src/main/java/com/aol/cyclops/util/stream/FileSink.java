@@ -0,0 +1,296 @@
+package com.aol.cyclops.util.stream;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.util.ExceptionSoftener;
+
+/**
+ * Consumer that writes Stream elements to a file in large batches. Elements are encoded into pooled direct ByteBuffers,
+ * full buffers are written with an AsynchronousFileChannel (or a FileChannel gather write) - so each write system call
+ * covers many elements. Once {@link SinkOptions#getMaxInFlight()} buffers are waiting to be written, accept blocks
+ * until a write completes, holding back the Stream that feeds the sink.
+ *
+ * Rotated files are named after the original file with a numeric suffix (access.log, access.log.1, access.log.2 ...).
+ * Write errors are rethrown from the next call to accept or close.
+ *
+ * <pre>
+ * {@code
+ *   try(FileSink<String> sink = FileSink.of(Paths.get("export.csv"), Encoder.lines(StandardCharsets.UTF_8), SinkOptions.defaults())){
+ *       rows.map(Row::toCsv)
+ *           .forEach(sink);
+ *   }
+ * }
+ * </pre>
+ *
+ * @param <T> Type of element written
+ */
+public class FileSink<T> implements Consumer<T>, AutoCloseable {
+
+    private final Path path;
+    private final Encoder<? super T> encoder;
+    private final SinkOptions options;
+
+    private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final Semaphore inFlight;
+    private final ByteBuffer[] pending;
+    private int pendingCount;
+
+    private final List<Path> files = new ArrayList<>();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+    private AsynchronousFileChannel asyncChannel;
+    private FileChannel channel;
+    private long filePosition;
+    private long fileOpened;
+    private ByteBuffer current;
+    private boolean closed;
+
+    private FileSink(final Path path, final Encoder<? super T> encoder, final SinkOptions options) {
+        this.path = path;
+        this.encoder = encoder;
+        this.options = options;
+        this.inFlight = new Semaphore(
+                                      options.getMaxInFlight());
+        this.pending = new ByteBuffer[options.getMaxInFlight()];
+        this.current = ByteBuffer.allocateDirect(options.getBufferSize());
+        open();
+    }
+
+    /**
+     * Create a FileSink, the file is created (or truncated) immediately
+     *
+     * @param path File to write
+     * @param encoder Encoder for each element
+     * @param options Buffering, write mode and rotation
+     * @return FileSink
+     */
+    public static <T> FileSink<T> of(final Path path, final Encoder<? super T> encoder, final SinkOptions options) {
+        return new FileSink<>(
+                              path, encoder, options);
+    }
+
+    @Override
+    public synchronized void accept(final T value) {
+        checkError();
+        if (closed)
+            throw new IllegalStateException(
+                                            "FileSink is closed : " + path);
+        if (rotationDue())
+            rotate();
+        final int mark = current.position();
+        try {
+            encoder.encode(value, current);
+        } catch (final BufferOverflowException e) {
+            current.position(mark);
+            flush();
+            try {
+                encoder.encode(value, current);
+            } catch (final BufferOverflowException tooLarge) {
+                current.clear();
+                submit(encodeOversized(value));
+            }
+        }
+        if (!current.hasRemaining())
+            flush();
+    }
+
+    /**
+     * Write any buffered elements, wait for all outstanding writes and close the current file
+     */
+    @Override
+    public synchronized void close() {
+        if (closed)
+            return;
+        closed = true;
+        flush();
+        drain();
+        closeChannel();
+        checkError();
+    }
+
+    /**
+     * @return Files written to so far, in order
+     */
+    public synchronized ListX<Path> getFiles() {
+        return ListX.fromIterable(new ArrayList<>(
+                                                  files));
+    }
+
+    /**
+     * @return Number of bytes written to disk so far (buffered or in flight bytes are not included)
+     */
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    /* an empty file is never rotated */
+    private boolean rotationDue() {
+        final long size = filePosition + current.position();
+        return size > 0 && (size >= options.getRotateBytes()
+                || options.getRotateNanos() > 0 && System.nanoTime() - fileOpened >= options.getRotateNanos());
+    }
+
+    private void rotate() {
+        flush();
+        drain();
+        closeChannel();
+        open();
+    }
+
+    private ByteBuffer encodeOversized(final T value) {
+        for (long size = options.getBufferSize() * 2L;; size *= 2) {
+            final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size, Integer.MAX_VALUE - 8));
+            try {
+                encoder.encode(value, buffer);
+                buffer.flip();
+                return buffer;
+            } catch (final BufferOverflowException e) {
+                if (buffer.capacity() >= Integer.MAX_VALUE - 8)
+                    throw e;
+            }
+        }
+    }
+
+    private void flush() {
+        if (current.position() == 0)
+            return;
+        current.flip();
+        submit(current);
+        current = nextBuffer();
+    }
+
+    private ByteBuffer nextBuffer() {
+        final ByteBuffer next = free.poll();
+        return next == null ? ByteBuffer.allocateDirect(options.getBufferSize()) : next;
+    }
+
+    /* pooled buffers are direct, oversized buffers are heap buffers and are discarded once written */
+    private void recycle(final ByteBuffer buffer) {
+        if (buffer.isDirect()) {
+            buffer.clear();
+            free.offer(buffer);
+        }
+    }
+
+    private void submit(final ByteBuffer buffer) {
+        final long position = filePosition;
+        filePosition += buffer.remaining();
+        if (options.isAsynchronous()) {
+            inFlight.acquireUninterruptibly();
+            asyncChannel.write(buffer, position, position, new WriteHandler(
+                                                                            asyncChannel, buffer));
+        } else {
+            pending[pendingCount++] = buffer;
+            if (pendingCount == pending.length)
+                writePending();
+        }
+    }
+
+    private void writePending() {
+        try {
+            long remaining = 0;
+            for (int i = 0; i < pendingCount; i++)
+                remaining += pending[i].remaining();
+            while (remaining > 0) {
+                final long written = channel.write(pending, 0, pendingCount);
+                remaining -= written;
+                bytesWritten.addAndGet(written);
+            }
+        } catch (final IOException e) {
+            error.compareAndSet(null, e);
+        }
+        for (int i = 0; i < pendingCount; i++) {
+            recycle(pending[i]);
+            pending[i] = null;
+        }
+        pendingCount = 0;
+        checkError();
+    }
+
+    private void drain() {
+        if (options.isAsynchronous()) {
+            inFlight.acquireUninterruptibly(options.getMaxInFlight());
+            inFlight.release(options.getMaxInFlight());
+        } else {
+            writePending();
+        }
+    }
+
+    private void open() {
+        final Path next = files.isEmpty() ? path : path.resolveSibling(path.getFileName() + "." + files.size());
+        try {
+            if (options.isAsynchronous())
+                asyncChannel = AsynchronousFileChannel.open(next, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                            StandardOpenOption.TRUNCATE_EXISTING);
+            else
+                channel = FileChannel.open(next, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (final IOException e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+        files.add(next);
+        filePosition = 0;
+        fileOpened = System.nanoTime();
+    }
+
+    private void closeChannel() {
+        try {
+            if (options.isAsynchronous())
+                asyncChannel.close();
+            else
+                channel.close();
+        } catch (final IOException e) {
+            error.compareAndSet(null, e);
+        }
+    }
+
+    private void checkError() {
+        final Throwable t = error.get();
+        if (t != null)
+            throw ExceptionSoftener.throwSoftenedException(t);
+    }
+
+    private class WriteHandler implements CompletionHandler<Integer, Long> {
+        private final AsynchronousFileChannel channel;
+        private final ByteBuffer buffer;
+
+        WriteHandler(final AsynchronousFileChannel channel, final ByteBuffer buffer) {
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void completed(final Integer written, final Long position) {
+            bytesWritten.addAndGet(written);
+            if (buffer.hasRemaining()) {
+                channel.write(buffer, position + written, position + written, this);
+                return;
+            }
+            recycle(buffer);
+            inFlight.release();
+        }
+
+        @Override
+        public void failed(final Throwable t, final Long position) {
+            error.compareAndSet(null, t);
+            recycle(buffer);
+            inFlight.release();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.aol.cyclops.util.stream;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Getter;
+
+/**
+ * Controls how much of a Stream is retained for replay by {@link com.aol.cyclops.control.Streamable#replay(java.util.stream.Stream, ReplayPolicy)}.
+ *
+ * Elements are buffered in fixed size chunks. Chunks are evicted from the start of the buffer once more than maxSize
+ * elements are retained, or once a chunk has been full for longer than the time to live - consumers that start (or
+ * fall) behind the start of the buffer replay from the oldest retained element. Optionally, chunks beyond an in-memory
+ * budget are spilled to temporary files and read back as consumers reach them.
+ *
+ * <pre>
+ * {@code
+ *   ReplayPolicy<String> policy = ReplayPolicy.<String>unbounded()
+ *                                             .withMaxSize(1_000_000)
+ *                                             .withTtl(10, TimeUnit.MINUTES)
+ *                                             .spillToDisk(100_000, Serializer.strings());
+ * }
+ * </pre>
+ *
+ * @param <T> Type of element buffered
+ */
+@Getter
+public class ReplayPolicy<T> {
+
+    private static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    private final int chunkSize;
+    private final long maxSize;
+    private final long ttlNanos;
+    private final long maxInMemory;
+    private final Serializer<T> serializer;
+
+    private ReplayPolicy(final int chunkSize, final long maxSize, final long ttlNanos, final long maxInMemory, final Serializer<T> serializer) {
+        this.chunkSize = chunkSize;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos;
+        this.maxInMemory = maxInMemory;
+        this.serializer = serializer;
+    }
+
+    /**
+     * @return Policy that retains every element in memory
+     */
+    public static <T> ReplayPolicy<T> unbounded() {
+        return new ReplayPolicy<>(
+                                  DEFAULT_CHUNK_SIZE, Long.MAX_VALUE, 0, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * @param chunkSize Number of elements per chunk
+     * @return New policy with the supplied chunk size
+     */
+    public ReplayPolicy<T> withChunkSize(final int chunkSize) {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException(
+                                               "chunkSize must be at least 1 : " + chunkSize);
+        return new ReplayPolicy<>(
+                                  chunkSize, maxSize, ttlNanos, maxInMemory, serializer);
+    }
+
+    /**
+     * @param maxSize Approximate maximum number of elements to retain (whole chunks are evicted)
+     * @return New policy with the supplied size limit
+     */
+    public ReplayPolicy<T> withMaxSize(final long maxSize) {
+        return new ReplayPolicy<>(
+                                  chunkSize, maxSize, ttlNanos, maxInMemory, serializer);
+    }
+
+    /**
+     * @param time Time a full chunk is retained for
+     * @param unit Time unit
+     * @return New policy with the supplied time to live
+     */
+    public ReplayPolicy<T> withTtl(final long time, final TimeUnit unit) {
+        return new ReplayPolicy<>(
+                                  chunkSize, maxSize, unit.toNanos(time), maxInMemory, serializer);
+    }
+
+    /**
+     * @param maxInMemory Approximate maximum number of elements to hold in memory, older chunks are written to disk
+     * @param serializer Serializer used to write chunks to, and read chunks from, disk
+     * @return New policy that spills to disk
+     */
+    public ReplayPolicy<T> spillToDisk(final long maxInMemory, final Serializer<T> serializer) {
+        return new ReplayPolicy<>(
+                                  chunkSize, maxSize, ttlNanos, maxInMemory, Objects.requireNonNull(serializer));
+    }
+
+    /**
+     * @return true if chunks are written to disk beyond the in memory budget
+     */
+    public boolean isSpilling() {
+        return serializer != null;
+    }
+}
@@ -0,0 +1,143 @@
+package com.aol.cyclops.util.stream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes values to, and reads them back from, binary storage. Used by operators that spill data to disk (such as
+ * {@link com.aol.cyclops.control.ReactiveSeq#sortedExternal(java.util.Comparator, Serializer, int)}).
+ *
+ * <pre>
+ * {@code
+ *   Serializer<Point> points = new Serializer<Point>(){
+ *       public void write(Point p, DataOutput out) throws IOException{
+ *           out.writeInt(p.x);
+ *           out.writeInt(p.y);
+ *       }
+ *       public Point read(DataInput in) throws IOException{
+ *           return new Point(in.readInt(),in.readInt());
+ *       }
+ *   };
+ * }
+ * </pre>
+ *
+ * @param <T> Type of value to serialize
+ */
+public interface Serializer<T> {
+
+    /**
+     * Write a single value
+     *
+     * @param value Value to write
+     * @param out Output to write to
+     * @throws IOException If the value can not be written
+     */
+    void write(T value, DataOutput out) throws IOException;
+
+    /**
+     * Read a single value, previously written by {@link #write(Object, DataOutput)}
+     *
+     * @param in Input to read from
+     * @return Value read
+     * @throws IOException If the value can not be read
+     */
+    T read(DataInput in) throws IOException;
+
+    /**
+     * @return Serializer for Integers (nulls are not supported)
+     */
+    public static Serializer<Integer> ints() {
+        return new Serializer<Integer>() {
+            @Override
+            public void write(final Integer value, final DataOutput out) throws IOException {
+                out.writeInt(value);
+            }
+
+            @Override
+            public Integer read(final DataInput in) throws IOException {
+                return in.readInt();
+            }
+        };
+    }
+
+    /**
+     * @return Serializer for Longs (nulls are not supported)
+     */
+    public static Serializer<Long> longs() {
+        return new Serializer<Long>() {
+            @Override
+            public void write(final Long value, final DataOutput out) throws IOException {
+                out.writeLong(value);
+            }
+
+            @Override
+            public Long read(final DataInput in) throws IOException {
+                return in.readLong();
+            }
+        };
+    }
+
+    /**
+     * @return Serializer for Strings of any length (encoded as UTF-8, nulls are not supported)
+     */
+    public static Serializer<String> strings() {
+        return new Serializer<String>() {
+            @Override
+            public void write(final String value, final DataOutput out) throws IOException {
+                final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            @Override
+            public String read(final DataInput in) throws IOException {
+                final byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return new String(
+                                  bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    /**
+     * Serializer that uses standard Java serialization for each value. Convenient, but considerably larger and slower
+     * than a purpose written Serializer.
+     *
+     * @return Serializer for Serializable values (including null)
+     */
+    public static <T extends Serializable> Serializer<T> java() {
+        return new Serializer<T>() {
+            @Override
+            public void write(final T value, final DataOutput out) throws IOException {
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream oos = new ObjectOutputStream(
+                                                                     bytes)) {
+                    oos.writeObject(value);
+                }
+                out.writeInt(bytes.size());
+                out.write(bytes.toByteArray());
+            }
+
+            @Override
+            public T read(final DataInput in) throws IOException {
+                final byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                try (ObjectInputStream ois = new ObjectInputStream(
+                                                                   new ByteArrayInputStream(
+                                                                                            bytes))) {
+                    return (T) ois.readObject();
+                } catch (final ClassNotFoundException e) {
+                    throw new IOException(
+                                          e);
+                }
+            }
+        };
+    }
+}
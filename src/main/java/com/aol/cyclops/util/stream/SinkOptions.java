@@ -0,0 +1,107 @@
+package com.aol.cyclops.util.stream;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.Getter;
+
+/**
+ * Controls how a {@link FileSink} batches and writes Stream elements.
+ *
+ * Elements are encoded into direct ByteBuffers of bufferSize bytes. Full buffers are either written asynchronously with
+ * an AsynchronousFileChannel, or collected and written with a single FileChannel gather write. At most maxInFlight
+ * buffers are waiting to be written at once - once they are all in use the Stream is held back until a write completes.
+ * Output can be rotated to a new file once the current file reaches a size, or has been open for a period of time.
+ *
+ * <pre>
+ * {@code
+ *   SinkOptions options = SinkOptions.defaults()
+ *                                    .withBufferSize(4 * 1024 * 1024)
+ *                                    .rotateBySize(1024 * 1024 * 1024)
+ *                                    .rotateEvery(1, TimeUnit.HOURS);
+ * }
+ * </pre>
+ */
+@Getter
+public class SinkOptions {
+
+    private static final SinkOptions DEFAULTS = new SinkOptions(
+                                                                1024 * 1024, 4, true, Long.MAX_VALUE, 0);
+
+    private final int bufferSize;
+    private final int maxInFlight;
+    private final boolean asynchronous;
+    private final long rotateBytes;
+    private final long rotateNanos;
+
+    private SinkOptions(final int bufferSize, final int maxInFlight, final boolean asynchronous, final long rotateBytes,
+            final long rotateNanos) {
+        this.bufferSize = bufferSize;
+        this.maxInFlight = maxInFlight;
+        this.asynchronous = asynchronous;
+        this.rotateBytes = rotateBytes;
+        this.rotateNanos = rotateNanos;
+    }
+
+    /**
+     * @return Options that write 1MB buffers asynchronously, with up to 4 buffers in flight and no rotation
+     */
+    public static SinkOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * @param bufferSize Size of each direct buffer in bytes
+     * @return New options with the supplied buffer size
+     */
+    public SinkOptions withBufferSize(final int bufferSize) {
+        if (bufferSize < 1)
+            throw new IllegalArgumentException(
+                                               "bufferSize must be at least 1 : " + bufferSize);
+        return new SinkOptions(
+                               bufferSize, maxInFlight, asynchronous, rotateBytes, rotateNanos);
+    }
+
+    /**
+     * @param maxInFlight Maximum number of full buffers waiting to be written before the Stream is held back
+     * @return New options with the supplied limit
+     */
+    public SinkOptions withMaxInFlight(final int maxInFlight) {
+        if (maxInFlight < 1)
+            throw new IllegalArgumentException(
+                                               "maxInFlight must be at least 1 : " + maxInFlight);
+        return new SinkOptions(
+                               bufferSize, maxInFlight, asynchronous, rotateBytes, rotateNanos);
+    }
+
+    /**
+     * @param asynchronous true to write with an AsynchronousFileChannel, false to gather write full buffers with a
+     *            FileChannel on the Stream's thread
+     * @return New options with the supplied write mode
+     */
+    public SinkOptions withAsynchronous(final boolean asynchronous) {
+        return new SinkOptions(
+                               bufferSize, maxInFlight, asynchronous, rotateBytes, rotateNanos);
+    }
+
+    /**
+     * @param bytes Size at which output moves to a new file (elements are never split across files)
+     * @return New options with size based rotation
+     */
+    public SinkOptions rotateBySize(final long bytes) {
+        if (bytes < 1)
+            throw new IllegalArgumentException(
+                                               "bytes must be at least 1 : " + bytes);
+        return new SinkOptions(
+                               bufferSize, maxInFlight, asynchronous, bytes, rotateNanos);
+    }
+
+    /**
+     * @param time Time after which output moves to a new file (checked as each element is written)
+     * @param unit Time unit
+     * @return New options with time based rotation
+     */
+    public SinkOptions rotateEvery(final long time, final TimeUnit unit) {
+        return new SinkOptions(
+                               bufferSize, maxInFlight, asynchronous, rotateBytes, unit.toNanos(time));
+    }
+}
@@ -0,0 +1,488 @@
+package com.aol.cyclops.util.stream.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.agrona.concurrent.ManyToOneConcurrentLinkedQueue;
+
+/**
+ * A ScheduledExecutorService backed by a hierarchical hashed timing wheel, suitable for very large numbers of scheduled
+ * tasks (e.g. thousands of per-tenant {@link com.aol.cyclops.control.ReactiveSeq#schedule(String, ScheduledExecutorService)} or
+ * {@link com.aol.cyclops.control.FutureW#schedule(String, ScheduledExecutorService, java.util.function.Supplier)} jobs).
+ *
+ * Scheduling and cancellation are O(1) : new and cancelled tasks are handed to a single wheel thread via lock-free queues, and
+ * each task is linked into (or unlinked from) a wheel bucket directly. Tasks due beyond the range of the finest wheel are held
+ * in coarser wheels and cascaded down as time advances. Expired tasks are run on the supplied Executor so that slow tasks
+ * do not delay the wheel. The wheel thread is started lazily and parks while no tasks are scheduled.
+ *
+ * Timing precision is one tick (1 millisecond by default).
+ *
+ * After {@link #shutdown()} the wheel keeps ticking until every delayed task already scheduled has run, periodic tasks
+ * are cancelled. {@link #shutdownNow()} stops the wheel immediately, cancelling and returning every task that has not
+ * yet run.
+ *
+ * <pre>
+ * {@code
+ *   ScheduledExecutorService wheel = new TimingWheelScheduler();
+ *
+ *   tenants.forEach(t-> ReactiveSeq.generate(()->t.poll())
+ *                                  .schedule("0/5 * * * * ?", wheel)
+ *                                  .connect()
+ *                                  .forEach(this::process));
+ * }
+ * </pre>
+ */
+public class TimingWheelScheduler extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private static final int LATENT = 0;
+    private static final int STARTED = 1;
+    private static final int SHUTDOWN = 2;
+    private static final int STOP = 3;
+    private static final int TERMINATED = 4;
+
+    private static final AtomicInteger instances = new AtomicInteger(
+                                                                     0);
+
+    private final long tickNanos;
+    private final int wheelBits;
+    private final int wheelMask;
+    private final Bucket[][] wheels;
+    private final Executor executor;
+    private final Thread worker;
+    private final AtomicInteger state = new AtomicInteger(
+                                                          LATENT);
+
+    private final Queue<ScheduledTask<?>> pending = new ManyToOneConcurrentLinkedQueue<>();
+    private final Queue<ScheduledTask<?>> cancelled = new ManyToOneConcurrentLinkedQueue<>();
+    private volatile boolean idle = false;
+
+    //only accessed by the wheel thread
+    private long startNanos;
+    private long currentTick;
+    private long size;
+
+    /**
+     * Timing wheel with a 1 millisecond tick, 4 levels of 512 slots (covering ~795 days before tasks are re-cascaded),
+     * running expired tasks on the common ForkJoinPool
+     */
+    public TimingWheelScheduler() {
+        this(1, TimeUnit.MILLISECONDS, 512, 4, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Timing wheel with a 1 millisecond tick, 4 levels of 512 slots, running expired tasks on the supplied Executor
+     *
+     * @param executor Executor to run expired tasks on
+     */
+    public TimingWheelScheduler(final Executor executor) {
+        this(1, TimeUnit.MILLISECONDS, 512, 4, executor);
+    }
+
+    /**
+     * @param tick Duration of a single tick (the precision of the scheduler)
+     * @param unit Time unit of the tick
+     * @param slots Number of slots per wheel (rounded up to a power of 2)
+     * @param levels Number of wheels in the hierarchy, each wheel's tick is the full span of the wheel below it
+     * @param executor Executor to run expired tasks on
+     */
+    public TimingWheelScheduler(final long tick, final TimeUnit unit, final int slots, final int levels, final Executor executor) {
+        if (tick <= 0 || slots <= 0 || levels <= 0)
+            throw new IllegalArgumentException(
+                                               "tick, slots and levels must be positive");
+        this.tickNanos = unit.toNanos(tick);
+        this.wheelBits = 32 - Integer.numberOfLeadingZeros(Math.max(1, slots - 1));
+        if (wheelBits * levels >= 63)
+            throw new IllegalArgumentException(
+                                               "Timing wheel span (slots^levels) must fit in 63 bits");
+        this.wheelMask = (1 << wheelBits) - 1;
+        this.wheels = new Bucket[levels][1 << wheelBits];
+        for (final Bucket[] wheel : wheels) {
+            for (int i = 0; i < wheel.length; i++)
+                wheel[i] = new Bucket();
+        }
+        this.executor = executor;
+        final ThreadFactory factory = Executors.defaultThreadFactory();
+        this.worker = factory.newThread(this::runWheel);
+        worker.setName("cyclops-timing-wheel-" + instances.incrementAndGet());
+        worker.setDaemon(true);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(final Runnable command, final long delay, final TimeUnit unit) {
+        return enqueue(new ScheduledTask<Void>(
+                                               command, null, triggerTime(delay, unit), 0));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(final Callable<V> callable, final long delay, final TimeUnit unit) {
+        return enqueue(new ScheduledTask<V>(
+                                            callable, triggerTime(delay, unit)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(final Runnable command, final long initialDelay, final long period, final TimeUnit unit) {
+        if (period <= 0)
+            throw new IllegalArgumentException();
+        return enqueue(new ScheduledTask<Void>(
+                                               command, null, triggerTime(initialDelay, unit), unit.toNanos(period)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(final Runnable command, final long initialDelay, final long delay, final TimeUnit unit) {
+        if (delay <= 0)
+            throw new IllegalArgumentException();
+        return enqueue(new ScheduledTask<Void>(
+                                               command, null, triggerTime(initialDelay, unit), -unit.toNanos(delay)));
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        if (state.get() >= SHUTDOWN)
+            throw new RejectedExecutionException(
+                                                 "Scheduler has been shutdown");
+        executor.execute(command);
+    }
+
+    @Override
+    public void shutdown() {
+        if (state.compareAndSet(LATENT, TERMINATED))
+            return;
+        state.compareAndSet(STARTED, SHUTDOWN);
+        LockSupport.unpark(worker);
+    }
+
+    @Override
+    public synchronized List<Runnable> shutdownNow() {
+        if (state.compareAndSet(LATENT, TERMINATED))
+            return new ArrayList<>();
+        int current;
+        while ((current = state.get()) < STOP && !state.compareAndSet(current, STOP))
+            ;
+        LockSupport.unpark(worker);
+        //the wheel and the pending queue are only touched by the wheel thread, wait for it to exit before draining them
+        try {
+            if (worker.isAlive())
+                worker.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+        final List<Runnable> unrun = new ArrayList<>();
+        for (final Bucket[] wheel : wheels) {
+            for (final Bucket bucket : wheel) {
+                ScheduledTask<?> next;
+                while ((next = bucket.poll()) != null)
+                    cancelUnrun(next, unrun);
+            }
+        }
+        ScheduledTask<?> next;
+        while ((next = pending.poll()) != null)
+            cancelUnrun(next, unrun);
+        size = 0;
+        state.set(TERMINATED);
+        return unrun;
+    }
+
+    private void cancelUnrun(final ScheduledTask<?> task, final List<Runnable> unrun) {
+        if (task.cancel(false))
+            unrun.add(task);
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return state.get() >= SHUTDOWN;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return state.get() == TERMINATED;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        if (state.get() == TERMINATED)
+            return true;
+        worker.join(Math.max(1, unit.toMillis(timeout)));
+        return state.get() == TERMINATED;
+    }
+
+    private long triggerTime(final long delay, final TimeUnit unit) {
+        return System.nanoTime() + unit.toNanos(Math.max(0, delay));
+    }
+
+    private <T> ScheduledTask<T> enqueue(final ScheduledTask<T> task) {
+        if (state.get() >= SHUTDOWN)
+            throw new RejectedExecutionException(
+                                                 "Scheduler has been shutdown");
+        if (state.get() == LATENT && state.compareAndSet(LATENT, STARTED))
+            worker.start();
+        pending.offer(task);
+        //raced with shutdown and the wheel thread has already exited, never leave the future incomplete
+        if (state.get() >= STOP)
+            task.cancel(false);
+        else if (idle)
+            LockSupport.unpark(worker);
+        return task;
+    }
+
+    private void runWheel() {
+        startNanos = System.nanoTime();
+        currentTick = 0;
+        boolean periodicCancelled = false;
+        while (ticking()) {
+            waitForTick();
+            if (state.get() >= STOP)
+                break;
+            if (!periodicCancelled && state.get() != STARTED) {
+                cancelPeriodic();
+                periodicCancelled = true;
+            }
+            removeCancelled();
+            transferPending();
+            expire(wheels[0][(int) (currentTick & wheelMask)]);
+            currentTick++;
+            cascade();
+        }
+        if (state.getAndSet(TERMINATED) == SHUTDOWN) {
+            //anything enqueued while the last tick was running, after shutdownNow the caller drains the wheel instead
+            ScheduledTask<?> next;
+            while ((next = pending.poll()) != null)
+                next.cancel(false);
+        }
+    }
+
+    /* after shutdown keep ticking until every scheduled task has run, shutdownNow stops immediately */
+    private boolean ticking() {
+        final int current = state.get();
+        return current == STARTED || current == SHUTDOWN && (size > 0 || !pending.isEmpty());
+    }
+
+    private void cancelPeriodic() {
+        for (final Bucket[] wheel : wheels) {
+            for (final Bucket bucket : wheel) {
+                ScheduledTask<?> next = bucket.head;
+                while (next != null) {
+                    final ScheduledTask<?> following = next.next;
+                    if (next.isPeriodic()) {
+                        bucket.remove(next);
+                        size--;
+                        next.cancel(false);
+                    }
+                    next = following;
+                }
+            }
+        }
+    }
+
+    private void waitForTick() {
+        if (size == 0 && pending.isEmpty()) {
+            idle = true;
+            while (pending.isEmpty() && state.get() == STARTED)
+                LockSupport.park(this);
+            idle = false;
+            //wheel is empty, so there is nothing to cascade - jump straight to the current tick
+            currentTick = Math.max(currentTick, (System.nanoTime() - startNanos) / tickNanos);
+            return;
+        }
+        final long deadline = startNanos + currentTick * tickNanos;
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0 && state.get() < STOP)
+            LockSupport.parkNanos(this, remaining);
+    }
+
+    private void removeCancelled() {
+        ScheduledTask<?> next;
+        while ((next = cancelled.poll()) != null) {
+            if (next.bucket != null) {
+                next.bucket.remove(next);
+                size--;
+            }
+        }
+    }
+
+    private void transferPending() {
+        ScheduledTask<?> next;
+        while ((next = pending.poll()) != null) {
+            if (next.isPeriodic() && state.get() != STARTED)
+                next.cancel(false);
+            else if (!next.isCancelled()) {
+                place(next);
+                size++;
+            }
+        }
+    }
+
+    private void place(final ScheduledTask<?> task) {
+        final long dueTick = Math.max(currentTick, ceilDiv(task.deadlineNanos - startNanos, tickNanos));
+        final long delta = dueTick - currentTick;
+        int level = 0;
+        while (level < wheels.length - 1 && delta >>> wheelBits * (level + 1) != 0)
+            level++;
+        wheels[level][(int) (dueTick >>> wheelBits * level & wheelMask)].add(task);
+    }
+
+    private void cascade() {
+        int aligned = 0;
+        while (aligned < wheels.length - 1 && (currentTick & (1L << wheelBits * (aligned + 1)) - 1) == 0)
+            aligned++;
+        for (int level = aligned; level > 0; level--) {
+            //detach first, tasks beyond the span of the top wheel may be placed back into the same bucket
+            ScheduledTask<?> next = wheels[level][(int) (currentTick >>> wheelBits * level & wheelMask)].detach();
+            while (next != null) {
+                final ScheduledTask<?> following = next.next;
+                next.prev = next.next = null;
+                next.bucket = null;
+                place(next);
+                next = following;
+            }
+        }
+    }
+
+    private void expire(final Bucket bucket) {
+        ScheduledTask<?> next;
+        while ((next = bucket.poll()) != null) {
+            size--;
+            if (!next.isCancelled()) {
+                try {
+                    executor.execute(next);
+                } catch (final RejectedExecutionException e) {
+                    next.cancel(false);
+                }
+            }
+        }
+    }
+
+    private static long ceilDiv(final long value, final long divisor) {
+        return value <= 0 ? 0 : (value + divisor - 1) / divisor;
+    }
+
+    /**
+     * Intrusive doubly-linked list of tasks, only touched by the wheel thread
+     */
+    private static final class Bucket {
+        private ScheduledTask<?> head;
+        private ScheduledTask<?> tail;
+
+        void add(final ScheduledTask<?> task) {
+            task.bucket = this;
+            task.prev = tail;
+            task.next = null;
+            if (tail == null)
+                head = task;
+            else
+                tail.next = task;
+            tail = task;
+        }
+
+        void remove(final ScheduledTask<?> task) {
+            if (task.prev == null)
+                head = task.next;
+            else
+                task.prev.next = task.next;
+            if (task.next == null)
+                tail = task.prev;
+            else
+                task.next.prev = task.prev;
+            task.prev = task.next = null;
+            task.bucket = null;
+        }
+
+        ScheduledTask<?> detach() {
+            final ScheduledTask<?> first = head;
+            head = tail = null;
+            return first;
+        }
+
+        ScheduledTask<?> poll() {
+            final ScheduledTask<?> task = head;
+            if (task != null)
+                remove(task);
+            return task;
+        }
+    }
+
+    private final class ScheduledTask<V> extends FutureTask<V>implements RunnableScheduledFuture<V> {
+
+        private volatile long deadlineNanos;
+        /**
+         * positive for fixed rate, negative for fixed delay, zero for one shot
+         */
+        private final long period;
+
+        //wheel thread only
+        private Bucket bucket;
+        private ScheduledTask<?> prev;
+        private ScheduledTask<?> next;
+
+        ScheduledTask(final Runnable r, final V result, final long deadlineNanos, final long period) {
+            super(r, result);
+            this.deadlineNanos = deadlineNanos;
+            this.period = period;
+        }
+
+        ScheduledTask(final Callable<V> callable, final long deadlineNanos) {
+            super(callable);
+            this.deadlineNanos = deadlineNanos;
+            this.period = 0;
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(final Delayed other) {
+            if (other == this)
+                return 0;
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return period != 0;
+        }
+
+        @Override
+        public void run() {
+            if (!isPeriodic()) {
+                super.run();
+            } else if (super.runAndReset()) {
+                if (state.get() != STARTED) {
+                    cancel(false);
+                    return;
+                }
+                deadlineNanos = period > 0 ? deadlineNanos + period : System.nanoTime() - period;
+                try {
+                    enqueue(this);
+                } catch (final RejectedExecutionException e) {
+                    cancel(false);
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            final boolean result = super.cancel(mayInterruptIfRunning);
+            if (result && state.get() < STOP)
+                cancelled.offer(this);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package com.aol.cyclops.util.stream.scheduling.cron;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneRules;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.Set;
+
+import com.aol.cyclops.util.ExceptionSoftener;
+
+/**
+ * An immutable, thread-safe, precompiled form of a Quartz format {@link CronExpression}.
+ *
+ * The expression is parsed once (using CronExpression), and each field is then stored as a bitset. Computing the next fire time
+ * walks those bitsets using plain long arithmetic on the local date-time, so repeatedly asking for the next fire time of the same
+ * schedule does not create Calendar, Date or TreeSet instances. For fixed offset zones (e.g. UTC) no objects are allocated at all,
+ * for region based zones a single java.time conversion is performed to resolve the zone offset.
+ *
+ * <pre>
+ * {@code
+ *   CompiledCronExpression everySecond = CompiledCronExpression.compile("* * * * * ?");
+ *   long next = everySecond.nextFireTime(System.currentTimeMillis());
+ * }
+ * </pre>
+ */
+public final class CompiledCronExpression {
+
+    /**
+     * Returned by {@link #nextFireTime(long)} when the expression will never fire again
+     */
+    public static final long NO_FIRE_TIME = -1;
+
+    private static final long SECONDS_PER_DAY = 86_400;
+    private static final long NO_LOCAL_TIME = Long.MIN_VALUE;
+
+    private final String cronExpression;
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    private final int fixedOffset;
+
+    private final long seconds;
+    private final long minutes;
+    private final long hours;
+    private final long daysOfMonth;
+    private final long months;
+    private final long daysOfWeek;
+    private final BitSet years;
+    private final int maxYear;
+
+    private final boolean dayOfMonthRule;
+    private final boolean lastDayOfMonth;
+    private final int lastDayOffset;
+    private final boolean nearestWeekday;
+    private final int nearestWeekdayTarget;
+    private final boolean lastDayOfWeek;
+    private final int nthDayOfWeek;
+    private final int dayOfWeekTarget;
+
+    private CompiledCronExpression(final CronExpression parsed, final ZoneId zone) {
+        this.cronExpression = parsed.getCronExpression();
+        this.zone = zone;
+        this.rules = zone.getRules();
+        this.fixedOffset = rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH)
+                                                        .getTotalSeconds()
+                : Integer.MIN_VALUE;
+
+        this.seconds = mask(parsed.seconds);
+        this.minutes = mask(parsed.minutes);
+        this.hours = mask(parsed.hours);
+        this.daysOfMonth = mask(parsed.daysOfMonth);
+        this.months = mask(parsed.months);
+        this.daysOfWeek = mask(parsed.daysOfWeek);
+        this.years = new BitSet();
+        for (final Integer year : parsed.years) {
+            if (year != CronExpression.ALL_SPEC_INT && year != CronExpression.NO_SPEC_INT)
+                years.set(year);
+        }
+        this.maxYear = years.length() - 1;
+
+        this.dayOfMonthRule = !parsed.daysOfMonth.contains(CronExpression.NO_SPEC);
+        this.lastDayOfMonth = parsed.lastdayOfMonth;
+        this.lastDayOffset = parsed.lastdayOffset;
+        this.nearestWeekday = parsed.nearestWeekday;
+        this.nearestWeekdayTarget = daysOfMonth == 0 ? 0 : Long.numberOfTrailingZeros(daysOfMonth);
+        this.lastDayOfWeek = parsed.lastdayOfWeek;
+        this.nthDayOfWeek = parsed.nthdayOfWeek;
+        this.dayOfWeekTarget = daysOfWeek == 0 ? 0 : Long.numberOfTrailingZeros(daysOfWeek);
+    }
+
+    /**
+     * Compile a cron expression in Quartz format, resolved against the system default time zone
+     *
+     * @param cron Cron expression in Quartz format
+     * @return Compiled cron expression
+     * @throws ParseException (softened) if the expression is invalid
+     */
+    public static CompiledCronExpression compile(final String cron) {
+        return compile(cron, ZoneId.systemDefault());
+    }
+
+    /**
+     * Compile a cron expression in Quartz format, resolved against the supplied time zone
+     *
+     * @param cron Cron expression in Quartz format
+     * @param zone Zone in which the expression should be evaluated
+     * @return Compiled cron expression
+     * @throws ParseException (softened) if the expression is invalid
+     */
+    public static CompiledCronExpression compile(final String cron, final ZoneId zone) {
+        return new CompiledCronExpression(
+                                          ExceptionSoftener.softenSupplier(() -> new CronExpression(
+                                                                                                    cron))
+                                                           .get(),
+                                          zone);
+    }
+
+    /**
+     * @param zone Zone in which this expression should be evaluated
+     * @return A compiled cron expression with the same fields, evaluated in the supplied zone
+     */
+    public CompiledCronExpression withZone(final ZoneId zone) {
+        return compile(cronExpression, zone);
+    }
+
+    /**
+     * @return The zone this expression is evaluated in
+     */
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * @return The (upper-cased) Quartz format expression this was compiled from
+     */
+    public String getCronExpression() {
+        return cronExpression;
+    }
+
+    /**
+     * Returns the first time, with second precision, strictly after the supplied epoch milli that satisfies this expression
+     *
+     * @param epochMilli Time to search from
+     * @return Next fire time in epoch millis, or {@link #NO_FIRE_TIME} if the expression will not fire again
+     */
+    public long nextFireTime(final long epochMilli) {
+        final long afterSecond = Math.floorDiv(epochMilli, 1000);
+        long local = toLocal(afterSecond) + 1;
+        for (;;) {
+            final long next = nextLocal(local);
+            if (next == NO_LOCAL_TIME)
+                return NO_FIRE_TIME;
+            final long instant = fromLocal(next);
+            if (instant > afterSecond)
+                return instant * 1000;
+            //local time repeated by a daylight savings overlap, that we are already past
+            local = next + 1;
+        }
+    }
+
+    /**
+     * @param date Date to search from
+     * @return Next fire time as a Date, or null if the expression will not fire again
+     */
+    public Date getNextValidTimeAfter(final Date date) {
+        final long next = nextFireTime(date.getTime());
+        return next == NO_FIRE_TIME ? null : new Date(
+                                                      next);
+    }
+
+    /**
+     * @param epochMilli Time to check (milliseconds are ignored)
+     * @return true if this expression fires at the supplied time
+     */
+    public boolean isSatisfiedBy(final long epochMilli) {
+        final long second = Math.floorDiv(epochMilli, 1000);
+        return nextFireTime((second - 1) * 1000) == second * 1000;
+    }
+
+    /**
+     * @param epochMilli Time to search from
+     * @return Delay in millis from the supplied time until the next fire time, or {@link #NO_FIRE_TIME} if the expression will not fire again
+     */
+    public long delayUntilNext(final long epochMilli) {
+        final long next = nextFireTime(epochMilli);
+        return next == NO_FIRE_TIME ? NO_FIRE_TIME : next - epochMilli;
+    }
+
+    private long toLocal(final long epochSecond) {
+        if (fixedOffset != Integer.MIN_VALUE)
+            return epochSecond + fixedOffset;
+        return epochSecond + rules.getOffset(Instant.ofEpochSecond(epochSecond))
+                                  .getTotalSeconds();
+    }
+
+    private long fromLocal(final long localSecond) {
+        if (fixedOffset != Integer.MIN_VALUE)
+            return localSecond - fixedOffset;
+        return ZonedDateTime.ofLocal(LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC), zone, null)
+                            .toEpochSecond();
+    }
+
+    /*
+     * Search forward from (and including) the supplied local second, each field either matches or we jump to the start of the
+     * next candidate value for that field and start again.
+     */
+    private long nextLocal(long t) {
+        for (;;) {
+            final long epochDay = Math.floorDiv(t, SECONDS_PER_DAY);
+            final int secondOfDay = (int) Math.floorMod(t, SECONDS_PER_DAY);
+            final int civil = civilFromDays(epochDay);
+            final int year = civil >>> 9;
+            final int month = (civil >>> 5) & 0xF;
+            final int day = civil & 0x1F;
+
+            if (year > maxYear)
+                return NO_LOCAL_TIME;
+            if (!years.get(year)) {
+                final int nextYear = years.nextSetBit(year);
+                if (nextYear < 0)
+                    return NO_LOCAL_TIME;
+                t = startOf(nextYear, 1, 1);
+                continue;
+            }
+            if (!isSet(months, month)) {
+                final int nextMonth = next(months, month);
+                t = nextMonth > 12 ? startOf(year + 1, 1, 1) : startOf(year, nextMonth, 1);
+                continue;
+            }
+            final int nextDay = nextDay(year, month, day, epochDay);
+            if (nextDay != day) {
+                t = nextDay < 0 ? startOfNextMonth(year, month) : startOf(year, month, nextDay);
+                continue;
+            }
+
+            final long dayStart = epochDay * SECONDS_PER_DAY;
+            final int hour = secondOfDay / 3600;
+            final int minute = secondOfDay / 60 % 60;
+            final int second = secondOfDay % 60;
+            if (!isSet(hours, hour)) {
+                final int nextHour = next(hours, hour);
+                t = nextHour > 23 ? dayStart + SECONDS_PER_DAY : dayStart + nextHour * 3600;
+                continue;
+            }
+            final long hourStart = dayStart + hour * 3600;
+            if (!isSet(minutes, minute)) {
+                final int nextMinute = next(minutes, minute);
+                t = nextMinute > 59 ? hourStart + 3600 : hourStart + nextMinute * 60;
+                continue;
+            }
+            final long minuteStart = hourStart + minute * 60;
+            if (!isSet(seconds, second)) {
+                final int nextSecond = next(seconds, second);
+                t = nextSecond > 59 ? minuteStart + 60 : minuteStart + nextSecond;
+                continue;
+            }
+            return t;
+        }
+    }
+
+    /*
+     * @return the first day of the month on or after day that matches the day-of-month or day-of-week rule, or -1 if none
+     */
+    private int nextDay(final int year, final int month, final int day, final long epochDay) {
+        final int lastDay = lengthOfMonth(year, month);
+        if (dayOfMonthRule) {
+            if (lastDayOfMonth || nearestWeekday) {
+                int target = lastDayOfMonth ? lastDay - lastDayOffset : nearestWeekdayTarget;
+                if (target < 1 || target > lastDay)
+                    return -1;
+                if (nearestWeekday)
+                    target = nearestWeekday(target, lastDay, dayOfWeek(epochDay + target - day));
+                return target >= day ? target : -1;
+            }
+            final int next = next(daysOfMonth, day);
+            return next <= lastDay ? next : -1;
+        }
+        final int dow = dayOfWeek(epochDay);
+        if (lastDayOfWeek) {
+            final int target = lastDay - Math.floorMod(dow + (lastDay - day) - dayOfWeekTarget, 7);
+            return target >= day ? target : -1;
+        }
+        if (nthDayOfWeek != 0) {
+            final int firstDow = Math.floorMod(dow - (day - 1) - 1, 7) + 1;
+            final int target = 1 + Math.floorMod(dayOfWeekTarget - firstDow, 7) + 7 * (nthDayOfWeek - 1);
+            return target >= day && target <= lastDay ? target : -1;
+        }
+        for (int candidate = day, candidateDow = dow; candidate <= lastDay && candidate < day + 7; candidate++) {
+            if (isSet(daysOfWeek, candidateDow))
+                return candidate;
+            candidateDow = candidateDow % 7 + 1;
+        }
+        return -1;
+    }
+
+    /*
+     * Quartz 'W' semantics : move Saturdays back to Friday and Sundays forward to Monday, without leaving the month
+     */
+    private static int nearestWeekday(final int day, final int lastDay, final int dow) {
+        if (dow == 7)
+            return day == 1 ? day + 2 : day - 1;
+        if (dow == 1)
+            return day == lastDay ? day - 2 : day + 1;
+        return day;
+    }
+
+    /*
+     * Quartz numbering : 1 = Sunday ... 7 = Saturday
+     */
+    private static int dayOfWeek(final long epochDay) {
+        return (int) Math.floorMod(epochDay + 4, 7) + 1;
+    }
+
+    private static boolean isSet(final long mask, final int value) {
+        return (mask & 1L << value) != 0;
+    }
+
+    /*
+     * @return the smallest set value >= from, or 64 if none
+     */
+    private static int next(final long mask, final int from) {
+        return Long.numberOfTrailingZeros(mask & -1L << from);
+    }
+
+    private static long mask(final Set<Integer> values) {
+        long mask = 0;
+        for (final Integer value : values) {
+            if (value >= 0 && value < 64)
+                mask |= 1L << value;
+        }
+        return mask;
+    }
+
+    private static long startOfNextMonth(final int year, final int month) {
+        return month == 12 ? startOf(year + 1, 1, 1) : startOf(year, month + 1, 1);
+    }
+
+    private static long startOf(final int year, final int month, final int day) {
+        return daysFromCivil(year, month, day) * SECONDS_PER_DAY;
+    }
+
+    private static int lengthOfMonth(final int year, final int month) {
+        switch (month) {
+        case 2:
+            return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    /*
+     * Proleptic Gregorian date arithmetic (as used by java.time.LocalDate) working on primitives only
+     */
+    private static long daysFromCivil(final int year, final int month, final int day) {
+        final int y = month <= 2 ? year - 1 : year;
+        final int era = Math.floorDiv(y, 400);
+        final int yearOfEra = y - era * 400;
+        final int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    /*
+     * @return year << 9 | month << 5 | day
+     */
+    private static int civilFromDays(final long epochDay) {
+        final long z = epochDay + 719468;
+        final long era = Math.floorDiv(z, 146097);
+        final int dayOfEra = (int) (z - era * 146097);
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final int mp = (5 * dayOfYear + 2) / 153;
+        final int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        final int month = mp < 10 ? mp + 3 : mp - 9;
+        final int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+        return year << 9 | month << 5 | day;
+    }
+
+    @Override
+    public String toString() {
+        return cronExpression;
+    }
+}
@@ -6,6 +6,8 @@ import static org.junit.Assert.assertThat;
 
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import org.jooq.lambda.Seq;
@@ -107,6 +109,119 @@ public class EvalTest {
 		assertThat(Eval.always(()->1).map(i->i+2)
 						.flatMap(i->Eval.now(i*3)).get(),equalTo(9));
 	}
+	@Test
+	public void laterCachesNull(){
+		count = 0;
+		Eval<Integer> eval = Eval.later(()->{ 
+			count++;
+			return null;
+		});
+		eval.get();
+		assertThat(eval.get(),equalTo(null));
+		assertThat(count,equalTo(1));
+	}
+	@Test
+	public void laterFlatMapCaches(){
+		count = 0;
+		Eval<Integer> eval = Eval.later(()->1).flatMap(i->{ 
+			count++;
+			return Eval.now(i+1);
+		});
+		eval.get();
+		assertThat(eval.get(),equalTo(2));
+		assertThat(count,equalTo(1));
+	}
+	@Test
+	public void laterSharedStageCaches(){
+		count = 0;
+		Eval<Integer> shared = Eval.later(()->1).map(i->{ 
+			count++;
+			return i+1;
+		});
+		assertThat(shared.map(i->i*2).get(),equalTo(4));
+		assertThat(shared.map(i->i*3).get(),equalTo(6));
+		assertThat(count,equalTo(1));
+	}
+	@Test
+	public void laterFusedStageCaches(){
+		count = 0;
+		Eval<Integer> first = Eval.later(()->1).map(i->{ 
+			count++;
+			return i+1;
+		});
+		Eval<Integer> fused = first.map(i->i*2);
+		assertThat(fused.get(),equalTo(4));
+		assertThat(first.get(),equalTo(2));
+		assertThat(first.map(i->i*3).get(),equalTo(6));
+		assertThat(count,equalTo(1));
+	}
+	@Test
+	public void laterSharedStageRunsOnceAcrossThreads() throws InterruptedException{
+		AtomicInteger calls = new AtomicInteger(0);
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Eval<Integer> shared = Eval.later(()->1).map(i->{ 
+			calls.incrementAndGet();
+			entered.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+			return i+1;
+		});
+		Eval<Integer> left = shared.map(i->i*2);
+		Eval<Integer> right = shared.map(i->i*3);
+		AtomicInteger results = new AtomicInteger(0);
+		Thread t1 = new Thread(()->results.addAndGet(left.get()));
+		Thread t2 = new Thread(()->results.addAndGet(right.get()));
+		t1.start();
+		entered.await();
+		t2.start();
+		release.countDown();
+		t1.join();
+		t2.join();
+		assertThat(results.get(),equalTo(10));
+		assertThat(calls.get(),equalTo(1));
+	}
+	@Test
+	public void deepLaterMap(){
+		Eval<Integer> eval = Eval.later(()->0);
+		for(int i=0;i<100_000;i++)
+			eval = eval.map(x->x+1);
+		assertThat(eval.get(),equalTo(100_000));
+	}
+	@Test
+	public void deepAlwaysMap(){
+		Eval<Integer> eval = Eval.always(()->0);
+		for(int i=0;i<100_000;i++)
+			eval = eval.map(x->x+1);
+		assertThat(eval.get(),equalTo(100_000));
+		assertThat(eval.get(),equalTo(100_000));
+	}
+	@Test
+	public void deepFlatMap(){
+		Eval<Integer> eval = Eval.later(()->0);
+		for(int i=0;i<100_000;i++)
+			eval = eval.flatMap(x->Eval.later(()->x+1));
+		assertThat(eval.get(),equalTo(100_000));
+	}
+	//simple sanity check to make sure performance is in the ballpark not a proper benchmark!
+	@Test
+	public void deepChainPerfCheck(){
+		for(int run=0;run<5;run++){
+			long start = System.currentTimeMillis();
+			int total = 0;
+			for(int k=0;k<1_000;k++){
+				Eval<Integer> eval = Eval.later(()->1);
+				for(int i=0;i<100;i++)
+					eval = eval.map(x->x+1).flatMap(x->Eval.now(x));
+				total += eval.get();
+			}
+			System.out.println("1,000 Eval.later chains of 100 map / flatMap stages took " + (System.currentTimeMillis()- start) + "ms");
+			assertThat(total,equalTo(101_000));
+		}
+	}
 	public int addOne(Integer i){
 		return i+1;
 	}
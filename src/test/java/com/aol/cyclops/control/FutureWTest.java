@@ -233,6 +233,21 @@ public class FutureWTest {
 		FutureW<Integer> maybes =FutureW.accumulate(ListX.of(just,FutureW.ofResult(1)),Semigroups.intSum);
 		assertThat(maybes.get(),equalTo(11));
 	}
+	@Test
+	public void testAccumulateUnordered() {
+		FutureW<Integer> maybes =FutureW.accumulateUnordered(ListX.of(just,FutureW.ofResult(1)),i->i,Monoid.of(0,Semigroups.intSum));
+		assertThat(maybes.get(),equalTo(11));
+	}
+	@Test
+	public void testAccumulateSuccessUnordered() {
+		FutureW<Integer> maybes =FutureW.accumulateSuccessUnordered(ListX.of(just,none,FutureW.ofResult(1)),i->i,Monoid.of(0,Semigroups.intSum));
+		assertThat(maybes.get(),equalTo(11));
+	}
+	@Test
+	public void testSequenceStream() {
+		FutureW<ReactiveSeq<Integer>> maybes =FutureW.sequence(Stream.of(just,FutureW.ofResult(1)));
+		assertThat(maybes.get().toListX(),equalTo(ListX.of(10,1)));
+	}
 	
 
 	@Test
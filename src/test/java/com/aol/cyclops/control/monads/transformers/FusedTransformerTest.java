@@ -0,0 +1,148 @@
+package com.aol.cyclops.control.monads.transformers;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.FutureW;
+import com.aol.cyclops.control.Maybe;
+import com.aol.cyclops.control.monads.transformers.seq.ListTSeq;
+import com.aol.cyclops.control.monads.transformers.values.FutureWTValue;
+import com.aol.cyclops.control.monads.transformers.values.ListTValue;
+import com.aol.cyclops.control.monads.transformers.values.MaybeTValue;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+
+public class FusedTransformerTest {
+
+    @Test
+    public void listTSeqChain() {
+        final ListTSeq<String> chain = ListT.fromIterable(Arrays.asList(ListX.of(1, 2, 3), ListX.of(4, 5, 6)))
+                                            .map(i -> i * 10)
+                                            .filter(i -> i != 20)
+                                            .map(i -> "v" + i);
+        assertThat(chain.unwrap()
+                        .toList(),
+                   equalTo(Arrays.asList(ListX.of("v10", "v30"), ListX.of("v40", "v50", "v60"))));
+    }
+
+    @Test
+    public void operationsAreDeferredAndRunOnce() {
+        final AtomicInteger calls = new AtomicInteger(0);
+        final ListTValue<Integer> chain = ListT.fromValue(Maybe.just(ListX.of(1, 2, 3)))
+                                               .peek(i -> calls.incrementAndGet())
+                                               .map(i -> i + 1)
+                                               .peek(i -> calls.incrementAndGet());
+        assertThat(calls.get(), equalTo(0));
+        assertThat(chain.get(), equalTo(Arrays.asList(2, 3, 4)));
+        assertThat(chain.stream()
+                        .toList(),
+                   equalTo(Arrays.asList(2, 3, 4)));
+        assertThat(calls.get(), equalTo(6));
+    }
+
+    @Test
+    public void continuesFromUsedTransformer() {
+        final AtomicInteger calls = new AtomicInteger(0);
+        final ListTValue<Integer> parent = ListT.fromValue(Maybe.just(ListX.of(1, 2, 3)))
+                                                .peek(i -> calls.incrementAndGet());
+        assertThat(parent.get(), equalTo(Arrays.asList(1, 2, 3)));
+        assertThat(parent.map(i -> i * 2)
+                         .get(),
+                   equalTo(Arrays.asList(2, 4, 6)));
+        assertThat(calls.get(), equalTo(3));
+    }
+
+    @Test
+    public void maybeTFilter() {
+        final MaybeTValue<Integer> maybe = MaybeT.fromOptional(Optional.of(Maybe.just(10)));
+        assertThat(maybe.map(i -> i + 1)
+                        .filter(i -> i > 10)
+                        .map(i -> i * 2)
+                        .get(),
+                   equalTo(22));
+        assertFalse(maybe.filter(i -> i > 10)
+                         .map(i -> i * 2)
+                         .isPresent());
+    }
+
+    @Test
+    public void maybeTStaysLazy() {
+        final AtomicInteger calls = new AtomicInteger(0);
+        final MaybeTValue<Integer> maybe = MaybeT.fromOptional(Optional.of(Maybe.just(10)))
+                                                 .peek(i -> calls.incrementAndGet())
+                                                 .filter(i -> i > 5)
+                                                 .map(i -> i * 2);
+        final Maybe<Integer> unwrapped = maybe.unwrap()
+                                              .<Optional<Maybe<Integer>>> unwrap()
+                                              .get();
+        assertThat(calls.get(), equalTo(0));
+        assertThat(unwrapped.get(), equalTo(20));
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test
+    public void futureWTChain() {
+        final CompletableFuture<Integer> future = new CompletableFuture<>();
+        final FutureWTValue<String> chain = FutureWT.fromOptional(Optional.of(FutureW.of(future)))
+                                                    .map(i -> i + 1)
+                                                    .peek(i -> {
+                                                    })
+                                                    .map(i -> "v" + i);
+        future.complete(10);
+        assertThat(chain.get(), equalTo("v11"));
+    }
+
+    @Test
+    public void streamTChain() {
+        final List<Integer> result = StreamT.fromIterable(Arrays.asList(Stream.of(1, 2, 3), Stream.of(4, 5)))
+                                            .filter(i -> i % 2 == 1)
+                                            .map(i -> i * 100)
+                                            .stream()
+                                            .toList();
+        assertThat(result, equalTo(Arrays.asList(100, 300, 500)));
+    }
+
+    static class CountingList extends ArrayList<Integer> {
+        int traversals;
+
+        CountingList(final List<Integer> values) {
+            super(values);
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            traversals++;
+            return super.iterator();
+        }
+    }
+
+    @Test
+    public void fusedChainTraversesOnceAndCallsEachFunctionOnce() {
+        final CountingList inner = new CountingList(
+                                                    Arrays.asList(1, 2, 3, 4));
+        final AtomicInteger calls = new AtomicInteger(0);
+        ListTSeq<Integer> trans = ListT.fromIterable(Arrays.asList(ListX.fromIterable(inner)));
+        for (int i = 0; i < 10; i++)
+            trans = trans.map(n -> {
+                calls.incrementAndGet();
+                return n + 1;
+            });
+        final List<ListX<Integer>> result = trans.filter(n -> n % 2 == 0)
+                                                 .unwrap()
+                                                 .toList();
+        assertThat(result, equalTo(Arrays.asList(ListX.of(12, 14))));
+        assertThat(calls.get(), equalTo(40));
+        assertThat(inner.traversals, equalTo(1));
+    }
+}
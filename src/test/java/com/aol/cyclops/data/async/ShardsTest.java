@@ -0,0 +1,262 @@
+package com.aol.cyclops.data.async;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.data.async.Queue.ClosedQueueException;
+import com.aol.cyclops.types.futurestream.LazyFutureStream;
+
+public class ShardsTest {
+
+    private Shards<Integer, Integer> shards(final int stealThreshold) {
+        return new Shards<>(
+                            Arrays.asList(1, 2), i -> i % 100, QueueFactories.unboundedQueue(), stealThreshold);
+    }
+
+    private int otherKeyOnShard(final Shards<Integer, Integer> shards, final int key) {
+        final Integer shard = shards.shardFor(key);
+        for (int i = 0; i < 100; i++) {
+            if (i != key && shards.shardFor(i)
+                                  .equals(shard))
+                return i;
+        }
+        throw new AssertionError(
+                                 "no other key on shard " + shard);
+    }
+
+    @Test
+    public void consistentRouting() {
+        final Shards<Integer, Integer> shards = shards(1000);
+        final Integer shard = shards.shardFor(5);
+        shards.offer(5);
+        shards.offer(105);
+        assertThat(shards.shardFor(5), equalTo(shard));
+        assertThat(shards.depths()
+                         .get(shard),
+                   equalTo(2));
+        assertThat(shards.migrations(), equalTo(0l));
+    }
+
+    @Test
+    public void idleShardStealsKeys() {
+        final Shards<Integer, Integer> shards = shards(2);
+        final Integer busy = shards.shardFor(0);
+        shards.offer(0);
+        shards.offer(100);
+
+        final int other = otherKeyOnShard(shards, 0);
+        shards.offer(other);
+        assertThat(shards.shardFor(other), not(equalTo(busy)));
+        assertThat(shards.migrations(), equalTo(1l));
+
+        //keys with data waiting are never moved
+        shards.offer(200);
+        assertThat(shards.shardFor(0), equalTo(busy));
+        assertThat(shards.depths()
+                         .get(busy),
+                   equalTo(3));
+    }
+
+    @Test
+    public void keyReturnsHomeOnceAcknowledged() {
+        final Shards<Integer, Integer> shards = shards(1);
+        final Integer home = shards.shardFor(0);
+        shards.offer(0);
+        final int other = otherKeyOnShard(shards, 0);
+        shards.offer(other);
+        assertThat(shards.shardFor(other), not(equalTo(home)));
+        shards.close();
+
+        final Integer stolen = shards.shardFor(other);
+        assertThat(shards.stream(stolen)
+                         .toList(),
+                   equalTo(Arrays.asList(other)));
+        //consumed but still being processed
+        assertThat(shards.shardFor(other), equalTo(stolen));
+        shards.ack(other);
+        assertThat(shards.shardFor(other), equalTo(home));
+    }
+
+    @Test
+    public void keyInProgressIsNeverMoved() {
+        final Shards<Integer, Integer> shards = shards(1);
+        final Integer home = shards.shardFor(0);
+        shards.offer(0);
+        //take the only data point for key 0 from its shard, but do not acknowledge it yet
+        assertThat(shards.stream(home)
+                         .limit(1)
+                         .toList(),
+                   equalTo(Arrays.asList(0)));
+        assertThat(shards.depths()
+                         .get(home),
+                   equalTo(0));
+
+        //backlog the home shard with another key, so that key 0 would be stolen if it were idle
+        final int other = otherKeyOnShard(shards, 0);
+        shards.offer(other);
+        shards.offer(100);
+        assertThat(shards.shardFor(0), equalTo(home));
+
+        shards.ack(0);
+        shards.ack(100);
+        assertThat(shards.shardFor(0), equalTo(home));
+        assertThat(shards.migrations(), equalTo(0l));
+    }
+
+    @Test
+    public void addAndRemoveShards() {
+        final Shards<Integer, Integer> shards = shards(1000);
+        assertTrue(shards.addShard(3));
+        assertFalse(shards.addShard(3));
+        assertThat(new ArrayList<>(
+                                   shards.shardIds()),
+                   equalTo(Arrays.asList(1, 2, 3)));
+
+        shards.offer(1);
+        final Integer first = shards.shardFor(1);
+        assertTrue(shards.removeShard(first));
+        assertFalse(shards.shardIds()
+                          .contains(first));
+        //draining shard keeps keys that still have data waiting
+        assertThat(shards.shardFor(1), equalTo(first));
+        assertThat(shards.depths()
+                         .get(first),
+                   equalTo(1));
+        //and is closed once emptied and acknowledged
+        assertThat(shards.stream(first)
+                         .peek(shards::ack)
+                         .toList(),
+                   equalTo(Arrays.asList(1)));
+        assertFalse(shards.depths()
+                          .containsKey(first));
+        assertThat(shards.shardFor(1), not(equalTo(first)));
+    }
+
+    @Test
+    public void failedOfferIsRolledBack() {
+        final Shards<Integer, Integer> shards = shards(1);
+        final Integer home = shards.shardFor(0);
+        shards.close();
+        try {
+            shards.offer(0);
+            fail("expected ClosedQueueException");
+        } catch (final ClosedQueueException e) {
+        }
+        assertThat(shards.depths()
+                         .get(home),
+                   equalTo(0));
+        //not pinned, and the shard can still be retired
+        final int other = otherKeyOnShard(shards, 0);
+        assertThat(shards.shardFor(other), equalTo(home));
+        assertTrue(shards.removeShard(home));
+        assertFalse(shards.depths()
+                          .containsKey(home));
+    }
+
+    @Test
+    public void unacknowledgedKeysAreBounded() {
+        final Shards<Integer, Integer> shards = new Shards<>(
+                                                             Arrays.asList(1, 2), i -> i % 100, QueueFactories.unboundedQueue(), 1000, 1);
+        shards.offer(0);
+        final Integer first = shards.shardFor(0);
+        assertTrue(shards.removeShard(first));
+        //consumed but never acknowledged, so the draining shard is kept
+        assertThat(shards.stream(first)
+                         .limit(1)
+                         .toList(),
+                   equalTo(Arrays.asList(0)));
+        assertTrue(shards.depths()
+                         .containsKey(first));
+
+        //routing another key releases key 0, letting the shard retire
+        shards.offer(1);
+        assertFalse(shards.depths()
+                          .containsKey(first));
+        assertThat(shards.shardFor(0), not(equalTo(first)));
+        //a late acknowledgement is ignored
+        shards.ack(0);
+        assertThat(shards.shardFor(1), not(equalTo(first)));
+    }
+
+    @Test
+    public void lastShardCanNotBeRemoved() {
+        final Shards<Integer, Integer> shards = shards(1000);
+        assertTrue(shards.removeShard(1));
+        assertFalse(shards.removeShard(2));
+        assertFalse(shards.removeShard(99));
+    }
+
+    @Test
+    public void lazyFutureStream() throws Exception {
+        final Shards<Integer, Integer> shards = new Shards<>(
+                                                             Arrays.asList(1, 2, 3, 4), i -> i % 50, QueueFactories.unboundedQueue(), 8);
+        final Map<Integer, LazyFutureStream<Integer>> streams = LazyReact.sequentialBuilder()
+                                                                         .range(0, 10_000)
+                                                                         .shard(shards);
+        assertThat(streams.keySet(), equalTo(shards.shardIds()));
+
+        final List<CompletableFuture<List<Integer>>> results = new ArrayList<>();
+        for (final LazyFutureStream<Integer> next : streams.values())
+            results.add(CompletableFuture.supplyAsync(() -> next.toList()));
+
+        final List<Integer> all = new ArrayList<>();
+        for (final CompletableFuture<List<Integer>> next : results) {
+            final List<Integer> shard = next.get();
+            //within each shard, each key is in order
+            final Map<Integer, Integer> last = new HashMap<>();
+            for (final Integer i : shard) {
+                final Integer previous = last.put(i % 50, i);
+                assertTrue(previous == null || previous < i);
+            }
+            all.addAll(shard);
+        }
+        assertThat(all.stream()
+                      .sorted()
+                      .collect(Collectors.toList()),
+                   equalTo(ReactiveSeq.range(0, 10_000)
+                                      .toList()));
+        assertThat(shards.depths()
+                         .values()
+                         .stream()
+                         .mapToInt(i -> i)
+                         .sum(),
+                   equalTo(0));
+    }
+
+    @Test
+    public void hotShardIsRelieved() {
+        final Shards<Integer, Integer> shards = new Shards<>(
+                                                             Arrays.asList(1, 2), i -> i % 100, QueueFactories.unboundedQueue(), 4);
+        final Integer hot = shards.shardFor(0);
+        final Integer idle = hot == 1 ? 2 : 1;
+        for (int i = 0; i < 10; i++)
+            shards.offer(i * 100);
+        //keys that hash to the backlogged shard are picked up by the idle shard
+        ReactiveSeq.range(0, 100)
+                   .filter(i -> shards.shardFor(i)
+                                      .equals(hot) && i != 0)
+                   .forEach(shards::offer);
+        shards.close();
+        assertThat(shards.migrations(), greaterThan(0l));
+        assertThat(shards.depths()
+                         .get(idle),
+                   greaterThan(0));
+    }
+}
@@ -0,0 +1,106 @@
+package com.aol.cyclops.data.sketch;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.aol.cyclops.Reducers;
+import com.aol.cyclops.control.ReactiveSeq;
+
+public class HyperLogLogTest {
+
+    private void assertNear(final long actual, final long expected, final double tolerance) {
+        assertThat("expected ~" + expected + " but was " + actual, (double) Math.abs(actual - expected), lessThan(expected * tolerance));
+    }
+
+    @Test
+    public void empty() {
+        assertThat(HyperLogLog.empty()
+                              .estimate(),
+                   equalTo(0l));
+        assertThat(ReactiveSeq.empty()
+                              .approxCountDistinct(),
+                   equalTo(0l));
+    }
+
+    @Test
+    public void smallCountsAreExact() {
+        assertThat(ReactiveSeq.of(1, 2, 3, 2, 1)
+                              .approxCountDistinct(),
+                   equalTo(3l));
+    }
+
+    @Test
+    public void duplicates() {
+        assertNear(ReactiveSeq.range(0, 1_000_000)
+                              .map(i -> i % 1000)
+                              .approxCountDistinct(),
+                   1000, 0.05);
+    }
+
+    @Test
+    public void manyDistinct() {
+        assertNear(ReactiveSeq.range(0, 100_000)
+                              .map(i -> "value" + i)
+                              .approxCountDistinct(),
+                   100_000, 0.05);
+    }
+
+    @Test
+    public void plusIsImmutable() {
+        final HyperLogLog empty = HyperLogLog.empty();
+        assertThat(empty.plus("hello")
+                        .estimate(),
+                   equalTo(1l));
+        assertThat(empty.estimate(), equalTo(0l));
+    }
+
+    @Test
+    public void mergeIsUnion() {
+        final HyperLogLog evens = ReactiveSeq.range(0, 20_000)
+                                             .map(i -> i * 2)
+                                             .collect(HyperLogLog.collector());
+        final HyperLogLog odds = ReactiveSeq.range(0, 20_000)
+                                            .map(i -> i * 2 + 1)
+                                            .collect(HyperLogLog.collector());
+        assertNear(evens.merge(odds)
+                        .estimate(),
+                   40_000, 0.05);
+        assertThat(evens.merge(evens), equalTo(evens));
+    }
+
+    @Test
+    public void parallel() {
+        assertNear(ReactiveSeq.range(0, 50_000)
+                              .mapReduce(Reducers.toHyperLogLog())
+                              .estimate(),
+                   50_000, 0.05);
+        assertNear(ReactiveSeq.range(0, 50_000)
+                              .parallel()
+                              .collect(HyperLogLog.collector())
+                              .estimate(),
+                   50_000, 0.05);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void precisionMismatch() {
+        HyperLogLog.empty(10)
+                   .merge(HyperLogLog.empty(12));
+    }
+
+    @Test
+    public void runningCountDistinctOnInfiniteStream() {
+        final List<Long> estimates = ReactiveSeq.iterate(0, i -> i + 1)
+                                                .map(i -> i % 1000)
+                                                .runningCountDistinct(5_000)
+                                                .limit(3)
+                                                .toList();
+        assertThat(estimates.size(), equalTo(3));
+        for (final Long next : estimates)
+            assertNear(next, 1000, 0.05);
+    }
+}
@@ -0,0 +1,160 @@
+package com.aol.cyclops.data.sketch;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import com.aol.cyclops.Reducers;
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+
+public class QuantileSketchTest {
+
+    private void assertNear(final int actual, final int expected, final int tolerance) {
+        assertThat("expected ~" + expected + " but was " + actual, Math.abs(actual - expected), lessThan(tolerance));
+    }
+
+    @Test
+    public void empty() {
+        assertThat(QuantileSketch.<Integer> empty(Comparator.naturalOrder())
+                                 .median(),
+                   equalTo(Optional.empty()));
+        assertThat(ReactiveSeq.<Integer> empty()
+                              .approxMedian(),
+                   equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void smallIsExact() {
+        final QuantileSketch<Integer> sketch = ReactiveSeq.of(5, 1, 4, 2, 3)
+                                                          .collect(QuantileSketch.collector(Comparator.naturalOrder()));
+        assertThat(sketch.quantile(0), equalTo(Optional.of(1)));
+        assertThat(sketch.median(), equalTo(Optional.of(3)));
+        assertThat(sketch.quantile(1), equalTo(Optional.of(5)));
+        assertThat(sketch.count(), equalTo(5l));
+    }
+
+    @Test
+    public void plusIsImmutable() {
+        final QuantileSketch<Integer> empty = QuantileSketch.empty(Comparator.naturalOrder());
+        final QuantileSketch<Integer> one = empty.plus(10);
+        assertThat(empty.count(), equalTo(0l));
+        assertThat(one.median(), equalTo(Optional.of(10)));
+    }
+
+    @Test
+    public void largeStreamWithinRankError() {
+        final ReactiveSeq<Integer> shuffled = ReactiveSeq.range(0, 1_000_000)
+                                                         .map(i -> (int) ((i * 7919l) % 1_000_000));
+        final QuantileSketch<Integer> sketch = shuffled.collect(QuantileSketch.collector(Comparator.naturalOrder()));
+        assertNear(sketch.median()
+                         .get(),
+                   500_000, 20_000);
+        assertNear(sketch.quantile(0.99)
+                         .get(),
+                   990_000, 20_000);
+        assertNear(sketch.quantile(0.1)
+                         .get(),
+                   100_000, 20_000);
+    }
+
+    @Test
+    public void mergedPartialsWithinRankError() {
+        final QuantileSketch<Integer> merged = ReactiveSeq.range(0, 10)
+                                                          .map(part -> ReactiveSeq.range(part * 100_000, (part + 1) * 100_000)
+                                                                                  .mapReduce(Reducers.toQuantileSketch(Comparator.<Integer> naturalOrder())))
+                                                          .reduce(Reducers.toQuantileSketch(Comparator.<Integer> naturalOrder()));
+        assertThat(merged.count(), equalTo(1_000_000l));
+        assertNear(merged.median()
+                         .get(),
+                   500_000, 20_000);
+    }
+
+    @Test
+    public void parallel() {
+        assertNear(ListX.range(0, 1_000_000)
+                        .parallelStream()
+                        .collect(QuantileSketch.collector(Comparator.<Integer> naturalOrder()))
+                        .quantile(0.75)
+                        .get(),
+                   750_000, 20_000);
+    }
+
+    @Test
+    public void lazyFutureStream() {
+        assertNear(new LazyReact().range(0, 10_000)
+                                  .approxPercentile(0.5)
+                                  .get(),
+                   5_000, 200);
+    }
+
+    @Test
+    public void topK() {
+        assertThat(ReactiveSeq.of(4, 1, 7, 3, 9, 2)
+                              .topK(3, Comparator.naturalOrder()),
+                   equalTo(ListX.of(9, 7, 4)));
+        assertThat(ReactiveSeq.of(4, 1)
+                              .topK(3, Comparator.naturalOrder()),
+                   equalTo(ListX.of(4, 1)));
+        assertThat(ReactiveSeq.of(4, 1)
+                              .topK(0, Comparator.naturalOrder()),
+                   equalTo(ListX.empty()));
+    }
+
+    @Test
+    public void topKMerge() {
+        final ListX<Integer> merged = ReactiveSeq.of(ListX.of(5, 1, 8), ListX.of(7, 2), ListX.of(9, 6, 3))
+                                                 .map(l -> l.mapReduce(Reducers.toTopK(4, Comparator.<Integer> naturalOrder())))
+                                                 .reduce(Reducers.toTopK(4, Comparator.<Integer> naturalOrder()));
+        assertThat(merged, equalTo(ListX.of(9, 8, 7, 6)));
+    }
+
+    @Test
+    public void runningTopKOnInfiniteStream() {
+        assertThat(ReactiveSeq.iterate(0, i -> i + 1)
+                              .runningTopK(3, Comparator.naturalOrder())
+                              .limit(5)
+                              .toList(),
+                   equalTo(ListX.of(ListX.of(0), ListX.of(1, 0), ListX.of(2, 1, 0), ListX.of(3, 2, 1), ListX.of(4, 3, 2))));
+        assertThat(ReactiveSeq.of(4, 1)
+                              .runningTopK(0, Comparator.naturalOrder())
+                              .toList(),
+                   equalTo(ListX.of(ListX.empty(), ListX.empty())));
+    }
+
+    @Test
+    public void runningPercentileOnInfiniteStream() {
+        final List<Optional<Integer>> estimates = ReactiveSeq.iterate(0, i -> i + 1)
+                                                             .runningPercentile(0.5, 10_000)
+                                                             .limit(5)
+                                                             .toList();
+        assertThat(estimates.size(), equalTo(5));
+        for (int i = 0; i < 5; i++)
+            assertNear(estimates.get(i)
+                                .get(),
+                       (i + 1) * 5_000, 2_500);
+    }
+
+    @Test
+    public void runningPercentileAfterEachElement() {
+        assertThat(ReactiveSeq.of(3, 1, 2)
+                              .runningPercentile(1.0, 1)
+                              .map(Optional::get)
+                              .toList(),
+                   equalTo(ListX.of(3, 3, 3)));
+    }
+
+    @Test
+    public void largeStreamPercentile() {
+        final ReactiveSeq<Integer> values = ReactiveSeq.range(0, 5_000_000);
+        final Optional<Integer> p99 = values.approxPercentile(0.99);
+        assertNear(p99.get(), 4_950_000, 100_000);
+    }
+}
@@ -0,0 +1,111 @@
+package com.aol.cyclops.functions.fluent;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.FluentFunctions;
+import com.aol.cyclops.control.FluentFunctions.FluentFunction;
+import com.aol.cyclops.react.metrics.LatencyHistogram;
+
+public class FluentFunctionAspectsTest {
+
+	public int addOne(Integer i ){
+		return i+1;
+	}
+	@Test
+	public void orderOfAspects() {
+		List<String> events = new ArrayList<>();
+		FluentFunction<Integer,Integer> fn = FluentFunctions.of(this::addOne)
+															.aspects()
+															.before(i->events.add("before1 "+i))
+															.before(i->events.add("before2 "+i))
+															.around(advice->advice.proceed(advice.param*10))
+															.after((i,r)->events.add("after1 "+r))
+															.after((i,r)->events.add("after2 "+r))
+															.build();
+		assertThat(fn.apply(2),equalTo(21));
+		assertThat(events,equalTo(Arrays.asList("before1 2","before2 2","after1 21","after2 21")));
+	}
+	@Test
+	public void aroundNestsInOrderAdded() {
+		FluentFunction<Integer,Integer> fn = FluentFunctions.of(this::addOne)
+															.aspects()
+															.around(advice->advice.proceed(advice.param*10))
+															.around(advice->advice.proceed(advice.param+1))
+															.build();
+		assertThat(fn.apply(2),equalTo(31));
+	}
+	@Test
+	public void logOnlyWhenEnabled() {
+		List<String> logged = new ArrayList<>();
+		AtomicBoolean enabled = new AtomicBoolean(false);
+		FluentFunction<Integer,Integer> fn = FluentFunctions.of(this::addOne)
+															.name("addOne")
+															.aspects()
+															.log(logged::add, e->logged.add("error"), enabled::get)
+															.build();
+		fn.apply(1);
+		assertThat(logged.size(),equalTo(0));
+		enabled.set(true);
+		fn.apply(1);
+		assertThat(logged,equalTo(Arrays.asList("(addOne-Parameter[1])","(addOne-Result[2])")));
+	}
+	@Test
+	public void errorsAreLoggedAndRethrown() {
+		List<String> logged = new ArrayList<>();
+		FluentFunction<Integer,Integer> fn = FluentFunctions.of((Integer i)->{ if(i>0) throw new IllegalStateException(); return i; })
+															.aspects()
+															.log(logged::add, e->logged.add("error"), ()->true)
+															.build();
+		try{
+			fn.apply(1);
+			fail("expected error");
+		}catch(IllegalStateException e){
+
+		}
+		assertThat(logged,equalTo(Arrays.asList("(fluent-function-Parameter[1])","error")));
+	}
+	@Test
+	public void timedWhileEnabled() {
+		LatencyHistogram latency = new LatencyHistogram();
+		AtomicBoolean enabled = new AtomicBoolean(true);
+		FluentFunction<Integer,Integer> fn = FluentFunctions.of(this::addOne)
+															.timed(latency, enabled::get);
+		fn.apply(1);
+		fn.apply(2);
+		assertThat(latency.count(),equalTo(2l));
+		enabled.set(false);
+		fn.apply(3);
+		assertThat(latency.count(),equalTo(2l));
+	}
+	@Test
+	public void noAspectsIsUnwrapped() {
+		assertThat(FluentFunctions.of(this::addOne)
+									.aspects()
+									.build()
+									.apply(1),equalTo(2));
+	}
+	@Test
+	public void disabledAspectsRecordNothing() {
+		LatencyHistogram latency = new LatencyHistogram();
+		AtomicInteger logged = new AtomicInteger(0);
+		FluentFunction<Integer,Integer> fn = FluentFunctions.of(this::addOne)
+													.aspects()
+													.log(s->logged.incrementAndGet(), e->logged.incrementAndGet(), ()->false)
+													.timed(latency, ()->false)
+													.build();
+		for(int i=0;i<1_000;i++)
+			assertThat(fn.apply(i),equalTo(i+1));
+		assertThat(latency.count(),equalTo(0l));
+		assertThat(logged.get(),equalTo(0));
+	}
+}
@@ -12,6 +12,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -521,4 +522,31 @@ public class FastFutureTest {
 		
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void essentialListenersAddedConcurrentlyAreAllCalled() throws InterruptedException {
+		for (int i = 0; i < 1_000; i++) {
+			FastFuture f = new FastFuture(FinalPipeline.empty(),a->{});
+			AtomicInteger called = new AtomicInteger(0);
+			CountDownLatch start = new CountDownLatch(1);
+			List<Thread> threads = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				Thread thread = new Thread(()->{
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						throw new RuntimeException(e);
+					}
+					f.essential(c->called.incrementAndGet());
+				});
+				thread.start();
+				threads.add(thread);
+			}
+			start.countDown();
+			for (Thread thread : threads)
+				thread.join();
+			f.set("done");
+			assertThat(called.get(), equalTo(4));
+		}
+	}
+
+}
@@ -0,0 +1,172 @@
+package com.aol.cyclops.react.lazy;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.jooq.lambda.tuple.Tuple2;
+import org.junit.Test;
+
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.internal.react.stream.PushBuffer;
+import com.aol.cyclops.types.futurestream.LazyFutureStream;
+
+public class AsyncZipTest {
+
+    private static void sleep(final int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+
+    /* a source that blocks on each element, like a blocking I/O client, and first waits (up to 5 seconds) for another
+     * source to start */
+    private LazyFutureStream<Integer> slowSource(final int size, final CyclicBarrier started, final AtomicInteger met) {
+        return new LazyReact().fromIterable(() -> new Iterator<Integer>() {
+            int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Integer next() {
+                if (next == 0) {
+                    try {
+                        started.await(5, TimeUnit.SECONDS);
+                        met.incrementAndGet();
+                    } catch (final Exception e) {
+                        //the other source did not start, leave met unchanged
+                    }
+                }
+                sleep(10);
+                return next++;
+            }
+        })
+                              .map(i -> i);
+    }
+
+    @Test
+    public void zipAsyncStreams() {
+        final List<Tuple2<Integer, Integer>> zipped = new LazyReact(
+                                                                    4, 4).range(0, 1000)
+                                                                         .map(i -> i * 2)
+                                                                         .zip(new LazyReact(
+                                                                                            4, 4).range(0, 500))
+                                                                         .toList();
+        assertThat(zipped.size(), equalTo(500));
+        final Set<Integer> rights = zipped.stream()
+                                          .map(t -> t.v2)
+                                          .collect(Collectors.toSet());
+        assertThat(rights, equalTo(ReactiveSeq.range(0, 500)
+                                              .toSet()));
+    }
+
+    @Test
+    public void zipSynchronousStreamsKeepsOrder() {
+        assertThat(LazyReact.sequentialBuilder()
+                            .of(1, 2, 3)
+                            .zip(LazyReact.sequentialBuilder()
+                                          .of("a", "b", "c", "d"),
+                                 (i, s) -> i + s)
+                            .toList(),
+                   equalTo(ReactiveSeq.of("1a", "2b", "3c")
+                                      .toList()));
+    }
+
+    @Test
+    public void zipWithNulls() {
+        assertThat(new LazyReact().of(1, 2)
+                                  .map(i -> i == 1 ? null : i)
+                                  .zip(new LazyReact().of("a"))
+                                  .toList()
+                                  .size(),
+                   equalTo(1));
+    }
+
+    @Test
+    public void zipInfiniteStreams() {
+        assertThat(new LazyReact().iterate(0, i -> i + 1)
+                                  .zip(new LazyReact().iterate(0, i -> i + 1))
+                                  .limit(5)
+                                  .toList()
+                                  .size(),
+                   equalTo(5));
+    }
+
+    private static boolean populatorBlocked() {
+        return Thread.getAllStackTraces()
+                     .values()
+                     .stream()
+                     .anyMatch(trace -> Arrays.stream(trace)
+                                              .anyMatch(frame -> frame.getClassName()
+                                                                      .equals(PushBuffer.class.getName())
+                                                      && frame.getMethodName()
+                                                              .equals("offer")));
+    }
+
+    @Test
+    public void closingZipStopsPopulators() {
+        final LazyReact react = new LazyReact(
+                                              4, 4);
+        try (LazyFutureStream<Tuple2<Integer, Integer>> zipped = react.iterate(0, i -> i + 1)
+                                                                      .async()
+                                                                      .map(x -> x)
+                                                                      .zip(react.iterate(0, i -> i + 1)
+                                                                                .async()
+                                                                                .map(x -> x))) {
+            assertThat(zipped.limit(3)
+                             .toList()
+                             .size(),
+                       equalTo(3));
+        }
+        for (int i = 0; i < 100 && populatorBlocked(); i++)
+            sleep(20);
+        assertFalse(populatorBlocked());
+    }
+
+    @Test
+    public void combineLatest() {
+        final List<Tuple2<Integer, String>> combined = new LazyReact().of(1, 2, 3)
+                                                                      .combineLatest(new LazyReact().of("a"))
+                                                                      .toList();
+        assertThat(combined.size(), equalTo(4));
+        assertThat(combined.get(3).v1, notNullValue());
+        assertThat(combined.get(3).v2, equalTo("a"));
+    }
+
+    /**
+     * simple sanity check that both sides of a zip run concurrently, not a proper benchmark!
+     */
+    @Test
+    public void zipPerfCheck() {
+        //each source waits for the other to start before producing, which only succeeds if they run concurrently
+        final CyclicBarrier started = new CyclicBarrier(
+                                                        2);
+        final AtomicInteger met = new AtomicInteger(
+                                                    0);
+        final long start = System.currentTimeMillis();
+        final int size = slowSource(50, started, met).zip(slowSource(50, started, met))
+                                                     .toList()
+                                                     .size();
+        final long time = System.currentTimeMillis() - start;
+        System.out.println("Zipping two blocking sources of 50 elements took " + time + "ms");
+        assertThat(size, equalTo(50));
+        assertThat(met.get(), equalTo(2));
+    }
+}
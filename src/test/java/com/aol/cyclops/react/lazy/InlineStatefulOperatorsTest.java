@@ -0,0 +1,88 @@
+package com.aol.cyclops.react.lazy;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jooq.lambda.tuple.Tuple;
+import org.junit.Test;
+
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+
+public class InlineStatefulOperatorsTest {
+
+    @Test
+    public void syncGroupedInOrder() {
+        assertThat(LazyReact.sequentialCurrentBuilder()
+                            .of(1, 2, 3, 4, 5)
+                            .map(i -> i * 10)
+                            .grouped(2)
+                            .toList(),
+                   equalTo(ListX.of(ListX.of(10, 20), ListX.of(30, 40), ListX.of(50))));
+    }
+
+    @Test
+    public void syncChainedStatefulOperators() {
+        assertThat(LazyReact.sequentialCurrentBuilder()
+                            .of(5, 3, 1, 4, 2)
+                            .sorted()
+                            .scanLeft(0, (a, b) -> a + b)
+                            .zipWithIndex()
+                            .toList(),
+                   equalTo(ListX.of(Tuple.tuple(0, 0l), Tuple.tuple(1, 1l), Tuple.tuple(3, 2l), Tuple.tuple(6, 3l), Tuple.tuple(10, 4l),
+                                    Tuple.tuple(15, 5l))));
+    }
+
+    @Test
+    public void syncFailuresSkippedAndCaptured() {
+        final List<Throwable> errors = new ArrayList<>();
+        assertThat(LazyReact.sequentialCurrentBuilder()
+                            .of(1, 2, 3, 4)
+                            .capture(errors::add)
+                            .map(i -> {
+                                if (i == 2)
+                                    throw new RuntimeException(
+                                                               "boo");
+                                return i;
+                            })
+                            .grouped(2)
+                            .toList(),
+                   equalTo(ListX.of(ListX.of(1, 3), ListX.of(4))));
+        assertThat(errors.size(), equalTo(1));
+    }
+
+    @Test
+    public void syncInfiniteStreamIsLazy() {
+        assertThat(LazyReact.sequentialCurrentBuilder()
+                            .iterate(1, i -> i + 1)
+                            .groupedWhile(i -> i % 3 != 0)
+                            .limit(2)
+                            .toList(),
+                   equalTo(ListX.of(ListX.of(1, 2, 3), ListX.of(4, 5, 6))));
+    }
+
+    @Test
+    public void asyncFallsBackToQueue() {
+        assertThat(new LazyReact().of(3, 1, 2)
+                                  .map(i -> i * 2)
+                                  .sorted()
+                                  .toList(),
+                   equalTo(ListX.of(2, 4, 6)));
+    }
+
+    @Test
+    public void stackedStatefulOperators() {
+        final int size = LazyReact.sequentialCurrentBuilder()
+                                  .range(0, 200_000)
+                                  .map(i -> i + 1)
+                                  .scanLeft(0, (a, b) -> a + b)
+                                  .grouped(10)
+                                  .sliding(2)
+                                  .toList()
+                                  .size();
+        assertThat(size, equalTo(20_000));
+    }
+}
@@ -0,0 +1,140 @@
+package com.aol.cyclops.react.lazy;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.react.Stage;
+
+public class StagePinningTest {
+
+    ExecutorService io;
+    ExecutorService cpu;
+
+    private static ExecutorService pool(final String prefix, final int size) {
+        final AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(size, r -> {
+            final Thread t = new Thread(
+                                        r, prefix + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private static String thread() {
+        return Thread.currentThread()
+                     .getName();
+    }
+
+    private static void sleep(final int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+
+    @Before
+    public void setup() {
+        io = pool("io-", 20);
+        cpu = pool("cpu-", 2);
+    }
+
+    @After
+    public void tearDown() {
+        io.shutdown();
+        cpu.shutdown();
+    }
+
+    @Test
+    public void stagesRunOnTheirExecutors() {
+        final Stage fetch = Stage.of("fetch", io);
+        final Stage parse = Stage.of("parse", cpu);
+        final List<String[]> threads = new LazyReact().range(0, 50)
+                                                      .map(fetch, i -> thread())
+                                                      .map(s -> s + " " + thread())
+                                                      .map(parse, s -> s + " " + thread())
+                                                      .map(s -> s.split(" "))
+                                                      .toList();
+        assertThat(threads.size(), equalTo(50));
+        for (final String[] next : threads) {
+            assertThat(next[0], startsWith("io-"));
+            //unpinned stages stay on the thread of the previous stage
+            assertThat(next[1], equalTo(next[0]));
+            assertThat(next[2], startsWith("cpu-"));
+        }
+    }
+
+    @Test
+    public void pinnedFirstStageReplacesAutoOptimisedFanOut() {
+        assertThat(new LazyReact().autoOptimizeOn()
+                                  .of(1, 2, 3)
+                                  .map(Stage.of("parse", cpu), i -> thread())
+                                  .toList()
+                                  .stream()
+                                  .allMatch(t -> t.startsWith("cpu-")),
+                   equalTo(true));
+    }
+
+    @Test
+    public void metrics() {
+        final Stage stage = Stage.of("divide", cpu);
+        final List<Integer> results = new LazyReact().of(1, 2, 0, 4)
+                                                     .map(stage, i -> 12 / i)
+                                                     .toList();
+        assertThat(results.size(), equalTo(3));
+        assertThat(stage.count(), equalTo(4l));
+        assertThat(stage.errors(), equalTo(1l));
+        assertThat(stage.maxLatency(TimeUnit.NANOSECONDS), greaterThan(0.0));
+        assertThat(Stage.report(stage), containsString("divide : count=4, errors=1"));
+    }
+
+    @Test
+    public void latencyAndThroughput() {
+        final Stage fetch = Stage.of("fetch", io);
+        new LazyReact().range(0, 40)
+                       .map(fetch, i -> {
+                           sleep(10);
+                           return i;
+                       })
+                       .toList();
+        assertThat(fetch.meanLatency(TimeUnit.MILLISECONDS), greaterThan(9.0));
+        assertThat(fetch.count(), equalTo(40l));
+        assertThat(Stage.report(fetch), containsString("fetch : count=40, errors=0"));
+    }
+
+    @Test
+    public void mixedPipeline() {
+        final Stage fetch = Stage.of("fetch", io);
+        final Stage parse = Stage.of("parse", cpu);
+        final List<String[]> threads = new LazyReact().range(0, 400)
+                                                      .map(fetch, i -> {
+                                                          sleep(1);
+                                                          return thread();
+                                                      })
+                                                      .map(parse, s -> (s + " " + thread()).split(" "))
+                                                      .toList();
+        assertThat(threads.size(), equalTo(400));
+        for (final String[] next : threads) {
+            assertThat(next[0], startsWith("io-"));
+            assertThat(next[1], startsWith("cpu-"));
+        }
+        final String report = Stage.report(fetch, parse);
+        assertThat(report, containsString("fetch : count=400, errors=0"));
+        assertThat(report, containsString("parse : count=400, errors=0"));
+    }
+}
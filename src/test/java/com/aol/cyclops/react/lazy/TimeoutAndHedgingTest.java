@@ -0,0 +1,107 @@
+package com.aol.cyclops.react.lazy;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.FutureW;
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.util.resilience.Hedge;
+
+public class TimeoutAndHedgingTest {
+
+    private static final ExecutorService pool = Executors.newCachedThreadPool();
+
+    private CompletableFuture<Integer> after(final long millis, final int value) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Thread.sleep(millis);
+            } catch (final InterruptedException e) {
+            }
+            return value;
+        }, pool);
+    }
+
+    @Test
+    public void futureWWithin() {
+        final FutureW<Integer> completed = FutureW.ofResult(10)
+                                                  .within(10, TimeUnit.MILLISECONDS);
+        assertThat(completed.get(), equalTo(10));
+
+        final FutureW<Integer> fast = FutureW.of(after(10, 20))
+                                             .within(1, TimeUnit.SECONDS);
+        assertThat(fast.get(), equalTo(20));
+
+        final FutureW<Integer> slow = FutureW.of(new CompletableFuture<Integer>())
+                                             .within(20, TimeUnit.MILLISECONDS);
+        assertThat(slow.recover(e -> e instanceof TimeoutException ? -1 : -2)
+                       .get(),
+                   equalTo(-1));
+        assertTrue(slow.isFailed());
+    }
+
+    @Test
+    public void futureWWithinPropagatesErrors() {
+        final CompletableFuture<Integer> failing = new CompletableFuture<>();
+        final FutureW<Integer> result = FutureW.of(failing)
+                                               .within(1, TimeUnit.SECONDS);
+        failing.completeExceptionally(new IllegalStateException());
+        assertThat(result.recover(e -> e instanceof IllegalStateException ? -1 : -2)
+                         .get(),
+                   equalTo(-1));
+    }
+
+    @Test
+    public void mapAsyncWithTimeout() {
+        final List<Integer> result = new LazyReact().of(10, 20, 2000, 30)
+                                                    .mapAsyncWithTimeout(i -> after(i, i), 500, TimeUnit.MILLISECONDS)
+                                                    .recover(e -> -1)
+                                                    .toList();
+        assertThat(result.size(), equalTo(4));
+        assertTrue(result.contains(-1));
+        assertFalse(result.contains(2000));
+    }
+
+    @Test
+    public void mapAsyncWithTimeoutOnFail() {
+        final AtomicInteger timeouts = new AtomicInteger(0);
+        final List<Integer> result = new LazyReact().of(1, 2, 3)
+                                                    .mapAsyncWithTimeout(i -> new CompletableFuture<Integer>(), 50, TimeUnit.MILLISECONDS)
+                                                    .onFail(TimeoutException.class, e -> timeouts.incrementAndGet())
+                                                    .toList();
+        //the futures never complete, so every result is a timeout
+        assertThat(result.size(), equalTo(3));
+        assertThat(timeouts.get(), equalTo(3));
+    }
+
+    @Test
+    public void hedgedFanOut() {
+        final Hedge hedge = Hedge.atPercentile(95, 50, TimeUnit.MILLISECONDS);
+        final AtomicInteger calls = new AtomicInteger(0);
+        final long start = System.currentTimeMillis();
+        final List<Integer> result = new LazyReact().of(1, 2, 3, 4, 5)
+                                                    .hedge(i -> i == 3 && calls.incrementAndGet() == 1 ? after(3_000, i) : after(10, i), hedge)
+                                                    .toList();
+        final long time = System.currentTimeMillis() - start;
+        System.out.println("Hedged fan out in " + time + "ms " + hedge);
+        assertThat(result.stream()
+                         .sorted()
+                         .collect(Collectors.toList()),
+                   equalTo(Arrays.asList(1, 2, 3, 4, 5)));
+        assertThat(hedge.hedged(), greaterThan(0l));
+    }
+}
@@ -0,0 +1,68 @@
+package com.aol.cyclops.react.metrics;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.LazyReact;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void empty() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.count(), equalTo(0l));
+        assertThat(histogram.percentile(99, TimeUnit.NANOSECONDS), equalTo(0.0));
+        assertThat(histogram.mean(TimeUnit.NANOSECONDS), equalTo(0.0));
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 20; i++)
+            histogram.record(i);
+        assertThat(histogram.percentile(50, TimeUnit.NANOSECONDS), equalTo(10.0));
+        assertThat(histogram.percentile(100, TimeUnit.NANOSECONDS), equalTo(20.0));
+        assertThat(histogram.mean(TimeUnit.NANOSECONDS), equalTo(10.5));
+    }
+
+    @Test
+    public void bucketsCoverTheRangeOfLong() {
+        long last = -1;
+        for (long value = 0; value > 0 || value == 0; value = value * 3 + 1) {
+            final int index = LatencyHistogram.index(value);
+            assertThat(index >= last, equalTo(true));
+            final long approx = LatencyHistogram.valueAt(index);
+            assertThat((double) Math.abs(approx - value), lessThanOrEqualTo(value * 0.032));
+            last = index;
+        }
+        LatencyHistogram.index(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void percentilesWithinPrecision() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final Random random = new Random(
+                                         0);
+        for (int i = 0; i < 100_000; i++)
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(random.nextInt(10_000)));
+        assertThat(histogram.percentile(50, TimeUnit.MILLISECONDS), closeTo(5, 0.2));
+        assertThat(histogram.percentile(99, TimeUnit.MILLISECONDS), closeTo(9.9, 0.35));
+        assertThat(histogram.max(TimeUnit.MILLISECONDS), closeTo(10, 0.01));
+    }
+
+    @Test
+    public void concurrentRecording() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        new LazyReact().range(0, 10_000)
+                       .forEach(i -> histogram.record(i % 100));
+        assertThat(histogram.count(), equalTo(10_000l));
+        assertThat(histogram.percentile(100, TimeUnit.NANOSECONDS), equalTo(99.0));
+    }
+}
@@ -0,0 +1,190 @@
+package com.aol.cyclops.react.metrics;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.data.async.Queue;
+import com.aol.cyclops.data.async.QueueFactories;
+import com.aol.cyclops.data.async.wait.WaitStrategy;
+import com.aol.cyclops.react.Stage;
+import com.aol.cyclops.react.collectors.lazy.MaxActive;
+
+public class PipelineMetricsTest {
+
+    private static void sleep(final int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+
+    @Test
+    public void offByDefault() {
+        assertThat(new LazyReact().getMetrics(), equalTo(null));
+    }
+
+    @Test
+    public void endToEndLatencyAndErrors() {
+        final PipelineMetrics metrics = new PipelineMetrics(
+                                                            "test");
+        final List<Integer> result = new LazyReact().metricsOn(metrics)
+                                                    .of(1, 2, 0, 4)
+                                                    .map(i -> 12 / i)
+                                                    .filter(i -> i > 3)
+                                                    .toList();
+        assertThat(result.size(), equalTo(2));
+        assertThat(metrics.latency()
+                          .count(),
+                   equalTo(4l));
+        //filtered elements are not errors
+        assertThat(metrics.errors(), equalTo(1l));
+        assertThat(metrics.inFlight(), equalTo(0l));
+    }
+
+    @Test
+    public void inFlightBoundedByMaxActive() {
+        final PipelineMetrics metrics = new PipelineMetrics(
+                                                            "test");
+        new LazyReact(
+                      20, 20).withMaxActive(new MaxActive(
+                                                          10, 5))
+                             .metricsOn(metrics)
+                             .range(0, 100)
+                             .map(i -> {
+                                 sleep(2);
+                                 return i;
+                             })
+                             .toList();
+        assertThat(metrics.peakInFlight(), greaterThan(1l));
+        //completion is recorded just after the collector sees the element is done, so may briefly overshoot
+        assertThat(metrics.peakInFlight(), lessThan(20l));
+        assertThat(metrics.inFlight(), equalTo(0l));
+    }
+
+    @Test
+    public void stageHistograms() {
+        final ExecutorService io = Executors.newFixedThreadPool(10);
+        try {
+            final PipelineMetrics metrics = new PipelineMetrics(
+                                                                "test");
+            final Stage fetch = metrics.stage("fetch", io);
+            new LazyReact().range(0, 50)
+                           .map(fetch, i -> {
+                               sleep(i == 0 ? 50 : 1);
+                               return i;
+                           })
+                           .toList();
+            assertThat(fetch.latency()
+                            .percentile(50, TimeUnit.MILLISECONDS),
+                       lessThan(20.0));
+            assertThat(fetch.latency()
+                            .percentile(100, TimeUnit.MILLISECONDS),
+                       greaterThan(45.0));
+            assertThat(metrics.snapshot()
+                              .get("test.stage.fetch.count"),
+                       equalTo(50.0));
+            assertThat(metrics.toString(), containsString("fetch : count=50"));
+        } finally {
+            io.shutdown();
+        }
+    }
+
+    @Test
+    public void queueDepthAndWaitStalls() {
+        final PipelineMetrics metrics = new PipelineMetrics(
+                                                            "test");
+        final WaitStrategy<Integer> wait = metrics.waitStrategy("inbound", WaitStrategy.spinWait());
+        final Queue<Integer> queue = metrics.queue("inbound", QueueFactories.<Integer> boundedNonBlockingQueue(100, wait)
+                                                                            .build());
+        queue.offer(1);
+        queue.offer(2);
+        assertThat(metrics.snapshot()
+                          .get("test.queue.inbound.depth"),
+                   equalTo(2.0));
+        new Thread(
+                   () -> {
+                       sleep(50);
+                       queue.offer(3);
+                   }).start();
+        final List<Integer> taken = new ArrayList<>();
+        for (int i = 0; i < 3; i++)
+            taken.add(queue.get());
+        assertThat(taken.size(), equalTo(3));
+        final Map<String, Double> snapshot = metrics.snapshot();
+        assertThat(snapshot.get("test.wait.inbound.takeStalls"), equalTo(1.0));
+        assertThat(snapshot.get("test.wait.inbound.stallTime.max"), greaterThan(20.0));
+        assertThat(snapshot.get("test.queue.inbound.depth"), equalTo(0.0));
+    }
+
+    @Test
+    public void exportToSink() throws InterruptedException {
+        final PipelineMetrics metrics = new PipelineMetrics(
+                                                            "test");
+        new LazyReact().metricsOn(metrics)
+                       .of(1, 2, 3)
+                       .toList();
+        final Map<String, Double> exported = new LinkedHashMap<>();
+        metrics.export(exported::put);
+        assertThat(exported.get("test.latency.count"), equalTo(3.0));
+        assertThat(exported.get("test.inFlight"), equalTo(0.0));
+        assertThat(new ArrayList<>(exported.keySet()), equalTo(new ArrayList<>(metrics.snapshot()
+                                                                                     .keySet()
+                                                                                     .stream()
+                                                                                     .sorted()
+                                                                                     .collect(java.util.stream.Collectors.toList()))));
+
+        final List<String> scheduled = new java.util.concurrent.CopyOnWriteArrayList<>();
+        final ScheduledFuture<?> export = metrics.exportEvery(10, TimeUnit.MILLISECONDS, (name, value) -> scheduled.add(name));
+        sleep(100);
+        export.cancel(false);
+        assertThat(scheduled.size(), greaterThan(exported.size()));
+    }
+
+    /**
+     * simple sanity check of instrumentation overhead, not a proper benchmark! Only what the metrics record is asserted
+     */
+    @Test
+    public void overheadPerfCheck() {
+        final long plain = time(LazyReact.sequentialBuilder());
+        final PipelineMetrics metrics = new PipelineMetrics(
+                                                            "perf");
+        final long instrumented = time(LazyReact.sequentialBuilder()
+                                                .metricsOn(metrics));
+        System.out.println("1,000,000 elements took " + plain + "ms, with metrics " + instrumented + "ms" + System.lineSeparator()
+                + metrics);
+        assertThat(metrics.latency()
+                          .count(),
+                   equalTo(1_000_000l));
+        final Map<String, Double> snapshot = metrics.snapshot();
+        assertThat(snapshot.get("perf.latency.count"), equalTo(1_000_000.0));
+        assertThat(snapshot.get("perf.inFlight"), equalTo(0.0));
+        assertThat(snapshot.get("perf.errors"), equalTo(0.0));
+    }
+
+    private long time(final LazyReact react) {
+        final long start = System.currentTimeMillis();
+        react.range(0, 1_000_000)
+             .map(i -> i + 1)
+             .map(i -> i * 2)
+             .forEach(i -> {
+             });
+        return System.currentTimeMillis() - start;
+    }
+}
@@ -0,0 +1,109 @@
+package com.aol.cyclops.react.threads;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.control.SimpleReact;
+import com.aol.cyclops.react.ThreadPools;
+import com.aol.cyclops.react.collectors.lazy.MaxActive;
+
+public class VirtualThreadsTest {
+
+    private static int javaVersion() {
+        final String version = System.getProperty("java.specification.version");
+        return version.startsWith("1.") ? Integer.parseInt(version.substring(2)) : Integer.parseInt(version);
+    }
+
+    private static void sleep(final int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+
+    @Test
+    public void supportDependsOnJvm() {
+        assertThat(ThreadPools.isVirtualThreadsSupported(), equalTo(javaVersion() >= 21));
+        assertThat(LazyReact.virtualThreads()
+                            .getMaxActive(),
+                   equalTo(ThreadPools.isVirtualThreadsSupported() ? MaxActive.VIRTUAL : MaxActive.IO));
+    }
+
+    @Test
+    public void lazyReact() {
+        assertThat(LazyReact.virtualThreads()
+                            .range(0, 100)
+                            .map(i -> i * 2)
+                            .toList()
+                            .size(),
+                   equalTo(100));
+    }
+
+    @Test
+    public void simpleReact() {
+        final List<String> result = SimpleReact.virtualThreads()
+                                               .ofAsync(() -> "hello", () -> "world")
+                                               .block();
+        assertThat(result.size(), equalTo(2));
+    }
+
+    @Test
+    public void inFlightLimitedByMaxActive() {
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        LazyReact.virtualThreads()
+                 .withMaxActive(new MaxActive(
+                                              20, 10))
+                 .range(0, 200)
+                 .map(i -> {
+                     peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+                     sleep(5);
+                     active.decrementAndGet();
+                     return i;
+                 })
+                 .toList();
+        assertThat(peak.get(), lessThan(22));
+    }
+
+    @Test
+    public void blockingFanOutRunsConcurrently() {
+        //every task blocks until all of them have started, which only completes if they are in flight together
+        final int tasks = 50;
+        final CountDownLatch started = new CountDownLatch(
+                                                          tasks);
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        final List<Boolean> released = LazyReact.virtualThreads()
+                                                .range(0, tasks)
+                                                .map(i -> {
+                                                    peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+                                                    started.countDown();
+                                                    try {
+                                                        return started.await(10, TimeUnit.SECONDS);
+                                                    } catch (final InterruptedException e) {
+                                                        Thread.currentThread()
+                                                              .interrupt();
+                                                        return false;
+                                                    } finally {
+                                                        active.decrementAndGet();
+                                                    }
+                                                })
+                                                .toList();
+        assertThat(released.size(), equalTo(tasks));
+        assertThat(released.stream()
+                           .allMatch(r -> r),
+                   equalTo(true));
+        assertThat(peak.get(), equalTo(tasks));
+    }
+}
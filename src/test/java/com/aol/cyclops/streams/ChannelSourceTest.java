@@ -0,0 +1,281 @@
+package com.aol.cyclops.streams;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.types.stream.reactive.ChannelPublisher;
+
+public class ChannelSourceTest {
+
+    private static final ExecutorService pool = Executors.newCachedThreadPool();
+
+    static class TrackingInputStream extends ByteArrayInputStream {
+        final AtomicInteger bytesRead = new AtomicInteger();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        TrackingInputStream(final byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public synchronized int read(final byte[] b, final int off, final int len) {
+            final int read = super.read(b, off, len);
+            if (read > 0)
+                bytesRead.addAndGet(read);
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed.set(true);
+        }
+    }
+
+    private byte[] bytes(final int size) {
+        final byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++)
+            bytes[i] = (byte) i;
+        return bytes;
+    }
+
+    private byte[] join(final List<ByteBuffer> chunks) {
+        final ByteBuffer all = ByteBuffer.allocate(chunks.stream()
+                                                         .mapToInt(ByteBuffer::remaining)
+                                                         .sum());
+        chunks.forEach(c -> all.put(c.duplicate()));
+        return all.array();
+    }
+
+    @Test
+    public void fixedSizeChunks() {
+        final TrackingInputStream in = new TrackingInputStream(
+                                                               bytes(10));
+        final List<ByteBuffer> chunks = ReactiveSeq.fromInputStream(() -> in, 4)
+                                                   .toList();
+        assertThat(ReactiveSeq.fromIterable(chunks)
+                              .map(ByteBuffer::remaining)
+                              .toList(),
+                   equalTo(Arrays.asList(4, 4, 2)));
+        assertTrue(Arrays.equals(join(chunks), bytes(10)));
+        assertTrue(in.closed.get());
+    }
+
+    @Test
+    public void readsOnlyWhatIsPulled() {
+        final TrackingInputStream in = new TrackingInputStream(
+                                                               bytes(1000));
+        final AtomicBoolean opened = new AtomicBoolean();
+        final ReactiveSeq<ByteBuffer> chunks = ReactiveSeq.fromInputStream(() -> {
+            opened.set(true);
+            return in;
+        } , 10);
+        assertFalse(opened.get());
+        assertThat(chunks.limit(2)
+                         .toList()
+                         .size(),
+                   equalTo(2));
+        assertThat(in.bytesRead.get(), equalTo(20));
+    }
+
+    @Test
+    public void closeReleasesInputStream() {
+        final TrackingInputStream in = new TrackingInputStream(
+                                                               bytes(100));
+        try (ReactiveSeq<ByteBuffer> chunks = ReactiveSeq.fromInputStream(() -> in, 10)) {
+            chunks.iterator()
+                  .next();
+        }
+        assertTrue(in.closed.get());
+    }
+
+    @Test
+    public void publisherHonoursDemand() {
+        final TrackingInputStream in = new TrackingInputStream(
+                                                               bytes(100));
+        final List<ByteBuffer> received = new ArrayList<>();
+        final AtomicReference<Subscription> subscription = new AtomicReference<>();
+        ChannelPublisher.fromInputStream(() -> in, 10)
+                        .subscribe(new Subscriber<ByteBuffer>() {
+                            @Override
+                            public void onSubscribe(final Subscription s) {
+                                subscription.set(s);
+                            }
+
+                            @Override
+                            public void onNext(final ByteBuffer t) {
+                                received.add(t);
+                            }
+
+                            @Override
+                            public void onError(final Throwable t) {
+                            }
+
+                            @Override
+                            public void onComplete() {
+                            }
+                        });
+        assertThat(in.bytesRead.get(), equalTo(0));
+        subscription.get()
+                    .request(1);
+        assertThat(received.size(), equalTo(1));
+        assertThat(in.bytesRead.get(), equalTo(10));
+        subscription.get()
+                    .request(2);
+        assertThat(received.size(), equalTo(3));
+        assertThat(in.bytesRead.get(), equalTo(30));
+        subscription.get()
+                    .cancel();
+        assertTrue(in.closed.get());
+    }
+
+    @Test
+    public void publisherOnExecutor() throws InterruptedException {
+        final List<ByteBuffer> chunks = new ArrayList<>();
+        final CountDownLatch complete = new CountDownLatch(
+                                                           1);
+        ChannelPublisher.of(() -> Channels.newChannel(new ByteArrayInputStream(
+                                                                               bytes(1000))),
+                            64, pool)
+                        .subscribe(new Subscriber<ByteBuffer>() {
+                            Subscription s;
+
+                            @Override
+                            public void onSubscribe(final Subscription s) {
+                                this.s = s;
+                                s.request(1);
+                            }
+
+                            @Override
+                            public void onNext(final ByteBuffer t) {
+                                chunks.add(t);
+                                s.request(1);
+                            }
+
+                            @Override
+                            public void onError(final Throwable t) {
+                            }
+
+                            @Override
+                            public void onComplete() {
+                                complete.countDown();
+                            }
+                        });
+        assertTrue(complete.await(10, TimeUnit.SECONDS));
+        assertTrue(Arrays.equals(join(chunks), bytes(1000)));
+    }
+
+    @Test
+    public void publisherErrors() {
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        ChannelPublisher.fromInputStream(() -> new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException(
+                                      "boom");
+            }
+        } , 10)
+                        .subscribe(new Subscriber<ByteBuffer>() {
+                            @Override
+                            public void onSubscribe(final Subscription s) {
+                                s.request(1);
+                            }
+
+                            @Override
+                            public void onNext(final ByteBuffer t) {
+                            }
+
+                            @Override
+                            public void onError(final Throwable t) {
+                                error.set(t);
+                            }
+
+                            @Override
+                            public void onComplete() {
+                            }
+                        });
+        assertThat(error.get(), instanceOf(IOException.class));
+    }
+
+    @Test
+    public void invalidRequestSignalledAfterOnNextReturns() throws InterruptedException {
+        final TrackingInputStream in = new TrackingInputStream(
+                                                               bytes(1000));
+        final AtomicBoolean inOnNext = new AtomicBoolean();
+        final AtomicBoolean overlapped = new AtomicBoolean();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final CountDownLatch errored = new CountDownLatch(
+                                                          1);
+        ChannelPublisher.of(() -> Channels.newChannel(in), 64, pool)
+                        .subscribe(new Subscriber<ByteBuffer>() {
+                            Subscription s;
+
+                            @Override
+                            public void onSubscribe(final Subscription s) {
+                                this.s = s;
+                                s.request(1);
+                            }
+
+                            @Override
+                            public void onNext(final ByteBuffer t) {
+                                inOnNext.set(true);
+                                s.request(0);
+                                inOnNext.set(false);
+                            }
+
+                            @Override
+                            public void onError(final Throwable t) {
+                                overlapped.set(inOnNext.get());
+                                error.set(t);
+                                errored.countDown();
+                            }
+
+                            @Override
+                            public void onComplete() {
+                            }
+                        });
+        assertTrue(errored.await(10, TimeUnit.SECONDS));
+        assertThat(error.get(), instanceOf(IllegalArgumentException.class));
+        assertFalse(overlapped.get());
+        assertTrue(in.closed.get());
+    }
+
+    @Test
+    public void largePayloadReadInFull() {
+        final byte[] payload = new byte[64 * 1024 * 1024];
+        for (int i = 0; i < payload.length; i++)
+            payload[i] = (byte) (i % 100 == 99 ? '\n' : 'a');
+        assertThat(chunks(payload), equalTo((long) payload.length));
+    }
+
+    private long chunks(final byte[] payload) {
+        return ReactiveSeq.fromInputStream(() -> new ByteArrayInputStream(
+                                                                          payload),
+                                           64 * 1024)
+                          .mapToLong(ByteBuffer::remaining)
+                          .sum();
+    }
+}
@@ -0,0 +1,125 @@
+package com.aol.cyclops.streams;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.control.StreamUtils;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.util.stream.Serializer;
+
+public class ExternalSortTest {
+
+    private int runFiles() throws IOException {
+        int count = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(System.getProperty("java.io.tmpdir")), "cyclops-sort*.run")) {
+            for (final Path p : files)
+                count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void inMemory() {
+        assertThat(ReactiveSeq.of(4, 3, 6, 7)
+                              .sortedExternal(Comparator.naturalOrder(), Serializer.ints(), 10)
+                              .toList(),
+                   equalTo(ListX.of(3, 4, 6, 7)));
+    }
+
+    @Test
+    public void empty() {
+        assertThat(ReactiveSeq.<Integer> empty()
+                              .sortedExternal(Comparator.naturalOrder(), Serializer.ints(), 10)
+                              .toList(),
+                   equalTo(ListX.empty()));
+    }
+
+    @Test
+    public void spilled() throws IOException {
+        final int before = runFiles();
+        final List<Integer> values = new Random(
+                                                42).ints(10_000)
+                                                   .boxed()
+                                                   .collect(Collectors.toList());
+        final List<Integer> sorted = ReactiveSeq.fromIterable(values)
+                                                .sortedExternal(Comparator.naturalOrder(), Serializer.ints(), 100)
+                                                .toList();
+        final List<Integer> expected = new ArrayList<>(
+                                                       values);
+        expected.sort(Comparator.naturalOrder());
+        assertThat(sorted, equalTo(expected));
+        assertThat(runFiles(), equalTo(before));
+    }
+
+    @Test
+    public void multiPassMergeIsStable() throws IOException {
+        final int before = runFiles();
+        final List<String> values = ReactiveSeq.range(0, 1_000)
+                                               .map(i -> (i % 7) + ":" + i)
+                                               .toList();
+        final Comparator<String> byKey = Comparator.comparing(s -> s.substring(0, s.indexOf(':')));
+        final List<String> sorted = StreamUtils.sortedExternal(values.stream(), byKey, Serializer.strings(), 3)
+                                               .collect(Collectors.toList());
+        final List<String> expected = new ArrayList<>(
+                                                      values);
+        expected.sort(byKey);
+        assertThat(sorted, equalTo(expected));
+        assertThat(runFiles(), equalTo(before));
+    }
+
+    @Test
+    public void closeRemovesFiles() throws IOException {
+        final int before = runFiles();
+        final ReactiveSeq<Integer> sorted = ReactiveSeq.range(0, 1_000)
+                                                       .map(i -> 1_000 - i)
+                                                       .sortedExternal(Comparator.naturalOrder(), Serializer.ints(), 10);
+        assertThat(sorted.limit(3)
+                         .toList(),
+                   equalTo(ListX.of(1, 2, 3)));
+        sorted.close();
+        assertThat(runFiles(), equalTo(before));
+    }
+
+    @Test
+    public void javaSerialization() {
+        assertThat(ReactiveSeq.of(5l, 1l, 4l, 2l, 3l)
+                              .sortedExternal(Comparator.reverseOrder(), Serializer.java(), 2)
+                              .toList(),
+                   equalTo(ListX.of(5l, 4l, 3l, 2l, 1l)));
+    }
+
+    @Test
+    public void lazyFutureStream() {
+        assertThat(new LazyReact().of(3, 1, 2, 5, 4)
+                                  .map(i -> i * 10)
+                                  .sortedExternal(Comparator.naturalOrder(), Serializer.ints(), 2)
+                                  .toList(),
+                   equalTo(ListX.of(10, 20, 30, 40, 50)));
+    }
+
+    @Test
+    public void sortManyRuns() {
+        final long count = new Random(
+                                      1).longs(2_000_000)
+                                        .boxed()
+                                        .collect(Collectors.collectingAndThen(Collectors.toList(), ReactiveSeq::fromIterable))
+                                        .sortedExternal(Comparator.naturalOrder(), Serializer.longs(), 200_000)
+                                        .count();
+        assertThat(count, equalTo(2_000_000l));
+    }
+}
@@ -0,0 +1,186 @@
+package com.aol.cyclops.streams;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.util.stream.Encoder;
+import com.aol.cyclops.util.stream.FileSink;
+import com.aol.cyclops.util.stream.SinkOptions;
+
+public class FileSinkTest {
+
+    private static final ExecutorService pool = Executors.newCachedThreadPool();
+
+    private Path file() throws IOException {
+        final Path path = Files.createTempFile("cyclops-sink", ".txt");
+        path.toFile()
+            .deleteOnExit();
+        return path;
+    }
+
+    private List<String> expected(final int count) {
+        return ReactiveSeq.range(0, count)
+                          .map(i -> "line " + i)
+                          .toList();
+    }
+
+    private List<String> read(final ListX<Path> files) {
+        final List<String> lines = new ArrayList<>();
+        for (final Path next : files) {
+            next.toFile()
+                .deleteOnExit();
+            try {
+                lines.addAll(Files.readAllLines(next));
+            } catch (final IOException e) {
+                throw new UncheckedIOException(
+                                               e);
+            }
+        }
+        return lines;
+    }
+
+    @Test
+    public void asynchronous() throws IOException {
+        final Path path = file();
+        final FileSink<String> sink = ReactiveSeq.range(0, 10_000)
+                                                 .map(i -> "line " + i)
+                                                 .toFile(path, Encoder.lines(StandardCharsets.UTF_8), SinkOptions.defaults()
+                                                                                                                 .withBufferSize(1024)
+                                                                                                                 .withMaxInFlight(2));
+        assertThat(Files.readAllLines(path), equalTo(expected(10_000)));
+        assertThat(sink.getBytesWritten(), equalTo(Files.size(path)));
+    }
+
+    @Test
+    public void gatherWrites() throws IOException {
+        final Path path = file();
+        ReactiveSeq.range(0, 10_000)
+                   .map(i -> "line " + i)
+                   .toFile(path, Encoder.lines(StandardCharsets.UTF_8), SinkOptions.defaults()
+                                                                                   .withBufferSize(512)
+                                                                                   .withAsynchronous(false));
+        assertThat(Files.readAllLines(path), equalTo(expected(10_000)));
+    }
+
+    @Test
+    public void emptyStreamCreatesEmptyFile() throws IOException {
+        final Path path = file();
+        Files.write(path, "old".getBytes());
+        ReactiveSeq.<String> empty()
+                   .toFile(path, Encoder.lines(StandardCharsets.UTF_8));
+        assertThat(Files.size(path), equalTo(0l));
+    }
+
+    @Test
+    public void elementsLargerThanBuffer() throws IOException {
+        final Path path = file();
+        final String large = ReactiveSeq.range(0, 5000)
+                                        .map(i -> "x")
+                                        .join();
+        ReactiveSeq.of("a", large, "b", large)
+                   .toFile(path, Encoder.lines(StandardCharsets.UTF_8), SinkOptions.defaults()
+                                                                                   .withBufferSize(100));
+        assertThat(Files.readAllLines(path), equalTo(ListX.of("a", large, "b", large)));
+    }
+
+    @Test
+    public void rotateBySize() throws IOException {
+        for (final boolean async : ListX.of(true, false)) {
+            final Path path = file();
+            final FileSink<String> sink = ReactiveSeq.range(0, 1000)
+                                                     .map(i -> "line " + i)
+                                                     .toFile(path, Encoder.lines(StandardCharsets.UTF_8), SinkOptions.defaults()
+                                                                                                                     .withBufferSize(64)
+                                                                                                                     .withAsynchronous(async)
+                                                                                                                     .rotateBySize(1000));
+            assertThat(sink.getFiles()
+                           .size(),
+                       greaterThan(5));
+            assertThat(sink.getFiles()
+                           .get(1),
+                       equalTo(path.resolveSibling(path.getFileName() + ".1")));
+            for (final Path next : sink.getFiles())
+                assertThat(Files.size(next), lessThan(1000l + 10));
+            assertThat(read(sink.getFiles()), equalTo(expected(1000)));
+        }
+    }
+
+    @Test
+    public void rotateByTime() throws IOException {
+        final Path path = file();
+        final FileSink<String> sink = ReactiveSeq.of("a", "b", "c")
+                                                 .toFile(path, Encoder.lines(StandardCharsets.UTF_8), SinkOptions.defaults()
+                                                                                                                 .rotateEvery(1, TimeUnit.NANOSECONDS));
+        assertThat(sink.getFiles()
+                       .size(),
+                   equalTo(3));
+        assertThat(read(sink.getFiles()), equalTo(ListX.of("a", "b", "c")));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void closed() throws IOException {
+        final FileSink<String> sink = FileSink.of(file(), Encoder.lines(StandardCharsets.UTF_8), SinkOptions.defaults());
+        sink.close();
+        sink.accept("late");
+    }
+
+    @Test
+    public void lazyFutureStream() throws IOException {
+        final Path path = file();
+        final FileSink<String> sink = new LazyReact(
+                                                    pool).range(0, 10_000)
+                                                         .map(i -> "line " + i)
+                                                         .writeTo(path, Encoder.lines(StandardCharsets.UTF_8), SinkOptions.defaults()
+                                                                                                                          .withBufferSize(1024)
+                                                                                                                          .withMaxInFlight(1))
+                                                         .get();
+        final List<String> lines = Files.readAllLines(path);
+        final List<String> expected = expected(10_000);
+        Collections.sort(lines);
+        Collections.sort(expected);
+        assertThat(lines, equalTo(expected));
+        assertThat(sink.getBytesWritten(), equalTo(Files.size(path)));
+    }
+
+    @Test
+    public void matchesBufferedWriter() throws IOException {
+        final Path expected = file();
+        try (BufferedWriter writer = Files.newBufferedWriter(expected)) {
+            ReactiveSeq.range(0, 100_000)
+                       .forEach(i -> {
+                           try {
+                               writer.write("line " + i + "\n");
+                           } catch (final IOException e) {
+                               throw new UncheckedIOException(
+                                                              e);
+                           }
+                       });
+        }
+        final Path path = file();
+        final FileSink<String> sink = ReactiveSeq.range(0, 100_000)
+                                                 .map(i -> "line " + i)
+                                                 .toFile(path, Encoder.lines(StandardCharsets.UTF_8));
+        assertThat(Files.readAllBytes(path), equalTo(Files.readAllBytes(expected)));
+        assertThat(sink.getBytesWritten(), equalTo(Files.size(expected)));
+    }
+}
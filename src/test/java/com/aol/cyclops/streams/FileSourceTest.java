@@ -0,0 +1,154 @@
+package com.aol.cyclops.streams;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.control.StreamUtils;
+import com.aol.cyclops.util.stream.FileOptions;
+
+public class FileSourceTest {
+
+    private Path file(final String content) throws IOException {
+        final Path path = Files.createTempFile("cyclops-file", ".txt");
+        path.toFile()
+            .deleteOnExit();
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    private String text(final ByteBuffer buffer) {
+        return StandardCharsets.UTF_8.decode(buffer)
+                                     .toString();
+    }
+
+    @Test
+    public void lines() throws IOException {
+        final Path path = file("hello\nworld\r\n\nlast");
+        try (ReactiveSeq<ByteBuffer> records = ReactiveSeq.fromFile(path)) {
+            assertThat(records.map(this::text)
+                              .toList(),
+                       equalTo(Arrays.asList("hello", "world", "", "last")));
+        }
+    }
+
+    @Test
+    public void trailingDelimiterAndEmptyFile() throws IOException {
+        assertThat(ReactiveSeq.fromFile(file("a\nb\n"))
+                              .map(this::text)
+                              .toList(),
+                   equalTo(Arrays.asList("a", "b")));
+        assertThat(ReactiveSeq.fromFile(file(""))
+                              .count(),
+                   equalTo(0l));
+    }
+
+    @Test
+    public void recordsSpanningChunks() throws IOException {
+        final String longRecord = ReactiveSeq.range(0, 100)
+                                             .map(i -> "x")
+                                             .join();
+        final Path path = file("ab;" + longRecord + ";cd;ef");
+        for (final boolean mapped : Arrays.asList(true, false)) {
+            final List<String> result = ReactiveSeq.fromFile(path, FileOptions.lines()
+                                                                              .withDelimiter((byte) ';')
+                                                                              .withChunkSize(4)
+                                                                              .withMemoryMapped(mapped))
+                                                   .map(this::text)
+                                                   .toList();
+            assertThat(result, equalTo(Arrays.asList("ab", longRecord, "cd", "ef")));
+        }
+    }
+
+    @Test
+    public void text() throws IOException {
+        final Path path = file("café\nabc");
+        assertThat(ReactiveSeq.fromFileText(path, FileOptions.lines())
+                              .map(Object::toString)
+                              .toList(),
+                   equalTo(Arrays.asList("café", "abc")));
+        final List<CharSequence> ascii = ReactiveSeq.fromFileText(path, FileOptions.lines()
+                                                                                   .withCharset(StandardCharsets.US_ASCII))
+                                                    .toList();
+        assertThat(ascii.get(1)
+                        .subSequence(1, 3)
+                        .toString(),
+                   equalTo("bc"));
+        assertThat(ascii.get(1)
+                        .charAt(0),
+                   equalTo('a'));
+    }
+
+    private Path largeFile(final int lines) throws IOException {
+        final Path path = Files.createTempFile("cyclops-file", ".log");
+        path.toFile()
+            .deleteOnExit();
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            for (int i = 0; i < lines; i++) {
+                writer.write("line " + i);
+                writer.newLine();
+            }
+        }
+        return path;
+    }
+
+    @Test
+    public void parallelSplitsByByteRange() throws IOException {
+        final Path path = largeFile(200_000);
+        final List<String> expected = Files.readAllLines(path);
+        try (Stream<ByteBuffer> records = StreamUtils.fromFile(path, FileOptions.lines()
+                                                                                .withChunkSize(64 * 1024)
+                                                                                .withParallel(true))) {
+            assertTrue(records.isParallel());
+            assertThat(records.map(this::text)
+                              .collect(Collectors.toList()),
+                       equalTo(expected));
+        }
+    }
+
+    @Test
+    public void closeReleasesFile() throws IOException {
+        final AtomicBoolean closed = new AtomicBoolean(false);
+        final ReactiveSeq<ByteBuffer> records = ReactiveSeq.fromFile(file("a"))
+                                                           .onClose(() -> closed.set(true));
+        records.close();
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void largeFileMatchesFilesLines() throws IOException {
+        final Path path = largeFile(1_000_000);
+        //one in ten line numbers ends in 7
+        assertThat(records(path), equalTo(100_000l));
+        assertThat(records(path), equalTo(lines(path)));
+    }
+
+    private long lines(final Path path) throws IOException {
+        try (ReactiveSeq<String> lines = ReactiveSeq.fromStream(Files.lines(path))) {
+            return lines.filter(l -> l.charAt(l.length() - 1) == '7')
+                        .count();
+        }
+    }
+
+    private long records(final Path path) {
+        try (ReactiveSeq<ByteBuffer> records = ReactiveSeq.fromFile(path)) {
+            return records.filter(r -> r.get(r.limit() - 1) == '7')
+                          .count();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.aol.cyclops.streams;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.ReactiveSeq;
+
+public class ReactiveSeqCloseTest {
+
+    @Test
+    public void onCloseRunsOnClose() {
+        final AtomicBoolean closed = new AtomicBoolean(
+                                                       false);
+        final ReactiveSeq<Integer> seq = ReactiveSeq.of(1, 2, 3)
+                                                    .onClose(() -> closed.set(true));
+        assertFalse(closed.get());
+        seq.close();
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void onCloseIsNotRunByTerminalOperations() {
+        final AtomicBoolean closed = new AtomicBoolean(
+                                                       false);
+        assertThat(ReactiveSeq.of(1, 2, 3)
+                              .onClose(() -> closed.set(true))
+                              .toList(),
+                   equalTo(Arrays.asList(1, 2, 3)));
+        assertFalse(closed.get());
+    }
+
+    @Test
+    public void handlersRunInOrderAfterFurtherOperations() {
+        final List<String> closed = new ArrayList<>();
+        final ReactiveSeq<Integer> seq = ReactiveSeq.of(1, 2, 3)
+                                                    .onClose(() -> closed.add("first"))
+                                                    .map(i -> i * 2)
+                                                    .onClose(() -> closed.add("second"))
+                                                    .filter(i -> i > 2);
+        assertThat(seq.toList(), equalTo(Arrays.asList(4, 6)));
+        seq.close();
+        assertThat(closed, equalTo(Arrays.asList("first", "second")));
+    }
+
+    @Test
+    public void tryWithResourcesCloses() {
+        final AtomicBoolean closed = new AtomicBoolean(
+                                                       false);
+        try (ReactiveSeq<Integer> seq = ReactiveSeq.of(1, 2, 3)
+                                                   .onClose(() -> closed.set(true))) {
+            assertThat(seq.findFirst()
+                          .get(),
+                       equalTo(1));
+        }
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void closePropagatesToWrappedStream() {
+        final AtomicBoolean closed = new AtomicBoolean(
+                                                       false);
+        final ReactiveSeq<Integer> seq = ReactiveSeq.fromStream(Stream.of(1, 2, 3)
+                                                                      .onClose(() -> closed.set(true)));
+        seq.close();
+        assertTrue(closed.get());
+    }
+}
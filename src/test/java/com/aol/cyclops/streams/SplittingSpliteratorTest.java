@@ -0,0 +1,198 @@
+package com.aol.cyclops.streams;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.data.collections.extensions.persistent.PSetX;
+import com.aol.cyclops.data.collections.extensions.persistent.PStackX;
+import com.aol.cyclops.data.collections.extensions.persistent.PVectorX;
+import com.aol.cyclops.internal.stream.spliterators.ReversingArraySpliterator;
+import com.aol.cyclops.internal.stream.spliterators.ReversingListSpliterator;
+import com.aol.cyclops.internal.stream.spliterators.ReversingRangeIntSpliterator;
+import com.aol.cyclops.internal.stream.spliterators.ReversingRangeLongSpliterator;
+
+public class SplittingSpliteratorTest {
+
+    private static final List<Integer> EXPECTED = IntStream.range(0, 10_000)
+                                                           .boxed()
+                                                           .collect(Collectors.toList());
+
+    private static <T> List<T> toList(final Spliterator<T> split) {
+        final List<T> result = new ArrayList<>();
+        split.forEachRemaining(result::add);
+        return result;
+    }
+
+    private static <T> void assertEvenSplit(final Spliterator<T> split, final long size) {
+        assertThat(split.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED), equalTo(true));
+        final Spliterator<T> prefix = split.trySplit();
+        assertThat(prefix.estimateSize(), equalTo(size / 2));
+        assertThat(split.estimateSize(), equalTo(size - size / 2));
+    }
+
+    @Test
+    public void rangeSplitsEvenly() {
+        final ReversingRangeIntSpliterator range = new ReversingRangeIntSpliterator(
+                                                                                    0, 10, false);
+        final Spliterator.OfInt prefix = range.trySplit();
+        assertThat(toList(prefix), equalTo(ReactiveSeq.range(0, 5)
+                                                      .toList()));
+        assertThat(toList(range), equalTo(ReactiveSeq.range(5, 10)
+                                                     .toList()));
+    }
+
+    @Test
+    public void reversedRangeSplitsInEncounterOrder() {
+        final ReversingRangeIntSpliterator range = new ReversingRangeIntSpliterator(
+                                                                                    0, 10, true);
+        assertThat(toList(range.trySplit()), equalTo(ReactiveSeq.of(9, 8, 7, 6, 5)
+                                                                .toList()));
+        assertThat(toList(range), equalTo(ReactiveSeq.of(4, 3, 2, 1, 0)
+                                                     .toList()));
+    }
+
+    @Test
+    public void splitsDownToSingleElements() {
+        final ReversingRangeIntSpliterator range = new ReversingRangeIntSpliterator(
+                                                                                    0, 1, false);
+        assertThat(range.trySplit(), nullValue());
+        assertEvenSplit(new ReversingRangeLongSpliterator(
+                                                          0, 1001, false),
+                        1001);
+    }
+
+    @Test
+    public void hugeLongRange() {
+        final ReversingRangeLongSpliterator range = new ReversingRangeLongSpliterator(
+                                                                                      Long.MIN_VALUE, Long.MAX_VALUE, false);
+        assertThat(range.estimateSize(), equalTo(Long.MAX_VALUE));
+        final Spliterator.OfLong prefix = range.trySplit();
+        prefix.tryAdvance((long l) -> assertThat(l, equalTo(Long.MIN_VALUE)));
+        range.tryAdvance((long l) -> assertThat(l, equalTo(-1l)));
+    }
+
+    @Test
+    public void doubleReverse() {
+        assertThat(ReactiveSeq.range(0, 5)
+                              .reverse()
+                              .reverse()
+                              .toList(),
+                   equalTo(ReactiveSeq.of(0, 1, 2, 3, 4)
+                                      .toList()));
+        assertThat(ReactiveSeq.reversedListOf(EXPECTED)
+                              .reverse()
+                              .toList(),
+                   equalTo(EXPECTED));
+    }
+
+    @Test
+    public void parallelRangesAndArrays() {
+        assertThat(ReactiveSeq.range(0, 10_000)
+                              .<Stream<Integer>> unwrap()
+                              .parallel()
+                              .collect(Collectors.toList()),
+                   equalTo(EXPECTED));
+        assertThat(StreamSupport.stream(new ReversingArraySpliterator<>(
+                                                                        EXPECTED.toArray(), false, 0),
+                                        true)
+                                .collect(Collectors.toList()),
+                   equalTo(EXPECTED));
+        assertThat(ReactiveSeq.range(0, 10_000)
+                              .reverse()
+                              .<Stream<Integer>> unwrap()
+                              .parallel()
+                              .collect(Collectors.toList()),
+                   equalTo(ReactiveSeq.range(0, 10_000)
+                                      .reverse()
+                                      .toList()));
+    }
+
+    @Test
+    public void lists() {
+        assertEvenSplit(new ReversingListSpliterator<>(
+                                                       new ArrayList<>(EXPECTED), false),
+                        10_000);
+        assertEvenSplit(new ReversingListSpliterator<>(
+                                                       new LinkedList<>(EXPECTED), false),
+                        10_000);
+        final ReversingListSpliterator<Integer> linked = new ReversingListSpliterator<>(
+                                                                                        new LinkedList<>(EXPECTED), true);
+        assertThat(StreamSupport.stream(linked, true)
+                                .collect(Collectors.toList()),
+                   equalTo(ReactiveSeq.fromList(EXPECTED)
+                                      .reverse()
+                                      .toList()));
+    }
+
+    @Test
+    public void persistentCollections() {
+        final PVectorX<Integer> vector = PVectorX.fromIterable(EXPECTED);
+        final PStackX<Integer> stack = PStackX.fromIterable(EXPECTED);
+        final PSetX<Integer> set = PSetX.fromIterable(EXPECTED);
+        assertEvenSplit(vector.spliterator(), 10_000);
+        assertEvenSplit(stack.spliterator(), 10_000);
+        assertThat(set.spliterator()
+                      .trySplit()
+                      .estimateSize(),
+                   equalTo(5_000l));
+
+        assertThat(vector.parallelStream()
+                         .collect(Collectors.toList()),
+                   equalTo(EXPECTED));
+        assertThat(stack.parallelStream()
+                        .collect(Collectors.toList()),
+                   equalTo(new ArrayList<>(stack)));
+        assertThat(set.parallelStream()
+                      .collect(Collectors.toSet()),
+                   equalTo(set));
+        assertThat(vector.stream()
+                         .toList(),
+                   equalTo(EXPECTED));
+    }
+
+    /**
+     * simple sanity check that parallel Streams over persistent collections use more than one thread, not a proper
+     * benchmark!
+     */
+    @Test
+    public void parallelPerfCheck() {
+        final PVectorX<Integer> vector = PVectorX.fromIterable(EXPECTED);
+        for (final Stream<Integer> stream : ReactiveSeq.of(vector.parallelStream(), PStackX.fromIterable(EXPECTED)
+                                                                                         .parallelStream(),
+                                                           PSetX.fromIterable(EXPECTED)
+                                                                .parallelStream())) {
+            final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+            final long start = System.currentTimeMillis();
+            final long sum = stream.mapToLong(i -> {
+                threads.add(Thread.currentThread());
+                long total = 0;
+                for (int j = 0; j < 2_000; j++)
+                    total += j ^ i;
+                return total;
+            })
+                                   .sum();
+            System.out.println("Parallel stream of 10,000 elements took " + (System.currentTimeMillis() - start) + "ms on "
+                    + threads.size() + " threads");
+            assertThat(sum, greaterThan(0l));
+            if (Runtime.getRuntime()
+                       .availableProcessors() > 1)
+                assertThat(threads.size(), greaterThan(1));
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.aol.cyclops.streams.streamable;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.Streamable;
+import com.aol.cyclops.internal.stream.ReplayBuffer;
+import com.aol.cyclops.util.stream.ReplayPolicy;
+import com.aol.cyclops.util.stream.Serializer;
+
+public class ReplayTest {
+
+    private Stream<Integer> counted(final int size, final AtomicInteger pulled) {
+        return IntStream.range(0, size)
+                        .boxed()
+                        .peek(i -> pulled.incrementAndGet());
+    }
+
+    private List<Integer> range(final int from, final int to) {
+        return IntStream.range(from, to)
+                        .boxed()
+                        .collect(Collectors.toList());
+    }
+
+    @Test
+    public void replaysToMultipleConsumers() {
+        final AtomicInteger pulled = new AtomicInteger(0);
+        final Streamable<Integer> replay = Streamable.replay(counted(5000, pulled), ReplayPolicy.<Integer> unbounded()
+                                                                                                .withChunkSize(64));
+
+        assertThat(replay.stream()
+                         .toList(),
+                   equalTo(range(0, 5000)));
+        assertThat(replay.stream()
+                         .toList(),
+                   equalTo(range(0, 5000)));
+        assertThat(replay.stream()
+                         .limit(10)
+                         .toList(),
+                   equalTo(range(0, 10)));
+        assertThat(pulled.get(), equalTo(5000));
+    }
+
+    @Test
+    public void sourcePulledLazily() {
+        final AtomicInteger pulled = new AtomicInteger(0);
+        final Streamable<Integer> replay = Streamable.replay(counted(1000, pulled), ReplayPolicy.<Integer> unbounded()
+                                                                                                .withChunkSize(16));
+        assertThat(replay.stream()
+                         .limit(5)
+                         .toList(),
+                   equalTo(range(0, 5)));
+        assertThat(pulled.get(), lessThanOrEqualTo(6));
+        assertThat(replay.stream()
+                         .limit(20)
+                         .toList(),
+                   equalTo(range(0, 20)));
+        assertThat(pulled.get(), lessThanOrEqualTo(21));
+    }
+
+    @Test
+    public void concurrentReaders() {
+        final AtomicInteger pulled = new AtomicInteger(0);
+        final Streamable<Integer> replay = Streamable.replay(counted(100_000, pulled), ReplayPolicy.<Integer> unbounded()
+                                                                                                   .withChunkSize(100));
+        final List<CompletableFuture<List<Integer>>> readers = new ArrayList<>();
+        for (int i = 0; i < 8; i++)
+            readers.add(CompletableFuture.supplyAsync(() -> replay.stream()
+                                                                  .toList()));
+        for (final CompletableFuture<List<Integer>> reader : readers)
+            assertThat(reader.join(), equalTo(range(0, 100_000)));
+        assertThat(pulled.get(), equalTo(100_000));
+    }
+
+    @Test
+    public void readersWaitingForSourceBlock() throws InterruptedException {
+        final CountDownLatch pulling = new CountDownLatch(
+                                                          1);
+        final CountDownLatch release = new CountDownLatch(
+                                                          1);
+        final ReplayBuffer<Integer> buffer = new ReplayBuffer<>(
+                                                                new Iterator<Integer>() {
+                                                                    int next = 0;
+
+                                                                    @Override
+                                                                    public boolean hasNext() {
+                                                                        return next < 3;
+                                                                    }
+
+                                                                    @Override
+                                                                    public Integer next() {
+                                                                        pulling.countDown();
+                                                                        try {
+                                                                            release.await();
+                                                                        } catch (final InterruptedException e) {
+                                                                            Thread.currentThread()
+                                                                                  .interrupt();
+                                                                        }
+                                                                        return next++;
+                                                                    }
+                                                                }, ReplayPolicy.<Integer> unbounded());
+        final List<List<Integer>> results = new ArrayList<>();
+        final List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final Thread reader = new Thread(
+                                             () -> {
+                                                 final List<Integer> read = new ArrayList<>();
+                                                 buffer.forEach(read::add);
+                                                 synchronized (results) {
+                                                     results.add(read);
+                                                 }
+                                             });
+            readers.add(reader);
+            reader.start();
+        }
+        pulling.await();
+        //one reader is blocked in the source, the others must be parked rather than spinning until it publishes
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (readers.stream()
+                      .filter(t -> t.getState() == Thread.State.WAITING)
+                      .count() < 3
+                && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        for (final Thread reader : readers)
+            assertThat(reader.getState(), equalTo(Thread.State.WAITING));
+        release.countDown();
+        for (final Thread reader : readers)
+            reader.join(5000);
+        assertThat(results.size(), equalTo(3));
+        for (final List<Integer> read : results)
+            assertThat(read, equalTo(range(0, 3)));
+    }
+
+    @Test
+    public void spillsToDisk() {
+        final ReplayBuffer<Integer> buffer = new ReplayBuffer<>(
+                                                                range(0, 10_000).iterator(), ReplayPolicy.<Integer> unbounded()
+                                                                                                         .withChunkSize(100)
+                                                                                                         .spillToDisk(500, Serializer.ints()));
+        try {
+            final Iterator<Integer> first = buffer.iterator();
+            final List<Integer> result = new ArrayList<>();
+            first.forEachRemaining(result::add);
+            assertThat(result, equalTo(range(0, 10_000)));
+
+            final List<Integer> replayed = new ArrayList<>();
+            buffer.forEach(replayed::add);
+            assertThat(replayed, equalTo(range(0, 10_000)));
+        } finally {
+            buffer.close();
+        }
+    }
+
+    @Test
+    public void closeDropsSpilledChunks() {
+        try (Streamable.Replay<Integer> replay = Streamable.replay(range(0, 10_000).stream(), ReplayPolicy.<Integer> unbounded()
+                                                                                                         .withChunkSize(100)
+                                                                                                         .spillToDisk(500, Serializer.ints()))) {
+            assertThat(replay.stream()
+                             .toList(),
+                       equalTo(range(0, 10_000)));
+            replay.close();
+
+            //only the chunks retained in memory are replayed once the spilled chunks are deleted
+            final List<Integer> replayed = replay.stream()
+                                                 .toList();
+            assertThat(replayed.get(0), greaterThan(0));
+            assertThat(replayed, equalTo(range(replayed.get(0), 10_000)));
+        }
+    }
+
+    @Test
+    public void evictsBeyondMaxSize() {
+        final ReplayBuffer<Integer> buffer = new ReplayBuffer<>(
+                                                                range(0, 1000).iterator(), ReplayPolicy.<Integer> unbounded()
+                                                                                                       .withChunkSize(10)
+                                                                                                       .withMaxSize(100));
+        final Iterator<Integer> it = buffer.iterator();
+        while (it.hasNext())
+            it.next();
+
+        assertThat(buffer.retained(), lessThanOrEqualTo(110l));
+        final List<Integer> replayed = new ArrayList<>();
+        buffer.forEach(replayed::add);
+        assertThat(replayed.get(replayed.size() - 1), equalTo(999));
+        assertThat(replayed.get(0), greaterThan(800));
+        assertThat(replayed, equalTo(range(replayed.get(0), 1000)));
+    }
+
+    @Test
+    public void evictsAfterTtl() throws InterruptedException {
+        final ReplayBuffer<Integer> buffer = new ReplayBuffer<>(
+                                                                range(0, 105).iterator(), ReplayPolicy.<Integer> unbounded()
+                                                                                                      .withChunkSize(10)
+                                                                                                      .withTtl(50, TimeUnit.MILLISECONDS));
+        buffer.forEach(i -> {
+        });
+        assertThat(buffer.retained(), equalTo(105l));
+        Thread.sleep(100);
+
+        final List<Integer> replayed = new ArrayList<>();
+        buffer.forEach(replayed::add);
+        assertThat(replayed, equalTo(range(100, 105)));
+    }
+
+    @Test
+    public void errorsReplayed() {
+        final Streamable<Integer> replay = Streamable.replay(Stream.of(1, 2, 3)
+                                                                   .map(i -> {
+                                                                       if (i == 3)
+                                                                           throw new IllegalStateException(
+                                                                                                           "boom");
+                                                                       return i;
+                                                                   }),
+                                                             ReplayPolicy.unbounded());
+        for (int i = 0; i < 2; i++) {
+            final List<Integer> seen = new ArrayList<>();
+            try {
+                replay.stream()
+                      .forEach(seen::add);
+                fail("expected error");
+            } catch (final IllegalStateException e) {
+                assertThat(e.getMessage(), equalTo("boom"));
+            }
+            assertThat(seen, equalTo(range(1, 3)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidChunkSize() {
+        ReplayPolicy.unbounded()
+                    .withChunkSize(0);
+    }
+
+    @Test
+    public void replayPerformance() {
+        //simple sanity check on replay throughput - not a proper benchmark!
+        final Streamable<Integer> replay = Streamable.replay(IntStream.range(0, 1_000_000)
+                                                                      .boxed(),
+                                                             ReplayPolicy.unbounded());
+        replay.stream()
+              .forEach(i -> {
+              });
+        final long start = System.currentTimeMillis();
+        for (int i = 0; i < 10; i++)
+            assertThat(replay.stream()
+                             .count(),
+                       equalTo(1_000_000l));
+        final long time = System.currentTimeMillis() - start;
+        System.out.println("Replayed 10M elements in " + time + "ms");
+    }
+}
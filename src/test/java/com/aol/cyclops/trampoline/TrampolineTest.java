@@ -32,6 +32,53 @@ public class TrampolineTest {
 			return Trampoline.more(()->loop(times-1,sum+times));
 	}
 	
+	@Test
+	public void mapRecursion(){
+		assertThat(count(1_000_000).result(),equalTo(1_000_000l));
+	}
+	Trampoline<Long> count(long n){
+		if(n==0)
+			return Trampoline.done(0l);
+		return Trampoline.<Long>more(()->count(n-1)).map(c->c+1);
+	}
+	@Test
+	public void leftNestedFlatMap(){
+		Trampoline<Integer> t = Trampoline.done(0);
+		for(int i=0;i<1_000_000;i++)
+			t = t.flatMap(x->Trampoline.done(x+1));
+		assertThat(t.get(),equalTo(1_000_000));
+	}
+	@Test
+	public void rightNestedFlatMap(){
+		assertThat(sum(1_000_000).get(),equalTo(500000500000l));
+	}
+	Trampoline<Long> sum(long n){
+		if(n==0)
+			return Trampoline.done(0l);
+		return Trampoline.done(n).flatMap(x->sum(x-1).map(s->s+x));
+	}
+	@Test
+	public void manualBounceFlatMap(){
+		Trampoline<Integer> t = Trampoline.done(1).flatMap(x->Trampoline.done(x+1)).flatMap(x->Trampoline.done(x*10));
+		while(!t.complete())
+			t = t.bounce();
+		assertThat(t.result(),equalTo(20));
+	}
+	//simple sanity check to make sure performance is in the ballpark not a proper benchmark!
+	@Test
+	public void foldPerfCheck(){
+		for(int run=0;run<3;run++){
+			long start = System.currentTimeMillis();
+			assertThat(fold(10_000_000,0l).result(),equalTo(49999995000000l));
+			System.out.println("10M step Trampoline fold took " + (System.currentTimeMillis()- start) + "ms");
+		}
+	}
+	Trampoline<Long> fold(long times,long acc){
+		if(times==0)
+			return Trampoline.done(acc);
+		return Trampoline.more(()->fold(times-1,acc+times-1));
+	}
+	
 	@Test @Ignore
 	public void trampolineTest1(){
 		
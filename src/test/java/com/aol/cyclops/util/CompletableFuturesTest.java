@@ -2,12 +2,18 @@ package com.aol.cyclops.util;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import com.aol.cyclops.Monoid;
+import com.aol.cyclops.Reducers;
+import com.aol.cyclops.Semigroups;
+import com.aol.cyclops.data.collections.extensions.persistent.PSetX;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
 
 public class CompletableFuturesTest {
@@ -42,4 +48,65 @@ public class CompletableFuturesTest {
         assertThat(maybes.join(),equalTo(ListX.of(10,20)));
     }
 
+    @Test
+    public void testSequenceFailsFast() {
+        CompletableFuture<Integer> failing = new CompletableFuture<>();
+        CompletableFuture<ListX<Integer>> maybes =CompletableFutures.sequence(ListX.of(just,active,failing));
+        failing.completeExceptionally(new IllegalStateException("boo"));
+        assertThat(maybes.isCompletedExceptionally(),equalTo(true));
+        try{
+            maybes.join();
+            fail("exception expected");
+        }catch(CompletionException e){
+            assertThat(e.getCause().getClass(),equalTo(IllegalStateException.class));
+        }
+    }
+    @Test
+    public void testSequenceOrderOutOfCompletionOrder() {
+        CompletableFuture<Integer> first = new CompletableFuture<>();
+        CompletableFuture<Integer> second = new CompletableFuture<>();
+        CompletableFuture<ListX<Integer>> maybes =CompletableFutures.sequence(ListX.of(first,second,just));
+        second.complete(2);
+        assertThat(maybes.isDone(),equalTo(false));
+        first.complete(1);
+        assertThat(maybes.join(),equalTo(ListX.of(1,2,10)));
+    }
+    @Test
+    public void testSequenceEmpty() {
+        assertThat(CompletableFutures.sequence(ListX.<CompletableFuture<Integer>>empty()).join(),equalTo(ListX.empty()));
+    }
+    @Test
+    public void testAccumulateSuccess() {
+        CompletableFuture<PSetX<Integer>> maybes =CompletableFutures.accumulateSuccess(ListX.of(just,none,just2),Reducers.toPSetX());
+        assertThat(maybes.join(),equalTo(PSetX.of(10,20)));
+    }
+    @Test
+    public void testAccumulateUnordered() {
+        CompletableFuture<Integer> sum =CompletableFutures.accumulateUnordered(ListX.of(just,active,just2),i->i,Monoid.of(0,Semigroups.intSum));
+        assertThat(sum.isDone(),equalTo(false));
+        active.complete(5);
+        assertThat(sum.join(),equalTo(35));
+    }
+    @Test
+    public void testAccumulateUnorderedError() {
+        CompletableFuture<Integer> sum =CompletableFutures.accumulateUnordered(ListX.of(just,active,none),i->i,Monoid.of(0,Semigroups.intSum));
+        assertThat(sum.isCompletedExceptionally(),equalTo(true));
+    }
+    @Test
+    public void testAccumulateSuccessUnordered() {
+        CompletableFuture<Integer> sum =CompletableFutures.accumulateSuccessUnordered(ListX.of(just,none,just2),i->i,Monoid.of(0,Semigroups.intSum));
+        assertThat(sum.join(),equalTo(30));
+    }
+    /**
+     * fan-in of many futures completed from several threads
+     */
+    @Test
+    public void fanInFromManyThreads() {
+        ListX<CompletableFuture<Integer>> futures = ListX.range(0,10_000).map(i->CompletableFuture.supplyAsync(()->i));
+        ListX<Integer> list = CompletableFutures.sequence(futures).join();
+        int sum = CompletableFutures.accumulateUnordered(futures,i->i,Monoid.of(0,Semigroups.intSum)).join();
+        assertThat(list,equalTo(ListX.range(0,10_000)));
+        assertThat(sum,equalTo(49_995_000));
+    }
+
 }
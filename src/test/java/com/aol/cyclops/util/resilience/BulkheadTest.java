@@ -0,0 +1,110 @@
+package com.aol.cyclops.util.resilience;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.FluentFunctions;
+import com.aol.cyclops.control.FutureW;
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.control.Try;
+import com.aol.cyclops.react.metrics.PipelineMetrics;
+
+public class BulkheadTest {
+
+    @Test
+    public void rejectsBeyondCapacity() {
+        final Bulkhead bulkhead = Bulkhead.of("test", 2);
+        final CompletableFuture<String> slow1 = new CompletableFuture<>();
+        final CompletableFuture<String> slow2 = new CompletableFuture<>();
+        final FutureW<String> first = bulkhead.callAsync(() -> slow1);
+        final FutureW<String> second = bulkhead.callAsync(() -> slow2);
+        assertThat(bulkhead.active(), equalTo(2));
+
+        final Try<String, Throwable> third = bulkhead.call(() -> "third");
+        assertThat(third.failureGet(), instanceOf(BulkheadFullException.class));
+        assertTrue(bulkhead.callAsync(() -> CompletableFuture.completedFuture("fourth"))
+                           .isFailed());
+        assertThat(bulkhead.rejected(), equalTo(2l));
+
+        slow1.complete("one");
+        slow2.completeExceptionally(new IllegalStateException());
+        assertThat(first.get(), equalTo("one"));
+        assertTrue(second.isFailed());
+        assertThat(bulkhead.active(), equalTo(0));
+        assertThat(bulkhead.call(() -> "fifth")
+                           .get(),
+                   equalTo("fifth"));
+    }
+
+    @Test
+    public void releasesOnError() {
+        final Bulkhead bulkhead = Bulkhead.of("test", 1);
+        final Try<String, Throwable> result = bulkhead.call(() -> {
+            throw new IllegalStateException();
+        });
+        assertThat(result.failureGet(), instanceOf(IllegalStateException.class));
+        assertThat(bulkhead.active(), equalTo(0));
+    }
+
+    @Test
+    public void capsConcurrency() {
+        final Bulkhead bulkhead = Bulkhead.of("test", 3);
+        final AtomicInteger running = new AtomicInteger(0);
+        final AtomicInteger peak = new AtomicInteger(0);
+        final List<Try<Integer, Throwable>> results = new LazyReact(
+                                                                    20, 20).range(0, 200)
+                                                                           .bulkhead(i -> {
+                                                                               peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                                                                               try {
+                                                                                   Thread.sleep(1);
+                                                                               } catch (final InterruptedException e) {
+                                                                               }
+                                                                               running.decrementAndGet();
+                                                                               return i;
+                                                                           }, bulkhead)
+                                                                           .toList();
+        assertThat(results.size(), equalTo(200));
+        assertThat(peak.get(), lessThanOrEqualTo(3));
+        assertThat(bulkhead.rejected(), greaterThan(0l));
+    }
+
+    @Test
+    public void fluentSupplier() {
+        final Bulkhead bulkhead = Bulkhead.of("test", 1);
+        assertThat(FluentFunctions.of(() -> "hello")
+                                  .bulkhead(bulkhead)
+                                  .get()
+                                  .get(),
+                   equalTo("hello"));
+    }
+
+    @Test
+    public void metrics() {
+        final PipelineMetrics metrics = new PipelineMetrics(
+                                                            "pipeline");
+        final Bulkhead bulkhead = metrics.bulkhead(Bulkhead.of("db", 1));
+        bulkhead.callAsync(() -> new CompletableFuture<String>());
+        bulkhead.call(() -> "rejected");
+        assertThat(metrics.snapshot()
+                          .get("pipeline.bulkhead.db.active"),
+                   equalTo(1.0));
+        assertThat(metrics.snapshot()
+                          .get("pipeline.bulkhead.db.rejected"),
+                   equalTo(1.0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidCapacity() {
+        Bulkhead.of("test", 0);
+    }
+}
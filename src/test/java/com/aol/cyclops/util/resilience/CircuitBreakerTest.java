@@ -0,0 +1,191 @@
+package com.aol.cyclops.util.resilience;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.FluentFunctions;
+import com.aol.cyclops.control.FutureW;
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.control.Try;
+import com.aol.cyclops.react.metrics.PipelineMetrics;
+import com.aol.cyclops.util.resilience.CircuitBreaker.State;
+
+public class CircuitBreakerTest {
+
+    private CircuitBreaker breaker(final long openMillis) {
+        return new CircuitBreaker(
+                                  "test", 0.5, 4, 10_000, openMillis, TimeUnit.MILLISECONDS, 2);
+    }
+
+    private void fail(final CircuitBreaker breaker, final int times) {
+        for (int i = 0; i < times; i++)
+            breaker.call(() -> {
+                throw new IllegalStateException();
+            });
+    }
+
+    @Test
+    public void staysClosedBelowMinimumCalls() {
+        final CircuitBreaker breaker = breaker(1000);
+        fail(breaker, 3);
+        assertThat(breaker.getState(), equalTo(State.CLOSED));
+        assertThat(breaker.calls(), equalTo(3l));
+        assertThat(breaker.failureRate(), equalTo(1.0));
+    }
+
+    @Test
+    public void staysClosedBelowThreshold() {
+        final CircuitBreaker breaker = breaker(1000);
+        for (int i = 0; i < 10; i++)
+            breaker.call(() -> "ok");
+        fail(breaker, 5);
+        assertThat(breaker.getState(), equalTo(State.CLOSED));
+    }
+
+    @Test
+    public void opensAndShortCircuits() {
+        final CircuitBreaker breaker = breaker(1000);
+        fail(breaker, 4);
+        assertThat(breaker.getState(), equalTo(State.OPEN));
+
+        final AtomicInteger calls = new AtomicInteger(0);
+        final Try<String, Throwable> result = breaker.call(() -> {
+            calls.incrementAndGet();
+            return "ok";
+        });
+        assertTrue(result.isFailure());
+        assertThat(result.failureGet(), instanceOf(CircuitBreakerOpenException.class));
+        assertThat(calls.get(), equalTo(0));
+        assertThat(breaker.rejected(), equalTo(1l));
+        assertThat(breaker.opened(), equalTo(1l));
+    }
+
+    @Test
+    public void halfOpenProbesClose() throws InterruptedException {
+        final List<State> changes = new CopyOnWriteArrayList<>();
+        final CircuitBreaker breaker = breaker(50).onStateChange((from, to) -> changes.add(to));
+        fail(breaker, 4);
+        Thread.sleep(100);
+
+        assertThat(breaker.call(() -> "probe 1")
+                          .get(),
+                   equalTo("probe 1"));
+        assertThat(breaker.getState(), equalTo(State.HALF_OPEN));
+        assertThat(breaker.call(() -> "probe 2")
+                          .get(),
+                   equalTo("probe 2"));
+        assertThat(breaker.getState(), equalTo(State.CLOSED));
+        assertThat(breaker.calls(), equalTo(0l));
+        assertThat(changes, equalTo(Arrays.asList(State.OPEN, State.HALF_OPEN, State.CLOSED)));
+    }
+
+    @Test
+    public void halfOpenFailureReopens() throws InterruptedException {
+        final CircuitBreaker breaker = breaker(50);
+        fail(breaker, 4);
+        Thread.sleep(100);
+        fail(breaker, 1);
+        assertThat(breaker.getState(), equalTo(State.OPEN));
+        assertThat(breaker.opened(), equalTo(2l));
+    }
+
+    @Test
+    public void halfOpenLimitsProbes() throws InterruptedException {
+        final CircuitBreaker breaker = breaker(1000);
+        fail(breaker, 4);
+        Thread.sleep(1100);
+        final CompletableFuture<String> slow1 = new CompletableFuture<>();
+        final CompletableFuture<String> slow2 = new CompletableFuture<>();
+        final FutureW<String> probe1 = breaker.callAsync(() -> slow1);
+        final FutureW<String> probe2 = breaker.callAsync(() -> slow2);
+        assertTrue(breaker.call(() -> "third")
+                          .isFailure());
+        slow1.complete("one");
+        slow2.complete("two");
+        assertThat(probe1.get(), equalTo("one"));
+        assertThat(probe2.get(), equalTo("two"));
+        assertThat(breaker.getState(), equalTo(State.CLOSED));
+    }
+
+    @Test
+    public void asyncFailuresRecorded() {
+        final CircuitBreaker breaker = breaker(1000);
+        for (int i = 0; i < 4; i++) {
+            final CompletableFuture<String> f = new CompletableFuture<>();
+            f.completeExceptionally(new IllegalStateException());
+            assertTrue(breaker.callAsync(() -> f)
+                              .isFailed());
+        }
+        assertThat(breaker.getState(), equalTo(State.OPEN));
+        assertTrue(breaker.callAsync(() -> CompletableFuture.completedFuture("ok"))
+                          .isFailed());
+    }
+
+    @Test
+    public void fluentFunction() {
+        final CircuitBreaker breaker = breaker(1000);
+        fail(breaker, 4);
+        final Try<Integer, Throwable> result = FluentFunctions.of((Integer i) -> i * 2)
+                                                              .circuitBreaker(breaker)
+                                                              .apply(10);
+        assertThat(result.failureGet(), instanceOf(CircuitBreakerOpenException.class));
+    }
+
+    @Test
+    public void lazyFutureStream() {
+        final CircuitBreaker breaker = breaker(10_000);
+        final List<Try<Integer, Throwable>> results = LazyReact.sequentialBuilder()
+                                                               .of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+                                                               .circuitBreaker(i -> {
+                                                                   if (i > 0)
+                                                                       throw new IllegalStateException();
+                                                                   return i;
+                                                               }, breaker)
+                                                               .toList();
+        assertThat(results.size(), equalTo(10));
+        assertThat(results.stream()
+                          .filter(t -> t.failureGet() instanceof CircuitBreakerOpenException)
+                          .count(),
+                   greaterThan(0l));
+        assertThat(breaker.rejected(), greaterThan(0l));
+    }
+
+    @Test
+    public void metrics() {
+        final PipelineMetrics metrics = new PipelineMetrics(
+                                                            "pipeline");
+        final CircuitBreaker breaker = metrics.circuitBreaker(breaker(1000));
+        fail(breaker, 4);
+        breaker.call(() -> "rejected");
+        assertThat(metrics.snapshot()
+                          .get("pipeline.circuit.test.state"),
+                   equalTo(1.0));
+        assertThat(metrics.snapshot()
+                          .get("pipeline.circuit.test.rejected"),
+                   equalTo(1.0));
+        assertThat(metrics.snapshot()
+                          .get("pipeline.circuit.test.failureRate"),
+                   equalTo(100.0));
+    }
+
+    @Test
+    public void openCircuitShortCircuitsCalls() {
+        final CircuitBreaker breaker = breaker(60_000);
+        fail(breaker, 4);
+        for (int i = 0; i < 1_000_000; i++)
+            breaker.call(() -> "rejected");
+        assertThat(breaker.rejected(), equalTo(1_000_000l));
+    }
+}
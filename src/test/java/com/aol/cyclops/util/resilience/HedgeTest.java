@@ -0,0 +1,148 @@
+package com.aol.cyclops.util.resilience;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.FutureW;
+import com.aol.cyclops.util.CompletableFutures;
+
+public class HedgeTest {
+
+    private static final ExecutorService pool = Executors.newCachedThreadPool();
+
+    private CompletableFuture<String> after(final long millis, final String value) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Thread.sleep(millis);
+            } catch (final InterruptedException e) {
+            }
+            return value;
+        }, pool);
+    }
+
+    @Test
+    public void fastCallsAreNotHedged() {
+        final Hedge hedge = Hedge.atPercentile(95, 200, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 10; i++)
+            assertThat(hedge.call(() -> CompletableFuture.completedFuture("fast"))
+                            .get(),
+                       equalTo("fast"));
+        assertThat(hedge.hedged(), equalTo(0l));
+        assertThat(hedge.latency()
+                        .count(),
+                   equalTo(10l));
+    }
+
+    @Test
+    public void slowCallIsHedged() throws InterruptedException {
+        final Hedge hedge = Hedge.atPercentile(95, 20, TimeUnit.MILLISECONDS);
+        final CompletableFuture<String> primary = new CompletableFuture<>();
+        final CompletableFuture<String> hedgeAttempt = new CompletableFuture<>();
+        final CountDownLatch hedgeStarted = new CountDownLatch(
+                                                               1);
+        final AtomicInteger calls = new AtomicInteger(0);
+        final FutureW<String> result = hedge.<String> call(() -> {
+            if (calls.incrementAndGet() == 1)
+                return primary;
+            hedgeStarted.countDown();
+            return hedgeAttempt;
+        });
+        assertTrue(hedgeStarted.await(5, TimeUnit.SECONDS));
+        //the primary never completes, so the result can only come from the hedge
+        hedgeAttempt.complete("hedge");
+        assertThat(result.get(), equalTo("hedge"));
+        assertThat(calls.get(), equalTo(2));
+        assertThat(hedge.hedged(), equalTo(1l));
+        assertThat(hedge.hedgeWins(), equalTo(1l));
+    }
+
+    @Test
+    public void onlyPrimaryLatencyIsRecorded() {
+        final Hedge hedge = Hedge.atPercentile(95, 10, TimeUnit.MILLISECONDS);
+        final CompletableFuture<String> primary = new CompletableFuture<>();
+        final AtomicInteger calls = new AtomicInteger(0);
+        final String result = hedge.<String> call(() -> calls.incrementAndGet() == 1 ? primary : CompletableFuture.completedFuture("hedge"))
+                                   .get();
+        assertThat(result, equalTo("hedge"));
+        //the hedge started late, so its latency says nothing about the latency of the call
+        assertThat(hedge.latency()
+                        .count(),
+                   equalTo(0l));
+        primary.complete("slow");
+        assertThat(hedge.latency()
+                        .count(),
+                   equalTo(1l));
+    }
+
+    @Test
+    public void primaryFailureWaitsForHedge() {
+        final Hedge hedge = Hedge.atPercentile(95, 10, TimeUnit.MILLISECONDS);
+        final AtomicInteger calls = new AtomicInteger(0);
+        final FutureW<String> result = hedge.call(() -> {
+            if (calls.incrementAndGet() == 1)
+                return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        Thread.sleep(100);
+                    } catch (final InterruptedException e) {
+                    }
+                    throw new IllegalStateException();
+                }, pool);
+            return after(200, "hedge");
+        });
+        assertThat(result.get(), equalTo("hedge"));
+    }
+
+    @Test
+    public void allAttemptsFail() {
+        final Hedge hedge = Hedge.atPercentile(95, 10, TimeUnit.MILLISECONDS);
+        final FutureW<String> result = hedge.call(() -> {
+            final CompletableFuture<String> f = new CompletableFuture<>();
+            f.completeExceptionally(new IllegalStateException(
+                                                              "boom"));
+            return f;
+        });
+        try {
+            result.get();
+            fail("expected error");
+        } catch (final IllegalStateException e) {
+            assertThat(e.getMessage(), equalTo("boom"));
+        }
+        assertThat(hedge.hedged(), equalTo(0l));
+    }
+
+    @Test
+    public void thresholdAdaptsToPercentile() {
+        final Hedge hedge = Hedge.atPercentile(50, 1, TimeUnit.SECONDS);
+        for (int i = 0; i < 100; i++)
+            hedge.call(() -> CompletableFuture.completedFuture("fast"));
+        assertThat(hedge.thresholdNanos(), lessThan(TimeUnit.MILLISECONDS.toNanos(10)));
+        assertThat(hedge.thresholdNanos(), greaterThan(0l));
+    }
+
+    @Test
+    public void completableFuturesWithin() {
+        final CompletableFuture<String> timedOut = CompletableFutures.within(new CompletableFuture<String>(), 10, TimeUnit.MILLISECONDS);
+        try {
+            timedOut.join();
+            fail("expected timeout");
+        } catch (final Exception e) {
+            assertThat(e.getCause(), instanceOf(TimeoutException.class));
+        }
+        assertTrue(timedOut.isCompletedExceptionally());
+    }
+}
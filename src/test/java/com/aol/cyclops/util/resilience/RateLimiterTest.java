@@ -0,0 +1,127 @@
+package com.aol.cyclops.util.resilience;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.FutureW;
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.react.metrics.PipelineMetrics;
+
+public class RateLimiterTest {
+
+    @Test
+    public void burstIsAvailableImmediately() {
+        final RateLimiter limiter = RateLimiter.of("test", 1, 5);
+        assertThat(limiter.availablePermits(), equalTo(5));
+        for (int i = 0; i < 5; i++)
+            assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertThat(limiter.availablePermits(), equalTo(0));
+        assertThat(limiter.throttled(), equalTo(0l));
+    }
+
+    @Test
+    public void acquireWaitsForSustainedRate() {
+        final RateLimiter limiter = RateLimiter.of("test", 100, 1);
+        final long start = System.nanoTime();
+        for (int i = 0; i < 11; i++)
+            limiter.acquire();
+        final long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertThat(time, greaterThanOrEqualTo(90l));
+        assertThat(limiter.throttled(), equalTo(10l));
+        assertThat(limiter.throttledTime(TimeUnit.MILLISECONDS), greaterThan(0l));
+    }
+
+    @Test
+    public void acquireAsyncDoesNotBlock() {
+        final RateLimiter limiter = RateLimiter.of("test", 2, 1);
+        final FutureW<String> first = limiter.acquireAsync("first");
+        final FutureW<String> second = limiter.acquireAsync("second");
+        //the first permit is available, the second is completed by the timer rather than blocking the caller
+        assertTrue(first.getFuture()
+                        .isDone());
+        assertFalse(second.getFuture()
+                          .isDone());
+        assertThat(limiter.throttled(), equalTo(1l));
+        assertThat(second.get(), equalTo("second"));
+    }
+
+    @Test
+    public void reactiveSeq() {
+        final long start = System.currentTimeMillis();
+        final List<Integer> result = ReactiveSeq.range(0, 20)
+                                                .rateLimit(100, 10)
+                                                .toList();
+        final long time = System.currentTimeMillis() - start;
+        assertThat(result.size(), equalTo(20));
+        assertThat(time, greaterThanOrEqualTo(80l));
+    }
+
+    @Test
+    public void sharedAcrossStreams() {
+        final RateLimiter quota = RateLimiter.of("quota", 200, 1);
+        final long start = System.currentTimeMillis();
+        ReactiveSeq.range(0, 10)
+                   .rateLimit(quota)
+                   .toList();
+        ReactiveSeq.range(0, 10)
+                   .rateLimit(quota)
+                   .toList();
+        assertThat(System.currentTimeMillis() - start, greaterThanOrEqualTo(90l));
+    }
+
+    @Test
+    public void lazyFutureStream() {
+        final RateLimiter limiter = RateLimiter.of("test", 100, 5);
+        final long start = System.currentTimeMillis();
+        final List<Integer> result = new LazyReact().range(0, 25)
+                                                    .rateLimit(limiter)
+                                                    .map(i -> i * 2)
+                                                    .toList();
+        final long time = System.currentTimeMillis() - start;
+        System.out.println("Rate limited LazyFutureStream in " + time + "ms " + limiter);
+        assertThat(result.size(), equalTo(25));
+        assertThat(time, greaterThanOrEqualTo(150l));
+    }
+
+    @Test
+    public void metrics() {
+        final PipelineMetrics metrics = new PipelineMetrics(
+                                                            "pipeline");
+        final RateLimiter limiter = metrics.rateLimiter(RateLimiter.of("api", 10, 3));
+        assertThat(metrics.snapshot()
+                          .get("pipeline.rateLimit.api.available"),
+                   equalTo(3.0));
+        for (int i = 0; i < 4; i++)
+            limiter.acquire();
+        assertThat(metrics.snapshot()
+                          .get("pipeline.rateLimit.api.throttled"),
+                   equalTo(1.0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidRate() {
+        RateLimiter.of("test", 0, 1);
+    }
+
+    @Test
+    public void tryAcquirePerformance() {
+        //simple sanity check that permits are cheap - not a proper benchmark!
+        final RateLimiter limiter = RateLimiter.of("test", 1_000_000_000, 1_000_000);
+        final long start = System.currentTimeMillis();
+        for (int i = 0; i < 1_000_000; i++)
+            limiter.tryAcquire();
+        final long time = System.currentTimeMillis() - start;
+        System.out.println("1M permits in " + time + "ms");
+    }
+}
@@ -0,0 +1,213 @@
+package com.aol.cyclops.util.resilience;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.FluentFunctions;
+import com.aol.cyclops.control.FutureW;
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.util.ExceptionSoftener;
+
+public class RetryPolicyTest {
+
+    private Function<Integer, String> failing(final int failures, final AtomicInteger calls) {
+        return i -> {
+            if (calls.incrementAndGet() <= failures)
+                throw new IllegalStateException(
+                                                "failure " + calls.get());
+            return "result " + i;
+        };
+    }
+
+    @Test
+    public void succeedsAfterRetries() {
+        final AtomicInteger calls = new AtomicInteger(0);
+        final Function<Integer, String> fn = failing(2, calls);
+        final FutureW<String> result = RetryPolicy.exponential(5, 10, TimeUnit.MILLISECONDS)
+                                                  .execute(() -> fn.apply(1));
+        assertThat(result.get(), equalTo("result 1"));
+        assertThat(calls.get(), equalTo(3));
+    }
+
+    @Test
+    public void failsWithLastError() {
+        final AtomicInteger calls = new AtomicInteger(0);
+        final Function<Integer, String> fn = failing(10, calls);
+        try {
+            RetryPolicy.exponential(3, 1, TimeUnit.MILLISECONDS)
+                       .execute(() -> fn.apply(1))
+                       .get();
+            fail("expected error");
+        } catch (final IllegalStateException e) {
+            assertThat(e.getMessage(), equalTo("failure 3"));
+        }
+        assertThat(calls.get(), equalTo(3));
+    }
+
+    @Test
+    public void onlyRetriesMatchingErrors() {
+        final AtomicInteger calls = new AtomicInteger(0);
+        final FutureW<String> result = RetryPolicy.exponential(5, 1, TimeUnit.MILLISECONDS)
+                                                  .retryOn(e -> e instanceof IOException)
+                                                  .execute(() -> {
+                                                      calls.incrementAndGet();
+                                                      throw new IllegalStateException();
+                                                  });
+        assertTrue(result.toCompletableFuture()
+                         .isCompletedExceptionally());
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test
+    public void doesNotBlockCaller() {
+        final AtomicInteger calls = new AtomicInteger(0);
+        final CountDownLatch release = new CountDownLatch(
+                                                          1);
+        final FutureW<String> result = RetryPolicy.exponential(2, 10, TimeUnit.MILLISECONDS)
+                                                  .execute(() -> {
+                                                      if (calls.incrementAndGet() == 1)
+                                                          throw new IllegalStateException();
+                                                      //the retry can only succeed once the caller has regained control
+                                                      try {
+                                                          if (!release.await(5, TimeUnit.SECONDS))
+                                                              throw new IllegalStateException(
+                                                                                              "caller blocked");
+                                                      } catch (final InterruptedException e) {
+                                                          throw ExceptionSoftener.throwSoftenedException(e);
+                                                      }
+                                                      return "result";
+                                                  });
+        assertFalse(result.toCompletableFuture()
+                          .isDone());
+        release.countDown();
+        assertThat(result.get(), equalTo("result"));
+        assertThat(calls.get(), equalTo(2));
+    }
+
+    @Test
+    public void retriesAsyncTasks() {
+        final AtomicInteger calls = new AtomicInteger(0);
+        final FutureW<Integer> result = RetryPolicy.exponential(5, 1, TimeUnit.MILLISECONDS)
+                                                   .executeAsync(() -> {
+                                                       final CompletableFuture<Integer> f = new CompletableFuture<>();
+                                                       if (calls.incrementAndGet() < 3)
+                                                           f.completeExceptionally(new IOException());
+                                                       else
+                                                           f.complete(calls.get());
+                                                       return f;
+                                                   });
+        assertThat(result.get(), equalTo(3));
+    }
+
+    @Test
+    public void backoffGrowsToMaxDelay() {
+        final RetryPolicy policy = RetryPolicy.exponential(10, 100, TimeUnit.MILLISECONDS)
+                                              .withMaxDelay(500, TimeUnit.MILLISECONDS);
+        assertThat(policy.backoffNanos(1), equalTo(TimeUnit.MILLISECONDS.toNanos(100)));
+        assertThat(policy.backoffNanos(2), equalTo(TimeUnit.MILLISECONDS.toNanos(200)));
+        assertThat(policy.backoffNanos(3), equalTo(TimeUnit.MILLISECONDS.toNanos(400)));
+        assertThat(policy.backoffNanos(4), equalTo(TimeUnit.MILLISECONDS.toNanos(500)));
+        assertThat(policy.backoffNanos(100), equalTo(TimeUnit.MILLISECONDS.toNanos(500)));
+    }
+
+    @Test
+    public void jitterWithinBounds() {
+        final RetryPolicy policy = RetryPolicy.exponential(10, 100, TimeUnit.MILLISECONDS)
+                                              .withJitter(0.5);
+        for (int i = 0; i < 1000; i++) {
+            final long backoff = policy.backoffNanos(2);
+            assertThat(backoff, lessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(200)));
+            assertThat(backoff, greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100)));
+        }
+    }
+
+    @Test
+    public void budgetLimitsRetries() {
+        final RetryPolicy policy = RetryPolicy.exponential(3, 1, TimeUnit.MILLISECONDS)
+                                              .withBudget(0, 4);
+        final AtomicInteger calls = new AtomicInteger(0);
+        for (int i = 0; i < 5; i++) {
+            try {
+                policy.execute(() -> {
+                    calls.incrementAndGet();
+                    throw new IllegalStateException();
+                })
+                      .get();
+                fail("expected error");
+            } catch (final IllegalStateException e) {
+            }
+        }
+        //5 first attempts, 4 retries from the budget
+        assertThat(calls.get(), equalTo(9));
+        assertThat(policy.availableRetries(), equalTo(0.0));
+    }
+
+    @Test
+    public void reactiveSeqRetry() {
+        final AtomicInteger calls = new AtomicInteger(0);
+        final List<String> result = ReactiveSeq.of(1, 2, 3)
+                                               .retry(failing(2, calls), RetryPolicy.exponential(5, 1, TimeUnit.MILLISECONDS))
+                                               .toList();
+        assertThat(result, equalTo(ReactiveSeq.of("result 1", "result 2", "result 3")
+                                              .toList()));
+    }
+
+    @Test
+    public void reactiveSeqRetryAsync() {
+        final AtomicInteger calls = new AtomicInteger(0);
+        final List<String> result = ReactiveSeq.of(1, 2, 3)
+                                               .retryAsync(failing(2, calls), RetryPolicy.exponential(5, 1, TimeUnit.MILLISECONDS))
+                                               .map(FutureW::get)
+                                               .toList();
+        assertThat(result.size(), equalTo(3));
+        assertThat(calls.get(), equalTo(5));
+    }
+
+    @Test
+    public void fluentFunctionRetryAsync() {
+        final AtomicInteger calls = new AtomicInteger(0);
+        final FutureW<String> result = FluentFunctions.of(failing(2, calls))
+                                                      .retryAsync(RetryPolicy.exponential(5, 1, TimeUnit.MILLISECONDS))
+                                                      .apply(10);
+        assertThat(result.get(), equalTo("result 10"));
+    }
+
+    @Test
+    public void retryPerformance() {
+        //simple sanity check that many concurrent retries don't tie up threads - not a proper benchmark!
+        final RetryPolicy policy = RetryPolicy.exponential(3, 50, TimeUnit.MILLISECONDS);
+        final long start = System.currentTimeMillis();
+        final List<FutureW<Integer>> results = ReactiveSeq.range(0, 10_000)
+                                                          .map(i -> {
+                                                              final AtomicInteger calls = new AtomicInteger(0);
+                                                              return policy.<Integer> execute(() -> {
+                                                                  if (calls.incrementAndGet() < 3)
+                                                                      throw ExceptionSoftener.throwSoftenedException(new IOException());
+                                                                  return i;
+                                                              });
+                                                          })
+                                                          .toList();
+        assertThat(ReactiveSeq.fromIterable(results)
+                              .map(FutureW::get)
+                              .sum()
+                              .get(),
+                   equalTo(49_995_000));
+        final long time = System.currentTimeMillis() - start;
+        System.out.println("10,000 calls, 20,000 retries in " + time + "ms");
+    }
+}
@@ -0,0 +1,43 @@
+package com.aol.cyclops.util.stream.reactivestreams;
+
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.Test;
+
+import com.aol.cyclops.types.stream.reactive.ChannelPublisher;
+@Test
+public class TckChannelPublisherTest extends PublisherVerification<ByteBuffer>{
+
+	public TckChannelPublisherTest(){
+		  super(new TestEnvironment(300L));
+	}
+	
+
+	@Override
+	public Publisher<ByteBuffer> createPublisher(long elements) {
+		return ChannelPublisher.fromInputStream(()->new InputStream(){
+			long remaining = elements;
+			@Override
+			public int read() {
+				if(remaining==0)
+					return -1;
+				remaining--;
+				return 1;
+			}
+		}, 1);
+		
+	}
+
+	@Override
+	public Publisher<ByteBuffer> createFailedPublisher() {
+		return null; //failures are only signalled once data is requested
+		
+	}
+	
+
+}
@@ -0,0 +1,228 @@
+package com.aol.cyclops.util.stream.scheduling;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.aol.cyclops.control.FutureW;
+import com.aol.cyclops.control.ReactiveSeq;
+
+public class TimingWheelSchedulerTest {
+
+    TimingWheelScheduler wheel;
+
+    @Before
+    public void setup() {
+        wheel = new TimingWheelScheduler();
+    }
+
+    @After
+    public void tearDown() {
+        wheel.shutdownNow();
+    }
+
+    @Test
+    public void runsAfterDelay() throws Exception {
+        final long start = System.nanoTime();
+        final ScheduledFuture<String> f = wheel.schedule(() -> "hello", 50, TimeUnit.MILLISECONDS);
+        assertThat(f.get(), equalTo("hello"));
+        assertThat(System.nanoTime() - start, greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50)));
+    }
+
+    @Test
+    public void cancelledTaskDoesNotRun() throws Exception {
+        final AtomicInteger count = new AtomicInteger(
+                                                      0);
+        final ScheduledFuture<?> f = wheel.schedule(() -> count.incrementAndGet(), 50, TimeUnit.MILLISECONDS);
+        assertTrue(f.cancel(false));
+        Thread.sleep(150);
+        assertThat(count.get(), equalTo(0));
+        assertTrue(f.isCancelled());
+    }
+
+    @Test
+    public void longDelaysCascadeThroughLevels() throws Exception {
+        final TimingWheelScheduler small = new TimingWheelScheduler(
+                                                                    1, TimeUnit.MILLISECONDS, 4, 2, Runnable::run);
+        try {
+            final long start = System.nanoTime();
+            final ScheduledFuture<Long> f = small.schedule(() -> System.nanoTime(), 100, TimeUnit.MILLISECONDS);
+            assertThat(f.get() - start, greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100)));
+        } finally {
+            small.shutdown();
+        }
+    }
+
+    @Test
+    public void fixedRate() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(
+                                                        5);
+        final ScheduledFuture<?> f = wheel.scheduleAtFixedRate(latch::countDown, 0, 10, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        f.cancel(false);
+    }
+
+    @Test
+    public void fixedDelay() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(
+                                                        5);
+        final ScheduledFuture<?> f = wheel.scheduleWithFixedDelay(latch::countDown, 0, 10, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        f.cancel(false);
+    }
+
+    @Test
+    public void shutdown() throws Exception {
+        wheel.schedule(() -> "hello", 10, TimeUnit.MILLISECONDS)
+             .get();
+        wheel.shutdown();
+        assertTrue(wheel.awaitTermination(1, TimeUnit.SECONDS));
+        assertTrue(wheel.isTerminated());
+    }
+
+    @Test
+    public void shutdownRunsScheduledTasks() throws Exception {
+        final ScheduledFuture<String> first = wheel.schedule(() -> "first", 50, TimeUnit.MILLISECONDS);
+        final ScheduledFuture<String> second = wheel.schedule(() -> "second", 150, TimeUnit.MILLISECONDS);
+        wheel.shutdown();
+        assertTrue(wheel.isShutdown());
+        assertThat(first.get(1, TimeUnit.SECONDS), equalTo("first"));
+        assertThat(second.get(1, TimeUnit.SECONDS), equalTo("second"));
+        assertTrue(wheel.awaitTermination(1, TimeUnit.SECONDS));
+        assertTrue(wheel.isTerminated());
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void scheduleAfterShutdownIsRejected() {
+        wheel.schedule(() -> "hello", 10, TimeUnit.MILLISECONDS);
+        wheel.shutdown();
+        wheel.schedule(() -> "hello", 10, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void shutdownCancelsPeriodicTasks() throws Exception {
+        final CountDownLatch ran = new CountDownLatch(
+                                                      1);
+        final ScheduledFuture<?> f = wheel.scheduleAtFixedRate(ran::countDown, 0, 10_000, TimeUnit.MILLISECONDS);
+        assertTrue(ran.await(1, TimeUnit.SECONDS));
+        wheel.shutdown();
+        //the next run is 10 seconds away, the wheel must not wait for it
+        assertTrue(wheel.awaitTermination(1, TimeUnit.SECONDS));
+        assertTrue(f.isCancelled());
+    }
+
+    @Test
+    public void shutdownNowCancelsAndReturnsScheduledTasks() throws Exception {
+        final AtomicInteger count = new AtomicInteger(
+                                                      0);
+        final List<ScheduledFuture<?>> futures = new ArrayList<>();
+        futures.add(wheel.schedule(() -> count.incrementAndGet(), 10, TimeUnit.SECONDS));
+        futures.add(wheel.schedule(() -> count.incrementAndGet(), 1, TimeUnit.HOURS));
+        futures.add(wheel.scheduleAtFixedRate(() -> count.incrementAndGet(), 10, 10, TimeUnit.SECONDS));
+        final ScheduledFuture<?> cancelled = wheel.schedule(() -> count.incrementAndGet(), 10, TimeUnit.SECONDS);
+        cancelled.cancel(false);
+        //let the wheel thread place the tasks into buckets
+        Thread.sleep(50);
+
+        final List<Runnable> unrun = wheel.shutdownNow();
+        assertThat(unrun.size(), equalTo(3));
+        assertTrue(unrun.containsAll(futures));
+        for (final ScheduledFuture<?> f : futures)
+            assertTrue(f.isCancelled());
+        assertTrue(wheel.isTerminated());
+        assertThat(count.get(), equalTo(0));
+    }
+
+    @Test(expected = CancellationException.class)
+    public void shutdownNowCompletesFutures() throws Exception {
+        final ScheduledFuture<String> f = wheel.schedule(() -> "hello", 10, TimeUnit.SECONDS);
+        wheel.shutdownNow();
+        f.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void shutdownNowBeforeStart() {
+        assertTrue(wheel.shutdownNow()
+                        .isEmpty());
+        assertTrue(wheel.isTerminated());
+    }
+
+    @Test
+    public void reactiveSeqSchedule() {
+        assertThat(ReactiveSeq.of(1, 2, 3)
+                              .scheduleFixedDelay(200, wheel)
+                              .connect()
+                              .limit(2)
+                              .toList(),
+                   equalTo(Arrays.asList(1, 2)));
+    }
+
+    @Test
+    public void futureWSchedule() {
+        assertThat(FutureW.schedule("* * * * * ?", wheel, () -> "hello")
+                          .get(),
+                   equalTo("hello"));
+    }
+
+    @Test
+    public void scheduleAndCancel100k() throws Exception {
+        final ScheduledThreadPoolExecutor heap = new ScheduledThreadPoolExecutor(
+                                                                                 1);
+        heap.setRemoveOnCancelPolicy(true);
+        try {
+            scheduleAndCancel(heap);
+            scheduleAndCancel(wheel);
+        } finally {
+            heap.shutdownNow();
+        }
+    }
+
+    private void scheduleAndCancel(final ScheduledExecutorService ex) throws Exception {
+        final int tasks = 100_000;
+        final Random r = new Random(
+                                    0);
+        final AtomicInteger ran = new AtomicInteger(
+                                                    0);
+        final CountDownLatch latch = new CountDownLatch(
+                                                        tasks / 2);
+        final List<ScheduledFuture<?>> futures = new ArrayList<>(
+                                                                 tasks);
+        for (int i = 0; i < tasks; i++) {
+            final ScheduledFuture<?> f = ex.schedule(() -> {
+                ran.incrementAndGet();
+                latch.countDown();
+            } , 50 + r.nextInt(500), TimeUnit.MILLISECONDS);
+            if (i % 2 == 1)
+                assertTrue(f.cancel(false));
+            futures.add(f);
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        //a cancelled task can never start, so once every live task has run the count is exact
+        assertThat(ran.get(), equalTo(tasks / 2));
+        for (int i = 0; i < tasks; i++) {
+            final ScheduledFuture<?> f = futures.get(i);
+            if (i % 2 == 1)
+                assertTrue(f.isCancelled());
+            else
+                assertThat(f.get(10, TimeUnit.SECONDS), equalTo(null));
+        }
+    }
+}
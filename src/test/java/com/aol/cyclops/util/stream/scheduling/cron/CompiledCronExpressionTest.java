@@ -0,0 +1,88 @@
+package com.aol.cyclops.util.stream.scheduling.cron;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+public class CompiledCronExpressionTest {
+
+    String[] expressions = { "* * * * * ?", "0 * * * * ?", "0/15 * * * * ?", "5 10 * * * ?", "0 0 12 * * ?", "0 15 10 ? * MON-FRI",
+            "0 0 12 1/5 * ?", "0 11 11 11 11 ?", "0 15 10 L * ?", "0 15 10 L-2 * ?", "0 15 10 LW * ?", "0 15 10 15W * ?",
+            "0 15 10 1W * ?", "0 15 10 ? * 6L", "0 15 10 ? * 6#3", "0 15 10 ? * 2#5", "0 0/5 14,18 * * ?", "0 0-5 14 * * ?",
+            "0 10,44 14 ? 3 WED", "0 0 0 29 2 ?", "0 0 0 31 * ?", "0 0 23 ? * SAT,SUN", "30 59 23 31 12 ? 2030", "0 0 0 1 1 ? 2019" };
+
+    private void assertSameAsQuartz(final String cron, final ZoneId zone) throws ParseException {
+        final CronExpression quartz = new CronExpression(
+                                                         cron);
+        quartz.setTimeZone(TimeZone.getTimeZone(zone));
+        final CompiledCronExpression compiled = CompiledCronExpression.compile(cron, zone);
+        final Random r = new Random(
+                                    cron.hashCode());
+        long time = LocalDateTime.of(2016, 1, 1, 0, 0)
+                                 .atZone(zone)
+                                 .toInstant()
+                                 .toEpochMilli();
+        for (int i = 0; i < 50; i++) {
+            time += r.nextInt(Integer.MAX_VALUE);
+            final Date expected = quartz.getNextValidTimeAfter(new Date(
+                                                                        time));
+            assertThat(cron + " after " + new Date(
+                                                   time),
+                       compiled.getNextValidTimeAfter(new Date(
+                                                               time)),
+                       equalTo(expected));
+        }
+    }
+
+    @Test
+    public void matchesQuartzUtc() throws ParseException {
+        for (final String cron : expressions)
+            assertSameAsQuartz(cron, ZoneOffset.UTC);
+    }
+
+    @Test
+    public void matchesQuartzWithZone() throws ParseException {
+        for (final String cron : expressions)
+            assertSameAsQuartz(cron, ZoneId.of("Europe/Dublin"));
+    }
+
+    @Test
+    public void chainedFireTimes() {
+        final CompiledCronExpression everyFifteen = CompiledCronExpression.compile("0/15 * * * * ?", ZoneOffset.UTC);
+        long next = 0;
+        for (int i = 1; i <= 10; i++) {
+            next = everyFifteen.nextFireTime(next);
+            assertThat(next, equalTo(i * 15_000l));
+        }
+    }
+
+    @Test
+    public void noMoreFireTimes() {
+        final CompiledCronExpression once = CompiledCronExpression.compile("0 0 0 1 1 ? 2019", ZoneOffset.UTC);
+        assertThat(once.nextFireTime(System.currentTimeMillis()), equalTo(CompiledCronExpression.NO_FIRE_TIME));
+    }
+
+    @Test
+    public void satisfiedBy() {
+        final CompiledCronExpression noon = CompiledCronExpression.compile("0 0 12 * * ?", ZoneOffset.UTC);
+        assertTrue(noon.isSatisfiedBy(12 * 3600_000l));
+        assertTrue(noon.isSatisfiedBy(12 * 3600_000l + 999));
+        assertFalse(noon.isSatisfiedBy(12 * 3600_000l + 1000));
+    }
+
+    @Test(expected = ParseException.class)
+    public void invalid() {
+        CompiledCronExpression.compile("* * * * * *");
+    }
+}
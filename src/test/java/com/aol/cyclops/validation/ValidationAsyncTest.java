@@ -0,0 +1,168 @@
+package com.aol.cyclops.validation;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.aol.cyclops.control.FutureW;
+import com.aol.cyclops.control.Validator;
+import com.aol.cyclops.util.validation.ValidationResults;
+
+import lombok.Value;
+public class ValidationAsyncTest {
+
+	@Value
+	static class User {
+		int age;
+		String email;
+	}
+
+	ExecutorService ex = Executors.newFixedThreadPool(4);
+
+	@After
+	public void tearDown(){
+		ex.shutdownNow();
+	}
+
+	private <T> Predicate<T> slow(long millis, Predicate<T> p){
+		return t -> {
+			try {
+				Thread.sleep(millis);
+			} catch (InterruptedException e) {
+			}
+			return p.test(t);
+		};
+	}
+
+	/* each predicate only completes once every party has reached the barrier, so they must all run at the same time */
+	private <T> Predicate<T> together(CyclicBarrier barrier, Predicate<T> p){
+		return t -> {
+			try {
+				barrier.await(5, TimeUnit.SECONDS);
+			} catch (Exception e) {
+				throw new IllegalStateException("validators did not run concurrently", e);
+			}
+			return p.test(t);
+		};
+	}
+
+	/* the predicate only runs once the gate is opened */
+	private <T> Predicate<T> gated(CountDownLatch gate, Predicate<T> p){
+		return t -> {
+			try {
+				gate.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+			return p.test(t);
+		};
+	}
+
+	@Test
+	public void accumulateAsync() {
+		ValidationResults<String,String> results  = Validator.of((User user)->user.age>18, "too young", "age ok")
+												.isValid(user->user.email!=null, "user email null","email ok")
+												.accumulateAsync(new User(10,"email@email.com"),ex)
+												.get();
+
+		assertThat(results.getResults().size(),equalTo(2));
+		assertThat(results.getResults().get(0).failure().get(),equalTo("too young"));
+		assertThat(results.getResults().get(1).success().get(),equalTo("email ok"));
+	}
+	@Test
+	public void accumulateAsyncRunsConcurrently() {
+		CyclicBarrier barrier = new CyclicBarrier(3);
+		ValidationResults<String,String> results  = Validator.of(together(barrier,(User user)->user.age>18), "too young", "age ok")
+												.isValid(together(barrier,user->user.email!=null), "user email null","email ok")
+												.isValid(together(barrier,user->user.email.contains("@")), "bad email","email format ok")
+												.accumulateAsync(new User(20,"email@email.com"),ex)
+												.get();
+		assertThat(results.toString(),equalTo(Validator.of((User user)->user.age>18, "too young", "age ok")
+												.isValid(user->user.email!=null, "user email null","email ok")
+												.isValid(user->user.email.contains("@"), "bad email","email format ok")
+												.accumulate(new User(20,"email@email.com")).toString()));
+	}
+	@Test
+	public void accumulateAsyncTimeout() {
+		try{
+			Validator.of(slow(2000,(User user)->user.age>18), "too young", "age ok")
+						.accumulateAsync(new User(20,"email@email.com"),ex,50,TimeUnit.MILLISECONDS)
+						.get();
+			fail("expected timeout");
+		}catch(Exception e){
+			assertThat(e,instanceOf(TimeoutException.class));
+		}
+	}
+	@Test
+	public void accumulateUntilFailAsync() throws InterruptedException {
+		AtomicInteger calls = new AtomicInteger(0);
+		CountDownLatch gate = new CountDownLatch(1);
+		ExecutorService single = Executors.newSingleThreadExecutor();
+		//the first step fails on the only thread, after the result is wired up, so the queued second step is cancelled before it can start
+		FutureW<ValidationResults<String,String>> future = Validator.of(gated(gate,(User user)->user.age>18), "too young", "age ok")
+												.isValid((User user)->calls.incrementAndGet()>0, "never", "called")
+												.accumulateUntilFailAsync(new User(10,"email@email.com"),single);
+		gate.countDown();
+		ValidationResults<String,String> results = future.get();
+		single.shutdown();
+		assertThat(single.awaitTermination(5, TimeUnit.SECONDS),equalTo(true));
+
+		assertThat(results.getResults().size(),equalTo(1));
+		assertThat(results.getResults().get(0).failure().get(),equalTo("too young"));
+		assertThat(calls.get(),equalTo(0));
+	}
+	@Test
+	public void compiledDedupesSharedPredicates() {
+		AtomicInteger lookups = new AtomicInteger(0);
+		Predicate<User> registered = user-> lookups.incrementAndGet()>0 && user.email!=null;
+		Validator.Compiled<User,String,String> validator = Validator.of(registered, "not registered", "registered")
+												.isValid(registered, "cannot post", "can post")
+												.isValid(user->user.age>18, "too young", "age ok")
+												.compile();
+		assertThat(validator.steps(),equalTo(3));
+		assertThat(validator.predicates(),equalTo(2));
+
+		ValidationResults<String,String> results = validator.accumulate(new User(20,"email@email.com"));
+		assertThat(results.getResults().map(r->r.success().get()),equalTo(Arrays.asList("registered","can post","age ok")));
+		assertThat(lookups.get(),equalTo(1));
+
+		validator.accumulateAsync(new User(20,null),ex).get();
+		assertThat(lookups.get(),equalTo(2));
+	}
+	@Test
+	public void compiledAccumulateUntilFail() {
+		ValidationResults<String,String> results = Validator.of((User user)->user.age>18, "too young", "age ok")
+												.isValid(user->user.email!=null, "user email null","email ok")
+												.isValid(user->user.email.contains("@"), "bad email","email format ok")
+												.compile()
+												.accumulateUntilFail(new User(20,null));
+		assertThat(results.getResults().size(),equalTo(2));
+		assertThat(results.getResults().get(1).failure().get(),equalTo("user email null"));
+	}
+	@Test
+	public void errorsFailTheFuture() {
+		try{
+			Validator.of((User user)->user.email.length()>0, "no email", "email ok")
+						.accumulateAsync(new User(20,null),ex)
+						.get();
+			fail("expected NullPointerException");
+		}catch(NullPointerException e){
+
+		}
+	}
+
+}